@@ -0,0 +1,119 @@
+package jcolonia.daw2024.quiniela;
+
+import java.util.Random;
+
+/**
+ * Rendimiento: Datos de prueba reproducibles para las mediciones de
+ * rendimiento. Los partidos se generan a partir de una semilla fija, con un
+ * conjunto limitado de equipos para que los nombres se repitan como en una
+ * liga real.
+ *
+ * @version 1.0 (20261018000)
+ * @author Rodrigo Martínez Delgado &lt;rodrigo.mardel.daw@gmail.com&gt;
+ */
+class DatosRendimientoQuiniela1X2 {
+	/** Semilla de las secuencias aleatorias. */
+	static final long SEMILLA = 20261018L;
+
+	/** Número de equipos distintos. */
+	static final int NÚM_EQUIPOS = 500;
+
+	/** Caracteres empleados en los nombres de equipo. */
+	private static final String LETRAS = "ABCDEFGHIJKLMNOPQRSTUVWXYZ";
+
+	/**
+	 * Genera una lista de nombres de equipo distintos, de entre 5 y 20
+	 * caracteres.
+	 *
+	 * @param número el número de nombres
+	 * @return los nombres generados
+	 */
+	static String[] generarEquipos(int número) {
+		Random aleatorio = new Random(SEMILLA);
+		String[] equipos = new String[número];
+		StringBuilder nombre = new StringBuilder();
+
+		for (int i = 0; i < número; i++) {
+			nombre.setLength(0);
+			nombre.append(LETRAS.charAt(i % LETRAS.length())).append(i);
+			while (nombre.length() < 5 + aleatorio.nextInt(16)) {
+				nombre.append(LETRAS.charAt(aleatorio.nextInt(LETRAS.length())));
+			}
+			equipos[i] = nombre.toString();
+		}
+		return equipos;
+	}
+
+	/**
+	 * Genera líneas en formato pseudo-CSV (ver
+	 * {@link ElementoPartido1X2#toStringCSV()}).
+	 *
+	 * @param número el número de líneas
+	 * @return las líneas generadas
+	 */
+	static String[] generarLíneas(int número) {
+		Random aleatorio = new Random(SEMILLA);
+		String[] equipos = generarEquipos(NÚM_EQUIPOS);
+		String[] líneas = new String[número];
+		int local, visitante;
+
+		for (int i = 0; i < número; i++) {
+			local = aleatorio.nextInt(equipos.length);
+			visitante = (local + 1 + aleatorio.nextInt(equipos.length - 1)) % equipos.length;
+			líneas[i] = String.format("%s#%s#%s", equipos[local], equipos[visitante],
+					"1X2".charAt(aleatorio.nextInt(3)));
+		}
+		return líneas;
+	}
+
+	/**
+	 * Genera una colección de partidos sobre un almacén dado.
+	 *
+	 * @param almacén el almacén, vacío
+	 * @param número  el número de partidos
+	 * @return la colección generada
+	 */
+	static ConjuntoQuiniela1X2 generarConjunto(AlmacénQuiniela1X2 almacén, int número) {
+		Random aleatorio = new Random(SEMILLA);
+		String[] equipos = generarEquipos(NÚM_EQUIPOS);
+		Resultado1X2[] resultados = Resultado1X2.values();
+		ConjuntoQuiniela1X2 conjunto = new ConjuntoQuiniela1X2(almacén);
+		int local, visitante;
+
+		for (int i = 0; i < número; i++) {
+			local = aleatorio.nextInt(equipos.length);
+			visitante = (local + 1 + aleatorio.nextInt(equipos.length - 1)) % equipos.length;
+			conjunto.agregarElemento(new ElementoPartido1X2(equipos[local], equipos[visitante],
+					resultados[aleatorio.nextInt(resultados.length)]));
+		}
+		return conjunto;
+	}
+
+	/**
+	 * Crea un almacén vacío de un tipo dado.
+	 *
+	 * @param tipo «Vector», «Columnar», «Directo» o «Concurrente»
+	 * @return el almacén correspondiente
+	 */
+	static AlmacénQuiniela1X2 crearAlmacén(String tipo) {
+		AlmacénQuiniela1X2 almacén;
+
+		switch (tipo) {
+		case "Vector":
+			almacén = new AlmacénVectorQuiniela1X2();
+			break;
+		case "Columnar":
+			almacén = new AlmacénColumnarQuiniela1X2();
+			break;
+		case "Directo":
+			almacén = new AlmacénDirectoQuiniela1X2();
+			break;
+		case "Concurrente":
+			almacén = new AlmacénConcurrenteQuiniela1X2();
+			break;
+		default:
+			throw new IllegalArgumentException("Almacén desconocido: " + tipo);
+		}
+		return almacén;
+	}
+}
@@ -0,0 +1,45 @@
+package jcolonia.daw2024.quiniela;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Rendimiento: Lanzador de todas las mediciones de rendimiento del proyecto.
+ * Cada medición informa de su productividad (operaciones por unidad de tiempo)
+ * y, mediante el perfilador de recolección de basura de JMH, de la tasa de
+ * reserva de memoria (<code>gc.alloc.rate</code> y
+ * <code>gc.alloc.rate.norm</code>, bytes por operación).
+ *
+ * <div>Los resultados se guardan además en formato JSON, para poder compararlos
+ * entre versiones. El archivo <code>benchmarks/pom.xml</code> compila las
+ * mediciones con <code>jmh-core</code> y el procesador de anotaciones
+ * <code>jmh-generator-annprocess</code>, y genera
+ * <code>target/benchmarks.jar</code>, que arranca este lanzador.</div>
+ *
+ * @version 1.0 (20261018000)
+ * @author Rodrigo Martínez Delgado &lt;rodrigo.mardel.daw@gmail.com&gt;
+ */
+public class LanzadorRendimientoQuiniela1X2 {
+	/**
+	 * Ejecuta las mediciones.
+	 *
+	 * @param args filtro opcional sobre los nombres de las mediciones, como
+	 *             expresión regular; por omisión, todas
+	 * @throws RunnerException si falla alguna medición
+	 */
+	public static void main(String[] args) throws RunnerException {
+		Options opciones;
+
+		opciones = new OptionsBuilder()
+				.include(args.length > 0 ? args[0] : "jcolonia\\.daw2024\\.quiniela\\.Rendimiento.*")
+				.addProfiler(GCProfiler.class)
+				.resultFormat(ResultFormatType.JSON)
+				.result("Rendimiento Quiniela1X2.json")
+				.build();
+		new Runner(opciones).run();
+	}
+}
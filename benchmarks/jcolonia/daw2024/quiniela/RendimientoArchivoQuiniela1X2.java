@@ -0,0 +1,153 @@
+package jcolonia.daw2024.quiniela;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Rendimiento: Exportación e importación completas de una colección, en texto
+ * pseudo-CSV –con cada uno de los importadores, y comprimido en formato GZIP–
+ * y en formato binario. La exportación en texto es la de la aplicación (ver
+ * {@link ExportadorQuiniela1X2}). Cada
+ * operación mide el viaje completo: volcar la colección al archivo y
+ * recuperarla después en una colección nueva.
+ *
+ * @version 1.0 (20261018000)
+ * @author Rodrigo Martínez Delgado &lt;rodrigo.mardel.daw@gmail.com&gt;
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MINUTES)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx12g" })
+public class RendimientoArchivoQuiniela1X2 {
+	/** Número de partidos de la colección. */
+	@Param({ "1000", "1000000", "10000000" })
+	public int númPartidos;
+
+	/** Colección a exportar. */
+	private ConjuntoQuiniela1X2 conjunto;
+
+	/** Archivo de texto temporal. */
+	private Path archivoTexto;
+
+	/** Archivo de texto comprimido temporal. */
+	private Path archivoComprimido;
+
+	/** Archivo binario temporal. */
+	private Path archivoBinario;
+
+	/**
+	 * Genera la colección y reserva los archivos temporales.
+	 *
+	 * @throws IOException si no pueden crearse los archivos
+	 */
+	@Setup(Level.Trial)
+	public void preparar() throws IOException {
+		conjunto = DatosRendimientoQuiniela1X2.generarConjunto(new AlmacénColumnarQuiniela1X2(), númPartidos);
+		archivoTexto = Files.createTempFile("Quiniela1X2-", ".txt");
+		archivoComprimido = Files.createTempFile("Quiniela1X2-", ".txt.gz");
+		archivoBinario = Files.createTempFile("Quiniela1X2-", ".q1x2");
+	}
+
+	/**
+	 * Elimina los archivos temporales.
+	 *
+	 * @throws IOException si no pueden borrarse los archivos
+	 */
+	@TearDown(Level.Trial)
+	public void limpiar() throws IOException {
+		Files.deleteIfExists(archivoTexto);
+		Files.deleteIfExists(archivoComprimido);
+		Files.deleteIfExists(archivoBinario);
+	}
+
+	/**
+	 * Exportación en texto e importación por flujo, línea a línea.
+	 *
+	 * @return la colección recuperada
+	 * @throws Exception no debe ocurrir
+	 */
+	@Benchmark
+	public ConjuntoQuiniela1X2 textoPorFlujo() throws Exception {
+		exportarTexto();
+		return new ImportadorQuiniela1X2(archivoTexto.toString()).importar();
+	}
+
+	/**
+	 * Exportación en texto e importación con proyección en memoria.
+	 *
+	 * @return la colección recuperada
+	 * @throws Exception no debe ocurrir
+	 */
+	@Benchmark
+	public ConjuntoQuiniela1X2 textoProyectado() throws Exception {
+		exportarTexto();
+		return new ImportadorMapeadoQuiniela1X2(archivoTexto.toString()).importar();
+	}
+
+	/**
+	 * Exportación en texto e importación en paralelo.
+	 *
+	 * @return la colección recuperada
+	 * @throws Exception no debe ocurrir
+	 */
+	@Benchmark
+	public ConjuntoQuiniela1X2 textoParalelo() throws Exception {
+		exportarTexto();
+		return new ImportadorParaleloQuiniela1X2(archivoTexto.toString()).importar();
+	}
+
+	/**
+	 * Exportación en texto comprimido e importación por flujo, descomprimiendo a
+	 * la vez.
+	 *
+	 * @return la colección recuperada
+	 * @throws Exception no debe ocurrir
+	 */
+	@Benchmark
+	public ConjuntoQuiniela1X2 textoComprimido() throws Exception {
+		new ExportadorQuiniela1X2(archivoComprimido.toString(), true).exportar(conjunto);
+		return new ImportadorQuiniela1X2(archivoComprimido.toString()).importar();
+	}
+
+	/**
+	 * Exportación e importación en formato binario compacto.
+	 *
+	 * @return la colección recuperada
+	 * @throws Exception no debe ocurrir
+	 */
+	@Benchmark
+	public ConjuntoQuiniela1X2 binario() throws Exception {
+		FormatoBinarioQuiniela1X2 formato = new FormatoBinarioQuiniela1X2(archivoBinario.toString());
+
+		formato.exportar(conjunto);
+		return formato.importar();
+	}
+
+	/**
+	 * Vuelca la colección al archivo de texto, sin comprimir.
+	 *
+	 * @throws IOException         si falla la escritura
+	 * @throws Partido1X2Exception no debe ocurrir, los partidos están cerrados
+	 */
+	private void exportarTexto() throws IOException, Partido1X2Exception {
+		new ExportadorQuiniela1X2(archivoTexto.toString()).exportar(conjunto);
+	}
+}
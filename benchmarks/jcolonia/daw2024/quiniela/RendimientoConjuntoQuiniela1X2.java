@@ -0,0 +1,84 @@
+package jcolonia.daw2024.quiniela;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Rendimiento: Listados completos y estadísticas de un
+ * {@link ConjuntoQuiniela1X2}, para cada tipo de {@link AlmacénQuiniela1X2
+ * almacén} y varios tamaños de colección.
+ *
+ * @version 1.0 (20261018000)
+ * @author Rodrigo Martínez Delgado &lt;rodrigo.mardel.daw@gmail.com&gt;
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx8g", "-XX:MaxDirectMemorySize=2g" })
+public class RendimientoConjuntoQuiniela1X2 {
+	/** Número de partidos de la colección. */
+	@Param({ "1000", "1000000" })
+	public int númPartidos;
+
+	/** Tipo de almacén de la colección. */
+	@Param({ "Vector", "Columnar", "Directo", "Concurrente" })
+	public String almacén;
+
+	/** Colección a listar. */
+	private ConjuntoQuiniela1X2 conjunto;
+
+	/**
+	 * Genera la colección de la medición.
+	 */
+	@Setup(Level.Trial)
+	public void preparar() {
+		conjunto = DatosRendimientoQuiniela1X2.generarConjunto(DatosRendimientoQuiniela1X2.crearAlmacén(almacén),
+				númPartidos);
+	}
+
+	/**
+	 * Genera el listado para pantalla.
+	 *
+	 * @return el listado generado
+	 */
+	@Benchmark
+	public List<String> generarListado() {
+		return conjunto.generarListado();
+	}
+
+	/**
+	 * Genera el listado para exportación.
+	 *
+	 * @return el listado generado
+	 * @throws Partido1X2Exception no debe ocurrir, los partidos están cerrados
+	 */
+	@Benchmark
+	public List<String> generarListadoCSV() throws Partido1X2Exception {
+		return conjunto.generarListadoCSV();
+	}
+
+	/**
+	 * Calcula el reparto de resultados, recorriendo el almacén en paralelo.
+	 *
+	 * @return las estadísticas calculadas
+	 */
+	@Benchmark
+	public EstadísticasQuiniela1X2 calcularEstadísticas() {
+		return conjunto.calcularEstadísticas();
+	}
+}
@@ -0,0 +1,98 @@
+package jcolonia.daw2024.quiniela;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Rendimiento: Operaciones sobre un único {@link ElementoPartido1X2}: análisis
+ * de una línea pseudo-CSV y representaciones en texto. La representación para
+ * el listado ({@link ElementoPartido1X2#toString()}) incluye el ajuste de ancho
+ * de la columna de nombres, que se mide con nombres cortos –mucho relleno– y
+ * largos –casi sin relleno–. Las representaciones se miden sin caché, dando
+ * formato en cada llamada, y con la política por omisión de
+ * {@link CachéFilasQuiniela1X2}, que las reutiliza.
+ *
+ * @version 1.0 (20261018000)
+ * @author Rodrigo Martínez Delgado &lt;rodrigo.mardel.daw@gmail.com&gt;
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class RendimientoElementoPartido1X2 {
+	/** Longitud de los nombres de equipo: «corto», 5 caracteres, o «largo», casi 20. */
+	@Param({ "corto", "largo" })
+	public String nombres;
+
+	/** Política de la caché de filas durante la medición. */
+	@Param({ "NINGUNA", "TEXTO" })
+	public CachéFilasQuiniela1X2.Política caché;
+
+	/** Línea pseudo-CSV a analizar. */
+	private String líneaCSV;
+
+	/** Partido ya creado, para las representaciones en texto. */
+	private ElementoPartido1X2 partido;
+
+	/**
+	 * Prepara la línea y el partido de la medición.
+	 *
+	 * @throws DatoPartido1X2Exception no debe ocurrir, los datos son válidos
+	 */
+	@Setup
+	public void preparar() throws DatoPartido1X2Exception {
+		CachéFilasQuiniela1X2.configurar(caché, CachéFilasQuiniela1X2.MÁX_FILAS_PREDETERMINADO);
+		if (nombres.equals("corto")) {
+			líneaCSV = "BETIS#ELCHE#X";
+		} else {
+			líneaCSV = "RACING DE SANTANDER#ATLÉTICO DE MADRID#1";
+		}
+		partido = ElementoPartido1X2.of(líneaCSV);
+	}
+
+	/**
+	 * Analiza una línea pseudo-CSV.
+	 *
+	 * @return el partido obtenido
+	 * @throws DatoPartido1X2Exception no debe ocurrir, la línea es válida
+	 */
+	@Benchmark
+	public ElementoPartido1X2 analizarLíneaCSV() throws DatoPartido1X2Exception {
+		return ElementoPartido1X2.of(líneaCSV);
+	}
+
+	/**
+	 * Genera la representación para el listado, con el ajuste de ancho de los
+	 * nombres.
+	 *
+	 * @return el texto generado
+	 */
+	@Benchmark
+	public String representarListado() {
+		return partido.toString();
+	}
+
+	/**
+	 * Genera la línea pseudo-CSV.
+	 *
+	 * @return el texto generado
+	 * @throws Partido1X2Exception no debe ocurrir, el partido está cerrado
+	 */
+	@Benchmark
+	public String representarCSV() throws Partido1X2Exception {
+		return partido.toStringCSV();
+	}
+}
@@ -0,0 +1,204 @@
+package jcolonia.daw2024.quiniela;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Modelo: Almacenamiento de partidos por columnas. En lugar de guardar un
+ * objeto por partido se emplean tablas paralelas: dos de enteros con los
+ * identificadores de los equipos –según un {@link DiccionarioEquiposQuiniela1X2
+ * diccionario} donde cada nombre figura una sola vez– y una de bytes con los
+ * {@link Resultado1X2#getCódigo() códigos} de resultado empaquetados, cuatro
+ * por byte. Cada partido ocupa así algo más de ocho bytes.
+ *
+ * <div>Los objetos {@link ElementoPartido1X2} se crean bajo demanda en cada
+ * consulta, compartiendo los textos del diccionario; por ello solo se admiten
+ * partidos cerrados y dos consultas de la misma posición no devuelven el mismo
+ * objeto.</div>
+ *
+ * @version 1.0 (20261018000)
+ * @author Rodrigo Martínez Delgado &lt;rodrigo.mardel.daw@gmail.com&gt;
+ */
+public class AlmacénColumnarQuiniela1X2 extends AlmacénQuiniela1X2 {
+	/** Capacidad inicial de las tablas. */
+	private static final int CAPACIDAD_INICIAL = 16;
+
+	/** Número de resultados empaquetados en cada byte. */
+	private static final int RESULTADOS_POR_BYTE = 4;
+
+	/** Máscara de los dos bits de cada resultado. */
+	private static final int MÁSCARA_RESULTADO = 0b11;
+
+	/** Diccionario con los nombres de equipo. */
+	private DiccionarioEquiposQuiniela1X2 diccionario;
+
+	/** Identificadores de los equipos locales, por posición. */
+	private int[] locales;
+
+	/** Identificadores de los equipos visitantes, por posición. */
+	private int[] visitantes;
+
+	/** Códigos de resultado empaquetados, cuatro por byte. */
+	private byte[] resultados;
+
+	/** Número de partidos almacenados. */
+	private int númPartidos;
+
+	/**
+	 * Crea un almacén inicialmente vacío.
+	 */
+	public AlmacénColumnarQuiniela1X2() {
+		diccionario = new DiccionarioEquiposQuiniela1X2();
+		reservar(CAPACIDAD_INICIAL);
+	}
+
+	@Override
+	public ElementoPartido1X2 get(int pos) {
+		verificarPosición(pos);
+		return ElementoPartido1X2.transitorio(diccionario.getNombre(locales[pos]), diccionario.getNombre(visitantes[pos]),
+				Resultado1X2.deCódigo(getCódigo(pos)));
+	}
+
+	@Override
+	public void agregar(ElementoPartido1X2 nuevo) {
+		int local, visitante, código;
+
+		try {
+			local = diccionario.registrar(nuevo.getEquipoLocal());
+			visitante = diccionario.registrar(nuevo.getEquipoVisitante());
+			código = nuevo.getResultado().getCódigo();
+		} catch (Partido1X2Exception ex) {
+			throw new IllegalArgumentException(ex.getLocalizedMessage(), ex);
+		}
+
+		if (númPartidos == locales.length) {
+			ampliar(2 * locales.length);
+		}
+		locales[númPartidos] = local;
+		visitantes[númPartidos] = visitante;
+		setCódigo(númPartidos, código);
+		númPartidos++;
+	}
+
+	@Override
+	public void compactar(BitSet borrados) {
+		int destino = 0;
+
+		for (int pos = borrados.nextClearBit(0); pos < númPartidos; pos = borrados.nextClearBit(pos + 1)) {
+			locales[destino] = locales[pos];
+			visitantes[destino] = visitantes[pos];
+			setCódigo(destino, getCódigo(pos));
+			destino++;
+		}
+		for (int pos = destino; pos < númPartidos; pos++) {
+			setCódigo(pos, 0);
+		}
+		númPartidos = destino;
+	}
+
+	/**
+	 * Localiza la posición de un partido comparando sus datos, ya que los objetos
+	 * no se conservan: equipos y resultado iguales.
+	 *
+	 * @param elemento el partido a buscar
+	 * @param desde    la posición inicial de la búsqueda
+	 * @return la posición de su primera aparición, o <code>-1</code> si no está
+	 */
+	@Override
+	public int posiciónDe(ElementoPartido1X2 elemento, int desde) {
+		int local, visitante, código;
+		int pos = -1;
+
+		if (elemento.estáCerrada()) {
+			try {
+				local = diccionario.getId(elemento.getEquipoLocal());
+				visitante = diccionario.getId(elemento.getEquipoVisitante());
+				código = elemento.getResultado().getCódigo();
+			} catch (Partido1X2Exception ex) { // No debe ocurrir, ya está cerrado
+				throw new IllegalStateException(ex);
+			}
+
+			for (int i = Math.max(desde, 0); pos < 0 && local >= 0 && i < númPartidos; i++) {
+				if (locales[i] == local && visitantes[i] == visitante && getCódigo(i) == código) {
+					pos = i;
+				}
+			}
+		}
+		return pos;
+	}
+
+	@Override
+	public int size() {
+		return númPartidos;
+	}
+
+	/**
+	 * Elimina todos los partidos, incluido el diccionario de nombres, y devuelve
+	 * las tablas a su capacidad inicial.
+	 */
+	@Override
+	public void vaciar() {
+		diccionario.vaciar();
+		reservar(CAPACIDAD_INICIAL);
+		númPartidos = 0;
+	}
+
+	/**
+	 * Crea tablas vacías con una capacidad dada.
+	 *
+	 * @param capacidad el número de partidos que caben en las tablas
+	 */
+	private void reservar(int capacidad) {
+		locales = new int[capacidad];
+		visitantes = new int[capacidad];
+		resultados = new byte[(capacidad + RESULTADOS_POR_BYTE - 1) / RESULTADOS_POR_BYTE];
+	}
+
+	/**
+	 * Amplía las tablas conservando su contenido.
+	 *
+	 * @param capacidad la nueva capacidad
+	 */
+	private void ampliar(int capacidad) {
+		locales = Arrays.copyOf(locales, capacidad);
+		visitantes = Arrays.copyOf(visitantes, capacidad);
+		resultados = Arrays.copyOf(resultados, (capacidad + RESULTADOS_POR_BYTE - 1) / RESULTADOS_POR_BYTE);
+	}
+
+	/**
+	 * Extrae el código de resultado de una posición.
+	 *
+	 * @param pos la posición a consultar
+	 * @return el código correspondiente
+	 */
+	private int getCódigo(int pos) {
+		int desplazamiento = 2 * (pos % RESULTADOS_POR_BYTE);
+		return (resultados[pos / RESULTADOS_POR_BYTE] >> desplazamiento) & MÁSCARA_RESULTADO;
+	}
+
+	/**
+	 * Guarda el código de resultado de una posición.
+	 *
+	 * @param pos    la posición a modificar
+	 * @param código el código a guardar
+	 */
+	private void setCódigo(int pos, int código) {
+		int desplazamiento = 2 * (pos % RESULTADOS_POR_BYTE);
+		int índice = pos / RESULTADOS_POR_BYTE;
+
+		resultados[índice] = (byte) ((resultados[índice] & ~(MÁSCARA_RESULTADO << desplazamiento))
+				| (código << desplazamiento));
+	}
+
+	/**
+	 * Comprueba que una posición corresponda a un partido almacenado.
+	 *
+	 * @param pos la posición a comprobar
+	 * @throws IndexOutOfBoundsException si la posición no existe
+	 */
+	private void verificarPosición(int pos) {
+		if (pos < 0 || pos >= númPartidos) {
+			throw new IndexOutOfBoundsException(pos);
+		}
+	}
+}
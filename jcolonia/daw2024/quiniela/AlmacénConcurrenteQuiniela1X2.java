@@ -0,0 +1,297 @@
+package jcolonia.daw2024.quiniela;
+
+import java.util.BitSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Modelo: Almacenamiento de partidos apto para altas simultáneas desde varios
+ * hilos sin bloqueos. Los partidos se guardan en segmentos de tamaño creciente
+ * –cada uno el doble que el anterior– que se crean bajo demanda, de modo que
+ * los datos ya guardados nunca se copian al crecer.
+ *
+ * <div>Cada alta reserva su hueco incrementando atómicamente un contador y
+ * publica después el partido en él; el número de partidos visibles es el tramo
+ * inicial de huecos ya publicados sin ninguno pendiente, que avanzan entre
+ * todos los hilos que escriben. Así, quien lea los primeros
+ * {@link #size()} huecos recorre siempre partidos completos, aunque otras altas
+ * sigan en curso.</div>
+ *
+ * <div>Las bajas y el vaciado no son concurrentes: {@link #detener()} cierra el
+ * almacén a nuevas altas y espera a que terminen las ya reservadas; las altas
+ * que llegan mientras tanto esperan a que se sustituya el contenido por el
+ * compactado o el vacío.</div>
+ *
+ * @version 1.0 (20261018000)
+ * @author Rodrigo Martínez Delgado &lt;rodrigo.mardel.daw@gmail.com&gt;
+ */
+public class AlmacénConcurrenteQuiniela1X2 extends AlmacénQuiniela1X2 {
+	/** Número de bits del tamaño del primer segmento. */
+	private static final int BITS_PRIMER_SEGMENTO = 10;
+
+	/** Tamaño del primer segmento. */
+	private static final int PRIMER_SEGMENTO = 1 << BITS_PRIMER_SEGMENTO;
+
+	/** Número máximo de segmentos. */
+	private static final int MÁX_SEGMENTOS = Integer.SIZE - 1 - BITS_PRIMER_SEGMENTO;
+
+	/** Número máximo de huecos, entre todos los segmentos. */
+	private static final int MÁX_HUECOS = PRIMER_SEGMENTO * ((1 << MÁX_SEGMENTOS) - 1);
+
+	/** Valor del contador de reservas de un contenido cerrado a nuevas altas. */
+	private static final int CERRADO = Integer.MIN_VALUE;
+
+	/**
+	 * Contenido del almacén. Se sustituye entero al compactar o vaciar, para que
+	 * las altas que quedaron a la espera se hagan en el nuevo.
+	 */
+	private static class Contenido {
+		/** Segmentos con los partidos; cada uno el doble que el anterior. */
+		private final AtomicReferenceArray<AtomicReferenceArray<ElementoPartido1X2>> segmentos;
+
+		/** Número de huecos reservados. */
+		private final AtomicInteger reservados;
+
+		/** Número de huecos iniciales ya publicados, sin ninguno pendiente. */
+		private final AtomicInteger publicados;
+
+		/**
+		 * Número de huecos iniciales procedentes de una compactación, que conservan
+		 * su número de orden.
+		 */
+		private final int huecosCompactados;
+
+		/** Número de orden del primer partido incorporado tras crear el contenido. */
+		private final int primerOrden;
+
+		/**
+		 * Crea un contenido vacío.
+		 *
+		 * @param primerOrden el número de orden de su primera alta
+		 */
+		private Contenido(int primerOrden) {
+			this(primerOrden, 0);
+		}
+
+		/**
+		 * Crea un contenido con sus primeros huecos ya ocupados, para rellenarlos
+		 * antes de publicarlo.
+		 *
+		 * @param primerOrden       el número de orden de su primera alta
+		 * @param huecosCompactados el número de huecos ocupados
+		 */
+		private Contenido(int primerOrden, int huecosCompactados) {
+			segmentos = new AtomicReferenceArray<AtomicReferenceArray<ElementoPartido1X2>>(MÁX_SEGMENTOS);
+			reservados = new AtomicInteger(huecosCompactados);
+			publicados = new AtomicInteger(huecosCompactados);
+			this.huecosCompactados = huecosCompactados;
+			this.primerOrden = primerOrden;
+		}
+
+		/**
+		 * Localiza el segmento de un hueco, creándolo si aún no existe.
+		 *
+		 * @param índice el número del segmento
+		 * @return el segmento correspondiente
+		 */
+		private AtomicReferenceArray<ElementoPartido1X2> getSegmento(int índice) {
+			AtomicReferenceArray<ElementoPartido1X2> segmento;
+
+			segmento = segmentos.get(índice);
+			if (segmento == null) {
+				segmentos.compareAndSet(índice, null,
+						new AtomicReferenceArray<ElementoPartido1X2>(PRIMER_SEGMENTO << índice));
+				segmento = segmentos.get(índice);
+			}
+			return segmento;
+		}
+
+		/**
+		 * Consulta el partido de un hueco.
+		 *
+		 * @param hueco el hueco a consultar
+		 * @return el partido, o <code>null</code> si aún no se ha publicado
+		 */
+		private ElementoPartido1X2 get(int hueco) {
+			int índice = getÍndiceSegmento(hueco);
+			AtomicReferenceArray<ElementoPartido1X2> segmento;
+
+			segmento = segmentos.get(índice);
+			return (segmento == null) ? null : segmento.get(hueco + PRIMER_SEGMENTO - (PRIMER_SEGMENTO << índice));
+		}
+
+		/**
+		 * Publica el partido de un hueco reservado.
+		 *
+		 * @param hueco    el hueco reservado
+		 * @param elemento el partido a publicar
+		 */
+		private void set(int hueco, ElementoPartido1X2 elemento) {
+			int índice = getÍndiceSegmento(hueco);
+			getSegmento(índice).set(hueco + PRIMER_SEGMENTO - (PRIMER_SEGMENTO << índice), elemento);
+		}
+
+		/**
+		 * Hace avanzar el tramo de huecos publicados mientras los siguientes ya
+		 * tengan partido.
+		 */
+		private void avanzarPublicados() {
+			int hueco = publicados.get();
+
+			while (hueco < MÁX_HUECOS && get(hueco) != null) {
+				publicados.compareAndSet(hueco, hueco + 1);
+				hueco = publicados.get();
+			}
+		}
+
+		/**
+		 * Calcula el número de segmento de un hueco.
+		 *
+		 * @param hueco el hueco a consultar
+		 * @return el número de segmento correspondiente
+		 */
+		private static int getÍndiceSegmento(int hueco) {
+			return Integer.SIZE - 1 - Integer.numberOfLeadingZeros((hueco >>> BITS_PRIMER_SEGMENTO) + 1);
+		}
+	}
+
+	/** Contenido actual. */
+	private volatile Contenido contenido;
+
+	/**
+	 * Crea un almacén inicialmente vacío.
+	 */
+	public AlmacénConcurrenteQuiniela1X2() {
+		contenido = new Contenido(0);
+	}
+
+	@Override
+	public ElementoPartido1X2 get(int pos) {
+		Contenido actual = contenido;
+
+		if (pos < 0 || pos >= actual.publicados.get()) {
+			throw new IndexOutOfBoundsException(pos);
+		}
+		return actual.get(pos);
+	}
+
+	@Override
+	public void agregar(ElementoPartido1X2 nuevo) {
+		agregarNumerado(nuevo);
+	}
+
+	/**
+	 * Incorpora un partido al final sin bloquear a otros hilos que también
+	 * incorporan partidos.
+	 *
+	 * @param nuevo el partido a incorporar
+	 * @return el número de orden del partido: cuántos se habían incorporado antes
+	 *         desde que se creó o vació el almacén, incluidos los ya retirados
+	 */
+	public int agregarNumerado(ElementoPartido1X2 nuevo) {
+		Contenido actual;
+		int hueco;
+
+		if (nuevo == null) {
+			throw new IllegalArgumentException("Partido nulo");
+		}
+		actual = contenido;
+		hueco = actual.reservados.getAndIncrement();
+		while (hueco < 0) { // Cerrado: esperar al contenido que lo sustituya
+			esperarSustitución(actual);
+			actual = contenido;
+			hueco = actual.reservados.getAndIncrement();
+		}
+		if (hueco >= MÁX_HUECOS) {
+			throw new IllegalStateException("Demasiados partidos");
+		}
+		actual.set(hueco, nuevo);
+		actual.avanzarPublicados();
+		return actual.primerOrden + hueco - actual.huecosCompactados;
+	}
+
+	/**
+	 * Cierra el contenido actual a nuevas altas y espera a que se publiquen las ya
+	 * reservadas. Las altas posteriores quedan a la espera hasta que se
+	 * {@link #compactar(BitSet) compacte} o {@link #vaciar() vacíe} el almacén.
+	 *
+	 * @return el número definitivo de partidos del contenido cerrado
+	 */
+	public int detener() {
+		Contenido actual = contenido;
+		int reservados;
+
+		reservados = actual.reservados.getAndSet(CERRADO);
+		if (reservados < 0) { // Ya estaba cerrado
+			reservados = actual.publicados.get();
+		} else {
+			while (actual.publicados.get() < reservados) {
+				Thread.onSpinWait();
+			}
+		}
+		return reservados;
+	}
+
+	/**
+	 * Elimina de una sola vez los partidos de varias posiciones. Se crea un
+	 * contenido nuevo con los partidos restantes, de modo que las lecturas en
+	 * curso del anterior no se ven afectadas.
+	 *
+	 * @param borrados las posiciones de los partidos retirados
+	 */
+	@Override
+	public void compactar(BitSet borrados) {
+		Contenido actual = contenido, nuevo;
+		int total, restantes, destino = 0;
+
+		total = detener();
+		restantes = total - borrados.get(0, total).cardinality();
+		nuevo = new Contenido(actual.primerOrden + total - actual.huecosCompactados, restantes);
+		for (int pos = borrados.nextClearBit(0); pos < total; pos = borrados.nextClearBit(pos + 1)) {
+			nuevo.set(destino++, actual.get(pos));
+		}
+		contenido = nuevo;
+	}
+
+	@Override
+	public int posiciónDe(ElementoPartido1X2 elemento, int desde) {
+		Contenido actual = contenido;
+		int total = actual.publicados.get();
+		int pos = -1;
+
+		for (int i = Math.max(desde, 0); pos < 0 && i < total; i++) {
+			if (actual.get(i) == elemento) {
+				pos = i;
+			}
+		}
+		return pos;
+	}
+
+	/**
+	 * Devuelve el número de partidos ya publicados, sin contar las altas aún en
+	 * curso.
+	 *
+	 * @return el número de partidos
+	 */
+	@Override
+	public int size() {
+		return Math.max(contenido.publicados.get(), 0);
+	}
+
+	@Override
+	public void vaciar() {
+		detener();
+		contenido = new Contenido(0);
+	}
+
+	/**
+	 * Espera a que se sustituya un contenido cerrado.
+	 *
+	 * @param cerrado el contenido cerrado
+	 */
+	private void esperarSustitución(Contenido cerrado) {
+		while (contenido == cerrado) {
+			Thread.onSpinWait();
+		}
+	}
+}
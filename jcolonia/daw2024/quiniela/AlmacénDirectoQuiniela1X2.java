@@ -0,0 +1,191 @@
+package jcolonia.daw2024.quiniela;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Modelo: Almacenamiento de partidos fuera del montón de Java. Cada partido se
+ * guarda como un registro de ancho fijo –ocho bytes– dentro de bloques de
+ * memoria directa ({@link ByteBuffer#allocateDirect(int)}): el identificador
+ * del equipo local, el del visitante y el {@link Resultado1X2#getCódigo()
+ * código} de resultado. Los nombres de equipo se guardan aparte, en un
+ * {@link DiccionarioEquiposQuiniela1X2 diccionario}.
+ *
+ * <div>La ocupación del montón no depende así del número de partidos, solo del
+ * número de equipos distintos, y el recolector de basura no tiene que recorrer
+ * los datos. Los objetos {@link ElementoPartido1X2} se crean bajo demanda en
+ * cada consulta, por lo que solo se admiten partidos cerrados.</div>
+ *
+ * <div>La memoria directa está limitada por la opción
+ * <code>-XX:MaxDirectMemorySize</code> de la máquina virtual.</div>
+ *
+ * @version 1.0 (20261018000)
+ * @author Rodrigo Martínez Delgado &lt;rodrigo.mardel.daw@gmail.com&gt;
+ */
+public class AlmacénDirectoQuiniela1X2 extends AlmacénQuiniela1X2 {
+	/** Tamaño en bytes de cada registro. */
+	private static final int TAMAÑO_REGISTRO = Long.BYTES;
+
+	/** Número de registros de cada bloque de memoria directa. */
+	private static final int REGISTROS_POR_BLOQUE = 1024 * 1024;
+
+	/** Número de bits del identificador del equipo visitante. */
+	private static final int BITS_VISITANTE = 30;
+
+	/** Máscara del identificador del equipo visitante. */
+	private static final long MÁSCARA_VISITANTE = (1L << BITS_VISITANTE) - 1;
+
+	/** Diccionario con los nombres de equipo. */
+	private DiccionarioEquiposQuiniela1X2 diccionario;
+
+	/** Bloques de memoria directa con los registros. */
+	private List<ByteBuffer> bloques;
+
+	/** Número de partidos almacenados. */
+	private int númPartidos;
+
+	/**
+	 * Crea un almacén inicialmente vacío. Los bloques de memoria se reservan a
+	 * medida que se necesitan.
+	 */
+	public AlmacénDirectoQuiniela1X2() {
+		diccionario = new DiccionarioEquiposQuiniela1X2();
+		bloques = new ArrayList<ByteBuffer>();
+	}
+
+	@Override
+	public ElementoPartido1X2 get(int pos) {
+		long registro;
+
+		verificarPosición(pos);
+		registro = leer(pos);
+		return ElementoPartido1X2.transitorio(diccionario.getNombre((int) (registro >>> Integer.SIZE)),
+				diccionario.getNombre((int) (registro & MÁSCARA_VISITANTE)),
+				Resultado1X2.deCódigo((int) (registro >>> BITS_VISITANTE) & 0b11));
+	}
+
+	@Override
+	public void agregar(ElementoPartido1X2 nuevo) {
+		long local, visitante, código;
+
+		try {
+			local = diccionario.registrar(nuevo.getEquipoLocal());
+			visitante = diccionario.registrar(nuevo.getEquipoVisitante());
+			código = nuevo.getResultado().getCódigo();
+		} catch (Partido1X2Exception ex) {
+			throw new IllegalArgumentException(ex.getLocalizedMessage(), ex);
+		}
+		if (visitante > MÁSCARA_VISITANTE) {
+			throw new IllegalStateException("Demasiados equipos distintos");
+		}
+
+		if (númPartidos == bloques.size() * REGISTROS_POR_BLOQUE) {
+			bloques.add(ByteBuffer.allocateDirect(REGISTROS_POR_BLOQUE * TAMAÑO_REGISTRO));
+		}
+		escribir(númPartidos, (local << Integer.SIZE) | (código << BITS_VISITANTE) | visitante);
+		númPartidos++;
+	}
+
+	/**
+	 * Elimina de una sola vez los partidos de varias posiciones desplazando los
+	 * registros restantes. Los bloques que quedan vacíos se liberan.
+	 *
+	 * @param borrados las posiciones de los partidos retirados
+	 */
+	@Override
+	public void compactar(BitSet borrados) {
+		int destino = 0;
+
+		for (int pos = borrados.nextClearBit(0); pos < númPartidos; pos = borrados.nextClearBit(pos + 1)) {
+			escribir(destino++, leer(pos));
+		}
+		númPartidos = destino;
+		while (númPartidos <= (bloques.size() - 1) * REGISTROS_POR_BLOQUE) {
+			bloques.remove(bloques.size() - 1);
+		}
+	}
+
+	/**
+	 * Localiza la posición de un partido comparando sus datos, ya que los objetos
+	 * no se conservan: equipos y resultado iguales.
+	 *
+	 * @param elemento el partido a buscar
+	 * @param desde    la posición inicial de la búsqueda
+	 * @return la posición de su primera aparición, o <code>-1</code> si no está
+	 */
+	@Override
+	public int posiciónDe(ElementoPartido1X2 elemento, int desde) {
+		long local, visitante, código, buscado;
+		int pos = -1;
+
+		if (elemento.estáCerrada()) {
+			try {
+				local = diccionario.getId(elemento.getEquipoLocal());
+				visitante = diccionario.getId(elemento.getEquipoVisitante());
+				código = elemento.getResultado().getCódigo();
+			} catch (Partido1X2Exception ex) { // No debe ocurrir, ya está cerrado
+				throw new IllegalStateException(ex);
+			}
+
+			if (local >= 0 && visitante >= 0) {
+				buscado = (local << Integer.SIZE) | (código << BITS_VISITANTE) | visitante;
+				for (int i = Math.max(desde, 0); pos < 0 && i < númPartidos; i++) {
+					if (leer(i) == buscado) {
+						pos = i;
+					}
+				}
+			}
+		}
+		return pos;
+	}
+
+	@Override
+	public int size() {
+		return númPartidos;
+	}
+
+	/**
+	 * Elimina todos los partidos y el diccionario de nombres, y suelta todos los
+	 * bloques de memoria directa reservados.
+	 */
+	@Override
+	public void vaciar() {
+		bloques.clear();
+		diccionario.vaciar();
+		númPartidos = 0;
+	}
+
+	/**
+	 * Lee el registro de una posición.
+	 *
+	 * @param pos la posición a consultar
+	 * @return el registro correspondiente
+	 */
+	private long leer(int pos) {
+		return bloques.get(pos / REGISTROS_POR_BLOQUE).getLong((pos % REGISTROS_POR_BLOQUE) * TAMAÑO_REGISTRO);
+	}
+
+	/**
+	 * Escribe el registro de una posición.
+	 *
+	 * @param pos      la posición a modificar
+	 * @param registro el registro a guardar
+	 */
+	private void escribir(int pos, long registro) {
+		bloques.get(pos / REGISTROS_POR_BLOQUE).putLong((pos % REGISTROS_POR_BLOQUE) * TAMAÑO_REGISTRO, registro);
+	}
+
+	/**
+	 * Comprueba que una posición corresponda a un partido almacenado.
+	 *
+	 * @param pos la posición a comprobar
+	 * @throws IndexOutOfBoundsException si la posición no existe
+	 */
+	private void verificarPosición(int pos) {
+		if (pos < 0 || pos >= númPartidos) {
+			throw new IndexOutOfBoundsException(pos);
+		}
+	}
+}
@@ -0,0 +1,278 @@
+package jcolonia.daw2024.quiniela;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Modelo: Almacenamiento de partidos que parte de un archivo de texto en
+ * formato pseudo-CSV (ver {@link ElementoPartido1X2#toStringCSV()}) sin leerlo
+ * por adelantado. Gracias a su {@link ÍndiceDesplazamientosQuiniela1X2 índice
+ * de desplazamientos}, abrirlo cuesta lo mismo sea cual sea el tamaño del
+ * archivo; cada partido se analiza la primera vez que se consulta y desde
+ * entonces se conserva el objeto.
+ *
+ * <div>El archivo se proyecta en memoria por ventanas de
+ * {@value #LÍNEAS_POR_VENTANA} líneas, también a medida que se consultan. Los
+ * partidos incorporados después se guardan aparte, a continuación de los del
+ * archivo. Al compactar, los partidos restantes del archivo se analizan todos
+ * y el almacén deja de depender de él.</div>
+ *
+ * <div>Las consultas pueden hacerse desde varios hilos a la vez, como en
+ * {@link ConjuntoQuiniela1X2#calcularEstadísticas()}: cada ventana, tramo y
+ * partido se publica con una sola operación atómica, y si dos hilos analizan
+ * el mismo partido a la vez todos se quedan con el mismo objeto. Las
+ * modificaciones siguen necesitando la colección bloqueada.</div>
+ *
+ * <div>El archivo no debe modificarse mientras se usa el almacén; sí puede
+ * reemplazarse por otro, como hace {@link DiarioQuiniela1X2} al compactar, ya
+ * que la proyección sigue ligada al archivo original.</div>
+ *
+ * @version 1.0 (20261018000)
+ * @author Rodrigo Martínez Delgado &lt;rodrigo.mardel.daw@gmail.com&gt;
+ */
+public class AlmacénPerezosoQuiniela1X2 extends AlmacénQuiniela1X2 {
+	/** Número de líneas de cada ventana proyectada en memoria. */
+	private static final int LÍNEAS_POR_VENTANA = 1 << 20;
+
+	/** Número de partidos de cada tramo de la tabla de partidos analizados. */
+	private static final int PARTIDOS_POR_TRAMO = 1 << 12;
+
+	/** Carácter de fin de línea. */
+	private static final byte FIN_LÍNEA = '\n';
+
+	/** Carácter de retorno de carro, descartado al final de cada línea. */
+	private static final byte RETORNO = '\r';
+
+	/** Ruta al archivo de datos. */
+	private Path rutaArchivo;
+
+	/** Canal de lectura del archivo; <code>null</code> si ya no se usa. */
+	private FileChannel canal;
+
+	/** Índice del archivo; <code>null</code> si ya no se usa. */
+	private ÍndiceDesplazamientosQuiniela1X2 índice;
+
+	/** Número de partidos del archivo. */
+	private int númArchivo;
+
+	/** Ventanas ya proyectadas, por número de ventana. */
+	private AtomicReferenceArray<MappedByteBuffer> ventanas;
+
+	/**
+	 * Partidos del archivo ya analizados, por tramos que se crean al primer
+	 * acceso.
+	 */
+	private AtomicReferenceArray<AtomicReferenceArray<ElementoPartido1X2>> analizados;
+
+	/** Partidos incorporados después de abrir el archivo. */
+	private List<ElementoPartido1X2> añadidos = new ArrayList<ElementoPartido1X2>();
+
+	/**
+	 * Abre un archivo de partidos creando o reutilizando su índice (ver
+	 * {@link ÍndiceDesplazamientosQuiniela1X2}). Solo si el índice falta o no
+	 * corresponde al archivo se recorre este completo, una vez, para crearlo.
+	 *
+	 * @param rutaArchivo el nombre o ruta al archivo
+	 * @throws DatoPartido1X2Exception si alguna línea no es válida –indicando su
+	 *                                 número de línea– o si se produce algún
+	 *                                 error de acceso al archivo
+	 */
+	public AlmacénPerezosoQuiniela1X2(String rutaArchivo) throws DatoPartido1X2Exception {
+		this.rutaArchivo = Path.of(rutaArchivo);
+		try {
+			índice = ÍndiceDesplazamientosQuiniela1X2.abrir(this.rutaArchivo);
+			canal = FileChannel.open(this.rutaArchivo, StandardOpenOption.READ);
+		} catch (IOException ex) {
+			throw new DatoPartido1X2Exception(
+					String.format("Error de acceso a «%s»: %s", rutaArchivo, ex.getLocalizedMessage()), ex);
+		}
+		númArchivo = índice.getNúmLíneas();
+		ventanas = new AtomicReferenceArray<MappedByteBuffer>(
+				(númArchivo + LÍNEAS_POR_VENTANA - 1) / LÍNEAS_POR_VENTANA);
+		analizados = new AtomicReferenceArray<AtomicReferenceArray<ElementoPartido1X2>>(
+				(númArchivo + PARTIDOS_POR_TRAMO - 1) / PARTIDOS_POR_TRAMO);
+	}
+
+	@Override
+	public ElementoPartido1X2 get(int pos) {
+		AtomicReferenceArray<ElementoPartido1X2> tramo;
+		ElementoPartido1X2 elemento, anterior;
+
+		if (pos < 0 || pos >= size()) {
+			throw new IndexOutOfBoundsException(pos);
+		}
+		if (pos >= númArchivo) {
+			return añadidos.get(pos - númArchivo);
+		}
+		tramo = analizados.get(pos / PARTIDOS_POR_TRAMO);
+		if (tramo == null) {
+			tramo = new AtomicReferenceArray<ElementoPartido1X2>(PARTIDOS_POR_TRAMO);
+			if (!analizados.compareAndSet(pos / PARTIDOS_POR_TRAMO, null, tramo)) {
+				tramo = analizados.get(pos / PARTIDOS_POR_TRAMO); // Otro hilo se adelantó
+			}
+		}
+		elemento = tramo.get(pos % PARTIDOS_POR_TRAMO);
+		if (elemento == null) {
+			elemento = analizar(pos);
+			anterior = tramo.compareAndExchange(pos % PARTIDOS_POR_TRAMO, null, elemento);
+			if (anterior != null) { // Siempre el mismo objeto para cada posición
+				elemento = anterior;
+			}
+		}
+		return elemento;
+	}
+
+	@Override
+	public void agregar(ElementoPartido1X2 nuevo) {
+		añadidos.add(nuevo);
+	}
+
+	/**
+	 * Elimina los partidos de varias posiciones. Los partidos restantes del
+	 * archivo se analizan y pasan a guardarse junto a los incorporados después,
+	 * de modo que el archivo deja de usarse.
+	 *
+	 * @param borrados las posiciones de los partidos retirados
+	 */
+	@Override
+	public void compactar(BitSet borrados) {
+		List<ElementoPartido1X2> nuevaLista;
+
+		nuevaLista = new ArrayList<ElementoPartido1X2>(Math.max(16, size() - borrados.cardinality()));
+		for (int pos = borrados.nextClearBit(0); pos < size(); pos = borrados.nextClearBit(pos + 1)) {
+			nuevaLista.add(get(pos));
+		}
+		soltarArchivo();
+		añadidos = nuevaLista;
+	}
+
+	/**
+	 * Localiza la posición de un partido. Como en
+	 * {@link AlmacénVectorQuiniela1X2}, se busca ese mismo objeto, así que solo
+	 * se revisan los partidos ya analizados.
+	 *
+	 * @param elemento el partido a buscar
+	 * @param desde    la posición inicial de la búsqueda
+	 * @return la posición correspondiente, o <code>-1</code> si no está
+	 */
+	@Override
+	public int posiciónDe(ElementoPartido1X2 elemento, int desde) {
+		int pos = -1;
+		int añadido;
+
+		for (int i = Math.max(desde, 0); pos < 0 && i < númArchivo; i++) {
+			if (analizados.get(i / PARTIDOS_POR_TRAMO) != null
+					&& analizados.get(i / PARTIDOS_POR_TRAMO).get(i % PARTIDOS_POR_TRAMO) == elemento) {
+				pos = i;
+			}
+		}
+		if (pos < 0) {
+			añadido = añadidos.subList(Math.max(desde - númArchivo, 0), añadidos.size()).indexOf(elemento);
+			if (añadido >= 0) {
+				pos = Math.max(desde, númArchivo) + añadido;
+			}
+		}
+		return pos;
+	}
+
+	@Override
+	public int size() {
+		return númArchivo + añadidos.size();
+	}
+
+	@Override
+	public void vaciar() {
+		soltarArchivo();
+		añadidos = new ArrayList<ElementoPartido1X2>();
+	}
+
+	/**
+	 * Analiza la línea del archivo correspondiente a un partido.
+	 *
+	 * @param pos la posición del partido, dentro del archivo
+	 * @return el partido nuevo
+	 * @throws IllegalStateException si la línea no es válida o no se puede leer:
+	 *                               el archivo ha cambiado desde que se indexó
+	 */
+	private ElementoPartido1X2 analizar(int pos) {
+		MappedByteBuffer ventana;
+		ElementoPartido1X2 elemento;
+		ErrorDatoPartido1X2 error;
+		long base;
+		int inicio, fin;
+
+		ventana = getVentana(pos / LÍNEAS_POR_VENTANA);
+		base = índice.getComienzo(pos / LÍNEAS_POR_VENTANA * LÍNEAS_POR_VENTANA);
+		inicio = (int) (índice.getComienzo(pos) - base);
+		fin = (int) (índice.getComienzo(pos + 1) - base);
+		if (fin > inicio && ventana.get(fin - 1) == FIN_LÍNEA) {
+			fin--;
+		}
+		if (fin > inicio && ventana.get(fin - 1) == RETORNO) {
+			fin--;
+		}
+		elemento = new ElementoPartido1X2();
+		error = ElementoPartido1X2.analizar(ventana, inicio, fin, elemento);
+		if (error != null) {
+			throw new IllegalStateException(
+					String.format("«%s», línea %d: %s", rutaArchivo, pos + 1, error.getMensaje()));
+		}
+		return elemento;
+	}
+
+	/**
+	 * Proporciona una ventana del archivo, proyectándola en memoria la primera
+	 * vez.
+	 *
+	 * @param númVentana el número de ventana
+	 * @return la ventana proyectada
+	 * @throws IllegalStateException si no se puede proyectar
+	 */
+	private MappedByteBuffer getVentana(int númVentana) {
+		MappedByteBuffer ventana;
+		long inicio, fin;
+
+		ventana = ventanas.get(númVentana);
+		if (ventana == null) {
+			inicio = índice.getComienzo(númVentana * LÍNEAS_POR_VENTANA);
+			fin = índice.getComienzo(Math.min((númVentana + 1) * LÍNEAS_POR_VENTANA, númArchivo));
+			try {
+				ventana = canal.map(MapMode.READ_ONLY, inicio, fin - inicio);
+			} catch (IOException ex) {
+				throw new IllegalStateException(
+						String.format("Error de acceso a «%s»: %s", rutaArchivo, ex.getLocalizedMessage()), ex);
+			}
+			if (!ventanas.compareAndSet(númVentana, null, ventana)) {
+				ventana = ventanas.get(númVentana); // Solo se leen posiciones absolutas
+			}
+		}
+		return ventana;
+	}
+
+	/**
+	 * Deja de usar el archivo: se cierra el canal y se descartan el índice, las
+	 * ventanas y los partidos del archivo.
+	 */
+	private void soltarArchivo() {
+		if (canal != null) {
+			try {
+				canal.close();
+			} catch (IOException ex) {
+				// Solo se leía
+			}
+			canal = null;
+		}
+		índice = null;
+		númArchivo = 0;
+		ventanas = new AtomicReferenceArray<MappedByteBuffer>(0);
+		analizados = new AtomicReferenceArray<AtomicReferenceArray<ElementoPartido1X2>>(0);
+	}
+}
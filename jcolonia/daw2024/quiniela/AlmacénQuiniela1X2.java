@@ -0,0 +1,70 @@
+package jcolonia.daw2024.quiniela;
+
+import java.util.BitSet;
+
+/**
+ * Modelo: Forma de almacenamiento de los partidos de un
+ * {@link ConjuntoQuiniela1X2}. Cada implementación decide cómo guarda los datos
+ * en memoria; la colección solo accede a ellos por posición –«hueco»– y nunca
+ * los elimina uno a uno, sino por lotes al compactar.
+ *
+ * <div>Las implementaciones que no guardan los propios objetos solo admiten
+ * partidos cerrados (ver {@link ElementoPartido1X2#estáCerrada()}).</div>
+ *
+ * @see AlmacénVectorQuiniela1X2
+ * @see AlmacénColumnarQuiniela1X2
+ * @see AlmacénDirectoQuiniela1X2
+ * @see AlmacénConcurrenteQuiniela1X2
+ * @see AlmacénPerezosoQuiniela1X2
+ *
+ * @version 1.0 (20261018000)
+ * @author Rodrigo Martínez Delgado &lt;rodrigo.mardel.daw@gmail.com&gt;
+ */
+public abstract class AlmacénQuiniela1X2 {
+	/**
+	 * Localiza un partido por su posición.
+	 *
+	 * @param pos la posición a consultar
+	 * @return el partido correspondiente
+	 * @throws IndexOutOfBoundsException si la posición no existe
+	 */
+	public abstract ElementoPartido1X2 get(int pos);
+
+	/**
+	 * Incorpora un partido al final.
+	 *
+	 * @param nuevo el partido a incorporar
+	 * @throws IllegalArgumentException si el almacén exige partidos cerrados y este
+	 *                                  aún está incompleto
+	 */
+	public abstract void agregar(ElementoPartido1X2 nuevo);
+
+	/**
+	 * Elimina de una sola vez los partidos de varias posiciones. Los partidos
+	 * restantes se desplazan conservando su orden.
+	 *
+	 * @param borrados las posiciones de los partidos retirados
+	 */
+	public abstract void compactar(BitSet borrados);
+
+	/**
+	 * Localiza la posición de un partido a partir de una posición dada.
+	 *
+	 * @param elemento el partido a buscar
+	 * @param desde    la posición inicial de la búsqueda
+	 * @return la posición de su primera aparición, o <code>-1</code> si no está
+	 */
+	public abstract int posiciónDe(ElementoPartido1X2 elemento, int desde);
+
+	/**
+	 * Devuelve el número de partidos almacenados.
+	 *
+	 * @return el número de partidos
+	 */
+	public abstract int size();
+
+	/**
+	 * Elimina todos los partidos.
+	 */
+	public abstract void vaciar();
+}
@@ -0,0 +1,80 @@
+package jcolonia.daw2024.quiniela;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+
+/**
+ * Modelo: Almacenamiento básico de partidos en un vector dinámico, guardando
+ * cada objeto {@link ElementoPartido1X2} tal cual se recibe.
+ *
+ * <div>El vector es una {@link ArrayList} y no un {@link java.util.Vector}: la
+ * colección ya bloquea cada acceso al almacén (ver
+ * {@link ConjuntoQuiniela1X2}), y los métodos sincronizados de
+ * {@link java.util.Vector} harían esperar en el mismo cerrojo a los hilos de un
+ * recorrido en paralelo (ver {@link ConjuntoQuiniela1X2#calcularEstadísticas()}).</div>
+ *
+ * @version 1.0 (20261018000)
+ * @author Rodrigo Martínez Delgado &lt;rodrigo.mardel.daw@gmail.com&gt;
+ */
+public class AlmacénVectorQuiniela1X2 extends AlmacénQuiniela1X2 {
+	/**
+	 * Lista donde se almacenan los elementos.
+	 */
+	private ArrayList<ElementoPartido1X2> lista;
+
+	/**
+	 * Crea un almacén inicialmente vacío.
+	 */
+	public AlmacénVectorQuiniela1X2() {
+		lista = new ArrayList<ElementoPartido1X2>(6);
+	}
+
+	@Override
+	public ElementoPartido1X2 get(int pos) {
+		return lista.get(pos);
+	}
+
+	@Override
+	public void agregar(ElementoPartido1X2 nuevo) {
+		lista.add(nuevo);
+	}
+
+	@Override
+	public void compactar(BitSet borrados) {
+		ArrayList<ElementoPartido1X2> nuevaLista;
+
+		nuevaLista = new ArrayList<ElementoPartido1X2>(Math.max(6, lista.size() - borrados.cardinality()));
+		for (int pos = borrados.nextClearBit(0); pos < lista.size(); pos = borrados.nextClearBit(pos + 1)) {
+			nuevaLista.add(lista.get(pos));
+		}
+		lista = nuevaLista;
+	}
+
+	/**
+	 * Localiza la posición de un partido. Al carecer los partidos de un criterio
+	 * de igualdad propio, se busca ese mismo objeto.
+	 *
+	 * @param elemento el partido a buscar
+	 * @param desde    la posición inicial de la búsqueda
+	 * @return la posición correspondiente, o <code>-1</code> si no está
+	 */
+	@Override
+	public int posiciónDe(ElementoPartido1X2 elemento, int desde) {
+		int pos = Math.max(desde, 0);
+
+		while (pos < lista.size() && lista.get(pos) != elemento) {
+			pos++;
+		}
+		return (pos < lista.size()) ? pos : -1;
+	}
+
+	@Override
+	public int size() {
+		return lista.size();
+	}
+
+	@Override
+	public void vaciar() {
+		lista.clear();
+	}
+}
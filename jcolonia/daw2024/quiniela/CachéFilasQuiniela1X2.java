@@ -0,0 +1,262 @@
+package jcolonia.daw2024.quiniela;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rendimiento: Política de la caché de filas de los partidos cerrados. Un
+ * {@link ElementoPartido1X2} cerrado ya no cambia, así que puede guardar su
+ * fila de listado ({@link ElementoPartido1X2#toString()}) y su línea pseudo-CSV
+ * ({@link ElementoPartido1X2#toStringCSV()}) la primera vez que se piden y
+ * entregarlas después sin volver a darles formato.
+ *
+ * <div>La política es común a toda la aplicación: decide qué se guarda y cuántos
+ * partidos, como mucho, pueden tener su fila preparada. Al agotarse el cupo se
+ * desaloja la fila de otro partido por el algoritmo del reloj: las filas se
+ * recorren en círculo y se salta, por una vuelta, cada una que se haya vuelto a
+ * consultar desde la pasada anterior. Las filas de los partidos que ya no
+ * están en la colección –bajas, colecciones reemplazadas– dejan de
+ * consultarse y son las primeras en salir. Cada nueva configuración invalida
+ * las filas ya preparadas y reinicia el cupo.</div>
+ *
+ * <div>Solo se benefician los partidos que la colección conserva como objetos
+ * (almacén por defecto y concurrente); los almacenes columnar y directo crean
+ * un partido nuevo en cada consulta y no usan la caché.</div>
+ *
+ * @version 1.0 (20261018000)
+ * @author Rodrigo Martínez Delgado &lt;rodrigo.mardel.daw@gmail.com&gt;
+ */
+public class CachéFilasQuiniela1X2 {
+	/**
+	 * Qué representaciones de cada partido se guardan.
+	 */
+	public enum Política {
+		/** No se guarda nada: se formatea en cada llamada. */
+		NINGUNA,
+		/** Se guardan la fila de listado y la línea pseudo-CSV. */
+		TEXTO,
+		/** Además del texto, la línea pseudo-CSV ya codificada en UTF-8. */
+		TEXTO_Y_BYTES
+	}
+
+	/** Número máximo de filas preparadas por omisión. */
+	public static final long MÁX_FILAS_PREDETERMINADO = 100_000;
+
+	/**
+	 * Configuración vigente: política, cupo y filas ya preparadas con ella.
+	 */
+	static final class Configuración {
+		/** Qué se guarda. */
+		private final Política política;
+
+		/** Número máximo de partidos con su fila preparada. */
+		private final long máxFilas;
+
+		/** Filas preparadas con esta configuración, en orden de reserva. */
+		private final List<Fila> anillo = new ArrayList<Fila>();
+
+		/** Posición del reloj en el anillo: siguiente candidata a desalojar. */
+		private int manecilla;
+
+		/**
+		 * Crea una configuración sin filas preparadas.
+		 *
+		 * @param política qué se guarda
+		 * @param máxFilas el cupo de partidos
+		 */
+		private Configuración(Política política, long máxFilas) {
+			this.política = política;
+			this.máxFilas = máxFilas;
+		}
+
+		/**
+		 * Reserva una fila nueva. Si ya no queda cupo, desaloja la primera fila
+		 * del anillo que no se haya consultado desde la vuelta anterior y ocupa
+		 * su lugar.
+		 *
+		 * @return la fila reservada, o <code>null</code> si el cupo es nulo
+		 */
+		private synchronized Fila reservar() {
+			Fila nueva, víctima;
+
+			if (máxFilas == 0) {
+				return null;
+			}
+			nueva = new Fila(this);
+			if (anillo.size() < máxFilas) {
+				anillo.add(nueva);
+				return nueva;
+			}
+			víctima = anillo.get(manecilla);
+			while (víctima.usada) { // A lo sumo una vuelta completa
+				víctima.usada = false;
+				manecilla = (manecilla + 1) % anillo.size();
+				víctima = anillo.get(manecilla);
+			}
+			víctima.desalojar();
+			anillo.set(manecilla, nueva);
+			manecilla = (manecilla + 1) % anillo.size();
+			return nueva;
+		}
+
+		/**
+		 * Devuelve el número de filas preparadas.
+		 *
+		 * @return las filas del anillo
+		 */
+		private synchronized int getFilas() {
+			return anillo.size();
+		}
+	}
+
+	/**
+	 * Representaciones preparadas de un partido cerrado. Se rellenan bajo demanda;
+	 * si dos hilos coinciden, ambos calculan el mismo texto y da igual cuál quede.
+	 * Una fila desalojada pierde sus textos y el partido reserva otra la próxima
+	 * vez que los pida.
+	 */
+	static final class Fila {
+		/** Configuración con la que se preparó. */
+		private final Configuración configuración;
+
+		/** Fila de listado, o <code>null</code> si aún no se ha pedido. */
+		volatile String listado;
+
+		/** Línea pseudo-CSV, o <code>null</code> si aún no se ha pedido. */
+		volatile String csv;
+
+		/** Línea pseudo-CSV en UTF-8, o <code>null</code> si no se guarda. */
+		volatile byte[] bytesCSV;
+
+		/** Si se ha consultado desde la última pasada del reloj. */
+		private volatile boolean usada;
+
+		/** Si ha salido de la caché para dejar sitio a otra. */
+		private volatile boolean desalojada;
+
+		/**
+		 * Crea una fila vacía para la configuración indicada.
+		 *
+		 * @param configuración la configuración vigente
+		 */
+		private Fila(Configuración configuración) {
+			this.configuración = configuración;
+		}
+
+		/**
+		 * Informa si la fila sigue valiendo con la configuración actual.
+		 *
+		 * @return <code>true</code> si no se ha desalojado ni se ha reconfigurado
+		 *         la caché desde que se preparó
+		 */
+		boolean esVigente() {
+			return !desalojada && configuración == CachéFilasQuiniela1X2.configuración;
+		}
+
+		/**
+		 * Anota una nueva consulta de la fila, que la protege del siguiente paso
+		 * del reloj.
+		 */
+		void marcarUso() {
+			if (!usada) { // Sin escribir si no hace falta
+				usada = true;
+			}
+		}
+
+		/**
+		 * Saca la fila de la caché y suelta sus textos.
+		 */
+		private void desalojar() {
+			desalojada = true;
+			listado = null;
+			csv = null;
+			bytesCSV = null;
+		}
+
+		/**
+		 * Informa si la política vigente al preparar la fila guarda los bytes
+		 * UTF-8 de la línea pseudo-CSV.
+		 *
+		 * @return <code>true</code> si se guardan
+		 */
+		boolean guardaBytes() {
+			return configuración.política == Política.TEXTO_Y_BYTES;
+		}
+	}
+
+	/**
+	 * Marca para los partidos transitorios, que nunca preparan su fila.
+	 *
+	 * @see ElementoPartido1X2#transitorio(String, String, Resultado1X2)
+	 */
+	static final Fila SIN_CACHÉ = new Fila(new Configuración(Política.NINGUNA, 0));
+
+	/** Configuración vigente. */
+	private static volatile Configuración configuración = new Configuración(Política.TEXTO,
+			MÁX_FILAS_PREDETERMINADO);
+
+	/**
+	 * Clase de utilidad: no se instancia.
+	 */
+	private CachéFilasQuiniela1X2() {
+	}
+
+	/**
+	 * Cambia la política de la caché. Las filas preparadas con la política
+	 * anterior dejan de usarse y el cupo vuelve a empezar.
+	 *
+	 * @param política qué se guarda
+	 * @param máxFilas el número máximo de partidos con su fila preparada a la
+	 *                 vez
+	 * @throws IllegalArgumentException si el número máximo es negativo
+	 */
+	public static void configurar(Política política, long máxFilas) {
+		if (máxFilas < 0) {
+			throw new IllegalArgumentException(String.format("Número máximo de filas negativo: %d", máxFilas));
+		}
+		configuración = new Configuración(política, máxFilas);
+	}
+
+	/**
+	 * Devuelve la política vigente.
+	 *
+	 * @return la política
+	 */
+	public static Política getPolítica() {
+		return configuración.política;
+	}
+
+	/**
+	 * Devuelve el número máximo de partidos con su fila preparada.
+	 *
+	 * @return el cupo
+	 */
+	public static long getMáxFilas() {
+		return configuración.máxFilas;
+	}
+
+	/**
+	 * Devuelve el número de partidos que ya tienen su fila preparada con la
+	 * configuración vigente.
+	 *
+	 * @return las filas preparadas
+	 */
+	public static long getFilas() {
+		return configuración.getFilas();
+	}
+
+	/**
+	 * Reserva una fila de la caché para un partido, si la política lo permite,
+	 * desalojando otra si no queda cupo.
+	 *
+	 * @return la fila reservada, o <code>null</code> si no se debe guardar nada
+	 */
+	static Fila reservar() {
+		Configuración actual = configuración;
+
+		if (actual.política == Política.NINGUNA) {
+			return null;
+		}
+		return actual.reservar();
+	}
+}
@@ -0,0 +1,139 @@
+package jcolonia.daw2024.quiniela;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Modelo: Clasificación de los equipos de un {@link ConjuntoQuiniela1X2},
+ * mantenida partido a partido. Cada alta o baja actualiza las filas de sus dos
+ * equipos y las recoloca en el orden de la clasificación, con coste
+ * O(log n) sobre el número de equipos, sin recalcular el resto.
+ *
+ * <div>El orden es por puntos, después por partidos ganados y por último por
+ * nombre. Los equipos sin partidos desaparecen de la clasificación. Los
+ * partidos aún incompletos no se contabilizan.</div>
+ *
+ * @version 1.0 (20261018000)
+ * @author Rodrigo Martínez Delgado &lt;rodrigo.mardel.daw@gmail.com&gt;
+ */
+class ClasificaciónQuiniela1X2 {
+	/** Orden de la clasificación: puntos, partidos ganados y nombre. */
+	private static final Comparator<FilaClasificaciónQuiniela1X2> ORDEN = Comparator
+			.comparingInt(FilaClasificaciónQuiniela1X2::getPuntos).reversed()
+			.thenComparing(Comparator.comparingInt(FilaClasificaciónQuiniela1X2::getGanados).reversed())
+			.thenComparing(FilaClasificaciónQuiniela1X2::getEquipo);
+
+	/** Fila de cada equipo, por nombre. */
+	private Map<String, FilaClasificaciónQuiniela1X2> filas;
+
+	/** Filas en el orden de la clasificación. */
+	private TreeSet<FilaClasificaciónQuiniela1X2> orden;
+
+	/**
+	 * Crea una clasificación vacía.
+	 */
+	ClasificaciónQuiniela1X2() {
+		vaciar();
+	}
+
+	/**
+	 * Suma un partido a la clasificación.
+	 *
+	 * @param elemento el partido incorporado
+	 */
+	void agregar(ElementoPartido1X2 elemento) {
+		anotar(elemento, 1);
+	}
+
+	/**
+	 * Resta un partido de la clasificación.
+	 *
+	 * @param elemento el partido retirado
+	 */
+	void retirar(ElementoPartido1X2 elemento) {
+		anotar(elemento, -1);
+	}
+
+	/**
+	 * Proporciona una copia de las filas en el orden de la clasificación.
+	 *
+	 * @return la lista de filas
+	 */
+	List<FilaClasificaciónQuiniela1X2> getFilas() {
+		List<FilaClasificaciónQuiniela1X2> copia;
+
+		copia = new ArrayList<FilaClasificaciónQuiniela1X2>(orden.size());
+		for (FilaClasificaciónQuiniela1X2 fila : orden) {
+			copia.add(new FilaClasificaciónQuiniela1X2(fila));
+		}
+		return copia;
+	}
+
+	/**
+	 * Proporciona una copia de la fila de un equipo.
+	 *
+	 * @param equipo el nombre del equipo, sin distinguir mayúsculas
+	 * @return la fila, o <code>null</code> si el equipo no tiene partidos
+	 */
+	FilaClasificaciónQuiniela1X2 getFila(String equipo) {
+		FilaClasificaciónQuiniela1X2 fila = filas.get(equipo.toUpperCase());
+		return (fila == null) ? null : new FilaClasificaciónQuiniela1X2(fila);
+	}
+
+	/**
+	 * Elimina todos los equipos.
+	 */
+	void vaciar() {
+		filas = new HashMap<String, FilaClasificaciónQuiniela1X2>();
+		orden = new TreeSet<FilaClasificaciónQuiniela1X2>(ORDEN);
+	}
+
+	/**
+	 * Suma o resta un partido en las filas de sus dos equipos.
+	 *
+	 * @param elemento   el partido
+	 * @param incremento <code>1</code> para sumarlo, <code>-1</code> para restarlo
+	 */
+	private void anotar(ElementoPartido1X2 elemento, int incremento) {
+		if (elemento.estáCerrada()) {
+			try {
+				anotar(elemento.getEquipoLocal(), true, elemento.getResultado(), incremento);
+				anotar(elemento.getEquipoVisitante(), false, elemento.getResultado(), incremento);
+			} catch (Partido1X2Exception ex) { // No debe ocurrir, ya está cerrado
+				throw new IllegalStateException(ex);
+			}
+		}
+	}
+
+	/**
+	 * Suma o resta un partido en la fila de un equipo, retirándola del orden
+	 * mientras cambia.
+	 *
+	 * @param equipo     el nombre del equipo
+	 * @param comoLocal  si el equipo jugó como local
+	 * @param resultado  el resultado del partido
+	 * @param incremento <code>1</code> para sumarlo, <code>-1</code> para restarlo
+	 */
+	private void anotar(String equipo, boolean comoLocal, Resultado1X2 resultado, int incremento) {
+		String clave = equipo.toUpperCase();
+		FilaClasificaciónQuiniela1X2 fila;
+
+		fila = filas.get(clave);
+		if (fila == null) {
+			fila = new FilaClasificaciónQuiniela1X2(clave);
+			filas.put(clave, fila);
+		} else {
+			orden.remove(fila);
+		}
+		fila.anotar(comoLocal, resultado, incremento);
+		if (fila.getJugados() > 0) {
+			orden.add(fila);
+		} else {
+			filas.remove(clave);
+		}
+	}
+}
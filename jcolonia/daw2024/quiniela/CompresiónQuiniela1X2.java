@@ -0,0 +1,371 @@
+package jcolonia.daw2024.quiniela;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Acceso a datos: compresión en formato GZIP de los archivos de texto de
+ * exportación e importación. Los archivos de partidos repiten una y otra vez
+ * los mismos nombres de equipo y separadores, y comprimidos ocupan una pequeña
+ * parte.
+ *
+ * <div>Los datos se comprimen y descomprimen por flujo, en bloques, sin
+ * reunir nunca el archivo completo en memoria. La compresión se hace en un
+ * hilo aparte, que recibe los bloques a través de una cola limitada, de modo
+ * que se solapa con la generación o el análisis de las líneas; si un lado va
+ * más rápido, espera al otro.</div>
+ *
+ * <div>Al importar, los archivos comprimidos se reconocen por sus primeros
+ * bytes, sin depender del nombre.</div>
+ *
+ * @see ExportadorQuiniela1X2#ExportadorQuiniela1X2(String, boolean)
+ * @see ImportadorQuiniela1X2
+ *
+ * @version 1.0 (20261018000)
+ * @author Rodrigo Martínez Delgado &lt;rodrigo.mardel.daw@gmail.com&gt;
+ */
+public class CompresiónQuiniela1X2 {
+	/** Tamaño de cada bloque, en bytes. */
+	private static final int TAMAÑO_BLOQUE = 64 * 1024;
+
+	/** Número máximo de bloques en espera entre los dos hilos. */
+	private static final int BLOQUES_EN_COLA = 4;
+
+	/** Bloque vacío que marca el final de los datos. */
+	private static final byte[] FIN = new byte[0];
+
+	/** Primer byte de la cabecera de un archivo GZIP. */
+	private static final byte MÁGICO_1 = (byte) 0x1f;
+
+	/** Segundo byte de la cabecera de un archivo GZIP. */
+	private static final byte MÁGICO_2 = (byte) 0x8b;
+
+	/**
+	 * Comprueba si un archivo está comprimido en formato GZIP, según sus dos
+	 * primeros bytes.
+	 *
+	 * @param rutaArchivo el nombre o ruta al archivo
+	 * @return <code>true</code> si está comprimido
+	 * @throws IOException si se produce algún error de acceso al archivo
+	 */
+	public static boolean estáComprimido(String rutaArchivo) throws IOException {
+		try (FileChannel canal = FileChannel.open(Path.of(rutaArchivo), StandardOpenOption.READ)) {
+			return estáComprimido(canal);
+		}
+	}
+
+	/**
+	 * Comprueba si el contenido de un canal está comprimido, sin mover su
+	 * posición.
+	 *
+	 * @param canal el canal de lectura
+	 * @return <code>true</code> si está comprimido
+	 * @throws IOException si se produce algún error de lectura
+	 */
+	static boolean estáComprimido(FileChannel canal) throws IOException {
+		ByteBuffer cabecera;
+
+		cabecera = ByteBuffer.allocate(2);
+		canal.read(cabecera, 0); // Sin mover la posición del canal
+		return cabecera.position() == 2 && cabecera.get(0) == MÁGICO_1 && cabecera.get(1) == MÁGICO_2;
+	}
+
+	/**
+	 * Prepara la lectura de un archivo de texto, comprimido o no. Si está
+	 * comprimido, se descomprime en un hilo aparte a medida que se lee.
+	 *
+	 * @param canal el canal de lectura del archivo, al principio
+	 * @return el canal del que leer el texto: el propio canal o uno que entrega
+	 *         los datos ya descomprimidos
+	 * @throws IOException si se produce algún error de lectura
+	 */
+	static ReadableByteChannel abrirLectura(FileChannel canal) throws IOException {
+		return estáComprimido(canal) ? new EntradaComprimida(canal) : canal;
+	}
+
+	/**
+	 * Prepara la escritura comprimida sobre un canal. Los datos se comprimen en
+	 * un hilo aparte; al cerrar el canal devuelto se terminan de escribir, pero
+	 * el canal de destino sigue abierto.
+	 *
+	 * @param destino el canal donde escribir los datos comprimidos
+	 * @return el canal donde escribir los datos sin comprimir
+	 */
+	static WritableByteChannel abrirEscritura(WritableByteChannel destino) {
+		return new SalidaComprimida(destino);
+	}
+
+	/**
+	 * Entrega bloques a una cola limitada, esperando si está llena.
+	 *
+	 * @param cola   la cola
+	 * @param bloque el bloque a entregar
+	 * @throws InterruptedIOException si se interrumpe la espera
+	 */
+	private static void entregar(BlockingQueue<byte[]> cola, byte[] bloque) throws InterruptedIOException {
+		try {
+			cola.put(bloque);
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Espera interrumpida");
+		}
+	}
+
+	/**
+	 * Recoge el siguiente bloque de una cola, esperando si está vacía.
+	 *
+	 * @param cola la cola
+	 * @return el bloque recogido
+	 * @throws InterruptedIOException si se interrumpe la espera
+	 */
+	private static byte[] recoger(BlockingQueue<byte[]> cola) throws InterruptedIOException {
+		try {
+			return cola.take();
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Espera interrumpida");
+		}
+	}
+
+	/**
+	 * Canal de escritura que pasa los datos a un hilo compresor. Si la
+	 * compresión falla, el hilo sigue recogiendo bloques –sin usarlos– para que
+	 * quien escribe no quede esperando, y el error se comunica en la siguiente
+	 * escritura o al cerrar.
+	 */
+	private static class SalidaComprimida implements WritableByteChannel {
+		/** Bloques pendientes de comprimir. */
+		private BlockingQueue<byte[]> cola = new ArrayBlockingQueue<byte[]>(BLOQUES_EN_COLA);
+
+		/** Hilo compresor. */
+		private Thread compresor;
+
+		/** Error del hilo compresor, si lo hubo. */
+		private volatile IOException fallo;
+
+		/** Si el canal está abierto. */
+		private boolean abierto = true;
+
+		/**
+		 * Pone en marcha el hilo compresor sobre el canal de destino.
+		 *
+		 * @param destino el canal donde escribir los datos comprimidos
+		 */
+		SalidaComprimida(WritableByteChannel destino) {
+			compresor = new Thread(() -> comprimir(destino), "Compresión");
+			compresor.setDaemon(true);
+			compresor.start();
+		}
+
+		/**
+		 * Cuerpo del hilo compresor: comprime los bloques recibidos hasta el
+		 * final de los datos.
+		 *
+		 * @param destino el canal donde escribir los datos comprimidos
+		 */
+		private void comprimir(WritableByteChannel destino) {
+			OutputStream salida;
+			GZIPOutputStream comprimido;
+			byte[] bloque;
+
+			try {
+				salida = Channels.newOutputStream(destino);
+				comprimido = new GZIPOutputStream(salida, TAMAÑO_BLOQUE);
+				while ((bloque = recoger(cola)) != FIN) {
+					comprimido.write(bloque);
+				}
+				comprimido.finish(); // Sin cerrar el canal de destino
+				salida.flush();
+			} catch (IOException ex) {
+				fallo = ex;
+				descartarPendientes();
+			}
+		}
+
+		/**
+		 * Recoge sin usarlos los bloques restantes, hasta el final de los datos.
+		 */
+		private void descartarPendientes() {
+			try {
+				while (recoger(cola) != FIN) {
+					// Se descarta
+				}
+			} catch (InterruptedIOException ex) {
+				// Fin del hilo
+			}
+		}
+
+		@Override
+		public int write(ByteBuffer origen) throws IOException {
+			byte[] bloque;
+			int escritos;
+
+			if (!abierto) {
+				throw new ClosedChannelException();
+			}
+			if (fallo != null) {
+				throw fallo;
+			}
+			escritos = origen.remaining();
+			while (origen.hasRemaining()) {
+				bloque = new byte[Math.min(origen.remaining(), TAMAÑO_BLOQUE)];
+				origen.get(bloque);
+				entregar(cola, bloque);
+			}
+			return escritos;
+		}
+
+		@Override
+		public boolean isOpen() {
+			return abierto;
+		}
+
+		/**
+		 * Marca el final de los datos y espera a que el hilo compresor termine de
+		 * escribirlos.
+		 *
+		 * @throws IOException si la compresión ha fallado
+		 */
+		@Override
+		public void close() throws IOException {
+			if (abierto) {
+				abierto = false;
+				entregar(cola, FIN);
+				try {
+					compresor.join();
+				} catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+					throw new InterruptedIOException("Espera interrumpida");
+				}
+				if (fallo != null) {
+					throw fallo;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Canal de lectura que recibe los datos ya descomprimidos de un hilo
+	 * descompresor.
+	 */
+	private static class EntradaComprimida implements ReadableByteChannel {
+		/** Bloques ya descomprimidos. */
+		private BlockingQueue<byte[]> cola = new ArrayBlockingQueue<byte[]>(BLOQUES_EN_COLA);
+
+		/** Hilo descompresor. */
+		private Thread descompresor;
+
+		/** Error del hilo descompresor, si lo hubo. */
+		private volatile IOException fallo;
+
+		/** Bloque en curso de lectura. */
+		private ByteBuffer actual = ByteBuffer.allocate(0);
+
+		/** Si se han leído todos los datos. */
+		private boolean terminado;
+
+		/** Si el canal está abierto. */
+		private boolean abierto = true;
+
+		/**
+		 * Pone en marcha el hilo descompresor sobre el canal de origen.
+		 *
+		 * @param origen el canal con los datos comprimidos
+		 */
+		EntradaComprimida(ReadableByteChannel origen) {
+			descompresor = new Thread(() -> descomprimir(origen), "Descompresión");
+			descompresor.setDaemon(true);
+			descompresor.start();
+		}
+
+		/**
+		 * Cuerpo del hilo descompresor: descomprime el archivo completo y entrega
+		 * los datos por bloques. Termina siempre con el bloque final, también en
+		 * caso de error.
+		 *
+		 * @param origen el canal con los datos comprimidos
+		 */
+		private void descomprimir(ReadableByteChannel origen) {
+			InputStream entrada;
+			byte[] bloque;
+
+			try {
+				entrada = new GZIPInputStream(Channels.newInputStream(origen), TAMAÑO_BLOQUE);
+				do {
+					bloque = entrada.readNBytes(TAMAÑO_BLOQUE);
+					if (bloque.length > 0) {
+						entregar(cola, bloque);
+					}
+				} while (bloque.length == TAMAÑO_BLOQUE);
+			} catch (IOException ex) {
+				fallo = ex;
+			}
+			try {
+				entregar(cola, FIN);
+			} catch (InterruptedIOException ex) {
+				// Quien lee ya ha cerrado el canal
+			}
+		}
+
+		@Override
+		public int read(ByteBuffer destino) throws IOException {
+			byte[] bloque;
+			int leídos;
+
+			if (!abierto) {
+				throw new ClosedChannelException();
+			}
+			while (!actual.hasRemaining() && !terminado) {
+				bloque = recoger(cola);
+				if (bloque == FIN) {
+					terminado = true;
+				} else {
+					actual = ByteBuffer.wrap(bloque);
+				}
+			}
+			if (fallo != null) {
+				throw fallo;
+			}
+			if (!actual.hasRemaining()) {
+				return -1;
+			}
+			leídos = Math.min(actual.remaining(), destino.remaining());
+			destino.put(destino.position(), actual, actual.position(), leídos);
+			destino.position(destino.position() + leídos);
+			actual.position(actual.position() + leídos);
+			return leídos;
+		}
+
+		@Override
+		public boolean isOpen() {
+			return abierto;
+		}
+
+		/**
+		 * Cierra el canal; si el hilo descompresor aún no ha terminado, se
+		 * interrumpe.
+		 */
+		@Override
+		public void close() {
+			if (abierto) {
+				abierto = false;
+				descompresor.interrupt();
+				cola.clear();
+			}
+		}
+	}
+}
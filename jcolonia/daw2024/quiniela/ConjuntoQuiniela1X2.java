@@ -1,27 +1,128 @@
 package jcolonia.daw2024.quiniela;
 
+import java.lang.ref.WeakReference;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Vector;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 /**
  * Prueba
  * Modelo: Colección básica de resultados deportivos en formato de quiniela 1X2.
+ * La forma de guardar los partidos en memoria depende del
+ * {@link AlmacénQuiniela1X2 almacén} elegido al crear la colección.
+ * 
+ * <div>Con un {@link AlmacénConcurrenteQuiniela1X2 almacén concurrente} las
+ * altas pueden llegar desde varios hilos a la vez sin bloquearse; el resto de
+ * operaciones se sincronizan entre sí y solo ven las altas ya terminadas.</div>
+ * 
+ * <div>Los recorridos completos –listados, exportación– trabajan sobre una
+ * {@link InstantáneaQuiniela1X2 instantánea} de la lista, que se toma sin
+ * copiarla y no cambia aunque sigan las altas y bajas.</div>
  * 
  * @version 1.1 (20240502000)
  * @author <a href="mailto:dmartin.jcolonia@gmail.com">David H. Martín</a>
  */
 public class ConjuntoQuiniela1X2 {
 	/**
-	 * Lista donde se almacenan los elementos.
+	 * Receptor de los cambios que una operación compuesta, como una fusión, hace
+	 * sobre la lista, en el mismo orden. Sus métodos se llaman con la lista
+	 * bloqueada, justo antes de cada cambio.
+	 *
+	 * @see ConjuntoQuiniela1X2#fusionar(ConjuntoQuiniela1X2,
+	 *      PolíticaDuplicados1X2, RegistroCambios)
+	 */
+	public interface RegistroCambios {
+		/**
+		 * Informa del alta de un elemento al final de la lista.
+		 *
+		 * @param nuevo el elemento incorporado
+		 */
+		void alta(ElementoPartido1X2 nuevo);
+
+		/**
+		 * Informa de la baja del elemento de una posición.
+		 *
+		 * @param pos la posición del elemento retirado
+		 */
+		void baja(int pos);
+	}
+
+	/**
+	 * Almacén donde se guardan los elementos.
+	 */
+	AlmacénQuiniela1X2 almacén;
+
+	/**
+	 * Correspondencia entre las posiciones de la lista, los huecos del almacén y
+	 * los identificadores de los elementos.
+	 */
+	private MapaPosicionesQuiniela1X2 posiciones;
+
+	/**
+	 * El mismo almacén, si es concurrente; <code>null</code> en otro caso.
+	 */
+	private AlmacénConcurrenteQuiniela1X2 concurrente;
+
+	/**
+	 * Índice de los elementos por equipo; se crea en la primera búsqueda y desde
+	 * entonces se mantiene en cada alta y baja.
+	 */
+	private ÍndiceEquiposQuiniela1X2 índiceEquipos;
+
+	/**
+	 * Índice de los elementos por encuentro; se crea en la primera fusión y desde
+	 * entonces se mantiene en cada alta y baja.
 	 */
-	List<ElementoPartido1X2> lista;
+	private ÍndiceEncuentrosQuiniela1X2 índiceEncuentros;
 
 	/**
-	 * Crea una lista inicialmente vacía.
+	 * Clasificación de los equipos; se crea en la primera consulta y desde
+	 * entonces se mantiene en cada alta y baja.
+	 */
+	private ClasificaciónQuiniela1X2 clasificación;
+
+	/**
+	 * Número de elementos de cada resultado, por código; se crea en la primera
+	 * consulta y desde entonces se mantiene en cada alta y baja.
+	 */
+	private long[] frecuencias;
+
+	/**
+	 * Número de bajas y vaciados realizados: versión de la lista con que se
+	 * sella cada baja y se toma cada instantánea.
+	 */
+	private int modificaciones;
+
+	/**
+	 * Instantáneas abiertas, que deben copiar sus datos antes de compactar o
+	 * vaciar el almacén.
+	 */
+	private List<WeakReference<InstantáneaQuiniela1X2>> instantáneas = new ArrayList<>();
+
+	/**
+	 * Crea una lista inicialmente vacía, guardada en un
+	 * {@link AlmacénVectorQuiniela1X2}.
 	 */
 	public ConjuntoQuiniela1X2() {
-		lista = new Vector<ElementoPartido1X2>(6);
+		this(new AlmacénVectorQuiniela1X2());
+	}
+
+	/**
+	 * Crea una lista sobre un almacén concreto. Si el almacén ya contiene
+	 * partidos –como {@link AlmacénPerezosoQuiniela1X2}–, pasan a ser los
+	 * primeros de la lista, sin recorrerlos.
+	 * 
+	 * @param almacén el almacén a emplear
+	 */
+	public ConjuntoQuiniela1X2(AlmacénQuiniela1X2 almacén) {
+		this.almacén = almacén;
+		posiciones = new MapaPosicionesQuiniela1X2();
+		posiciones.agregar(almacén.size());
+		if (almacén instanceof AlmacénConcurrenteQuiniela1X2) {
+			concurrente = (AlmacénConcurrenteQuiniela1X2) almacén;
+		}
 	}
 
 	/**
@@ -30,28 +131,253 @@ public class ConjuntoQuiniela1X2 {
 	 * @param pos la posición a consultar
 	 * @return el elemento correspondiente
 	 */
-	public ElementoPartido1X2 getElemento(int pos) {
+	public synchronized ElementoPartido1X2 getElemento(int pos) {
 		ElementoPartido1X2 resultado;
-		resultado = lista.get(pos);
+		actualizar();
+		resultado = almacén.get(posiciones.getHueco(pos));
 		return resultado;
 	}
 
 	/**
-	 * Incorpora un elemento al final de la lista.
+	 * Proporciona el identificador de un elemento. El identificador se asigna al
+	 * incorporar el elemento y se conserva aunque cambie su posición por las
+	 * bajas de otros elementos; solo se reinicia al {@link #vaciar() vaciar} la
+	 * lista.
+	 * 
+	 * @param pos la posición a consultar
+	 * @return el identificador correspondiente
+	 */
+	public synchronized int getId(int pos) {
+		actualizar();
+		return posiciones.getId(posiciones.getHueco(pos));
+	}
+
+	/**
+	 * Localiza la posición actual de un elemento a partir de su identificador.
+	 * 
+	 * @param id el identificador a buscar
+	 * @return la posición correspondiente, o <code>-1</code> si el elemento ya no
+	 *         está en la lista
+	 */
+	public synchronized int getPosición(int id) {
+		int hueco;
+		actualizar();
+		hueco = posiciones.getHuecoDeId(id);
+		return (hueco < 0) ? -1 : posiciones.getPosición(hueco);
+	}
+
+	/**
+	 * Incorpora un elemento al final de la lista. Con un almacén concurrente no
+	 * se bloquea.
 	 * 
 	 * @param nuevo el elemento a incorporar
+	 * @return el identificador asignado al elemento
+	 */
+	public int agregarElemento(ElementoPartido1X2 nuevo) {
+		int id;
+
+		if (concurrente != null) { // La posición se registra al consultar
+			id = concurrente.agregarNumerado(nuevo);
+		} else {
+			synchronized (this) {
+				almacén.agregar(nuevo);
+				id = posiciones.agregar();
+				registrarDerivados(nuevo, id);
+			}
+		}
+		return id;
+	}
+
+	/**
+	 * Incorpora un elemento al final de la lista comprobando antes si ya hay
+	 * otro del mismo encuentro –mismo equipo local y visitante–, que se trata
+	 * según la política indicada. La primera fusión recorre toda la lista para
+	 * crear un índice por encuentro; las siguientes cuestan O(1) más las bajas
+	 * que provoquen.
+	 * 
+	 * <div>Con un almacén concurrente, las altas que otros hilos hagan a la vez
+	 * sin pasar por aquí pueden no detectarse como repetidas.</div>
+	 * 
+	 * @param nuevo    el elemento a incorporar
+	 * @param política qué hacer si el encuentro ya está en la lista
+	 * @return <code>true</code> si el encuentro ya estaba en la lista
+	 */
+	public boolean fusionarElemento(ElementoPartido1X2 nuevo, PolíticaDuplicados1X2 política) {
+		return fusionarElemento(nuevo, política, null);
+	}
+
+	/**
+	 * Incorpora un elemento igual que
+	 * {@link #fusionarElemento(ElementoPartido1X2, PolíticaDuplicados1X2)},
+	 * informando de cada alta y baja que provoque.
+	 * 
+	 * @param nuevo    el elemento a incorporar
+	 * @param política qué hacer si el encuentro ya está en la lista
+	 * @param registro el receptor de los cambios, o <code>null</code>
+	 * @return <code>true</code> si el encuentro ya estaba en la lista
+	 */
+	public synchronized boolean fusionarElemento(ElementoPartido1X2 nuevo, PolíticaDuplicados1X2 política,
+			RegistroCambios registro) {
+		int[] repetidos;
+		int huecoRepetido;
+
+		actualizar();
+		if (!nuevo.estáCerrada()) { // Sin encuentro completo no hay repetición
+			if (registro != null) {
+				registro.alta(nuevo);
+			}
+			agregarElemento(nuevo);
+			actualizar();
+			return false;
+		}
+		if (índiceEncuentros == null) {
+			índiceEncuentros = new ÍndiceEncuentrosQuiniela1X2(posiciones);
+			for (int hueco = 0; hueco < posiciones.getNúmHuecos(); hueco++) {
+				if (!posiciones.estáBorrado(hueco)) {
+					índiceEncuentros.agregar(almacén.get(hueco), posiciones.getId(hueco));
+				}
+			}
+		}
+
+		repetidos = índiceEncuentros.buscar(nuevo);
+		if (repetidos.length == 0 || política != PolíticaDuplicados1X2.OMITIR) {
+			if (política == PolíticaDuplicados1X2.REEMPLAZAR) {
+				for (int id : repetidos) { // Cada baja puede compactar y mover los huecos
+					huecoRepetido = posiciones.getHuecoDeId(id);
+					if (registro != null) {
+						registro.baja(posiciones.getPosición(huecoRepetido));
+					}
+					eliminarHueco(huecoRepetido);
+				}
+			}
+			if (registro != null) {
+				registro.alta(nuevo);
+			}
+			agregarElemento(nuevo);
+			actualizar();
+		}
+		return repetidos.length > 0;
+	}
+
+	/**
+	 * Incorpora al final de la lista todos los elementos de otra, en orden,
+	 * tratando los encuentros repetidos según la política indicada (ver
+	 * {@link #fusionarElemento(ElementoPartido1X2, PolíticaDuplicados1X2)}). El
+	 * coste es proporcional al tamaño de la otra lista.
+	 * 
+	 * @param otra     la lista con los elementos a incorporar
+	 * @param política qué hacer con los encuentros que ya estén en la lista
+	 * @return el número de elementos cuyo encuentro ya estaba en la lista
+	 */
+	public long fusionar(ConjuntoQuiniela1X2 otra, PolíticaDuplicados1X2 política) {
+		return fusionar(otra, política, null);
+	}
+
+	/**
+	 * Incorpora todos los elementos de otra lista igual que
+	 * {@link #fusionar(ConjuntoQuiniela1X2, PolíticaDuplicados1X2)}, informando
+	 * de cada alta y baja que provoque; así se pueden guardar solo los cambios
+	 * (ver {@link DiarioQuiniela1X2#iniciarLote()}).
+	 * 
+	 * @param otra     la lista con los elementos a incorporar
+	 * @param política qué hacer con los encuentros que ya estén en la lista
+	 * @param registro el receptor de los cambios, o <code>null</code>
+	 * @return el número de elementos cuyo encuentro ya estaba en la lista
 	 */
-	public void agregarElemento(ElementoPartido1X2 nuevo) {
-		lista.add(nuevo);
+	public long fusionar(ConjuntoQuiniela1X2 otra, PolíticaDuplicados1X2 política, RegistroCambios registro) {
+		Iterator<ElementoPartido1X2> recorrido;
+		long repetidos = 0;
+
+		recorrido = otra.streamElementos().iterator();
+		while (recorrido.hasNext()) {
+			if (fusionarElemento(recorrido.next(), política, registro)) {
+				repetidos++;
+			}
+		}
+		return repetidos;
 	}
 
 	/**
-	 * Elimina un elemento de la lista.
+	 * Elimina un elemento de la lista. Si el almacén no conserva los objetos se
+	 * retira el primer elemento con los mismos datos.
+	 * 
+	 * @see AlmacénQuiniela1X2#posiciónDe(ElementoPartido1X2, int)
 	 * 
 	 * @param viejo el elemento retirado
 	 */
-	public void eliminarElemento(ElementoPartido1X2 viejo) {
-		lista.remove(viejo);
+	public synchronized void eliminarElemento(ElementoPartido1X2 viejo) {
+		int hueco;
+		actualizar();
+		hueco = almacén.posiciónDe(viejo, 0);
+		while (hueco >= 0 && posiciones.estáBorrado(hueco)) {
+			hueco = almacén.posiciónDe(viejo, hueco + 1);
+		}
+		if (hueco >= 0) {
+			eliminarHueco(hueco);
+		}
+	}
+
+	/**
+	 * Elimina el elemento de una posición de la lista. Los elementos posteriores
+	 * avanzan una posición, igual que en una lista. Cuesta O(log n): el elemento
+	 * solo se marca como borrado y el almacén se compacta de vez en cuando.
+	 * 
+	 * @param pos la posición del elemento retirado
+	 */
+	public synchronized void eliminarElemento(int pos) {
+		actualizar();
+		eliminarHueco(posiciones.getHueco(pos));
+	}
+
+	/**
+	 * Elimina un elemento de la lista a partir de su identificador, con el mismo
+	 * coste que {@link #eliminarElemento(int)}.
+	 * 
+	 * @param id el identificador del elemento retirado
+	 * @return <code>true</code> si el elemento estaba en la lista
+	 */
+	public synchronized boolean eliminarPorId(int id) {
+		int hueco;
+		actualizar();
+		hueco = posiciones.getHuecoDeId(id);
+		if (hueco >= 0) {
+			eliminarHueco(hueco);
+		}
+		return hueco >= 0;
+	}
+
+	/**
+	 * Marca como borrado un hueco del almacén y lo compacta si ya hay
+	 * suficientes huecos borrados.
+	 * 
+	 * @param hueco el hueco del elemento retirado
+	 */
+	private void eliminarHueco(int hueco) {
+		ElementoPartido1X2 viejo;
+
+		viejo = hayDerivados() ? almacén.get(hueco) : null;
+		modificaciones++;
+		posiciones.borrar(hueco, modificaciones);
+		if (índiceEquipos != null) {
+			índiceEquipos.retirar(viejo);
+		}
+		if (índiceEncuentros != null) {
+			índiceEncuentros.retirar(viejo);
+		}
+		if (clasificación != null) {
+			clasificación.retirar(viejo);
+		}
+		if (frecuencias != null && viejo.estáCerrada()) {
+			frecuencias[códigoResultado(viejo)]--;
+		}
+		if (posiciones.requiereCompactación()) {
+			if (concurrente != null) { // Incluir las altas en curso
+				registrarAltas(concurrente.detener());
+			}
+			desligarInstantáneas();
+			almacén.compactar(posiciones.getBorrados());
+			posiciones.compactar();
+		}
 	}
 
 	/**
@@ -59,37 +385,357 @@ public class ConjuntoQuiniela1X2 {
 	 * 
 	 * @return el número de elementos
 	 */
-	public int size() {
-		return lista.size();
+	public synchronized int size() {
+		actualizar();
+		return posiciones.size();
 	}
 
 	/**
 	 * Elimina todos los elementos de la lista.
 	 */
-	public void vaciar() {
-		lista.clear();
+	public synchronized void vaciar() {
+		modificaciones++;
+		desligarInstantáneas();
+		almacén.vaciar();
+		posiciones.vaciar();
+		índiceEquipos = null;
+		índiceEncuentros = null;
+		clasificación = null;
+		frecuencias = null;
 	}
 
 	/**
-	 * Facilita una lista con las descripciones de todos los resultados almacenados.
+	 * Busca los elementos de un equipo. La primera búsqueda recorre toda la
+	 * lista para crear un índice por equipo; las siguientes cuestan en proporción
+	 * al número de elementos encontrados.
 	 * 
-	 * @see ElementoPartido1X2#toString()
+	 * @param equipo el nombre del equipo, sin distinguir mayúsculas
+	 * @param papel  el papel del equipo en los partidos buscados
+	 * @return las posiciones de los elementos encontrados, en orden creciente
+	 */
+	public synchronized int[] buscarEquipo(String equipo, PapelEquipo1X2 papel) {
+		actualizar();
+		if (índiceEquipos == null) {
+			índiceEquipos = new ÍndiceEquiposQuiniela1X2(posiciones);
+			for (int hueco = 0; hueco < posiciones.getNúmHuecos(); hueco++) {
+				if (!posiciones.estáBorrado(hueco)) {
+					índiceEquipos.agregar(almacén.get(hueco), posiciones.getId(hueco));
+				}
+			}
+		}
+		return índiceEquipos.buscar(equipo, papel);
+	}
+
+	/**
+	 * Facilita la clasificación de los equipos, ordenada por puntos. La primera
+	 * consulta recorre toda la lista; desde entonces la clasificación se mantiene
+	 * al día en cada alta y baja, sin recalcularla.
+	 * 
+	 * @see FilaClasificaciónQuiniela1X2
+	 * 
+	 * @return copia de las filas de la clasificación, en orden
+	 */
+	public synchronized List<FilaClasificaciónQuiniela1X2> generarClasificación() {
+		actualizar();
+		crearClasificación();
+		return clasificación.getFilas();
+	}
+
+	/**
+	 * Facilita la fila de la clasificación de un equipo.
+	 * 
+	 * @see #generarClasificación()
+	 * 
+	 * @param equipo el nombre del equipo, sin distinguir mayúsculas
+	 * @return copia de la fila, o <code>null</code> si el equipo no tiene partidos
+	 */
+	public synchronized FilaClasificaciónQuiniela1X2 getClasificación(String equipo) {
+		actualizar();
+		crearClasificación();
+		return clasificación.getFila(equipo);
+	}
+
+	/**
+	 * Facilita una lista con las descripciones de las filas de la clasificación,
+	 * en orden.
+	 * 
+	 * @see FilaClasificaciónQuiniela1X2#toString()
 	 * 
 	 * @return la lista de textos correspondiente
 	 */
-	public List<String> generarListado() {
+	public List<String> generarListadoClasificación() {
 		List<String> listaTextos;
-		listaTextos = new ArrayList<String>(lista.size());
+		listaTextos = new ArrayList<String>();
 
-		for (ElementoPartido1X2 resultado : lista) {
-			listaTextos.add(resultado.toString());
+		for (FilaClasificaciónQuiniela1X2 fila : generarClasificación()) {
+			listaTextos.add(fila.toString());
 		}
 		return listaTextos;
 	}
 
+	/**
+	 * Calcula el reparto de resultados de toda la lista y de cada equipo. El
+	 * recorrido se hace en paralelo, con contadores propios para cada tramo que
+	 * se suman al final.
+	 * 
+	 * @return las estadísticas correspondientes
+	 */
+	public synchronized EstadísticasQuiniela1X2 calcularEstadísticas() {
+		EstadísticasQuiniela1X2.Acumulador total;
+
+		actualizar();
+		total = IntStream.range(0, posiciones.getNúmHuecos()).parallel()
+				.filter(hueco -> !posiciones.estáBorrado(hueco))
+				.mapToObj(almacén::get)
+				.collect(EstadísticasQuiniela1X2.Acumulador::new, EstadísticasQuiniela1X2.Acumulador::anotar,
+						EstadísticasQuiniela1X2.Acumulador::combinar);
+		return new EstadísticasQuiniela1X2(total);
+	}
+
+	/**
+	 * Devuelve el número de elementos con un resultado dado. La primera consulta
+	 * recorre toda la lista; desde entonces el contador se mantiene al día en
+	 * cada alta y baja, y la consulta es inmediata.
+	 * 
+	 * @param resultado el resultado a consultar
+	 * @return el número de elementos
+	 */
+	public synchronized long getFrecuencia(Resultado1X2 resultado) {
+		EstadísticasQuiniela1X2 estadísticas;
+
+		if (frecuencias == null) {
+			estadísticas = calcularEstadísticas();
+			frecuencias = new long[4];
+			for (Resultado1X2 posible : Resultado1X2.values()) {
+				frecuencias[posible.getCódigo()] = estadísticas.getFrecuencia(posible);
+			}
+		} else {
+			actualizar();
+		}
+		return frecuencias[resultado.getCódigo()];
+	}
+
+	/**
+	 * Crea la clasificación, si aún no existe, a partir de todos los elementos.
+	 */
+	private void crearClasificación() {
+		if (clasificación == null) {
+			clasificación = new ClasificaciónQuiniela1X2();
+			for (int hueco = 0; hueco < posiciones.getNúmHuecos(); hueco++) {
+				if (!posiciones.estáBorrado(hueco)) {
+					clasificación.agregar(almacén.get(hueco));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Indica si hay estructuras derivadas que mantener en cada alta y baja.
+	 * 
+	 * @return <code>true</code> si existe el índice por equipo o por encuentro,
+	 *         la clasificación o los contadores de resultados
+	 */
+	private boolean hayDerivados() {
+		return índiceEquipos != null || índiceEncuentros != null || clasificación != null || frecuencias != null;
+	}
+
+	/**
+	 * Registra un elemento recién incorporado en las estructuras derivadas que
+	 * existan.
+	 * 
+	 * @param nuevo el elemento incorporado
+	 * @param id    su identificador
+	 */
+	private void registrarDerivados(ElementoPartido1X2 nuevo, int id) {
+		if (índiceEquipos != null) {
+			índiceEquipos.agregar(nuevo, id);
+		}
+		if (índiceEncuentros != null) {
+			índiceEncuentros.agregar(nuevo, id);
+		}
+		if (clasificación != null) {
+			clasificación.agregar(nuevo);
+		}
+		if (frecuencias != null && nuevo.estáCerrada()) {
+			frecuencias[códigoResultado(nuevo)]++;
+		}
+	}
+
+	/**
+	 * Obtiene el código del resultado de un elemento cerrado.
+	 * 
+	 * @param elemento el elemento a consultar
+	 * @return el código de su resultado
+	 */
+	private static int códigoResultado(ElementoPartido1X2 elemento) {
+		try {
+			return elemento.getResultado().getCódigo();
+		} catch (Partido1X2Exception ex) { // No debe ocurrir, ya está cerrado
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	/**
+	 * Registra las altas terminadas en un almacén concurrente desde la última
+	 * operación.
+	 */
+	private void actualizar() {
+		if (concurrente != null) {
+			registrarAltas(concurrente.size());
+		}
+	}
+
+	/**
+	 * Registra las altas hechas directamente en el almacén concurrente hasta
+	 * alcanzar un número de huecos dado.
+	 * 
+	 * @param total el número de huecos ocupados en el almacén
+	 */
+	private void registrarAltas(int total) {
+		int hueco, id;
+
+		for (hueco = posiciones.getNúmHuecos(); hueco < total; hueco++) {
+			id = posiciones.agregar();
+			if (hayDerivados()) {
+				registrarDerivados(almacén.get(hueco), id);
+			}
+		}
+	}
+
+	/**
+	 * Toma una instantánea de la lista: una vista de los elementos actuales que
+	 * no cambia con las altas y bajas posteriores, de modo que puede recorrerse
+	 * despacio, incluso desde otro hilo, mientras la lista sigue modificándose.
+	 * Cuesta O(1); la lista solo copia datos para las instantáneas abiertas
+	 * cuando va a compactar o vaciar el almacén.
+	 * 
+	 * @return la instantánea
+	 */
+	public synchronized InstantáneaQuiniela1X2 tomarInstantánea() {
+		return crearInstantánea(0);
+	}
+
+	/**
+	 * Recorre bajo demanda todos los elementos de la lista, en orden, sin copiar
+	 * la lista. El recorrido abarca los elementos presentes al crearlo (ver
+	 * {@link #tomarInstantánea()}): las altas y bajas posteriores no le
+	 * afectan.
+	 * 
+	 * @return el flujo de elementos
+	 */
+	public Stream<ElementoPartido1X2> streamElementos() {
+		return streamElementos(0);
+	}
+
+	/**
+	 * Recorre bajo demanda los elementos de la lista a partir de una posición, con
+	 * los mismos criterios que {@link #streamElementos()}. Los elementos
+	 * anteriores no se recorren.
+	 * 
+	 * @param desde la posición del primer elemento
+	 * @return el flujo de elementos; vacío si la posición no existe
+	 */
+	public synchronized Stream<ElementoPartido1X2> streamElementos(int desde) {
+		return crearInstantánea(desde).streamElementos();
+	}
+
+	/**
+	 * Crea una instantánea de los elementos a partir de una posición y la
+	 * registra entre las abiertas, retirando de paso las ya abandonadas.
+	 * 
+	 * @param desde la posición del primer elemento
+	 * @return la instantánea; vacía si la posición no existe
+	 */
+	private InstantáneaQuiniela1X2 crearInstantánea(int desde) {
+		InstantáneaQuiniela1X2 instantánea;
+		int primerHueco, númHuecos, tamaño;
+
+		actualizar();
+		númHuecos = posiciones.getNúmHuecos();
+		if (desde >= 0 && desde < posiciones.size()) {
+			primerHueco = posiciones.getHueco(desde);
+			tamaño = posiciones.size() - desde;
+		} else {
+			primerHueco = númHuecos;
+			tamaño = 0;
+		}
+		instantánea = new InstantáneaQuiniela1X2(this, almacén, posiciones, primerHueco, númHuecos, modificaciones,
+				tamaño);
+		if (tamaño > 0) { // Una instantánea vacía no necesita datos
+			instantáneas.removeIf(referencia -> referencia.get() == null);
+			instantáneas.add(new WeakReference<InstantáneaQuiniela1X2>(instantánea));
+		}
+		return instantánea;
+	}
+
+	/**
+	 * Retira una instantánea de las abiertas.
+	 * 
+	 * @param instantánea la instantánea cerrada
+	 */
+	synchronized void soltarInstantánea(InstantáneaQuiniela1X2 instantánea) {
+		instantáneas.removeIf(referencia -> referencia.get() == null || referencia.get() == instantánea);
+	}
+
+	/**
+	 * Hace que las instantáneas abiertas copien los datos que necesitan, antes
+	 * de compactar o vaciar el almacén, y deja de tenerlas en cuenta.
+	 */
+	private void desligarInstantáneas() {
+		InstantáneaQuiniela1X2 instantánea;
+
+		for (WeakReference<InstantáneaQuiniela1X2> referencia : instantáneas) {
+			instantánea = referencia.get();
+			if (instantánea != null) {
+				instantánea.desligar();
+			}
+		}
+		instantáneas.clear();
+	}
+
+	/**
+	 * Recorre bajo demanda las descripciones de todos los elementos, en orden.
+	 * Cada texto se genera al consumirlo, de modo que el primero está disponible
+	 * de inmediato y la memoria empleada no depende del tamaño de la lista.
+	 * 
+	 * @see #streamElementos()
+	 * @see ElementoPartido1X2#toString()
+	 * 
+	 * @return el flujo de textos correspondiente
+	 */
+	public Stream<String> streamListado() {
+		return streamListado(0);
+	}
+
+	/**
+	 * Recorre bajo demanda las descripciones de los elementos a partir de una
+	 * posición, con los mismos criterios que {@link #streamListado()}.
+	 * 
+	 * @param desde la posición del primer elemento
+	 * @return el flujo de textos correspondiente
+	 */
+	public Stream<String> streamListado(int desde) {
+		return streamElementos(desde).map(ElementoPartido1X2::toString);
+	}
+
+	/**
+	 * Facilita una lista con las descripciones de todos los resultados almacenados.
+	 * Se genera sobre una {@link #tomarInstantánea() instantánea}, sin bloquear
+	 * la lista durante todo el recorrido.
+	 * 
+	 * @see ElementoPartido1X2#toString()
+	 * 
+	 * @return la lista de textos correspondiente
+	 */
+	public List<String> generarListado() {
+		return tomarInstantánea().generarListado();
+	}
+
 	/**
 	 * Facilita una lista con las líneas de todos los resultados almacenados aptas
-	 * para el archivo de exportación en formato pseudo CSV.
+	 * para el archivo de exportación en formato pseudo CSV. Se genera sobre una
+	 * {@link #tomarInstantánea() instantánea}, sin bloquear la lista durante todo
+	 * el recorrido.
 	 * 
 	 * @see ElementoPartido1X2#toStringCSV()
 	 * 
@@ -97,12 +743,6 @@ public class ConjuntoQuiniela1X2 {
 	 * @throws Partido1X2Exception si los datos del partido aún están incompletos
 	 */
 	public List<String> generarListadoCSV() throws Partido1X2Exception {
-		List<String> listaTextos;
-		listaTextos = new ArrayList<String>(lista.size());
-
-		for (ElementoPartido1X2 resultado : lista) {
-			listaTextos.add(resultado.toStringCSV());
-		}
-		return listaTextos;
+		return tomarInstantánea().generarListadoCSV();
 	}
 }
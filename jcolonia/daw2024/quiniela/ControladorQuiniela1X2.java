@@ -2,7 +2,8 @@ package jcolonia.daw2024.quiniela;
 
 import static java.lang.System.out;
 
-import java.util.List;
+import java.io.File;
+import java.io.IOException;
 
 /**
  * Prueba
@@ -17,17 +18,46 @@ import java.util.List;
 public class ControladorQuiniela1X2 {
 	/** Nombre del archivo de datos para impotación/exportación. */
 	private static final String NOMBRE_ARCHIVO = "Almacén Quiniela1X2.txt";
+	/** Nombre del archivo base donde se guardan los datos entre sesiones. */
+	static final String NOMBRE_ARCHIVO_BASE = "Almacén Quiniela1X2.base.txt";
+	/** Nombre del archivo de datos comprimido para importación/exportación. */
+	private static final String NOMBRE_ARCHIVO_COMPRIMIDO = "Almacén Quiniela1X2.txt.gz";
+	/** Nombre del archivo de datos en formato binario compacto. */
+	private static final String NOMBRE_ARCHIVO_BINARIO = "Almacén Quiniela1X2.q1x2";
+	/** Tamaño de archivo, en bytes, a partir del cual se importa con proyección en memoria. */
+	private static final long UMBRAL_IMPORTACIÓN_MAPEADA = 1024 * 1024;
+	/** Tamaño de archivo, en bytes, a partir del cual se importa en paralelo. */
+	private static final long UMBRAL_IMPORTACIÓN_PARALELA = 16 * 1024 * 1024;
 	/** Opciones del menú principal. */
 	private static final String[] TXT_MENÚ_PRINCIPAL = { "Alta", "Baja", "Listado", "Exportación", "Importación",
-			"Borrado" };
+			"Borrado", "Exportación binaria", "Importación binaria", "Clasificación", "Fusión",
+			"Exportación comprimida", "Importación comprimida" };
+	/** Opciones del tratamiento de partidos repetidos en una fusión. */
+	private static final String[] TXT_MENÚ_DUPLICADOS = { "Omitir repetidos", "Reemplazar repetidos",
+			"Conservar ambos" };
 	/** Colección principal de resultados. */
 	ConjuntoQuiniela1X2 listaResultados;
+	/** Diario de altas y bajas; <code>null</code> si no se pudo recuperar. */
+	private DiarioQuiniela1X2 diario;
+	/** Hilo de la última exportación en segundo plano; <code>null</code> si no hubo. */
+	private Thread exportaciónEnCurso;
 
 	/**
-	 * Inicializa la lista/colección donde se irán guardando los partidos.
+	 * Inicializa la lista/colección donde se irán guardando los partidos,
+	 * recuperando los datos guardados en sesiones anteriores (ver
+	 * {@link DiarioQuiniela1X2}). Si no se pueden recuperar, se envía el mensaje a
+	 * la salida de error estándar y se empieza con la lista vacía, sin guardar
+	 * los cambios para no alterar los archivos.
 	 */
 	public ControladorQuiniela1X2() {
-		listaResultados = new ConjuntoQuiniela1X2();
+		diario = new DiarioQuiniela1X2(NOMBRE_ARCHIVO_BASE);
+		try {
+			listaResultados = diario.recuperar();
+		} catch (DatoPartido1X2Exception ex) {
+			System.err.printf("Error de recuperación: %s%n", ex.getLocalizedMessage());
+			listaResultados = new ConjuntoQuiniela1X2();
+			diario = null;
+		}
 	}
 
 	/**
@@ -58,7 +88,7 @@ public class ControladorQuiniela1X2 {
 				listado();
 				break;
 			case 4: // Exportación
-				exportación(NOMBRE_ARCHIVO);
+				exportación(NOMBRE_ARCHIVO, false);
 				break;
 			case 5: // Importación
 				importación(NOMBRE_ARCHIVO);
@@ -66,6 +96,24 @@ public class ControladorQuiniela1X2 {
 			case 6:
 				reset();
 				break;
+			case 7: // Exportación binaria
+				exportaciónBinaria(NOMBRE_ARCHIVO_BINARIO);
+				break;
+			case 8: // Importación binaria
+				importaciónBinaria(NOMBRE_ARCHIVO_BINARIO);
+				break;
+			case 9: // Clasificación
+				clasificación();
+				break;
+			case 10: // Fusión
+				fusión(NOMBRE_ARCHIVO);
+				break;
+			case 11: // Exportación comprimida
+				exportación(NOMBRE_ARCHIVO_COMPRIMIDO, true);
+				break;
+			case 12: // Importación comprimida
+				importación(NOMBRE_ARCHIVO_COMPRIMIDO);
+				break;
 			case 0:
 				finalizar(); // Finalizar programa
 				salir = true;
@@ -83,12 +131,13 @@ public class ControladorQuiniela1X2 {
 	private void reset() {
 		VistaGeneral.pedirConfirmación("¡Se borraran todas las bandas!", "¿Desea continuar?");
 		VistaGeneral.pedirConfirmación("S/N");
-		listaResultados.vaciar();
+		reemplazarLista(new ConjuntoQuiniela1X2());
 	}
 
 	/**
 	 * Crea un partido vacío para rellenarlo y eventualmente almacenarlo. El partido
-	 * se envía al diálogo de altas, y si este responde positivamente se almacena.
+	 * se envía al diálogo de altas, y si este responde positivamente se anota en
+	 * el diario y se almacena.
 	 */
 	private void alta() {
 		ElementoPartido1X2 nuevo;
@@ -97,15 +146,16 @@ public class ControladorQuiniela1X2 {
 		dlg = new VistaDiálogoAltaPartido1X2("Altas 1-X-2");
 
 		nuevo = dlg.entradaQuiniela1X2();
-		if (dlg.confirmarAlta(nuevo.toString())) {
+		if (dlg.confirmarAlta(nuevo.toString()) && guardarAlta(nuevo)) {
 			listaResultados.agregarElemento(nuevo);
+			compactarDiario();
 		}
 		listado();
 	}
 
 	/**
 	 * Abre el diálogo de bajas y recibe de él un partido de la lista para su
-	 * eliminación.
+	 * eliminación, que se anota en el diario.
 	 */
 	private void baja() {
 		if(listaResultados.size() <= 0) {
@@ -121,15 +171,17 @@ public class ControladorQuiniela1X2 {
 
 		if (posiciónBorrable > -1) { // Pulsación de «Intro» sin seleccionar nada
 			partidoBorrable = listaResultados.getElemento(posiciónBorrable);
-			if (dlg.confirmarBaja(partidoBorrable.toString())) {
-				listaResultados.eliminarElemento(partidoBorrable);
+			if (dlg.confirmarBaja(partidoBorrable.toString()) && guardarBaja(posiciónBorrable)) {
+				listaResultados.eliminarElemento(posiciónBorrable);
+				compactarDiario();
 			}
 			listado();
 		}
 	}
 
 	/**
-	 * Genera una pantalla con el listado completo de partidos almacenados.
+	 * Genera una pantalla con el listado completo de partidos almacenados,
+	 * paginado para no tener que generarlo entero antes de mostrarlo.
 	 */
 	private void listado() {
 		if(listaResultados.size() <= 0) {
@@ -138,76 +190,260 @@ public class ControladorQuiniela1X2 {
 		VistaListado dlg;
 		dlg = new VistaListado("Lista de Resultados");
 
-		dlg.mostrar(listaResultados.generarListado());
+		dlg.mostrarPaginado(listaResultados.size(), listaResultados::streamListado);
+	}
+
+	/**
+	 * Genera una pantalla con la clasificación de los equipos según los partidos
+	 * almacenados.
+	 */
+	private void clasificación() {
+		if (listaResultados.size() <= 0) {
+			VistaGeneral.mostrarAviso("*** ¡No hay ningún elemento que mostrar!");
+		}
+		VistaListado dlg;
+		dlg = new VistaListado("Clasificación");
+
+		dlg.mostrar(listaResultados.generarListadoClasificación());
 		VistaGeneral.preguntaSeguir();
 	}
 
 	/**
 	 * Realiza el volcado de todas las partidos almacenados a un archivo de texto.
 	 * Emplea un formato propio –de estilo CSV con separador «#»– que puede ser
-	 * recuperado posteriormente (ver {@link #importación(String)}). En caso de
+	 * recuperado posteriormente (ver {@link #importación(String)}), opcionalmente
+	 * comprimido en formato GZIP (ver {@link CompresiónQuiniela1X2}). El volcado se
+	 * hace en segundo plano sobre una copia de la lista (ver
+	 * {@link ExportadorQuiniela1X2#exportarEnSegundoPlano(ConjuntoQuiniela1X2, ExportadorQuiniela1X2.Seguimiento)}),
+	 * de modo que se vuelve al menú de inmediato y el avance y el final se
+	 * muestran según se producen. Solo hay una exportación a la vez. En caso de
 	 * producirse algún error de acceso se envía el mensaje a la salida de error
-	 * estándar y el programa continua.
+	 * estándar, el archivo anterior se conserva y el programa continua.
 	 * 
 	 * @param rutaArchivo el nombre o ruta al archivo
+	 * @param comprimir   <code>true</code> para comprimir el archivo
+	 */
+	private void exportación(String rutaArchivo, boolean comprimir) {
+		ExportadorQuiniela1X2 archivo;
+
+		if (listaResultados.size() == 0) {
+			VistaGeneral.mostrarAviso("No hay ningún resultado que exportar");
+		} else if (exportaciónEnCurso != null && exportaciónEnCurso.isAlive()) {
+			VistaGeneral.mostrarAviso("Ya hay una exportación en curso");
+		} else {
+			archivo = new ExportadorQuiniela1X2(rutaArchivo, comprimir);
+			exportaciónEnCurso = archivo.exportarEnSegundoPlano(listaResultados, new SeguimientoExportación());
+			VistaGeneral.mostrarTexto("Exportación en curso…");
+		}
+	}
+
+	/**
+	 * Muestra las noticias de una exportación en segundo plano.
 	 */
-	private void exportación(String rutaArchivo) {
-		AccesoArchivo archivo;
-		List<String> listaTextosCSV;
+	private static class SeguimientoExportación implements ExportadorQuiniela1X2.Seguimiento {
+		@Override
+		public void avance(long escritos, long total) {
+			VistaGeneral.mostrarTexto(String.format("Exportación: %d de %d resultados (%d%%)", escritos, total,
+					escritos * 100 / total));
+		}
+
+		@Override
+		public void fin(long total) {
+			VistaGeneral.mostrarTexto(String.format("%d resultados exportados", total));
+		}
+
+		@Override
+		public void error(Exception causa) {
+			System.err.printf("Error de exportación: %s%n", causa.getLocalizedMessage());
+		}
+	}
+
+	/**
+	 * Espera a que termine la exportación en segundo plano, si la hay, para no
+	 * interrumpirla al salir.
+	 */
+	private void esperarExportación() {
+		if (exportaciónEnCurso != null && exportaciónEnCurso.isAlive()) {
+			VistaGeneral.mostrarTexto("Esperando a que termine la exportación…");
+			try {
+				exportaciónEnCurso.join();
+			} catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	/**
+	 * Importa partidos almacenados en un archivo de texto reemplazando el contenido
+	 * actual del programa. Emplea un formato propio –de estilo CSV con separador
+	 * «#»– producido por una exportación previa (ver {@link #exportación(String, boolean)}).
+	 * El archivo se lee por flujo, línea a línea (ver
+	 * {@link ImportadorQuiniela1X2}); si es de tamaño medio se proyecta en memoria
+	 * (ver {@link ImportadorMapeadoQuiniela1X2}) y si es de gran tamaño se analiza
+	 * en paralelo (ver {@link ImportadorParaleloQuiniela1X2}). En caso de
+	 * producirse algún error de acceso o por el propio formato del archivo, se
+	 * envía el mensaje a la salida de error estándar y el programa continúa sin
+	 * perder el contenido anterior.
+	 * 
+	 * @param rutaArchivo el nombre o ruta al archivo
+	 */
+	private void importación(String rutaArchivo) {
+		ConjuntoQuiniela1X2 nuevaLista;
 		int númElementos;
 		String mensaje;
 
-		boolean bienGrabado = false;
+		try {
+			nuevaLista = leerArchivo(rutaArchivo, null);
+			númElementos = nuevaLista.size();
+
+			if (númElementos == 0) {
+				VistaGeneral.mostrarAviso("No hay ningún elemento que importar");
+			} else if (reemplazarLista(nuevaLista)) {
+				mensaje = String.format("%d resultados importados", númElementos);
+				VistaGeneral.mostrarTexto(mensaje);
+				listado();
+			}
+		} catch (DatoPartido1X2Exception ex) {
+			System.err.printf("Error de importación: %s%n", ex.getLocalizedMessage());
+		}
+	}
+
+	/**
+	 * Incorpora a los partidos actuales los de un archivo de texto, por ejemplo
+	 * una jornada nueva, sin reemplazar el contenido del programa. Se pregunta
+	 * qué hacer con los partidos cuyo encuentro –mismo local y visitante– ya
+	 * esté almacenado (ver {@link PolíticaDuplicados1X2}). El archivo se lee
+	 * completo antes de incorporar nada, así que en caso de error se envía el
+	 * mensaje a la salida de error estándar y el contenido anterior queda
+	 * intacto.
+	 * 
+	 * @param rutaArchivo el nombre o ruta al archivo
+	 */
+	private void fusión(String rutaArchivo) {
+		ConjuntoQuiniela1X2 nuevaLista;
+		VistaMenú menú;
+		PolíticaDuplicados1X2 política;
+		DiarioQuiniela1X2.Lote lote;
+		long repetidos;
+		String mensaje;
+
+		try {
+			nuevaLista = leerArchivo(rutaArchivo, null);
+			if (nuevaLista.size() == 0) {
+				VistaGeneral.mostrarAviso("No hay ningún elemento que fusionar");
+			} else {
+				menú = new VistaMenú("Partidos repetidos", TXT_MENÚ_DUPLICADOS);
+				menú.mostrarMenú();
+				política = PolíticaDuplicados1X2.values()[menú.pedirOpción() - 1];
+
+				lote = (diario != null) ? diario.iniciarLote() : null;
+				repetidos = listaResultados.fusionar(nuevaLista, política, lote);
+				guardarLote(lote);
+				compactarDiario();
+				mensaje = String.format("%d resultados fusionados (%d repetidos)", nuevaLista.size(), repetidos);
+				VistaGeneral.mostrarTexto(mensaje);
+				listado();
+			}
+		} catch (DatoPartido1X2Exception ex) {
+			System.err.printf("Error de importación: %s%n", ex.getLocalizedMessage());
+		}
+	}
+
+	/**
+	 * Lee un archivo de texto completo con el importador adecuado a su tamaño:
+	 * por flujo, línea a línea (ver {@link ImportadorQuiniela1X2}); proyectado en
+	 * memoria si es de tamaño medio (ver {@link ImportadorMapeadoQuiniela1X2}) o
+	 * en paralelo si es de gran tamaño (ver {@link ImportadorParaleloQuiniela1X2}).
+	 * Los archivos comprimidos se leen siempre por flujo, descomprimiéndolos a la
+	 * vez (ver {@link CompresiónQuiniela1X2}). Con informe, la lectura tolera las
+	 * líneas erróneas y los archivos grandes se proyectan en memoria, ya que la
+	 * importación en paralelo es siempre estricta.
+	 * 
+	 * @param rutaArchivo el nombre o ruta al archivo
+	 * @param informe     el informe donde anotar las líneas cargadas y las
+	 *                    erróneas, o <code>null</code> para una lectura estricta
+	 * @return la colección con los partidos leídos
+	 * @throws DatoPartido1X2Exception si se produce algún error de acceso al
+	 *                                 archivo o, sin informe, si alguna línea no
+	 *                                 es válida
+	 */
+	static ConjuntoQuiniela1X2 leerArchivo(String rutaArchivo, InformeImportaciónQuiniela1X2 informe)
+			throws DatoPartido1X2Exception {
+		ConjuntoQuiniela1X2 nuevaLista;
+		long tamañoArchivo;
+		boolean comprimido;
+
+		tamañoArchivo = new File(rutaArchivo).length();
+		try {
+			comprimido = tamañoArchivo > 0 && CompresiónQuiniela1X2.estáComprimido(rutaArchivo);
+		} catch (IOException ex) {
+			throw new DatoPartido1X2Exception(
+					String.format("Error de acceso a «%s»: %s", rutaArchivo, ex.getLocalizedMessage()), ex);
+		}
+		if (comprimido) {
+			nuevaLista = new ImportadorQuiniela1X2(rutaArchivo).importar(informe);
+		} else if (tamañoArchivo >= UMBRAL_IMPORTACIÓN_PARALELA && informe == null) {
+			nuevaLista = new ImportadorParaleloQuiniela1X2(rutaArchivo).importar();
+		} else if (tamañoArchivo >= UMBRAL_IMPORTACIÓN_MAPEADA) {
+			nuevaLista = new ImportadorMapeadoQuiniela1X2(rutaArchivo).importar(informe);
+		} else {
+			nuevaLista = new ImportadorQuiniela1X2(rutaArchivo).importar(informe);
+		}
+		return nuevaLista;
+	}
+
+	/**
+	 * Realiza el volcado de todos los partidos almacenados a un archivo en formato
+	 * binario compacto (ver {@link FormatoBinarioQuiniela1X2}), que puede ser
+	 * recuperado posteriormente (ver {@link #importaciónBinaria(String)}). En caso
+	 * de producirse algún error se envía el mensaje a la salida de error estándar
+	 * y el programa continúa.
+	 * 
+	 * @param rutaArchivo el nombre o ruta al archivo
+	 */
+	private void exportaciónBinaria(String rutaArchivo) {
+		FormatoBinarioQuiniela1X2 archivo;
+		int númElementos;
+		String mensaje;
 
-		listaTextosCSV = listaResultados.generarListadoCSV();
-		númElementos = listaTextosCSV.size();
+		númElementos = listaResultados.size();
 
 		if (númElementos == 0) {
 			VistaGeneral.mostrarAviso("No hay ningún resultado que exportar");
 		} else {
-			archivo = new AccesoArchivo(rutaArchivo);
-			bienGrabado = archivo.escribir(listaTextosCSV);
+			try {
+				archivo = new FormatoBinarioQuiniela1X2(rutaArchivo);
+				archivo.exportar(listaResultados);
 
-			if (bienGrabado) {
 				mensaje = String.format("%d resultados exportados", númElementos);
 				VistaGeneral.mostrarTexto(mensaje);
+			} catch (IOException | Partido1X2Exception ex) {
+				System.err.printf("Error de exportación: %s%n", ex.getLocalizedMessage());
 			}
 		}
 	}
 
 	/**
-	 * Importa partidos almacenados en un archivo de texto reemplazando el contenido
-	 * actual del programa. Emplea un formato propio –de estilo CSV con separador
-	 * «#»– producido por una exportación previa (ver {@link #exportación(String)}).
-	 * En caso de producirse algún error de acceso o por el propio formato del
-	 * archivo, se envía el mensaje a la salida de error estándar y el programa
-	 * continúa sin perder el contenido anterior.
+	 * Importa partidos almacenados en un archivo en formato binario compacto
+	 * reemplazando el contenido actual del programa (ver
+	 * {@link #exportaciónBinaria(String)}). En caso de producirse algún error de
+	 * acceso o por el propio formato del archivo, se envía el mensaje a la salida
+	 * de error estándar y el programa continúa sin perder el contenido anterior.
 	 * 
 	 * @param rutaArchivo el nombre o ruta al archivo
 	 */
-	private void importación(String rutaArchivo) {
-		AccesoArchivo archivo;
+	private void importaciónBinaria(String rutaArchivo) {
 		ConjuntoQuiniela1X2 nuevaLista;
-		ElementoPartido1X2 nuevoElemento;
-		List<String> contenido;
 		int númElementos;
 		String mensaje;
 
 		try {
-			archivo = new AccesoArchivo(rutaArchivo);
-			contenido = archivo.leer();
-			númElementos = contenido.size();
+			nuevaLista = new FormatoBinarioQuiniela1X2(rutaArchivo).importar();
+			númElementos = nuevaLista.size();
 
 			if (númElementos == 0) {
 				VistaGeneral.mostrarAviso("No hay ningún elemento que importar");
-			} else {
-				nuevaLista = new ConjuntoQuiniela1X2();
-				for (String línea : contenido) {
-					nuevoElemento = ElementoPartido1X2.of(línea);
-					nuevaLista.agregarElemento(nuevoElemento);
-				}
-				listaResultados = nuevaLista;
-
+			} else if (reemplazarLista(nuevaLista)) {
 				mensaje = String.format("%d resultados importados", númElementos);
 				VistaGeneral.mostrarTexto(mensaje);
 				listado();
@@ -217,6 +453,126 @@ public class ControladorQuiniela1X2 {
 		}
 	}
 
+	/**
+	 * Anota un alta en el diario antes de hacerla efectiva. En caso de error se
+	 * envía el mensaje a la salida de error estándar y el alta no se hace.
+	 * 
+	 * @param nuevo el partido a incorporar
+	 * @return <code>true</code> si el alta quedó guardada o no hay diario
+	 */
+	private boolean guardarAlta(ElementoPartido1X2 nuevo) {
+		boolean guardada = true;
+
+		if (diario != null) {
+			try {
+				diario.registrarAlta(nuevo);
+			} catch (IOException | Partido1X2Exception ex) {
+				System.err.printf("Error de diario: %s%n", ex.getLocalizedMessage());
+				guardada = false;
+			}
+		}
+		return guardada;
+	}
+
+	/**
+	 * Anota una baja en el diario antes de hacerla efectiva. En caso de error se
+	 * envía el mensaje a la salida de error estándar y la baja no se hace.
+	 * 
+	 * @param pos la posición del partido a retirar
+	 * @return <code>true</code> si la baja quedó guardada o no hay diario
+	 */
+	private boolean guardarBaja(int pos) {
+		boolean guardada = true;
+
+		if (diario != null) {
+			try {
+				diario.registrarBaja(pos);
+			} catch (IOException ex) {
+				System.err.printf("Error de diario: %s%n", ex.getLocalizedMessage());
+				guardada = false;
+			}
+		}
+		return guardada;
+	}
+
+	/**
+	 * Espera a que los cambios de un lote, ya hechos, queden guardados. Si el
+	 * lote no se puede confirmar se intenta guardar la lista completa; en caso
+	 * de error se envía el mensaje a la salida de error estándar.
+	 * 
+	 * @param lote el lote, o <code>null</code> si no hay diario
+	 */
+	private void guardarLote(DiarioQuiniela1X2.Lote lote) {
+		if (lote != null) {
+			try {
+				lote.confirmar();
+			} catch (IOException | Partido1X2Exception ex) {
+				System.err.printf("Error de diario: %s%n", ex.getLocalizedMessage());
+				guardarTodo();
+			}
+		}
+	}
+
+	/**
+	 * Compacta el diario si ya ha crecido lo suficiente.
+	 */
+	private void compactarDiario() {
+		if (diario != null && diario.requiereCompactación()) {
+			guardarTodo();
+		}
+	}
+
+	/**
+	 * Reemplaza la lista completa por otra, como en una importación. La nueva
+	 * lista se guarda antes como archivo base y solo pasa a ser la del programa
+	 * si se guardó: si no, el diario y la lista siguen correspondiéndose y los
+	 * cambios siguientes se anotan sobre la lista anterior. En caso de error se
+	 * envía el mensaje a la salida de error estándar.
+	 * 
+	 * @param nuevaLista la lista que reemplaza a la actual
+	 * @return <code>true</code> si la lista se reemplazó
+	 */
+	private boolean reemplazarLista(ConjuntoQuiniela1X2 nuevaLista) {
+		boolean guardada;
+
+		guardada = guardarTodo(nuevaLista);
+		if (guardada) {
+			listaResultados = nuevaLista;
+		}
+		return guardada;
+	}
+
+	/**
+	 * Guarda la lista actual completa como nuevo archivo base y vacía el diario.
+	 * En caso de error se envía el mensaje a la salida de error estándar y el
+	 * programa continúa con el diario anterior.
+	 */
+	private void guardarTodo() {
+		guardarTodo(listaResultados);
+	}
+
+	/**
+	 * Guarda una lista completa como nuevo archivo base y vacía el diario. En
+	 * caso de error se envía el mensaje a la salida de error estándar; el archivo
+	 * base y el diario anteriores siguen valiendo.
+	 * 
+	 * @param lista la lista a guardar
+	 * @return <code>true</code> si quedó guardada o no hay diario
+	 */
+	private boolean guardarTodo(ConjuntoQuiniela1X2 lista) {
+		boolean guardada = true;
+
+		if (diario != null) {
+			try {
+				diario.compactar(lista);
+			} catch (IOException | Partido1X2Exception ex) {
+				System.err.printf("Error de diario: %s%n", ex.getLocalizedMessage());
+				guardada = false;
+			}
+		}
+		return guardada;
+	}
+
 	/**
 	 * Muestra un mensaje temporal, de relleno, para opciones pendientes de
 	 * implementar.
@@ -229,10 +585,18 @@ public class ControladorQuiniela1X2 {
 	}
 
 	/**
-	 * Finaliza el programa. Muestra un mensaje final y cierra la conexión con la
-	 * entrada estándar.
+	 * Finaliza el programa. Espera a que termine la exportación en curso, muestra
+	 * un mensaje final y cierra la conexión con la entrada estándar.
 	 */
 	private void finalizar() {
+		esperarExportación();
+		if (diario != null) {
+			try {
+				diario.cerrar();
+			} catch (IOException ex) {
+				System.err.printf("Error de diario: %s%n", ex.getLocalizedMessage());
+			}
+		}
 		out.println("*** FIN ***");
 		VistaGeneral.close();
 	}
@@ -0,0 +1,666 @@
+package jcolonia.daw2024.quiniela;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Acceso a datos: diario de altas y bajas de una colección. El estado guardado
+ * se compone de un archivo base en formato pseudo-CSV (ver
+ * {@link ExportadorQuiniela1X2}) y de un diario donde se añade una línea por
+ * cada cambio posterior, de modo que guardar un cambio cuesta en proporción al
+ * propio cambio y no al tamaño de la colección:
+ * <ul>
+ * <li><code>A#LOCAL#VISITANTE#R</code>: alta de un partido al final.</li>
+ * <li><code>B#posición</code>: baja del partido de esa posición.</li>
+ * </ul>
+ *
+ * <div>Cada cambio se da por guardado cuando su línea está escrita y forzada a
+ * disco. Los cambios que llegan a la vez desde varios hilos se agrupan: uno de
+ * ellos escribe y fuerza el lote completo mientras los demás esperan, con un
+ * solo <code>fsync</code> para todos. Las operaciones con muchos cambios, como
+ * una fusión, los anotan en un {@link Lote} que se confirma de una vez.</div>
+ *
+ * <div>De vez en cuando el diario se {@link #compactar(ConjuntoQuiniela1X2)
+ * compacta}: la colección completa pasa a ser el nuevo archivo base y el diario
+ * vuelve a empezar. Si el programa se interrumpe a mitad, la siguiente
+ * {@link #recuperar() recuperación} termina o deshace la compactación según el
+ * punto en que quedó.</div>
+ *
+ * <div>El archivo base se recupera sin leerlo por adelantado, a través de su
+ * índice de desplazamientos (ver {@link AlmacénPerezosoQuiniela1X2}), que se
+ * crea de nuevo en cada compactación; así, el coste de la recuperación depende
+ * del tamaño del diario y no del de la colección.</div>
+ *
+ * @version 1.0 (20261018000)
+ * @author Rodrigo Martínez Delgado &lt;rodrigo.mardel.daw@gmail.com&gt;
+ */
+public class DiarioQuiniela1X2 {
+	/**
+	 * Lote de cambios de una operación compuesta, como una fusión (ver
+	 * {@link ConjuntoQuiniela1X2#fusionar(ConjuntoQuiniela1X2,
+	 * PolíticaDuplicados1X2, ConjuntoQuiniela1X2.RegistroCambios)}). Cada cambio se anota a medida que se hace y todos se escriben y fuerzan a
+	 * disco juntos al {@link #confirmar() confirmar}. Si el programa se
+	 * interrumpe antes, la recuperación aplica, en orden, los cambios que
+	 * llegaron a escribirse.
+	 */
+	public class Lote implements ConjuntoQuiniela1X2.RegistroCambios {
+		/** Número de orden del último cambio anotado; 0 si no hay ninguno. */
+		private long último;
+
+		/** Primer error de escritura al anotar, si lo hubo. */
+		private IOException falloEscritura;
+
+		/** Primer partido incompleto recibido, si lo hubo. */
+		private Partido1X2Exception falloDatos;
+
+		/**
+		 * Crea un lote vacío.
+		 */
+		private Lote() {
+		}
+
+		@Override
+		public void alta(ElementoPartido1X2 nuevo) {
+			if (falloEscritura == null && falloDatos == null) {
+				try {
+					último = anotar(PREFIJO_ALTA + nuevo.toStringCSV());
+				} catch (IOException ex) {
+					falloEscritura = ex;
+				} catch (Partido1X2Exception ex) {
+					falloDatos = ex;
+				}
+			}
+		}
+
+		@Override
+		public void baja(int pos) {
+			if (falloEscritura == null && falloDatos == null) {
+				try {
+					último = anotar(PREFIJO_BAJA + pos);
+				} catch (IOException ex) {
+					falloEscritura = ex;
+				}
+			}
+		}
+
+		/**
+		 * Espera a que todos los cambios del lote queden guardados. Si alguno no
+		 * se pudo anotar, los cambios siguientes tampoco se anotaron y solo una
+		 * {@link DiarioQuiniela1X2#compactar(ConjuntoQuiniela1X2) compactación}
+		 * guarda la colección completa.
+		 *
+		 * @throws IOException         si se produce algún error de escritura
+		 * @throws Partido1X2Exception si algún partido incorporado está
+		 *                             incompleto
+		 */
+		public void confirmar() throws IOException, Partido1X2Exception {
+			if (falloEscritura != null) {
+				throw falloEscritura;
+			} else if (falloDatos != null) {
+				throw falloDatos;
+			}
+			DiarioQuiniela1X2.this.confirmar(último);
+		}
+	}
+
+	/** Número de cambios a partir del cual conviene compactar. */
+	public static final int UMBRAL_COMPACTACIÓN = 10_000;
+
+	/** Extensión del diario, añadida a la ruta del archivo base. */
+	private static final String EXTENSIÓN_DIARIO = ".diario";
+
+	/** Extensión del diario retirado durante una compactación. */
+	private static final String EXTENSIÓN_COMPACTANDO = ".compactando";
+
+	/** Extensión del nuevo archivo base mientras se escribe. */
+	private static final String EXTENSIÓN_TEMPORAL = ".tmp";
+
+	/** Prefijo de las líneas de alta. */
+	private static final String PREFIJO_ALTA = "A#";
+
+	/** Prefijo de las líneas de baja. */
+	private static final String PREFIJO_BAJA = "B#";
+
+	/** Carácter de fin de línea. */
+	private static final byte FIN_LÍNEA = '\n';
+
+	/** Ruta al archivo base. */
+	private Path rutaBase;
+
+	/** Ruta al diario. */
+	private Path rutaDiario;
+
+	/** Ruta al diario retirado durante una compactación. */
+	private Path rutaCompactando;
+
+	/** Ruta al nuevo archivo base mientras se escribe. */
+	private Path rutaTemporal;
+
+	/** Canal de escritura del diario; <code>null</code> hasta recuperar. */
+	private FileChannel canal;
+
+	/** Líneas anotadas y aún no escritas. */
+	private ByteArrayOutputStream pendientes = new ByteArrayOutputStream();
+
+	/** Número de cambios anotados desde que se abrió el diario. */
+	private long anotados;
+
+	/** Número de cambios ya escritos y forzados a disco. */
+	private long confirmados;
+
+	/** Si algún hilo está escribiendo un lote en este momento. */
+	private boolean escribiendo;
+
+	/** Si hay una compactación en curso; mientras dura no se escriben lotes. */
+	private boolean compactando;
+
+	/** Error de escritura de un lote; a partir de él el diario no se usa. */
+	private IOException fallo;
+
+	/** Número de cambios en el diario desde la última compactación. */
+	private long cambios;
+
+	/**
+	 * Almacena la ruta al archivo base. El diario y los archivos auxiliares se
+	 * guardan junto a él, con la misma ruta y una extensión añadida.
+	 *
+	 * @param rutaBase el nombre o ruta al archivo base
+	 */
+	public DiarioQuiniela1X2(String rutaBase) {
+		this.rutaBase = Path.of(rutaBase);
+		rutaDiario = Path.of(rutaBase + EXTENSIÓN_DIARIO);
+		rutaCompactando = Path.of(rutaBase + EXTENSIÓN_COMPACTANDO);
+		rutaTemporal = Path.of(rutaBase + EXTENSIÓN_TEMPORAL);
+	}
+
+	/**
+	 * Reconstruye la colección a partir del archivo base y del diario, y deja el
+	 * diario abierto para anotar los cambios siguientes. Los partidos del
+	 * archivo base no se analizan hasta que se consultan (ver
+	 * {@link AlmacénPerezosoQuiniela1X2}). Si no hay nada guardado,
+	 * la colección empieza vacía. Una última línea incompleta del diario –un
+	 * cambio que nunca llegó a confirmarse– se descarta.
+	 *
+	 * @return la colección reconstruida
+	 * @throws DatoPartido1X2Exception si el archivo base o el diario están
+	 *                                 dañados o si se produce algún error de
+	 *                                 acceso
+	 */
+	public ConjuntoQuiniela1X2 recuperar() throws DatoPartido1X2Exception {
+		ConjuntoQuiniela1X2 conjunto;
+		boolean reunir;
+
+		try {
+			synchronized (this) {
+				terminarCompactación();
+				if (Files.exists(rutaBase)) {
+					conjunto = new ConjuntoQuiniela1X2(new AlmacénPerezosoQuiniela1X2(rutaBase.toString()));
+				} else {
+					conjunto = new ConjuntoQuiniela1X2();
+				}
+				cambios = 0;
+				reunir = Files.exists(rutaCompactando);
+				if (reunir) { // Compactación deshecha
+					cambios += aplicar(rutaCompactando, conjunto);
+				}
+				if (Files.exists(rutaDiario)) {
+					cambios += aplicar(rutaDiario, conjunto);
+				}
+				if (!reunir) {
+					abrir();
+				}
+			}
+			if (reunir) { // Se reúne todo en un solo diario, sin el cerrojo
+				compactar(conjunto);
+			}
+		} catch (IOException | Partido1X2Exception ex) {
+			throw new DatoPartido1X2Exception(
+					String.format("Error de recuperación de «%s»: %s", rutaBase, ex.getLocalizedMessage()), ex);
+		}
+		return conjunto;
+	}
+
+	/**
+	 * Reemplaza la colección guardada por otra, como en una importación, sin
+	 * recuperar la anterior: solo se resuelve antes una compactación
+	 * interrumpida (ver {@link #compactar(ConjuntoQuiniela1X2)}), de modo que
+	 * un archivo base dañado o sin índice no impide reemplazarlo. Después el
+	 * diario queda abierto para anotar los cambios siguientes.
+	 *
+	 * <div>Solo si la compactación interrumpida se había deshecho y sus cambios
+	 * siguen repartidos entre el diario retirado y el actual, se recupera antes
+	 * la colección anterior para reunirlos: reemplazarla sin más dejaría un
+	 * estado intermedio sin recuperación posible.</div>
+	 *
+	 * @param conjunto la nueva colección
+	 * @throws DatoPartido1X2Exception si hubo que recuperar la colección anterior
+	 *                                 y no se pudo
+	 * @throws IOException             si se produce algún error de acceso
+	 * @throws Partido1X2Exception     si los datos de algún partido aún están
+	 *                                 incompletos
+	 */
+	public void reemplazar(ConjuntoQuiniela1X2 conjunto)
+			throws DatoPartido1X2Exception, IOException, Partido1X2Exception {
+		boolean reunir;
+
+		synchronized (this) {
+			terminarCompactación();
+			reunir = Files.exists(rutaCompactando);
+		}
+		if (reunir) {
+			recuperar(); // Reúne ambos diarios en uno
+		}
+		compactar(conjunto);
+	}
+
+	/**
+	 * Anota el alta de un partido al final de la colección y espera a que quede
+	 * guardada.
+	 *
+	 * @param nuevo el partido incorporado
+	 * @throws IOException         si se produce algún error de escritura
+	 * @throws Partido1X2Exception si los datos del partido aún están incompletos
+	 */
+	public void registrarAlta(ElementoPartido1X2 nuevo) throws IOException, Partido1X2Exception {
+		confirmar(anotar(PREFIJO_ALTA + nuevo.toStringCSV()));
+	}
+
+	/**
+	 * Anota la baja del partido de una posición y espera a que quede guardada.
+	 *
+	 * @param pos la posición del partido retirado
+	 * @throws IOException si se produce algún error de escritura
+	 */
+	public void registrarBaja(int pos) throws IOException {
+		confirmar(anotar(PREFIJO_BAJA + pos));
+	}
+
+	/**
+	 * Comienza un lote de cambios, que se anotan sin esperar a que queden
+	 * guardados.
+	 *
+	 * @return el lote vacío
+	 */
+	public Lote iniciarLote() {
+		return new Lote();
+	}
+
+	/**
+	 * Informa si el diario ha crecido lo suficiente como para compactarlo.
+	 *
+	 * @return <code>true</code> si conviene compactar
+	 * @see #UMBRAL_COMPACTACIÓN
+	 */
+	public synchronized boolean requiereCompactación() {
+		return cambios >= UMBRAL_COMPACTACIÓN;
+	}
+
+	/**
+	 * Guarda la colección completa como nuevo archivo base y vacía el diario. Se
+	 * usa de vez en cuando para que el diario no crezca sin límite, y también
+	 * cuando la colección se reemplaza entera, como en una importación.
+	 *
+	 * <div>La colección se exporta a partir de una instantánea (ver
+	 * {@link ConjuntoQuiniela1X2#tomarInstantánea()}) tomada con la colección y
+	 * el diario bloqueados, en ese orden –el mismo que sigue una fusión anotada
+	 * en un {@link Lote}–, y la exportación se hace sin ningún cerrojo. Mientras
+	 * dura, los demás hilos pueden seguir cambiando la colección y anotando
+	 * cambios, pero sus lotes no se escriben hasta que el nuevo diario esté
+	 * abierto; la colección no debe estar bloqueada por quien llama.</div>
+	 *
+	 * <div>Pasos: se escribe y fuerza el nuevo archivo base con otro nombre; se
+	 * retira el diario; se coloca el nuevo archivo base en su sitio de forma
+	 * atómica, y se borra el diario retirado. Si el programa se interrumpe antes
+	 * de colocar el nuevo archivo base, sigue valiendo el anterior con el diario
+	 * retirado; si se interrumpe después, el nuevo ya lo incluye todo. Por último
+	 * se crea el índice del nuevo archivo base; si falta, la siguiente
+	 * recuperación lo crea.</div>
+	 *
+	 * <div>Si falla antes de retirar el diario –por ejemplo, al exportar con el
+	 * disco lleno–, el archivo base y el diario anteriores siguen valiendo y los
+	 * cambios siguientes se anotan sobre ellos, así que quien llama debe seguir
+	 * usando la colección anterior. Si falla después, el diario queda cerrado y
+	 * no admite cambios hasta la siguiente recuperación o compactación.</div>
+	 *
+	 * @param conjunto la colección, con todos los cambios anotados aplicados
+	 * @throws IOException         si se produce algún error de acceso
+	 * @throws Partido1X2Exception si los datos de algún partido aún están
+	 *                             incompletos
+	 */
+	public void compactar(ConjuntoQuiniela1X2 conjunto) throws IOException, Partido1X2Exception {
+		InstantáneaQuiniela1X2 instantánea;
+		long corte;
+
+		synchronized (this) {
+			while (escribiendo || compactando) { // Se deja terminar el lote o la compactación en curso
+				esperar();
+			}
+			compactando = true;
+		}
+		try {
+			synchronized (conjunto) { // Mismo orden que una fusión anotada en un lote
+				synchronized (this) {
+					escribirPendientes();
+					instantánea = conjunto.tomarInstantánea();
+					corte = anotados;
+				}
+			}
+			try (instantánea) {
+				new ExportadorQuiniela1X2(rutaTemporal.toString()).exportar(instantánea); // Ya forzado
+			}
+
+			synchronized (this) {
+				cerrarCanal();
+				if (Files.exists(rutaDiario)) {
+					Files.move(rutaDiario, rutaCompactando, StandardCopyOption.ATOMIC_MOVE);
+				}
+				Files.move(rutaTemporal, rutaBase, StandardCopyOption.ATOMIC_MOVE,
+						StandardCopyOption.REPLACE_EXISTING);
+				forzarDirectorio();
+				Files.deleteIfExists(rutaCompactando);
+
+				cambios = anotados - corte; // Los anotados tras la instantánea van al nuevo diario
+				abrir();
+			}
+			try { // Para la próxima recuperación
+				ÍndiceDesplazamientosQuiniela1X2.crear(rutaBase);
+			} catch (DatoPartido1X2Exception ex) { // No debe ocurrir, se acaba de exportar
+				throw new IOException(ex.getLocalizedMessage(), ex);
+			}
+		} finally {
+			synchronized (this) {
+				compactando = false;
+				notifyAll();
+			}
+		}
+	}
+
+	/**
+	 * Escribe los cambios pendientes, si los hay, y cierra el diario.
+	 *
+	 * @throws IOException si se produce algún error de escritura
+	 */
+	public synchronized void cerrar() throws IOException {
+		while (escribiendo || compactando) {
+			esperar();
+		}
+		escribirPendientes();
+		cerrarCanal();
+	}
+
+	/**
+	 * Añade una línea a los cambios pendientes.
+	 *
+	 * @param línea la línea a anotar, sin fin de línea
+	 * @return el número de orden del cambio, para {@link #confirmar(long)}
+	 * @throws IOException si el diario no está abierto o falló un lote anterior
+	 */
+	private synchronized long anotar(String línea) throws IOException {
+		verificarAbierto();
+		pendientes.writeBytes(línea.getBytes(StandardCharsets.UTF_8));
+		pendientes.write(FIN_LÍNEA);
+		cambios++;
+		return ++anotados;
+	}
+
+	/**
+	 * Espera a que un cambio anotado esté escrito y forzado a disco. Si ningún
+	 * hilo está escribiendo, este se encarga del lote completo de cambios
+	 * pendientes, incluidos los de otros hilos; si no, espera al lote en curso y,
+	 * si el suyo no iba en él, al siguiente. Durante una compactación espera a
+	 * que termine, y el cambio se escribe en el nuevo diario si no iba ya en la
+	 * instantánea.
+	 *
+	 * @param orden el número de orden del cambio
+	 * @throws IOException si se produce algún error de escritura
+	 */
+	private void confirmar(long orden) throws IOException {
+		byte[] lote;
+		long últimoLote;
+		boolean escrito = false;
+
+		synchronized (this) {
+			while (confirmados < orden && (escribiendo || compactando)) {
+				esperar();
+			}
+			verificarAbierto();
+			if (confirmados >= orden) {
+				return;
+			}
+			escribiendo = true;
+			lote = pendientes.toByteArray();
+			últimoLote = anotados;
+			pendientes.reset();
+		}
+		try { // Fuera del cerrojo: los demás hilos siguen anotando
+			escribir(lote);
+			canal.force(false);
+			escrito = true;
+		} catch (IOException ex) {
+			synchronized (this) {
+				fallo = ex;
+			}
+			throw ex;
+		} finally {
+			synchronized (this) {
+				if (escrito) {
+					confirmados = últimoLote;
+				}
+				escribiendo = false;
+				notifyAll();
+			}
+		}
+	}
+
+	/**
+	 * Escribe y fuerza a disco los cambios pendientes, sin agruparlos. Solo se
+	 * llama con el cerrojo tomado y sin ningún lote en curso.
+	 *
+	 * @throws IOException si se produce algún error de escritura
+	 */
+	private void escribirPendientes() throws IOException {
+		if (canal != null && pendientes.size() > 0) {
+			escribir(pendientes.toByteArray());
+			canal.force(false);
+			pendientes.reset();
+			confirmados = anotados;
+		}
+	}
+
+	/**
+	 * Escribe un bloque completo al final del diario.
+	 *
+	 * @param bytes el bloque a escribir
+	 * @throws IOException si se produce algún error de escritura
+	 */
+	private void escribir(byte[] bytes) throws IOException {
+		ByteBuffer búfer = ByteBuffer.wrap(bytes);
+		while (búfer.hasRemaining()) {
+			canal.write(búfer);
+		}
+	}
+
+	/**
+	 * Aplica a una colección los cambios de un diario. Una última línea sin fin
+	 * de línea se descarta y se recorta del archivo.
+	 *
+	 * @param ruta     la ruta al diario
+	 * @param conjunto la colección donde se aplican
+	 * @return el número de cambios aplicados
+	 * @throws IOException             si se produce algún error de acceso
+	 * @throws DatoPartido1X2Exception si alguna línea no es válida
+	 */
+	private static long aplicar(Path ruta, ConjuntoQuiniela1X2 conjunto) throws IOException, DatoPartido1X2Exception {
+		ByteBuffer bytes;
+		int comienzo = 0, finLínea;
+		long númLínea = 0;
+
+		bytes = ByteBuffer.wrap(Files.readAllBytes(ruta));
+		while (comienzo < bytes.limit()) {
+			finLínea = buscarFinLínea(bytes, comienzo);
+			if (finLínea == bytes.limit()) { // Cambio a medio escribir
+				try (FileChannel recorte = FileChannel.open(ruta, StandardOpenOption.WRITE)) {
+					recorte.truncate(comienzo);
+				}
+				break;
+			}
+			númLínea++;
+			aplicarLínea(bytes, comienzo, finLínea, conjunto, númLínea);
+			comienzo = finLínea + 1;
+		}
+		return númLínea;
+	}
+
+	/**
+	 * Aplica a una colección el cambio de una línea del diario.
+	 *
+	 * @param bytes    el contenido del diario
+	 * @param comienzo la posición inicial de la línea
+	 * @param finLínea la posición final, excluida, de la línea
+	 * @param conjunto la colección donde se aplica
+	 * @param númLínea el número de línea, para los mensajes de error
+	 * @throws DatoPartido1X2Exception si la línea no es válida
+	 */
+	private static void aplicarLínea(ByteBuffer bytes, int comienzo, int finLínea, ConjuntoQuiniela1X2 conjunto,
+			long númLínea) throws DatoPartido1X2Exception {
+		ElementoPartido1X2 elemento;
+		ErrorDatoPartido1X2 error;
+		String texto;
+		int pos;
+
+		texto = (finLínea - comienzo >= 2) ? new String(bytes.array(), comienzo, 2, StandardCharsets.UTF_8) : "";
+		switch (texto) {
+		case PREFIJO_ALTA:
+			elemento = new ElementoPartido1X2();
+			error = ElementoPartido1X2.analizar(bytes, comienzo + 2, finLínea, elemento);
+			if (error != null) {
+				throw new DatoPartido1X2Exception(String.format("Diario, línea %d: %s", númLínea, error.getMensaje()));
+			}
+			conjunto.agregarElemento(elemento);
+			break;
+		case PREFIJO_BAJA:
+			texto = new String(bytes.array(), comienzo + 2, finLínea - comienzo - 2, StandardCharsets.UTF_8);
+			try {
+				pos = Integer.parseInt(texto);
+			} catch (NumberFormatException ex) {
+				pos = -1;
+			}
+			if (pos < 0 || pos >= conjunto.size()) {
+				throw new DatoPartido1X2Exception(String.format("Diario, línea %d: Baja no válida", númLínea));
+			}
+			conjunto.eliminarElemento(pos);
+			break;
+		default:
+			throw new DatoPartido1X2Exception(String.format("Diario, línea %d: Cambio desconocido", númLínea));
+		}
+	}
+
+	/**
+	 * Localiza el final de la línea que comienza en una posición dada.
+	 *
+	 * @param bytes    el contenido del diario
+	 * @param comienzo la posición inicial de la línea
+	 * @return la posición del fin de línea, o el límite del búfer si no hay
+	 *         ninguno
+	 */
+	private static int buscarFinLínea(ByteBuffer bytes, int comienzo) {
+		int pos = comienzo;
+		while (pos < bytes.limit() && bytes.get(pos) != FIN_LÍNEA) {
+			pos++;
+		}
+		return pos;
+	}
+
+	/**
+	 * Resuelve una compactación interrumpida. Si el nuevo archivo base quedó
+	 * escrito pero sin colocar, se descarta y sigue valiendo el anterior con el
+	 * diario retirado. Si ya se había colocado, el diario retirado sobra.
+	 *
+	 * @throws IOException si se produce algún error de acceso
+	 */
+	private void terminarCompactación() throws IOException {
+		if (Files.exists(rutaTemporal)) { // Sin colocar: vale el archivo base anterior
+			Files.delete(rutaTemporal);
+		} else if (Files.exists(rutaCompactando)) { // Ya colocado: el diario retirado sobra
+			Files.delete(rutaCompactando);
+		}
+	}
+
+	/**
+	 * Abre el diario para añadir cambios, creándolo si no existe. Un diario
+	 * nuevo se registra en el directorio antes de anotar nada, para que los
+	 * cambios confirmados en él no se pierdan con el archivo.
+	 *
+	 * @throws IOException si se produce algún error de acceso
+	 */
+	private void abrir() throws IOException {
+		boolean nuevo = !Files.exists(rutaDiario);
+
+		canal = FileChannel.open(rutaDiario, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.APPEND);
+		fallo = null;
+		if (nuevo) {
+			forzarDirectorio();
+		}
+	}
+
+	/**
+	 * Cierra el canal del diario, si está abierto.
+	 *
+	 * @throws IOException si se produce algún error de acceso
+	 */
+	private void cerrarCanal() throws IOException {
+		if (canal != null) {
+			canal.close();
+			canal = null;
+		}
+	}
+
+	/**
+	 * Comprueba que el diario admita cambios.
+	 *
+	 * @throws IOException si el diario no está abierto o falló un lote anterior
+	 */
+	private void verificarAbierto() throws IOException {
+		if (fallo != null) {
+			throw new IOException("Diario inutilizable tras un error de escritura", fallo);
+		} else if (canal == null) {
+			throw new IOException("Diario no abierto");
+		}
+	}
+
+	/**
+	 * Espera, con el cerrojo tomado, a que termine el lote en curso.
+	 *
+	 * @throws IOException si la espera se interrumpe
+	 */
+	private void esperar() throws IOException {
+		try {
+			wait();
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Espera del diario interrumpida", ex);
+		}
+	}
+
+	/**
+	 * Fuerza a disco los cambios de nombre en el directorio del archivo base.
+	 * No todos los sistemas permiten abrir un directorio; en ese caso se confía
+	 * en el propio sistema de archivos.
+	 */
+	private void forzarDirectorio() {
+		Path directorio = rutaBase.toAbsolutePath().getParent();
+
+		try (FileChannel archivo = FileChannel.open(directorio, StandardOpenOption.READ)) {
+			archivo.force(true);
+		} catch (IOException ex) { // No admitido en este sistema
+		}
+	}
+}
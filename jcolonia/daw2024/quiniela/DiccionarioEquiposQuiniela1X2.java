@@ -0,0 +1,88 @@
+package jcolonia.daw2024.quiniela;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Modelo: Diccionario de nombres de equipo. Asigna a cada nombre distinto un
+ * identificador numérico correlativo, a partir de cero, de modo que los
+ * formatos compactos puedan guardar cada nombre una sola vez.
+ *
+ * @version 1.0 (20261018000)
+ * @author Rodrigo Martínez Delgado &lt;rodrigo.mardel.daw@gmail.com&gt;
+ */
+public class DiccionarioEquiposQuiniela1X2 {
+	/** Nombres de equipo, ordenados por identificador. */
+	private List<String> nombres;
+
+	/** Identificador asignado a cada nombre de equipo. */
+	private Map<String, Integer> identificadores;
+
+	/**
+	 * Crea un diccionario inicialmente vacío.
+	 */
+	public DiccionarioEquiposQuiniela1X2() {
+		nombres = new ArrayList<String>();
+		identificadores = new HashMap<String, Integer>();
+	}
+
+	/**
+	 * Proporciona el identificador de un nombre de equipo, asignándole uno nuevo
+	 * si todavía no figura en el diccionario.
+	 *
+	 * @param nombre el nombre del equipo
+	 * @return el identificador correspondiente
+	 */
+	public int registrar(String nombre) {
+		Integer id;
+
+		id = identificadores.get(nombre);
+		if (id == null) {
+			id = nombres.size();
+			nombres.add(nombre);
+			identificadores.put(nombre, id);
+		}
+		return id;
+	}
+
+	/**
+	 * Proporciona el identificador de un nombre de equipo ya registrado.
+	 *
+	 * @param nombre el nombre del equipo
+	 * @return el identificador correspondiente, o <code>-1</code> si el nombre no
+	 *         figura en el diccionario
+	 */
+	public int getId(String nombre) {
+		Integer id = identificadores.get(nombre);
+		return (id == null) ? -1 : id;
+	}
+
+	/**
+	 * Proporciona el nombre de equipo asociado a un identificador.
+	 *
+	 * @param id el identificador a consultar
+	 * @return el nombre correspondiente
+	 */
+	public String getNombre(int id) {
+		return nombres.get(id);
+	}
+
+	/**
+	 * Devuelve el número de nombres de equipo registrados.
+	 *
+	 * @return el número de nombres
+	 */
+	public int size() {
+		return nombres.size();
+	}
+
+	/**
+	 * Elimina todos los nombres registrados.
+	 */
+	public void vaciar() {
+		nombres.clear();
+		identificadores.clear();
+	}
+}
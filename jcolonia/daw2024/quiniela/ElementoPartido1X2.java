@@ -1,5 +1,8 @@
 package jcolonia.daw2024.quiniela;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
 /**
  * Modelo: Representación de un partido entre dos equipos aplicable a un formato
  * de quiniela 1X2.
@@ -16,11 +19,33 @@ public class ElementoPartido1X2 {
 	 */
 	private static final String SEPARADOR = "#";
 
+	/**
+	 * Carácter separador, para el análisis de líneas sin trocearlas.
+	 * 
+	 * @see #SEPARADOR
+	 * @see #of(CharSequence, int, int)
+	 */
+	private static final char CAR_SEPARADOR = '#';
+
 	/**
 	 * Número de propiedades de cada partido: dos equipos y un resultado.
 	 */
 	private static final int MÁX_CAMPOS = 3;
 
+	/**
+	 * Puntos que recibe el ganador de un partido.
+	 * 
+	 * @see #toStringPuntos()
+	 */
+	public static final int PUNTOS_VICTORIA = 3;
+
+	/**
+	 * Puntos que recibe cada equipo en caso de empate.
+	 * 
+	 * @see #toStringPuntos()
+	 */
+	public static final int PUNTOS_EMPATE = 1;
+
 	/**
 	 * Ancho de la columna de nombres para la representación textual.
 	 */
@@ -47,6 +72,14 @@ public class ElementoPartido1X2 {
 	 */
 	private int númDatos;
 
+	/**
+	 * Representaciones ya preparadas del partido, una vez cerrado, o
+	 * <code>null</code> si aún no se han pedido.
+	 * 
+	 * @see CachéFilasQuiniela1X2
+	 */
+	private CachéFilasQuiniela1X2.Fila caché;
+
 	/**
 	 * Inicializa una lista de valores vacía y pone el contador de valores a cero.
 	 */
@@ -54,6 +87,41 @@ public class ElementoPartido1X2 {
 		númDatos = 0;
 	}
 
+	/**
+	 * Crea un partido ya cerrado a partir de datos previamente validados. Queda
+	 * reservado a las cargas masivas que ya han verificado los datos por su
+	 * cuenta.
+	 * 
+	 * @param equipoLocal     el nombre del equipo local, ya en mayúsculas
+	 * @param equipoVisitante el nombre del equipo visitante, ya en mayúsculas
+	 * @param resultado       el resultado 1-X-2 del partido
+	 */
+	ElementoPartido1X2(String equipoLocal, String equipoVisitante, Resultado1X2 resultado) {
+		this.equipoLocal = equipoLocal;
+		this.equipoVisitante = equipoVisitante;
+		this.resultado = resultado;
+		númDatos = MÁX_CAMPOS;
+	}
+
+	/**
+	 * Crea un partido cerrado de uso pasajero, que no prepara sus filas en la
+	 * {@link CachéFilasQuiniela1X2 caché}. Lo emplean los almacenes que
+	 * reconstruyen el partido en cada consulta, donde guardar las filas solo
+	 * gastaría cupo.
+	 * 
+	 * @param equipoLocal     el nombre del equipo local, ya en mayúsculas
+	 * @param equipoVisitante el nombre del equipo visitante, ya en mayúsculas
+	 * @param resultado       el resultado 1-X-2 del partido
+	 * @return el nuevo partido
+	 */
+	static ElementoPartido1X2 transitorio(String equipoLocal, String equipoVisitante, Resultado1X2 resultado) {
+		ElementoPartido1X2 partido;
+
+		partido = new ElementoPartido1X2(equipoLocal, equipoVisitante, resultado);
+		partido.caché = CachéFilasQuiniela1X2.SIN_CACHÉ;
+		return partido;
+	}
+
 	/**
 	 * Añade el siguiente dato del partido. Los nombres de equipos se almacenan en
 	 * mayúsculas. Verifica que no se introduzcan textos vacíos o nombres de equipo
@@ -79,7 +147,7 @@ public class ElementoPartido1X2 {
 		case 1:
 			verificarNombreVálido(texto);
 			if (texto.compareToIgnoreCase(equipoLocal) == 0) {
-				throw new DatoPartido1X2Exception("Equipo repetido");
+				throw ErrorDatoPartido1X2.EQUIPO_REPETIDO.crearExcepción();
 			}
 			equipoVisitante = texto.toUpperCase();
 			númDatos++;
@@ -102,22 +170,9 @@ public class ElementoPartido1X2 {
 	 *                                 1-X-2
 	 */
 	private void setResultado(String texto) throws DatoPartido1X2Exception {
-		if (texto.length() != 1) {
-			throw new DatoPartido1X2Exception("Resultado no válido");
-		}
-
-		switch (texto.toUpperCase()) {
-		case "1":
-			resultado = Resultado1X2.Local1;
-			break;
-		case "X":
-			resultado = Resultado1X2.EmpateX;
-			break;
-		case "2":
-			resultado = Resultado1X2.Visitante2;
-			break;
-		default:
-			throw new DatoPartido1X2Exception("Resultado no válido");
+		resultado = (texto.length() == 1) ? resultadoDe(texto.charAt(0)) : null;
+		if (resultado == null) {
+			throw ErrorDatoPartido1X2.RESULTADO_NO_VÁLIDO.crearExcepción();
 		}
 	}
 
@@ -129,12 +184,28 @@ public class ElementoPartido1X2 {
 	 * @throws DatoPartido1X2Exception si la longitud del nombre no es adecuada.
 	 */
 	protected static void verificarNombreVálido(String texto) throws DatoPartido1X2Exception {
-		if (texto.length() < 5) {
-			throw new DatoPartido1X2Exception("Nombre demasiado corto");
-		} else if (texto.length() > 20) {
-			throw new DatoPartido1X2Exception("Nombre demasiado largo");
+		ErrorDatoPartido1X2 error = validarLongitudNombre(texto.length());
+		if (error != null) {
+			throw error.crearExcepción();
 		}
+	}
+
+	/**
+	 * Comprueba que la longitud de un nombre de equipo esté en el rango [5, 20].
+	 * 
+	 * @param longitud la longitud del nombre a verificar
+	 * @return el motivo por el que no es válida, o <code>null</code> si lo es
+	 * @see #verificarNombreVálido(String)
+	 */
+	private static ErrorDatoPartido1X2 validarLongitudNombre(int longitud) {
+		ErrorDatoPartido1X2 error = null;
 
+		if (longitud < 5) {
+			error = ErrorDatoPartido1X2.NOMBRE_CORTO;
+		} else if (longitud > 20) {
+			error = ErrorDatoPartido1X2.NOMBRE_LARGO;
+		}
+		return error;
 	}
 
 	/**
@@ -145,8 +216,73 @@ public class ElementoPartido1X2 {
 	 */
 	public void verificarTextoNoNulo(String texto) throws DatoPartido1X2Exception {
 		if (texto == null || texto.length() == 0) {
-			throw new DatoPartido1X2Exception("Dato vacío");
+			throw ErrorDatoPartido1X2.DATO_VACÍO.crearExcepción();
+		}
+	}
+
+	/**
+	 * Comprueba, sin lanzar excepciones, que un texto sea válido como nombre de
+	 * equipo: no vacío y con una longitud en el rango [5, 20].
+	 * 
+	 * @param texto el nombre a comprobar
+	 * @return el motivo por el que no es válido, o <code>null</code> si lo es
+	 */
+	public static ErrorDatoPartido1X2 validarNombre(String texto) {
+		ErrorDatoPartido1X2 error;
+
+		if (texto == null || texto.length() == 0) {
+			error = ErrorDatoPartido1X2.DATO_VACÍO;
+		} else {
+			error = validarLongitudNombre(texto.length());
+		}
+		return error;
+	}
+
+	/**
+	 * Comprueba, sin lanzar excepciones, que un texto sea válido como resultado
+	 * 1-X-2.
+	 * 
+	 * @param texto el resultado a comprobar
+	 * @return el motivo por el que no es válido, o <code>null</code> si lo es
+	 */
+	public static ErrorDatoPartido1X2 validarResultado(String texto) {
+		ErrorDatoPartido1X2 error = null;
+
+		if (texto == null || texto.length() == 0) {
+			error = ErrorDatoPartido1X2.DATO_VACÍO;
+		} else if (texto.length() != 1 || resultadoDe(texto.charAt(0)) == null) {
+			error = ErrorDatoPartido1X2.RESULTADO_NO_VÁLIDO;
 		}
+		return error;
+	}
+
+	/**
+	 * Comprueba, sin lanzar excepciones ni crear el partido, que un tramo de texto
+	 * sea una línea pseudo-CSV válida, con los mismos criterios que
+	 * {@link #of(String)}. Pensado para cargas masivas, donde las líneas
+	 * erróneas son un caso más y no una situación excepcional.
+	 * 
+	 * @param texto  el texto que contiene la línea
+	 * @param inicio la posición del primer carácter de la línea
+	 * @param fin    la posición siguiente al último carácter de la línea
+	 * @return el motivo por el que no es válida, o <code>null</code> si lo es
+	 */
+	public static ErrorDatoPartido1X2 validarLínea(CharSequence texto, int inicio, int fin) {
+		return analizar(texto, inicio, fin, null);
+	}
+
+	/**
+	 * Comprueba, sin lanzar excepciones ni crear el partido, que un tramo de bytes
+	 * UTF-8 sea una línea pseudo-CSV válida, con los mismos criterios que
+	 * {@link #of(ByteBuffer, int, int)}.
+	 * 
+	 * @param bytes  el búfer que contiene la línea; no se altera su posición
+	 * @param inicio la posición del primer byte de la línea
+	 * @param fin    la posición siguiente al último byte de la línea
+	 * @return el motivo por el que no es válida, o <code>null</code> si lo es
+	 */
+	public static ErrorDatoPartido1X2 validarLínea(ByteBuffer bytes, int inicio, int fin) {
+		return analizar(bytes, inicio, fin, null);
 	}
 
 	/**
@@ -235,27 +371,368 @@ public class ElementoPartido1X2 {
 	 * @return el nuevo partido creado
 	 */
 	public static ElementoPartido1X2 of(String líneaCSV) throws DatoPartido1X2Exception {
-		ElementoPartido1X2 nuevoPartido;
-		nuevoPartido = new ElementoPartido1X2();
+		return of(líneaCSV, 0, líneaCSV.length());
+	}
 
-		String[] partes = líneaCSV.split(SEPARADOR);
+	/**
+	 * Construye un partido a partir de un tramo de texto en formato pseudo-CSV,
+	 * con los mismos criterios que {@link #of(String)}. El tramo se recorre
+	 * directamente buscando el carácter {@link #SEPARADOR separador}, sin trocear
+	 * la línea: las longitudes se comprueban sobre el propio texto y solo se
+	 * crean los textos definitivos con los nombres de los equipos en mayúsculas.
+	 * 
+	 * @param texto  el texto que contiene la línea
+	 * @param inicio la posición del primer carácter de la línea
+	 * @param fin    la posición siguiente al último carácter de la línea
+	 * @throws DatoPartido1X2Exception si alguno de los datos no encaja en la
+	 *                                 posición correspondiente
+	 * @return el nuevo partido creado
+	 */
+	public static ElementoPartido1X2 of(CharSequence texto, int inicio, int fin) throws DatoPartido1X2Exception {
+		ElementoPartido1X2 nuevoPartido = new ElementoPartido1X2();
+		ErrorDatoPartido1X2 error;
 
-		if (partes.length < MÁX_CAMPOS) { // Excepción temprana si faltan campos
-			throw new Partido1X2Exception("Línea CSV mal formada");
+		error = analizar(texto, inicio, fin, nuevoPartido);
+		if (error != null) {
+			throw error.crearExcepción();
 		}
+		return nuevoPartido;
+	}
 
-		for (String pieza : partes) {
-			// Admitimos campos extra, pero ignoramos lo que sobre.
-			if (nuevoPartido.estáCerrada()) {
-				break;
-			}
+	/**
+	 * Analiza un tramo de texto en formato pseudo-CSV y, si es válido, completa
+	 * con él un partido vacío. Es el núcleo común de {@link #of(CharSequence, int,
+	 * int)} y {@link #validarLínea(CharSequence, int, int)}: informa del error con
+	 * un código, sin lanzar excepciones.
+	 * 
+	 * @param texto   el texto que contiene la línea
+	 * @param inicio  la posición del primer carácter de la línea
+	 * @param fin     la posición siguiente al último carácter de la línea
+	 * @param destino el partido vacío a completar, o <code>null</code> para
+	 *                validar solamente; si la línea no es válida queda intacto
+	 * @return el motivo por el que no es válida, o <code>null</code> si lo es
+	 */
+	static ErrorDatoPartido1X2 analizar(CharSequence texto, int inicio, int fin, ElementoPartido1X2 destino) {
+		int finLocal, finVisitante, finResultado;
+		String nombreLocal;
+		Resultado1X2 resultadoPartido;
+		ErrorDatoPartido1X2 error;
+
+		finLocal = buscarSeparador(texto, inicio, fin);
+		finVisitante = (finLocal < fin) ? buscarSeparador(texto, finLocal + 1, fin) : fin;
+
+		// Error temprano si faltan campos; los campos vacíos del final no cuentan
+		if (finVisitante >= fin || soloSeparadores(texto, finVisitante + 1, fin)) {
+			return ErrorDatoPartido1X2.LÍNEA_MAL_FORMADA;
+		}
+		// Admitimos campos extra, pero ignoramos lo que sobre.
+		finResultado = buscarSeparador(texto, finVisitante + 1, fin);
 
-			nuevoPartido.setDato(pieza); // Atención: excepción si el dato no encaja
+		error = validarCampoNombre(finLocal - inicio, finLocal - inicio);
+		if (error != null) {
+			return error;
 		}
+		nombreLocal = texto.subSequence(inicio, finLocal).toString().toUpperCase();
+
+		error = validarCampoNombre(finVisitante - finLocal - 1, finVisitante - finLocal - 1);
+		if (error != null) {
+			return error;
+		}
+		if (igualesSinMayúsculas(texto, finLocal + 1, finVisitante, nombreLocal)) {
+			return ErrorDatoPartido1X2.EQUIPO_REPETIDO;
+		}
+
+		resultadoPartido = analizarResultado(finResultado - finVisitante - 1, texto.charAt(finVisitante + 1));
+		if (resultadoPartido == null) {
+			return (finResultado - finVisitante - 1 == 0) ? ErrorDatoPartido1X2.DATO_VACÍO
+					: ErrorDatoPartido1X2.RESULTADO_NO_VÁLIDO;
+		}
+
+		if (destino != null) {
+			destino.completar(nombreLocal, texto.subSequence(finLocal + 1, finVisitante).toString().toUpperCase(),
+					resultadoPartido);
+		}
+		return null;
+	}
+
+	/**
+	 * Construye un partido a partir de un tramo de bytes en formato pseudo-CSV
+	 * codificado en UTF-8, con los mismos criterios que {@link #of(String)}. El
+	 * tramo se recorre directamente buscando el {@link #SEPARADOR separador}; las
+	 * longitudes de los campos se calculan sobre los propios bytes y solo se
+	 * decodifican como texto los nombres que superan la comprobación de longitud.
+	 * 
+	 * @param bytes  el búfer que contiene la línea; no se altera su posición
+	 * @param inicio la posición del primer byte de la línea
+	 * @param fin    la posición siguiente al último byte de la línea
+	 * @throws DatoPartido1X2Exception si alguno de los datos no encaja en la
+	 *                                 posición correspondiente
+	 * @return el nuevo partido creado
+	 */
+	public static ElementoPartido1X2 of(ByteBuffer bytes, int inicio, int fin) throws DatoPartido1X2Exception {
+		ElementoPartido1X2 nuevoPartido = new ElementoPartido1X2();
+		ErrorDatoPartido1X2 error;
 
+		error = analizar(bytes, inicio, fin, nuevoPartido);
+		if (error != null) {
+			throw error.crearExcepción();
+		}
 		return nuevoPartido;
 	}
 
+	/**
+	 * Analiza un tramo de bytes UTF-8 en formato pseudo-CSV y, si es válido,
+	 * completa con él un partido vacío, sin lanzar excepciones (ver
+	 * {@link #analizar(CharSequence, int, int, ElementoPartido1X2)}).
+	 * 
+	 * @param bytes   el búfer que contiene la línea; no se altera su posición
+	 * @param inicio  la posición del primer byte de la línea
+	 * @param fin     la posición siguiente al último byte de la línea
+	 * @param destino el partido vacío a completar, o <code>null</code> para
+	 *                validar solamente; si la línea no es válida queda intacto
+	 * @return el motivo por el que no es válida, o <code>null</code> si lo es
+	 */
+	static ErrorDatoPartido1X2 analizar(ByteBuffer bytes, int inicio, int fin, ElementoPartido1X2 destino) {
+		int finLocal, finVisitante, finResultado;
+		String nombreLocal, nombreVisitante;
+		Resultado1X2 resultadoPartido;
+		ErrorDatoPartido1X2 error;
+
+		finLocal = buscarSeparador(bytes, inicio, fin);
+		finVisitante = (finLocal < fin) ? buscarSeparador(bytes, finLocal + 1, fin) : fin;
+
+		// Error temprano si faltan campos; los campos vacíos del final no cuentan
+		if (finVisitante >= fin || soloSeparadores(bytes, finVisitante + 1, fin)) {
+			return ErrorDatoPartido1X2.LÍNEA_MAL_FORMADA;
+		}
+		// Admitimos campos extra, pero ignoramos lo que sobre.
+		finResultado = buscarSeparador(bytes, finVisitante + 1, fin);
+
+		error = validarCampoNombre(finLocal - inicio, longitudUTF16(bytes, inicio, finLocal));
+		if (error != null) {
+			return error;
+		}
+		nombreLocal = decodificar(bytes, inicio, finLocal).toUpperCase();
+
+		error = validarCampoNombre(finVisitante - finLocal - 1, longitudUTF16(bytes, finLocal + 1, finVisitante));
+		if (error != null) {
+			return error;
+		}
+		nombreVisitante = decodificar(bytes, finLocal + 1, finVisitante);
+		if (nombreVisitante.compareToIgnoreCase(nombreLocal) == 0) {
+			return ErrorDatoPartido1X2.EQUIPO_REPETIDO;
+		}
+
+		resultadoPartido = analizarResultado(finResultado - finVisitante - 1, (char) bytes.get(finVisitante + 1));
+		if (resultadoPartido == null) {
+			return (finResultado - finVisitante - 1 == 0) ? ErrorDatoPartido1X2.DATO_VACÍO
+					: ErrorDatoPartido1X2.RESULTADO_NO_VÁLIDO;
+		}
+
+		if (destino != null) {
+			destino.completar(nombreLocal, nombreVisitante.toUpperCase(), resultadoPartido);
+		}
+		return null;
+	}
+
+	/**
+	 * Completa un partido vacío con datos ya validados.
+	 * 
+	 * @param nombreLocal      el nombre del equipo local, ya en mayúsculas
+	 * @param nombreVisitante  el nombre del equipo visitante, ya en mayúsculas
+	 * @param resultadoPartido el resultado 1-X-2 del partido
+	 */
+	private void completar(String nombreLocal, String nombreVisitante, Resultado1X2 resultadoPartido) {
+		equipoLocal = nombreLocal;
+		equipoVisitante = nombreVisitante;
+		resultado = resultadoPartido;
+		númDatos = MÁX_CAMPOS;
+	}
+
+	/**
+	 * Comprueba un campo de nombre de equipo dentro de una línea: que no esté
+	 * vacío y que su longitud esté en el rango [5, 20].
+	 * 
+	 * @param tamaño   el tamaño del campo, en caracteres o en bytes
+	 * @param longitud la longitud del nombre como texto
+	 * @return el motivo por el que no es válido, o <code>null</code> si lo es
+	 */
+	private static ErrorDatoPartido1X2 validarCampoNombre(int tamaño, int longitud) {
+		return (tamaño == 0) ? ErrorDatoPartido1X2.DATO_VACÍO : validarLongitudNombre(longitud);
+	}
+
+	/**
+	 * Interpreta el campo de resultado de una línea, que debe tener un único
+	 * carácter.
+	 * 
+	 * @param tamaño  el tamaño del campo
+	 * @param carácter el primer carácter del campo
+	 * @return el resultado, o <code>null</code> si el campo no es válido
+	 */
+	private static Resultado1X2 analizarResultado(int tamaño, char carácter) {
+		return (tamaño == 1) ? resultadoDe(carácter) : null;
+	}
+
+	/**
+	 * Convierte un carácter 1, X -o x- o 2 en el resultado correspondiente.
+	 * 
+	 * @param carácter el carácter a convertir
+	 * @return el resultado, o <code>null</code> si no corresponde a ninguno
+	 */
+	private static Resultado1X2 resultadoDe(char carácter) {
+		Resultado1X2 resultadoPartido;
+
+		switch (carácter) {
+		case '1':
+			resultadoPartido = Resultado1X2.Local1;
+			break;
+		case 'X', 'x':
+			resultadoPartido = Resultado1X2.EmpateX;
+			break;
+		case '2':
+			resultadoPartido = Resultado1X2.Visitante2;
+			break;
+		default:
+			resultadoPartido = null;
+		}
+		return resultadoPartido;
+	}
+
+	/**
+	 * Localiza el siguiente {@link #SEPARADOR separador} dentro de un tramo de
+	 * bytes.
+	 * 
+	 * @param bytes  el búfer a recorrer
+	 * @param inicio la posición inicial de la búsqueda
+	 * @param fin    la posición final, excluida, de la búsqueda
+	 * @return la posición del separador, o <code>fin</code> si no hay ninguno
+	 */
+	private static int buscarSeparador(ByteBuffer bytes, int inicio, int fin) {
+		int pos = inicio;
+		while (pos < fin && bytes.get(pos) != CAR_SEPARADOR) {
+			pos++;
+		}
+		return pos;
+	}
+
+	/**
+	 * Indica si un tramo de bytes está vacío o solo contiene separadores.
+	 * 
+	 * @param bytes  el búfer a recorrer
+	 * @param inicio la posición inicial del tramo
+	 * @param fin    la posición final, excluida, del tramo
+	 * @return <code>true</code> si no hay ningún dato en el tramo
+	 * @see #soloSeparadores(CharSequence, int, int)
+	 */
+	private static boolean soloSeparadores(ByteBuffer bytes, int inicio, int fin) {
+		int pos = inicio;
+		while (pos < fin && bytes.get(pos) == CAR_SEPARADOR) {
+			pos++;
+		}
+		return pos == fin;
+	}
+
+	/**
+	 * Calcula la longitud como texto –en caracteres de Java, como
+	 * {@link String#length()}– de un tramo de bytes codificado en UTF-8, sin
+	 * llegar a decodificarlo.
+	 * 
+	 * @param bytes  el búfer que contiene el tramo
+	 * @param inicio la posición inicial del tramo
+	 * @param fin    la posición final, excluida, del tramo
+	 * @return la longitud correspondiente
+	 */
+	private static int longitudUTF16(ByteBuffer bytes, int inicio, int fin) {
+		int longitud = 0;
+		byte b;
+
+		for (int pos = inicio; pos < fin; pos++) {
+			b = bytes.get(pos);
+			if ((b & 0xC0) != 0x80) { // Comienzo de carácter
+				longitud++;
+				if ((b & 0xF8) == 0xF0) { // Fuera del plano básico: dos caracteres
+					longitud++;
+				}
+			}
+		}
+		return longitud;
+	}
+
+	/**
+	 * Decodifica como texto un tramo de bytes codificado en UTF-8.
+	 * 
+	 * @param bytes  el búfer que contiene el tramo
+	 * @param inicio la posición inicial del tramo
+	 * @param fin    la posición final, excluida, del tramo
+	 * @return el texto correspondiente
+	 */
+	private static String decodificar(ByteBuffer bytes, int inicio, int fin) {
+		byte[] copia = new byte[fin - inicio];
+		bytes.get(inicio, copia);
+		return new String(copia, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Localiza el siguiente {@link #SEPARADOR separador} dentro de un tramo de
+	 * texto.
+	 * 
+	 * @param texto  el texto a recorrer
+	 * @param inicio la posición inicial de la búsqueda
+	 * @param fin    la posición final, excluida, de la búsqueda
+	 * @return la posición del separador, o <code>fin</code> si no hay ninguno
+	 */
+	private static int buscarSeparador(CharSequence texto, int inicio, int fin) {
+		int pos = inicio;
+		while (pos < fin && texto.charAt(pos) != CAR_SEPARADOR) {
+			pos++;
+		}
+		return pos;
+	}
+
+	/**
+	 * Indica si un tramo de texto está vacío o solo contiene separadores, es decir,
+	 * si corresponde únicamente a campos vacíos.
+	 * 
+	 * @param texto  el texto a recorrer
+	 * @param inicio la posición inicial del tramo
+	 * @param fin    la posición final, excluida, del tramo
+	 * @return <code>true</code> si no hay ningún dato en el tramo
+	 */
+	private static boolean soloSeparadores(CharSequence texto, int inicio, int fin) {
+		int pos = inicio;
+		while (pos < fin && texto.charAt(pos) == CAR_SEPARADOR) {
+			pos++;
+		}
+		return pos == fin;
+	}
+
+	/**
+	 * Compara un tramo de texto con un nombre sin distinguir mayúsculas de
+	 * minúsculas, con el mismo criterio que
+	 * {@link String#compareToIgnoreCase(String)}.
+	 * 
+	 * @param texto  el texto que contiene el tramo
+	 * @param inicio la posición inicial del tramo
+	 * @param fin    la posición final, excluida, del tramo
+	 * @param nombre el nombre con el que comparar
+	 * @return <code>true</code> si ambos coinciden
+	 */
+	private static boolean igualesSinMayúsculas(CharSequence texto, int inicio, int fin, String nombre) {
+		boolean iguales = (fin - inicio == nombre.length());
+		char c1, c2;
+
+		for (int i = 0; iguales && i < nombre.length(); i++) {
+			c1 = texto.charAt(inicio + i);
+			c2 = nombre.charAt(i);
+			if (c1 != c2) {
+				c1 = Character.toUpperCase(c1);
+				c2 = Character.toUpperCase(c2);
+				iguales = (c1 == c2) || Character.toLowerCase(c1) == Character.toLowerCase(c2);
+			}
+		}
+		return iguales;
+	}
+
 	/**
 	 * Construye un partido a partir de los datos del mismo.
 	 * 
@@ -284,6 +761,9 @@ public class ElementoPartido1X2 {
 	 * resultados. Ambas columnas son de ancho fijo para obtener composiciones
 	 * alineadas que formen una tabla.
 	 * 
+	 * <div>Si el partido está cerrado, el texto se guarda según la política de
+	 * {@link CachéFilasQuiniela1X2} y las llamadas siguientes lo reutilizan.</div>
+	 * 
 	 * @return el texto correspondiente
 	 */
 	@Override
@@ -291,6 +771,12 @@ public class ElementoPartido1X2 {
 		String mensaje;
 		String textoNombres, textoLocal, textoVisitante;
 		String textoResultado;
+		CachéFilasQuiniela1X2.Fila fila;
+
+		fila = getFilaCaché();
+		if (fila != null && (mensaje = fila.listado) != null) {
+			return mensaje;
+		}
 
 		textoLocal = (equipoLocal == null) ? "¿?" : equipoLocal;
 		textoVisitante = (equipoVisitante == null) ? "¿?" : equipoVisitante;
@@ -300,6 +786,9 @@ public class ElementoPartido1X2 {
 
 		textoResultado = (resultado == null) ? Resultado1X2.toNullString() : resultado.to1X2String();
 		mensaje = String.format("%s %s", textoNombres, textoResultado);
+		if (fila != null) {
+			fila.listado = mensaje;
+		}
 		return mensaje;
 	}
 
@@ -337,13 +826,21 @@ public class ElementoPartido1X2 {
 	/**
 	 * Coloca en una línea todos los datos del partido separados por el carácter
 	 * definido como {@link #SEPARADOR separador}. Se utiliza para montar el archivo
-	 * en formato pseudo CSV.
+	 * en formato pseudo CSV. La línea se guarda según la política de
+	 * {@link CachéFilasQuiniela1X2}.
 	 * 
 	 * @return la línea completa
 	 * @throws Partido1X2Exception si los datos del partido aún están incompletos
 	 */
 	public String toStringCSV() throws Partido1X2Exception {
 		verificarCerrada();
+		CachéFilasQuiniela1X2.Fila fila = getFilaCaché();
+		String línea;
+
+		if (fila != null && (línea = fila.csv) != null) {
+			return línea;
+		}
+
 		StringBuffer texto = new StringBuffer();
 
 		texto.append(equipoLocal);
@@ -352,7 +849,57 @@ public class ElementoPartido1X2 {
 		texto.append(SEPARADOR);
 		texto.append(resultado);
 
-		return texto.toString();
+		línea = texto.toString();
+		if (fila != null) {
+			fila.csv = línea;
+		}
+		return línea;
+	}
+
+	/**
+	 * Proporciona la {@link #toStringCSV() línea pseudo-CSV} codificada en UTF-8,
+	 * para escribirla directamente en un flujo de bytes. Se guarda si la política
+	 * de {@link CachéFilasQuiniela1X2} lo indica; el vector devuelto no debe
+	 * modificarse.
+	 * 
+	 * @return los bytes de la línea, sin fin de línea
+	 * @throws Partido1X2Exception si los datos del partido aún están incompletos
+	 */
+	byte[] toBytesCSV() throws Partido1X2Exception {
+		String línea = toStringCSV();
+		CachéFilasQuiniela1X2.Fila fila = caché;
+		byte[] bytes;
+
+		if (fila != null && (bytes = fila.bytesCSV) != null) {
+			return bytes;
+		}
+		bytes = línea.getBytes(StandardCharsets.UTF_8);
+		if (fila != null && fila.guardaBytes() && fila.esVigente()) {
+			fila.bytesCSV = bytes;
+		}
+		return bytes;
+	}
+
+	/**
+	 * Obtiene las representaciones guardadas del partido, reservándolas en la
+	 * caché la primera vez que se piden o tras un cambio de política.
+	 * 
+	 * @return las representaciones, o <code>null</code> si el partido está
+	 *         incompleto o no se deben guardar
+	 */
+	private CachéFilasQuiniela1X2.Fila getFilaCaché() {
+		CachéFilasQuiniela1X2.Fila fila = caché;
+
+		if (fila == CachéFilasQuiniela1X2.SIN_CACHÉ || !estáCerrada()) {
+			return null;
+		}
+		if (fila == null || !fila.esVigente()) {
+			fila = CachéFilasQuiniela1X2.reservar();
+			caché = fila;
+		} else {
+			fila.marcarUso();
+		}
+		return fila;
 	}
 
 	/**
@@ -367,13 +914,13 @@ public class ElementoPartido1X2 {
 
 		switch (resultado) {
 		case Local1:
-			mensaje = String.format("↑ %s (%d)", equipoLocal, 3);
+			mensaje = String.format("↑ %s (%d)", equipoLocal, PUNTOS_VICTORIA);
 			break;
 		case Visitante2:
-			mensaje = String.format("↓ %s (%d)", equipoVisitante, 3);
+			mensaje = String.format("↓ %s (%d)", equipoVisitante, PUNTOS_VICTORIA);
 			break;
 		case EmpateX:
-			mensaje = String.format("= %s (%3$d) - %s (%3$d)", equipoLocal, equipoVisitante, 1);
+			mensaje = String.format("= %s (%3$d) - %s (%3$d)", equipoLocal, equipoVisitante, PUNTOS_EMPATE);
 			break;
 		default: // No debe ocurrir, datos incompletos
 			mensaje = "- - - -";
@@ -0,0 +1,68 @@
+package jcolonia.daw2024.quiniela;
+
+/**
+ * Enumeración con los motivos por los que un dato o una línea pseudo-CSV no son
+ * válidos para formar un partido. Permite validar sin lanzar excepciones (ver
+ * {@link ElementoPartido1X2#validarLínea(CharSequence, int, int)}); el texto
+ * de cada motivo es el mismo que el de la {@link DatoPartido1X2Exception}
+ * correspondiente.
+ *
+ * @see InformeImportaciónQuiniela1X2
+ *
+ * @version 1.0 (20261018000)
+ * @author Rodrigo Martínez Delgado &lt;rodrigo.mardel.daw@gmail.com&gt;
+ */
+public enum ErrorDatoPartido1X2 {
+	/** Texto nulo o campo vacío. */
+	DATO_VACÍO("Dato vacío"),
+	/** Nombre de equipo de menos de cinco caracteres. */
+	NOMBRE_CORTO("Nombre demasiado corto"),
+	/** Nombre de equipo de más de veinte caracteres. */
+	NOMBRE_LARGO("Nombre demasiado largo"),
+	/** Mismo nombre para el equipo local y el visitante. */
+	EQUIPO_REPETIDO("Equipo repetido"),
+	/** Resultado distinto de 1, X o 2. */
+	RESULTADO_NO_VÁLIDO("Resultado no válido"),
+	/** Línea con menos de tres campos. */
+	LÍNEA_MAL_FORMADA("Línea CSV mal formada");
+
+	/** Texto descriptivo del motivo. */
+	private final String mensaje;
+
+	/**
+	 * Asocia a cada motivo su texto descriptivo.
+	 *
+	 * @param mensaje el texto correspondiente
+	 */
+	private ErrorDatoPartido1X2(String mensaje) {
+		this.mensaje = mensaje;
+	}
+
+	/**
+	 * Devuelve el texto descriptivo del motivo.
+	 *
+	 * @return el texto correspondiente
+	 */
+	public String getMensaje() {
+		return mensaje;
+	}
+
+	/**
+	 * Crea la excepción equivalente al motivo, para quien prefiera seguir
+	 * trabajando con excepciones.
+	 *
+	 * @return la excepción correspondiente: una {@link Partido1X2Exception} para
+	 *         las líneas mal formadas y una {@link DatoPartido1X2Exception} en el
+	 *         resto de casos
+	 */
+	public DatoPartido1X2Exception crearExcepción() {
+		DatoPartido1X2Exception excepción;
+
+		if (this == LÍNEA_MAL_FORMADA) {
+			excepción = new Partido1X2Exception(mensaje);
+		} else {
+			excepción = new DatoPartido1X2Exception(mensaje);
+		}
+		return excepción;
+	}
+}
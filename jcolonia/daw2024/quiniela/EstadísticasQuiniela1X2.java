@@ -0,0 +1,244 @@
+package jcolonia.daw2024.quiniela;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Modelo: Estadísticas de reparto de resultados de un
+ * {@link ConjuntoQuiniela1X2}: frecuencia de cada resultado 1-X-2 en el total
+ * de partidos y, para cada equipo, proporción de partidos ganados, empatados y
+ * perdidos.
+ *
+ * <div>Se calculan en paralelo (ver
+ * {@link ConjuntoQuiniela1X2#calcularEstadísticas()}): cada tramo de la
+ * colección se recorre con sus propios contadores, que se suman al final. Una
+ * vez calculadas no cambian con las altas y bajas posteriores.</div>
+ *
+ * @version 1.0 (20261018000)
+ * @author Rodrigo Martínez Delgado &lt;rodrigo.mardel.daw@gmail.com&gt;
+ */
+public class EstadísticasQuiniela1X2 {
+	/** Posición de los partidos ganados en los contadores de cada equipo. */
+	private static final int GANADOS = 0;
+
+	/** Posición de los partidos empatados en los contadores de cada equipo. */
+	private static final int EMPATADOS = 1;
+
+	/** Posición de los partidos perdidos en los contadores de cada equipo. */
+	private static final int PERDIDOS = 2;
+
+	/**
+	 * Contadores parciales de un tramo de la colección, para acumular los
+	 * partidos en paralelo.
+	 */
+	static class Acumulador {
+		/** Número de partidos de cada resultado, por código. */
+		private long[] resultados = new long[4];
+
+		/** Partidos ganados, empatados y perdidos de cada equipo. */
+		private Map<String, long[]> equipos = new HashMap<String, long[]>();
+
+		/**
+		 * Suma un partido a los contadores. Los partidos incompletos se ignoran.
+		 *
+		 * @param elemento el partido a sumar
+		 */
+		void anotar(ElementoPartido1X2 elemento) {
+			Resultado1X2 resultado;
+
+			if (elemento.estáCerrada()) {
+				try {
+					resultado = elemento.getResultado();
+					resultados[resultado.getCódigo()]++;
+					anotar(elemento.getEquipoLocal(), resultado == Resultado1X2.Local1 ? GANADOS
+							: resultado == Resultado1X2.EmpateX ? EMPATADOS : PERDIDOS);
+					anotar(elemento.getEquipoVisitante(), resultado == Resultado1X2.Visitante2 ? GANADOS
+							: resultado == Resultado1X2.EmpateX ? EMPATADOS : PERDIDOS);
+				} catch (Partido1X2Exception ex) { // No debe ocurrir, ya está cerrado
+					throw new IllegalStateException(ex);
+				}
+			}
+		}
+
+		/**
+		 * Suma a estos contadores los de otro tramo.
+		 *
+		 * @param otro los contadores del otro tramo
+		 */
+		void combinar(Acumulador otro) {
+			long[] propios;
+
+			for (int i = 0; i < resultados.length; i++) {
+				resultados[i] += otro.resultados[i];
+			}
+			for (Map.Entry<String, long[]> entrada : otro.equipos.entrySet()) {
+				propios = equipos.putIfAbsent(entrada.getKey(), entrada.getValue());
+				if (propios != null) {
+					for (int i = GANADOS; i <= PERDIDOS; i++) {
+						propios[i] += entrada.getValue()[i];
+					}
+				}
+			}
+		}
+
+		/**
+		 * Suma un partido a los contadores de un equipo.
+		 *
+		 * @param equipo  el nombre del equipo
+		 * @param casilla el contador a incrementar
+		 */
+		private void anotar(String equipo, int casilla) {
+			long[] contadores;
+
+			contadores = equipos.get(equipo);
+			if (contadores == null) {
+				contadores = new long[PERDIDOS + 1];
+				equipos.put(equipo, contadores);
+			}
+			contadores[casilla]++;
+		}
+	}
+
+	/** Número de partidos de cada resultado, por código. */
+	private long[] resultados;
+
+	/** Número total de partidos. */
+	private long númPartidos;
+
+	/** Partidos ganados, empatados y perdidos de cada equipo. */
+	private Map<String, long[]> equipos;
+
+	/**
+	 * Crea las estadísticas a partir de los contadores ya acumulados.
+	 *
+	 * @param acumulador los contadores de toda la colección
+	 */
+	EstadísticasQuiniela1X2(Acumulador acumulador) {
+		resultados = acumulador.resultados;
+		equipos = acumulador.equipos;
+		for (long frecuencia : resultados) {
+			númPartidos += frecuencia;
+		}
+	}
+
+	/**
+	 * Devuelve el número total de partidos contabilizados.
+	 *
+	 * @return el número de partidos
+	 */
+	public long getNúmPartidos() {
+		return númPartidos;
+	}
+
+	/**
+	 * Devuelve el número de partidos con un resultado dado.
+	 *
+	 * @param resultado el resultado a consultar
+	 * @return el número de partidos
+	 */
+	public long getFrecuencia(Resultado1X2 resultado) {
+		return resultados[resultado.getCódigo()];
+	}
+
+	/**
+	 * Devuelve la proporción de partidos con un resultado dado.
+	 *
+	 * @param resultado el resultado a consultar
+	 * @return la proporción, entre 0 y 1; 0 si no hay partidos
+	 */
+	public double getProporción(Resultado1X2 resultado) {
+		return proporción(getFrecuencia(resultado), númPartidos);
+	}
+
+	/**
+	 * Proporciona los nombres de todos los equipos, en orden alfabético.
+	 *
+	 * @return la lista de nombres
+	 */
+	public List<String> getEquipos() {
+		List<String> nombres;
+
+		nombres = new ArrayList<String>(equipos.keySet());
+		Collections.sort(nombres);
+		return nombres;
+	}
+
+	/**
+	 * Devuelve el número de partidos jugados por un equipo.
+	 *
+	 * @param equipo el nombre del equipo, sin distinguir mayúsculas
+	 * @return el número de partidos
+	 */
+	public long getPartidos(String equipo) {
+		long[] contadores = equipos.get(equipo.toUpperCase());
+		return (contadores == null) ? 0 : contadores[GANADOS] + contadores[EMPATADOS] + contadores[PERDIDOS];
+	}
+
+	/**
+	 * Devuelve la proporción de partidos ganados por un equipo.
+	 *
+	 * @param equipo el nombre del equipo, sin distinguir mayúsculas
+	 * @return la proporción, entre 0 y 1; 0 si no tiene partidos
+	 */
+	public double getProporciónVictorias(String equipo) {
+		return proporciónEquipo(equipo, GANADOS);
+	}
+
+	/**
+	 * Devuelve la proporción de partidos empatados por un equipo.
+	 *
+	 * @param equipo el nombre del equipo, sin distinguir mayúsculas
+	 * @return la proporción, entre 0 y 1; 0 si no tiene partidos
+	 */
+	public double getProporciónEmpates(String equipo) {
+		return proporciónEquipo(equipo, EMPATADOS);
+	}
+
+	/**
+	 * Devuelve la proporción de partidos perdidos por un equipo.
+	 *
+	 * @param equipo el nombre del equipo, sin distinguir mayúsculas
+	 * @return la proporción, entre 0 y 1; 0 si no tiene partidos
+	 */
+	public double getProporciónDerrotas(String equipo) {
+		return proporciónEquipo(equipo, PERDIDOS);
+	}
+
+	/**
+	 * Proporciona una representación en texto del reparto de resultados.
+	 *
+	 * @return el texto correspondiente
+	 */
+	@Override
+	public String toString() {
+		return String.format("%d partidos: 1 %.1f%% · X %.1f%% · 2 %.1f%%", númPartidos,
+				100 * getProporción(Resultado1X2.Local1), 100 * getProporción(Resultado1X2.EmpateX),
+				100 * getProporción(Resultado1X2.Visitante2));
+	}
+
+	/**
+	 * Calcula la proporción de uno de los contadores de un equipo.
+	 *
+	 * @param equipo  el nombre del equipo, sin distinguir mayúsculas
+	 * @param casilla el contador a consultar
+	 * @return la proporción, entre 0 y 1; 0 si no tiene partidos
+	 */
+	private double proporciónEquipo(String equipo, int casilla) {
+		long[] contadores = equipos.get(equipo.toUpperCase());
+		return (contadores == null) ? 0 : proporción(contadores[casilla], getPartidos(equipo));
+	}
+
+	/**
+	 * Calcula una proporción evitando la división entre cero.
+	 *
+	 * @param parte la cantidad parcial
+	 * @param total la cantidad total
+	 * @return la proporción, o 0 si el total es 0
+	 */
+	private static double proporción(long parte, long total) {
+		return (total == 0) ? 0 : (double) parte / total;
+	}
+}
@@ -0,0 +1,266 @@
+package jcolonia.daw2024.quiniela;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+
+/**
+ * Acceso a datos: exportación de partidos a un archivo de texto en formato
+ * pseudo-CSV (ver {@link ElementoPartido1X2#toStringCSV()}), una línea por
+ * partido. Los partidos se recorren bajo demanda (ver
+ * {@link ConjuntoQuiniela1X2#streamElementos()}) y cada línea se escribe en
+ * cuanto se genera, sin reunir antes el texto completo en memoria. Las líneas
+ * se escriben ya codificadas en UTF-8 (ver {@link CachéFilasQuiniela1X2}), de
+ * modo que los partidos con su línea guardada no se formatean ni codifican de
+ * nuevo.
+ *
+ * <div>El archivo nunca queda a medias: se escribe con otro nombre en el mismo
+ * directorio, se fuerza a disco y solo entonces sustituye al anterior de forma
+ * atómica. Si algo falla, el archivo anterior sigue intacto.</div>
+ *
+ * <div>Opcionalmente, el archivo se comprime en formato GZIP por flujo, en un
+ * hilo aparte (ver {@link CompresiónQuiniela1X2}).</div>
+ *
+ * @see ImportadorQuiniela1X2
+ *
+ * @version 1.0 (20261018000)
+ * @author Rodrigo Martínez Delgado &lt;rodrigo.mardel.daw@gmail.com&gt;
+ */
+public class ExportadorQuiniela1X2 {
+	/**
+	 * Receptor de las noticias de una exportación en segundo plano. Sus métodos
+	 * se llaman desde el hilo de la exportación.
+	 *
+	 * @see ExportadorQuiniela1X2#exportarEnSegundoPlano(ConjuntoQuiniela1X2,
+	 *      Seguimiento)
+	 */
+	public interface Seguimiento {
+		/**
+		 * Informa del avance de la exportación.
+		 *
+		 * @param escritos el número de partidos escritos hasta ahora
+		 * @param total    el número total de partidos
+		 */
+		void avance(long escritos, long total);
+
+		/**
+		 * Informa del final correcto de la exportación, con el archivo ya en su
+		 * sitio.
+		 *
+		 * @param total el número de partidos exportados
+		 */
+		void fin(long total);
+
+		/**
+		 * Informa de que la exportación ha fallado; el archivo anterior sigue
+		 * intacto.
+		 *
+		 * @param causa el error producido
+		 */
+		void error(Exception causa);
+	}
+
+	/** Tamaño del búfer de escritura, en bytes. */
+	private static final int TAMAÑO_BÚFER = 64 * 1024;
+
+	/** Carácter de fin de línea. */
+	private static final byte FIN_LÍNEA = '\n';
+
+	/** Número de partidos escritos entre dos avisos de avance. */
+	private static final int PARTIDOS_POR_AVANCE = 64 * 1024;
+
+	/** Sufijo del archivo temporal. */
+	private static final String SUFIJO_TEMPORAL = ".tmp";
+
+	/** Ruta al archivo de datos. */
+	private Path rutaArchivo;
+
+	/** Si el archivo se comprime. */
+	private boolean comprimir;
+
+	/**
+	 * Almacena la ruta al archivo a exportar, sin comprimir.
+	 *
+	 * @param rutaArchivo el nombre o ruta al archivo
+	 */
+	public ExportadorQuiniela1X2(String rutaArchivo) {
+		this(rutaArchivo, false);
+	}
+
+	/**
+	 * Almacena la ruta al archivo a exportar e indica si debe comprimirse.
+	 *
+	 * @param rutaArchivo el nombre o ruta al archivo
+	 * @param comprimir   <code>true</code> para comprimirlo en formato GZIP
+	 */
+	public ExportadorQuiniela1X2(String rutaArchivo, boolean comprimir) {
+		this.rutaArchivo = Path.of(rutaArchivo);
+		this.comprimir = comprimir;
+	}
+
+	/**
+	 * Vuelca todos los partidos de una colección al archivo, reemplazando su
+	 * contenido anterior.
+	 *
+	 * @param conjunto la colección a exportar
+	 * @return el número de partidos exportados
+	 * @throws IOException         si se produce algún error de acceso al archivo
+	 * @throws Partido1X2Exception si los datos de algún partido aún están
+	 *                             incompletos
+	 */
+	public long exportar(ConjuntoQuiniela1X2 conjunto) throws IOException, Partido1X2Exception {
+		return exportar(conjunto.streamElementos().iterator(), -1, null);
+	}
+
+	/**
+	 * Vuelca todos los partidos de una instantánea al archivo, reemplazando su
+	 * contenido anterior. La colección de origen puede seguir cambiando mientras
+	 * tanto.
+	 *
+	 * @param instantánea la instantánea a exportar
+	 * @return el número de partidos exportados
+	 * @throws IOException         si se produce algún error de acceso al archivo
+	 * @throws Partido1X2Exception si los datos de algún partido aún están
+	 *                             incompletos
+	 */
+	public long exportar(InstantáneaQuiniela1X2 instantánea) throws IOException, Partido1X2Exception {
+		return exportar(instantánea.streamElementos().iterator(), instantánea.size(), null);
+	}
+
+	/**
+	 * Vuelca los partidos de una colección al archivo desde un hilo aparte, de
+	 * modo que quien la llama puede seguir trabajando, incluso modificando la
+	 * colección. Se exportan los partidos presentes al llamar (ver
+	 * {@link ConjuntoQuiniela1X2#tomarInstantánea()}).
+	 * El hilo no impide que la aplicación termine; quien quiera esperar a que
+	 * acabe puede usar {@link Thread#join()}.
+	 *
+	 * @param conjunto    la colección a exportar
+	 * @param seguimiento el receptor de las noticias de avance, final y error
+	 * @return el hilo de la exportación, ya en marcha
+	 */
+	public Thread exportarEnSegundoPlano(ConjuntoQuiniela1X2 conjunto, Seguimiento seguimiento) {
+		InstantáneaQuiniela1X2 instantánea;
+		Thread hilo;
+
+		instantánea = conjunto.tomarInstantánea();
+		hilo = new Thread(() -> {
+			long total;
+			try (instantánea) {
+				total = exportar(instantánea.streamElementos().iterator(), instantánea.size(), seguimiento);
+				seguimiento.fin(total);
+			} catch (IOException | Partido1X2Exception | RuntimeException ex) {
+				seguimiento.error(ex);
+			}
+		}, "Exportación " + rutaArchivo.getFileName());
+		hilo.setDaemon(true);
+		hilo.start();
+		return hilo;
+	}
+
+	/**
+	 * Escribe los partidos en un archivo temporal a través de un canal,
+	 * comprimiéndolos si corresponde, lo fuerza a disco y lo coloca en lugar del
+	 * archivo de datos.
+	 *
+	 * @param recorrido   los partidos a escribir
+	 * @param total       el número total de partidos, para los avisos de avance
+	 * @param seguimiento el receptor de los avisos de avance, o <code>null</code>
+	 * @return el número de partidos exportados
+	 * @throws IOException         si se produce algún error de acceso al archivo
+	 * @throws Partido1X2Exception si los datos de algún partido aún están
+	 *                             incompletos
+	 */
+	private long exportar(Iterator<ElementoPartido1X2> recorrido, long total, Seguimiento seguimiento)
+			throws IOException, Partido1X2Exception {
+		Path rutaTemporal;
+		WritableByteChannel salida;
+		long númPartidos;
+		boolean colocado = false;
+
+		// Nombre propio de cada exportación, por si coinciden varias
+		rutaTemporal = rutaArchivo.resolveSibling(
+				String.format("%s.%d.%d%s", rutaArchivo.getFileName(), ProcessHandle.current().pid(),
+						Thread.currentThread().getId(), SUFIJO_TEMPORAL));
+		try {
+			try (FileChannel canal = FileChannel.open(rutaTemporal, StandardOpenOption.CREATE,
+					StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+				salida = comprimir ? CompresiónQuiniela1X2.abrirEscritura(canal) : canal;
+				try {
+					númPartidos = escribir(recorrido, salida, total, seguimiento);
+				} finally {
+					if (salida != canal) { // Termina la compresión; el canal sigue abierto
+						salida.close();
+					}
+				}
+				canal.force(true);
+			}
+			Files.move(rutaTemporal, rutaArchivo, StandardCopyOption.ATOMIC_MOVE,
+					StandardCopyOption.REPLACE_EXISTING);
+			colocado = true;
+		} finally {
+			if (!colocado) {
+				Files.deleteIfExists(rutaTemporal);
+			}
+		}
+		return númPartidos;
+	}
+
+	/**
+	 * Escribe las líneas de los partidos en un canal, por bloques.
+	 *
+	 * @param recorrido   los partidos a escribir
+	 * @param salida      el canal de escritura
+	 * @param total       el número total de partidos, para los avisos de avance
+	 * @param seguimiento el receptor de los avisos de avance, o <code>null</code>
+	 * @return el número de partidos escritos
+	 * @throws IOException         si se produce algún error de escritura
+	 * @throws Partido1X2Exception si los datos de algún partido aún están
+	 *                             incompletos
+	 */
+	private static long escribir(Iterator<ElementoPartido1X2> recorrido, WritableByteChannel salida, long total,
+			Seguimiento seguimiento) throws IOException, Partido1X2Exception {
+		ByteBuffer búfer;
+		byte[] línea;
+		long númPartidos = 0;
+
+		búfer = ByteBuffer.allocate(TAMAÑO_BÚFER);
+		while (recorrido.hasNext()) {
+			línea = recorrido.next().toBytesCSV();
+			if (búfer.remaining() < línea.length + 1) {
+				vaciar(salida, búfer);
+				if (búfer.capacity() < línea.length + 1) { // Línea enorme: búfer propio
+					búfer = ByteBuffer.allocate(línea.length + 1);
+				}
+			}
+			búfer.put(línea).put(FIN_LÍNEA);
+			if (++númPartidos % PARTIDOS_POR_AVANCE == 0 && seguimiento != null) {
+				seguimiento.avance(númPartidos, total);
+			}
+		}
+		vaciar(salida, búfer);
+		return númPartidos;
+	}
+
+	/**
+	 * Escribe en el canal todo el contenido del búfer y lo deja listo para
+	 * seguir llenándolo.
+	 *
+	 * @param canal el canal de escritura
+	 * @param búfer el búfer con los datos
+	 * @throws IOException si se produce algún error de escritura
+	 */
+	private static void vaciar(WritableByteChannel canal, ByteBuffer búfer) throws IOException {
+		búfer.flip();
+		while (búfer.hasRemaining()) {
+			canal.write(búfer);
+		}
+		búfer.clear();
+	}
+}
@@ -0,0 +1,236 @@
+package jcolonia.daw2024.quiniela;
+
+/**
+ * Modelo: Fila de la clasificación de un equipo: partidos ganados, empatados y
+ * perdidos, en casa y fuera, y los puntos correspondientes según
+ * {@link ElementoPartido1X2#PUNTOS_VICTORIA} y
+ * {@link ElementoPartido1X2#PUNTOS_EMPATE}.
+ *
+ * <div>Las filas que se entregan fuera de la colección son copias: no cambian
+ * con las altas y bajas posteriores.</div>
+ *
+ * @see ConjuntoQuiniela1X2#generarClasificación()
+ *
+ * @version 1.0 (20261018000)
+ * @author Rodrigo Martínez Delgado &lt;rodrigo.mardel.daw@gmail.com&gt;
+ */
+public class FilaClasificaciónQuiniela1X2 {
+	/** Nombre del equipo. */
+	private String equipo;
+
+	/** Partidos ganados como local. */
+	private int ganadosLocal;
+
+	/** Partidos empatados como local. */
+	private int empatadosLocal;
+
+	/** Partidos perdidos como local. */
+	private int perdidosLocal;
+
+	/** Partidos ganados como visitante. */
+	private int ganadosVisitante;
+
+	/** Partidos empatados como visitante. */
+	private int empatadosVisitante;
+
+	/** Partidos perdidos como visitante. */
+	private int perdidosVisitante;
+
+	/**
+	 * Crea la fila de un equipo sin partidos.
+	 *
+	 * @param equipo el nombre del equipo
+	 */
+	FilaClasificaciónQuiniela1X2(String equipo) {
+		this.equipo = equipo;
+	}
+
+	/**
+	 * Crea una copia de una fila.
+	 *
+	 * @param original la fila a copiar
+	 */
+	FilaClasificaciónQuiniela1X2(FilaClasificaciónQuiniela1X2 original) {
+		equipo = original.equipo;
+		ganadosLocal = original.ganadosLocal;
+		empatadosLocal = original.empatadosLocal;
+		perdidosLocal = original.perdidosLocal;
+		ganadosVisitante = original.ganadosVisitante;
+		empatadosVisitante = original.empatadosVisitante;
+		perdidosVisitante = original.perdidosVisitante;
+	}
+
+	/**
+	 * Suma o resta un partido del equipo.
+	 *
+	 * @param comoLocal  si el equipo jugó como local
+	 * @param resultado  el resultado del partido
+	 * @param incremento <code>1</code> para sumarlo, <code>-1</code> para restarlo
+	 */
+	void anotar(boolean comoLocal, Resultado1X2 resultado, int incremento) {
+		switch (resultado) {
+		case Local1:
+			if (comoLocal) {
+				ganadosLocal += incremento;
+			} else {
+				perdidosVisitante += incremento;
+			}
+			break;
+		case Visitante2:
+			if (comoLocal) {
+				perdidosLocal += incremento;
+			} else {
+				ganadosVisitante += incremento;
+			}
+			break;
+		case EmpateX:
+			if (comoLocal) {
+				empatadosLocal += incremento;
+			} else {
+				empatadosVisitante += incremento;
+			}
+			break;
+		}
+	}
+
+	/**
+	 * Devuelve el nombre del equipo.
+	 *
+	 * @return el nombre
+	 */
+	public String getEquipo() {
+		return equipo;
+	}
+
+	/**
+	 * Devuelve el número de partidos jugados.
+	 *
+	 * @return los partidos jugados
+	 */
+	public int getJugados() {
+		return getGanados() + getEmpatados() + getPerdidos();
+	}
+
+	/**
+	 * Devuelve el número de partidos ganados.
+	 *
+	 * @return los partidos ganados
+	 */
+	public int getGanados() {
+		return ganadosLocal + ganadosVisitante;
+	}
+
+	/**
+	 * Devuelve el número de partidos empatados.
+	 *
+	 * @return los partidos empatados
+	 */
+	public int getEmpatados() {
+		return empatadosLocal + empatadosVisitante;
+	}
+
+	/**
+	 * Devuelve el número de partidos perdidos.
+	 *
+	 * @return los partidos perdidos
+	 */
+	public int getPerdidos() {
+		return perdidosLocal + perdidosVisitante;
+	}
+
+	/**
+	 * Devuelve los puntos conseguidos.
+	 *
+	 * @return los puntos
+	 */
+	public int getPuntos() {
+		return getPuntosLocal() + getPuntosVisitante();
+	}
+
+	/**
+	 * Devuelve los puntos conseguidos como local.
+	 *
+	 * @return los puntos en casa
+	 */
+	public int getPuntosLocal() {
+		return ElementoPartido1X2.PUNTOS_VICTORIA * ganadosLocal + ElementoPartido1X2.PUNTOS_EMPATE * empatadosLocal;
+	}
+
+	/**
+	 * Devuelve los puntos conseguidos como visitante.
+	 *
+	 * @return los puntos fuera
+	 */
+	public int getPuntosVisitante() {
+		return ElementoPartido1X2.PUNTOS_VICTORIA * ganadosVisitante
+				+ ElementoPartido1X2.PUNTOS_EMPATE * empatadosVisitante;
+	}
+
+	/**
+	 * Devuelve el número de partidos ganados como local.
+	 *
+	 * @return los partidos ganados en casa
+	 */
+	public int getGanadosLocal() {
+		return ganadosLocal;
+	}
+
+	/**
+	 * Devuelve el número de partidos empatados como local.
+	 *
+	 * @return los partidos empatados en casa
+	 */
+	public int getEmpatadosLocal() {
+		return empatadosLocal;
+	}
+
+	/**
+	 * Devuelve el número de partidos perdidos como local.
+	 *
+	 * @return los partidos perdidos en casa
+	 */
+	public int getPerdidosLocal() {
+		return perdidosLocal;
+	}
+
+	/**
+	 * Devuelve el número de partidos ganados como visitante.
+	 *
+	 * @return los partidos ganados fuera
+	 */
+	public int getGanadosVisitante() {
+		return ganadosVisitante;
+	}
+
+	/**
+	 * Devuelve el número de partidos empatados como visitante.
+	 *
+	 * @return los partidos empatados fuera
+	 */
+	public int getEmpatadosVisitante() {
+		return empatadosVisitante;
+	}
+
+	/**
+	 * Devuelve el número de partidos perdidos como visitante.
+	 *
+	 * @return los partidos perdidos fuera
+	 */
+	public int getPerdidosVisitante() {
+		return perdidosVisitante;
+	}
+
+	/**
+	 * Proporciona una representación en texto de la fila: nombre, puntos,
+	 * partidos jugados, ganados, empatados y perdidos, y los puntos en casa y
+	 * fuera.
+	 *
+	 * @return el texto correspondiente
+	 */
+	@Override
+	public String toString() {
+		return String.format("%-30s %4d pts. | PJ %3d  G %3d  E %3d  P %3d | Casa %4d  Fuera %4d", equipo,
+				getPuntos(), getJugados(), getGanados(), getEmpatados(), getPerdidos(), getPuntosLocal(),
+				getPuntosVisitante());
+	}
+}
@@ -0,0 +1,302 @@
+package jcolonia.daw2024.quiniela;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Acceso a datos: exportación e importación de partidos en un formato binario
+ * compacto, alternativo al formato pseudo-CSV. El archivo contiene:
+ * <ol>
+ * <li>Una cabecera con la marca «Q1X2», la versión del formato, el número de
+ * bits de cada identificador de equipo, el número de equipos y el número de
+ * partidos.</li>
+ * <li>Un diccionario con los nombres de equipo, cada uno una sola vez (ver
+ * {@link DiccionarioEquiposQuiniela1X2}).</li>
+ * <li>Una fila de ancho fijo por partido con el identificador del equipo
+ * local, el del visitante y el {@link Resultado1X2#getCódigo() código} de dos
+ * bits del resultado.</li>
+ * </ol>
+ *
+ * <div>Los nombres se validan una sola vez, al cargar el diccionario, y todos
+ * los partidos comparten los mismos textos.</div>
+ *
+ * <div>Como en {@link ExportadorQuiniela1X2}, el archivo exportado nunca queda
+ * a medias: se escribe con otro nombre, se fuerza a disco y solo entonces
+ * sustituye al anterior de forma atómica.</div>
+ *
+ * @version 1.0 (20261018000)
+ * @author Rodrigo Martínez Delgado &lt;rodrigo.mardel.daw@gmail.com&gt;
+ */
+public class FormatoBinarioQuiniela1X2 {
+	/** Marca inicial que identifica el formato: «Q1X2». */
+	private static final int MARCA = 0x51315832;
+
+	/** Versión actual del formato. */
+	private static final byte VERSIÓN = 1;
+
+	/** Número de bits del código de resultado. */
+	private static final int BITS_RESULTADO = 2;
+
+	/** Tamaño de la cabecera, en bytes. */
+	private static final int TAMAÑO_CABECERA = Integer.BYTES + 2 * Byte.BYTES + 2 * Integer.BYTES;
+
+	/**
+	 * Tamaño mínimo de cada nombre del diccionario, en bytes: la longitud y al
+	 * menos un carácter.
+	 */
+	private static final int BYTES_MÍNIMOS_NOMBRE = Short.BYTES + 1;
+
+	/** Tamaño del búfer de lectura y escritura, en bytes. */
+	private static final int TAMAÑO_BÚFER = 64 * 1024;
+
+	/** Número de filas procesadas en cada bloque de lectura o escritura. */
+	private static final int FILAS_POR_BLOQUE = 8192;
+
+	/** Sufijo del archivo temporal. */
+	private static final String SUFIJO_TEMPORAL = ".tmp";
+
+	/** Ruta al archivo de datos. */
+	private Path rutaArchivo;
+
+	/**
+	 * Almacena la ruta al archivo a exportar o importar.
+	 *
+	 * @param rutaArchivo el nombre o ruta al archivo
+	 */
+	public FormatoBinarioQuiniela1X2(String rutaArchivo) {
+		this.rutaArchivo = Path.of(rutaArchivo);
+	}
+
+	/**
+	 * Vuelca todos los partidos de una colección al archivo, reemplazando su
+	 * contenido anterior. Si algo falla, el archivo anterior sigue intacto.
+	 *
+	 * @param conjunto la colección a exportar
+	 * @throws IOException         si se produce algún error de acceso al archivo
+	 * @throws Partido1X2Exception si los datos de algún partido aún están
+	 *                             incompletos
+	 */
+	public void exportar(ConjuntoQuiniela1X2 conjunto) throws IOException, Partido1X2Exception {
+		DiccionarioEquiposQuiniela1X2 diccionario;
+		ElementoPartido1X2 elemento;
+		Path rutaTemporal;
+		byte[] bloque;
+		int númPartidos, bitsId, bytesFila, posBloque;
+		long fila;
+		boolean colocado = false;
+
+		diccionario = new DiccionarioEquiposQuiniela1X2();
+		númPartidos = conjunto.size();
+		for (int i = 0; i < númPartidos; i++) {
+			elemento = conjunto.getElemento(i);
+			diccionario.registrar(elemento.getEquipoLocal());
+			diccionario.registrar(elemento.getEquipoVisitante());
+		}
+		bitsId = calcularBitsId(diccionario.size());
+		bytesFila = calcularBytesFila(bitsId);
+
+		// Nombre propio de cada exportación, por si coinciden varias
+		rutaTemporal = rutaArchivo.resolveSibling(
+				String.format("%s.%d.%d%s", rutaArchivo.getFileName(), ProcessHandle.current().pid(),
+						Thread.currentThread().getId(), SUFIJO_TEMPORAL));
+		try {
+			try (FileChannel canal = FileChannel.open(rutaTemporal, StandardOpenOption.CREATE,
+					StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+					DataOutputStream salida = new DataOutputStream(
+							new BufferedOutputStream(Channels.newOutputStream(canal), TAMAÑO_BÚFER))) {
+				salida.writeInt(MARCA);
+				salida.writeByte(VERSIÓN);
+				salida.writeByte(bitsId);
+				salida.writeInt(diccionario.size());
+				salida.writeInt(númPartidos);
+
+				for (int id = 0; id < diccionario.size(); id++) {
+					salida.writeUTF(diccionario.getNombre(id));
+				}
+
+				bloque = new byte[FILAS_POR_BLOQUE * bytesFila];
+				posBloque = 0;
+				for (int i = 0; i < númPartidos; i++) {
+					elemento = conjunto.getElemento(i);
+					fila = diccionario.getId(elemento.getEquipoLocal());
+					fila = (fila << bitsId) | diccionario.getId(elemento.getEquipoVisitante());
+					fila = (fila << BITS_RESULTADO) | elemento.getResultado().getCódigo();
+
+					for (int b = bytesFila - 1; b >= 0; b--) { // Orden big-endian
+						bloque[posBloque++] = (byte) (fila >>> (8 * b));
+					}
+					if (posBloque == bloque.length) {
+						salida.write(bloque, 0, posBloque);
+						posBloque = 0;
+					}
+				}
+				salida.write(bloque, 0, posBloque);
+				salida.flush();
+				canal.force(true);
+			}
+			Files.move(rutaTemporal, rutaArchivo, StandardCopyOption.ATOMIC_MOVE,
+					StandardCopyOption.REPLACE_EXISTING);
+			colocado = true;
+		} finally {
+			if (!colocado) {
+				Files.deleteIfExists(rutaTemporal);
+			}
+		}
+	}
+
+	/**
+	 * Lee el archivo completo y genera una colección nueva con todos los partidos
+	 * contenidos. La colección solo se entrega si todo el archivo es correcto.
+	 *
+	 * @return la colección con los partidos importados
+	 * @throws DatoPartido1X2Exception si el archivo no corresponde al formato o
+	 *                                 contiene datos no válidos, o si se produce
+	 *                                 algún error de acceso al archivo
+	 */
+	public ConjuntoQuiniela1X2 importar() throws DatoPartido1X2Exception {
+		ConjuntoQuiniela1X2 nuevaLista;
+		String[] nombres;
+		byte[] bloque;
+		int bitsId, bytesFila, númEquipos, númPartidos, filasBloque, posBloque;
+
+		nuevaLista = new ConjuntoQuiniela1X2();
+
+		try (DataInputStream entrada = new DataInputStream(
+				new BufferedInputStream(Files.newInputStream(rutaArchivo), TAMAÑO_BÚFER))) {
+			if (entrada.readInt() != MARCA) {
+				throw new DatoPartido1X2Exception("Archivo binario no reconocido");
+			}
+			if (entrada.readByte() != VERSIÓN) {
+				throw new DatoPartido1X2Exception("Versión de archivo binario no admitida");
+			}
+			bitsId = entrada.readByte();
+			númEquipos = entrada.readInt();
+			númPartidos = entrada.readInt();
+			if (bitsId != calcularBitsId(númEquipos) || númPartidos < 0 || númEquipos < 0
+					|| númEquipos > 2L * númPartidos) { // Cada partido aporta a lo sumo dos equipos
+				throw new DatoPartido1X2Exception("Cabecera de archivo binario no válida");
+			}
+			bytesFila = calcularBytesFila(bitsId);
+			if (TAMAÑO_CABECERA + BYTES_MÍNIMOS_NOMBRE * (long) númEquipos
+					+ bytesFila * (long) númPartidos > Files.size(rutaArchivo)) { // Antes de reservar memoria
+				throw new DatoPartido1X2Exception("Cabecera de archivo binario no válida");
+			}
+
+			nombres = new String[númEquipos];
+			for (int id = 0; id < númEquipos; id++) {
+				nombres[id] = leerNombre(entrada);
+			}
+
+			bloque = new byte[FILAS_POR_BLOQUE * bytesFila];
+			for (int i = 0; i < númPartidos; i += filasBloque) {
+				filasBloque = Math.min(FILAS_POR_BLOQUE, númPartidos - i);
+				entrada.readFully(bloque, 0, filasBloque * bytesFila);
+
+				posBloque = 0;
+				for (int j = 0; j < filasBloque; j++) {
+					nuevaLista.agregarElemento(leerFila(bloque, posBloque, bytesFila, bitsId, nombres, i + j + 1));
+					posBloque += bytesFila;
+				}
+			}
+		} catch (EOFException ex) {
+			throw new DatoPartido1X2Exception("Archivo binario incompleto", ex);
+		} catch (IOException ex) {
+			throw new DatoPartido1X2Exception(
+					String.format("Error de acceso a «%s»: %s", rutaArchivo, ex.getLocalizedMessage()), ex);
+		}
+		return nuevaLista;
+	}
+
+	/**
+	 * Lee y valida un nombre de equipo del diccionario. Debe cumplir las mismas
+	 * condiciones que en la carga de datos y estar ya en mayúsculas.
+	 *
+	 * @param entrada el flujo de lectura
+	 * @return el nombre leído
+	 * @throws IOException             si se produce algún error de acceso
+	 * @throws DatoPartido1X2Exception si el nombre no es válido
+	 */
+	private static String leerNombre(DataInputStream entrada) throws IOException, DatoPartido1X2Exception {
+		String nombre = entrada.readUTF();
+
+		ElementoPartido1X2.verificarNombreVálido(nombre);
+		if (!nombre.equals(nombre.toUpperCase())) {
+			throw new DatoPartido1X2Exception("Nombre de equipo no normalizado: " + nombre);
+		}
+		return nombre;
+	}
+
+	/**
+	 * Decodifica y valida una fila de partido.
+	 *
+	 * @param bloque    el bloque de bytes leído
+	 * @param posBloque la posición de la fila dentro del bloque
+	 * @param bytesFila el número de bytes de cada fila
+	 * @param bitsId    el número de bits de cada identificador de equipo
+	 * @param nombres   los nombres de equipo del diccionario
+	 * @param númFila   el número de la fila, a partir de uno, para los mensajes
+	 * @return el partido correspondiente
+	 * @throws DatoPartido1X2Exception si la fila no es válida
+	 */
+	private static ElementoPartido1X2 leerFila(byte[] bloque, int posBloque, int bytesFila, int bitsId,
+			String[] nombres, int númFila) throws DatoPartido1X2Exception {
+		long fila = 0;
+		int local, visitante;
+		Resultado1X2 resultado;
+
+		for (int b = 0; b < bytesFila; b++) {
+			fila = (fila << 8) | (bloque[posBloque + b] & 0xFF);
+		}
+		resultado = Resultado1X2.deCódigo((int) (fila & ((1 << BITS_RESULTADO) - 1)));
+		fila >>>= BITS_RESULTADO;
+		visitante = (int) (fila & ((1L << bitsId) - 1));
+		local = (int) (fila >>> bitsId);
+
+		if (resultado == null) {
+			throw new DatoPartido1X2Exception(String.format("Partido %d: Resultado no válido", númFila));
+		}
+		if (local >= nombres.length || visitante >= nombres.length) {
+			throw new DatoPartido1X2Exception(String.format("Partido %d: Equipo desconocido", númFila));
+		}
+		if (nombres[local].equals(nombres[visitante])) {
+			throw new DatoPartido1X2Exception(String.format("Partido %d: Equipo repetido", númFila));
+		}
+		return new ElementoPartido1X2(nombres[local], nombres[visitante], resultado);
+	}
+
+	/**
+	 * Calcula el número de bits necesario para representar los identificadores de
+	 * un diccionario.
+	 *
+	 * @param númEquipos el número de equipos del diccionario
+	 * @return el número de bits, al menos uno
+	 */
+	private static int calcularBitsId(int númEquipos) {
+		int bitsId = 1;
+		if (númEquipos > 2) {
+			bitsId = Integer.SIZE - Integer.numberOfLeadingZeros(númEquipos - 1);
+		}
+		return bitsId;
+	}
+
+	/**
+	 * Calcula el número de bytes de cada fila: dos identificadores de equipo y el
+	 * código de resultado, redondeado al byte.
+	 *
+	 * @param bitsId el número de bits de cada identificador de equipo
+	 * @return el número de bytes por fila
+	 */
+	private static int calcularBytesFila(int bitsId) {
+		return (2 * bitsId + BITS_RESULTADO + 7) / 8;
+	}
+}
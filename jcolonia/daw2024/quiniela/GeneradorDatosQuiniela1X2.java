@@ -0,0 +1,390 @@
+package jcolonia.daw2024.quiniela;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Acceso a datos: generación de archivos de partidos sintéticos en formato
+ * pseudo-CSV (ver {@link ElementoPartido1X2#toStringCSV()}), para pruebas de
+ * carga y de escala. Se puede elegir el número de líneas, el número de equipos
+ * distintos, el reparto de longitudes de los nombres –siempre dentro del rango
+ * [5, 20]–, el reparto de resultados y una proporción de líneas erróneas.
+ *
+ * <div>El resultado depende solo de la semilla y de la configuración, no del
+ * número de hilos: las líneas se generan por bloques, cada uno con su propia
+ * secuencia aleatoria derivada de la semilla y de su número de bloque. Los
+ * bloques se generan en paralelo y se escriben en orden; como solo se mantiene
+ * un número limitado de bloques pendientes, la memoria empleada no depende del
+ * tamaño del archivo.</div>
+ *
+ * <div>Las líneas correctas son siempre válidas para
+ * {@link ElementoPartido1X2#of(String)}; las erróneas, nunca.</div>
+ *
+ * @version 1.0 (20261018000)
+ * @author Rodrigo Martínez Delgado &lt;rodrigo.mardel.daw@gmail.com&gt;
+ */
+public class GeneradorDatosQuiniela1X2 {
+	/** Longitud mínima de los nombres de equipo. */
+	public static final int LONGITUD_MÍNIMA = 5;
+
+	/** Longitud máxima de los nombres de equipo. */
+	public static final int LONGITUD_MÁXIMA = 20;
+
+	/** Número de líneas de cada bloque. */
+	private static final int LÍNEAS_POR_BLOQUE = 64 * 1024;
+
+	/** Constante de mezcla para derivar la semilla de cada bloque. */
+	private static final long MEZCLA = 0x9E3779B97F4A7C15L;
+
+	/** Caracteres empleados en los nombres de equipo. */
+	private static final String LETRAS = "ABCDEFGHIJKLMNOPQRSTUVWXYZ";
+
+	/** Códigos de resultado, en el orden de sus pesos. */
+	private static final char[] RESULTADOS = { '1', 'X', '2' };
+
+	/** Número de variantes de línea errónea. */
+	private static final int TIPOS_ERROR = 6;
+
+	/** Semilla de todas las secuencias aleatorias. */
+	private long semilla;
+
+	/** Grupo de hilos donde se generan los bloques. */
+	private ForkJoinPool grupoHilos;
+
+	/** Número de líneas a generar. */
+	private long númLíneas = 1000;
+
+	/** Número de equipos distintos. */
+	private int númEquipos = 20;
+
+	/** Pesos acumulados de cada longitud de nombre, desde la mínima. */
+	private double[] longitudes;
+
+	/** Pesos acumulados de cada resultado: 1, X y 2. */
+	private double[] resultados;
+
+	/** Proporción de líneas erróneas, entre 0 y 1. */
+	private double tasaErrores;
+
+	/** Nombres de los equipos, creados al generar. */
+	private String[] equipos;
+
+	/**
+	 * Crea un generador con la configuración por omisión: mil líneas, veinte
+	 * equipos, longitudes de nombre y resultados equiprobables y ninguna línea
+	 * errónea. Los bloques se generan en el grupo de hilos común,
+	 * {@link ForkJoinPool#commonPool()}.
+	 *
+	 * @param semilla la semilla de las secuencias aleatorias
+	 */
+	public GeneradorDatosQuiniela1X2(long semilla) {
+		this(semilla, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Crea un generador con la configuración por omisión y el grupo de hilos
+	 * donde se generarán los bloques.
+	 *
+	 * @param semilla    la semilla de las secuencias aleatorias
+	 * @param grupoHilos el grupo de hilos a emplear
+	 */
+	public GeneradorDatosQuiniela1X2(long semilla, ForkJoinPool grupoHilos) {
+		this.semilla = semilla;
+		this.grupoHilos = grupoHilos;
+		setPesosLongitudes(new double[LONGITUD_MÁXIMA - LONGITUD_MÍNIMA + 1]);
+		setPesosResultados(1, 1, 1);
+	}
+
+	/**
+	 * Establece el número de líneas a generar.
+	 *
+	 * @param númLíneas el número de líneas, cero o más
+	 */
+	public void setNúmLíneas(long númLíneas) {
+		if (númLíneas < 0) {
+			throw new IllegalArgumentException("Número de líneas negativo");
+		}
+		this.númLíneas = númLíneas;
+	}
+
+	/**
+	 * Establece el número de equipos distintos.
+	 *
+	 * @param númEquipos el número de equipos, al menos dos y no más que los
+	 *                   nombres distintos posibles con el reparto de longitudes
+	 *                   actual
+	 */
+	public void setNúmEquipos(int númEquipos) {
+		if (númEquipos < 2) {
+			throw new IllegalArgumentException("Se necesitan al menos dos equipos");
+		}
+		comprobarNombresPosibles(númEquipos, longitudes);
+		this.númEquipos = númEquipos;
+	}
+
+	/**
+	 * Establece el reparto de longitudes de los nombres de equipo. Cada peso
+	 * corresponde a una longitud, desde {@link #LONGITUD_MÍNIMA} en adelante;
+	 * las longitudes sin peso no se emplean. Si todos los pesos son nulos, todas
+	 * las longitudes son equiprobables.
+	 *
+	 * @param pesos los pesos, no negativos, de cada longitud; las longitudes
+	 *              empleadas deben admitir al menos tantos nombres distintos
+	 *              como equipos haya
+	 */
+	public void setPesosLongitudes(double... pesos) {
+		double[] acumulados;
+
+		if (pesos.length > LONGITUD_MÁXIMA - LONGITUD_MÍNIMA + 1) {
+			throw new IllegalArgumentException("Demasiadas longitudes");
+		}
+		acumulados = acumular(pesos.length == 0 ? new double[1] : pesos);
+		comprobarNombresPosibles(númEquipos, acumulados);
+		longitudes = acumulados;
+	}
+
+	/**
+	 * Establece el reparto de resultados.
+	 *
+	 * @param local     el peso, no negativo, de la victoria local «1»
+	 * @param empate    el peso, no negativo, del empate «X»
+	 * @param visitante el peso, no negativo, de la victoria visitante «2»
+	 */
+	public void setPesosResultados(double local, double empate, double visitante) {
+		resultados = acumular(new double[] { local, empate, visitante });
+	}
+
+	/**
+	 * Establece la proporción de líneas erróneas: nombres demasiado cortos o
+	 * largos, campos ausentes, resultados no válidos, equipos repetidos o líneas
+	 * vacías.
+	 *
+	 * @param tasaErrores la proporción, entre 0 y 1
+	 */
+	public void setTasaErrores(double tasaErrores) {
+		if (!(tasaErrores >= 0 && tasaErrores <= 1)) {
+			throw new IllegalArgumentException("Proporción de errores fuera de rango");
+		}
+		this.tasaErrores = tasaErrores;
+	}
+
+	/**
+	 * Genera el archivo completo, reemplazando su contenido si ya existe.
+	 *
+	 * @param rutaArchivo el nombre o ruta al archivo
+	 * @throws IOException si se produce algún error de escritura
+	 */
+	public void generar(String rutaArchivo) throws IOException {
+		ArrayDeque<Future<byte[]>> pendientes;
+		long númBloques, siguiente = 0;
+		int máxPendientes;
+
+		equipos = crearEquipos();
+		númBloques = (númLíneas + LÍNEAS_POR_BLOQUE - 1) / LÍNEAS_POR_BLOQUE;
+		máxPendientes = 2 * grupoHilos.getParallelism();
+		pendientes = new ArrayDeque<Future<byte[]>>(máxPendientes);
+
+		try (OutputStream salida = Files.newOutputStream(Path.of(rutaArchivo))) {
+			while (siguiente < númBloques || !pendientes.isEmpty()) {
+				while (siguiente < númBloques && pendientes.size() < máxPendientes) {
+					final long bloque = siguiente++;
+					pendientes.add(grupoHilos.submit(() -> generarBloque(bloque)));
+				}
+				salida.write(esperar(pendientes.poll()));
+			}
+		} finally {
+			for (Future<byte[]> pendiente : pendientes) {
+				pendiente.cancel(false);
+			}
+		}
+	}
+
+	/**
+	 * Genera las líneas de un bloque.
+	 *
+	 * @param bloque el número de bloque
+	 * @return el texto del bloque, en UTF-8
+	 */
+	private byte[] generarBloque(long bloque) {
+		SplittableRandom aleatorio = new SplittableRandom(semilla + (bloque + 1) * MEZCLA);
+		StringBuilder texto = new StringBuilder(LÍNEAS_POR_BLOQUE * 2 * (LONGITUD_MÁXIMA + 2));
+		long líneas = Math.min(LÍNEAS_POR_BLOQUE, númLíneas - bloque * LÍNEAS_POR_BLOQUE);
+
+		for (int i = 0; i < líneas; i++) {
+			if (tasaErrores > 0 && aleatorio.nextDouble() < tasaErrores) {
+				generarLíneaErrónea(aleatorio, texto);
+			} else {
+				generarLínea(aleatorio, texto);
+			}
+			texto.append('\n');
+		}
+		return texto.toString().getBytes(StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Añade una línea correcta.
+	 *
+	 * @param aleatorio la secuencia aleatoria del bloque
+	 * @param texto     el texto del bloque
+	 */
+	private void generarLínea(SplittableRandom aleatorio, StringBuilder texto) {
+		int local = aleatorio.nextInt(equipos.length);
+		int visitante = (local + 1 + aleatorio.nextInt(equipos.length - 1)) % equipos.length;
+
+		texto.append(equipos[local]).append('#').append(equipos[visitante]).append('#')
+				.append(RESULTADOS[elegir(resultados, aleatorio)]);
+	}
+
+	/**
+	 * Añade una línea errónea, de una de las variantes posibles.
+	 *
+	 * @param aleatorio la secuencia aleatoria del bloque
+	 * @param texto     el texto del bloque
+	 */
+	private void generarLíneaErrónea(SplittableRandom aleatorio, StringBuilder texto) {
+		String local = equipos[aleatorio.nextInt(equipos.length)];
+
+		switch (aleatorio.nextInt(TIPOS_ERROR)) {
+		case 0: // Nombre demasiado corto
+			texto.append(local, 0, LONGITUD_MÍNIMA - 1).append("#").append(local).append("#1");
+			break;
+		case 1: // Nombre demasiado largo
+			texto.append(local).append("#").append("X".repeat(LONGITUD_MÁXIMA + 1)).append("#2");
+			break;
+		case 2: // Falta el resultado
+			generarLínea(aleatorio, texto);
+			texto.setLength(texto.length() - 2);
+			break;
+		case 3: // Resultado no válido
+			generarLínea(aleatorio, texto);
+			texto.setCharAt(texto.length() - 1, '3');
+			break;
+		case 4: // Equipo repetido
+			texto.append(local).append('#').append(local.toLowerCase()).append("#X");
+			break;
+		default: // Línea vacía
+			break;
+		}
+	}
+
+	/**
+	 * Crea los nombres de los equipos, distintos entre sí, con las longitudes
+	 * según sus pesos.
+	 *
+	 * @return los nombres creados
+	 */
+	private String[] crearEquipos() {
+		SplittableRandom aleatorio = new SplittableRandom(semilla);
+		Set<String> nombres = new HashSet<String>();
+		String[] lista = new String[númEquipos];
+		StringBuilder nombre = new StringBuilder(LONGITUD_MÁXIMA);
+		int longitud;
+
+		for (int i = 0; i < númEquipos;) {
+			longitud = LONGITUD_MÍNIMA + elegir(longitudes, aleatorio);
+			nombre.setLength(0);
+			for (int j = 0; j < longitud; j++) {
+				nombre.append(LETRAS.charAt(aleatorio.nextInt(LETRAS.length())));
+			}
+			if (nombres.add(nombre.toString())) {
+				lista[i++] = nombre.toString();
+			}
+		}
+		return lista;
+	}
+
+	/**
+	 * Comprueba que hay suficientes nombres distintos para un número de equipos,
+	 * pues en otro caso {@link #crearEquipos()} no terminaría nunca. Solo
+	 * cuentan las longitudes con peso.
+	 *
+	 * @param númEquipos el número de equipos
+	 * @param acumulados los pesos acumulados de cada longitud
+	 * @throws IllegalArgumentException si hay más equipos que nombres posibles
+	 */
+	private static void comprobarNombresPosibles(int númEquipos, double[] acumulados) {
+		long posibles = 0, combinaciones;
+
+		for (int i = 0; i < acumulados.length && posibles < númEquipos; i++) {
+			if (acumulados[i] > ((i == 0) ? 0 : acumulados[i - 1])) {
+				combinaciones = 1;
+				for (int j = 0; j < LONGITUD_MÍNIMA + i && combinaciones < númEquipos; j++) {
+					combinaciones *= LETRAS.length();
+				}
+				posibles += combinaciones;
+			}
+		}
+		if (posibles < númEquipos) {
+			throw new IllegalArgumentException(
+					String.format("Solo hay %d nombres distintos posibles para %d equipos", posibles, númEquipos));
+		}
+	}
+
+	/**
+	 * Elige una opción según sus pesos acumulados.
+	 *
+	 * @param acumulados los pesos acumulados, normalizados hasta 1
+	 * @param aleatorio  la secuencia aleatoria
+	 * @return la posición de la opción elegida
+	 */
+	private static int elegir(double[] acumulados, SplittableRandom aleatorio) {
+		double valor = aleatorio.nextDouble();
+		int opción = 0;
+
+		while (opción < acumulados.length - 1 && valor >= acumulados[opción]) {
+			opción++;
+		}
+		return opción;
+	}
+
+	/**
+	 * Convierte una lista de pesos en sus valores acumulados, normalizados hasta
+	 * 1. Si todos los pesos son nulos, se consideran iguales.
+	 *
+	 * @param pesos los pesos, no negativos
+	 * @return los pesos acumulados
+	 */
+	private static double[] acumular(double[] pesos) {
+		double[] acumulados = new double[pesos.length];
+		double total = 0;
+
+		for (double peso : pesos) {
+			if (!(peso >= 0 && peso < Double.POSITIVE_INFINITY)) {
+				throw new IllegalArgumentException("Peso no válido: " + peso);
+			}
+			total += peso;
+		}
+		for (int i = 0; i < pesos.length; i++) {
+			acumulados[i] = ((i == 0) ? 0 : acumulados[i - 1]) + ((total == 0) ? 1.0 / pesos.length : pesos[i] / total);
+		}
+		return acumulados;
+	}
+
+	/**
+	 * Espera el texto de un bloque generado en paralelo.
+	 *
+	 * @param pendiente el bloque pendiente
+	 * @return el texto del bloque
+	 * @throws IOException si se interrumpe la espera
+	 */
+	private static byte[] esperar(Future<byte[]> pendiente) throws IOException {
+		try {
+			return pendiente.get();
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Generación interrumpida", ex);
+		} catch (ExecutionException ex) {
+			throw new IllegalStateException(ex.getCause());
+		}
+	}
+}
@@ -0,0 +1,205 @@
+package jcolonia.daw2024.quiniela;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Acceso a datos: importación de partidos desde un archivo de texto en formato
+ * pseudo-CSV (ver {@link ElementoPartido1X2#toStringCSV()}) proyectado en
+ * memoria con {@link FileChannel#map(MapMode, long, long)}. Los límites de
+ * línea y de campo se localizan directamente sobre los bytes proyectados, sin
+ * pasar por lectores intermedios, y solo se decodifican como texto los nombres
+ * de equipo válidos (ver {@link ElementoPartido1X2#of(java.nio.ByteBuffer, int, int)}).
+ *
+ * <div>El archivo se proyecta por ventanas ajustadas a límites de línea, de
+ * modo que admite archivos de cualquier tamaño, incluso mayores de 2 GB.</div>
+ *
+ * @version 1.0 (20261018000)
+ * @author Rodrigo Martínez Delgado &lt;rodrigo.mardel.daw@gmail.com&gt;
+ */
+public class ImportadorMapeadoQuiniela1X2 {
+	/** Tamaño máximo, en bytes, de cada ventana proyectada en memoria. */
+	private static final int TAMAÑO_VENTANA = 256 * 1024 * 1024;
+
+	/** Carácter de fin de línea. */
+	private static final byte FIN_LÍNEA = '\n';
+
+	/** Carácter de retorno de carro, descartado al final de cada línea. */
+	private static final byte RETORNO = '\r';
+
+	/** Ruta al archivo de datos. */
+	private Path rutaArchivo;
+
+	/** Número de líneas analizadas hasta el momento. */
+	private long númLíneas;
+
+	/** Informe de la importación en curso, o <code>null</code> si es estricta. */
+	private InformeImportaciónQuiniela1X2 informe;
+
+	/**
+	 * Almacena la ruta al archivo a importar.
+	 *
+	 * @param rutaArchivo el nombre o ruta al archivo
+	 */
+	public ImportadorMapeadoQuiniela1X2(String rutaArchivo) {
+		this.rutaArchivo = Path.of(rutaArchivo);
+	}
+
+	/**
+	 * Recorre el archivo completo y genera una colección nueva con todos los
+	 * partidos contenidos. La colección solo se entrega si todas las líneas son
+	 * correctas, así que ante cualquier incidencia el contenido previo del programa
+	 * puede conservarse intacto.
+	 *
+	 * @return la colección con los partidos importados
+	 * @throws DatoPartido1X2Exception si alguna línea no es válida –indicando su
+	 *                                 número de línea– o si se produce algún
+	 *                                 error de acceso al archivo
+	 */
+	public ConjuntoQuiniela1X2 importar() throws DatoPartido1X2Exception {
+		return importar(null);
+	}
+
+	/**
+	 * Recorre el archivo completo y genera una colección nueva con todos los
+	 * partidos válidos. Las líneas erróneas se anotan en el informe y se pasan por
+	 * alto (ver {@link ImportadorQuiniela1X2#importar(InformeImportaciónQuiniela1X2)}).
+	 *
+	 * @param informe el informe donde anotar las líneas cargadas y las erróneas,
+	 *                o <code>null</code> para una importación estricta
+	 * @return la colección con los partidos importados
+	 * @throws DatoPartido1X2Exception si se produce algún error de acceso al
+	 *                                 archivo, si alguna línea no cabe en una
+	 *                                 ventana o, sin informe, si alguna línea no
+	 *                                 es válida
+	 */
+	public ConjuntoQuiniela1X2 importar(InformeImportaciónQuiniela1X2 informe) throws DatoPartido1X2Exception {
+		ConjuntoQuiniela1X2 nuevaLista;
+		MappedByteBuffer ventana;
+		long posición, tamañoArchivo, tamañoVentana;
+		int finÚtil;
+
+		nuevaLista = new ConjuntoQuiniela1X2();
+		númLíneas = 0;
+		this.informe = informe;
+
+		try (FileChannel canal = FileChannel.open(rutaArchivo, StandardOpenOption.READ)) {
+			tamañoArchivo = canal.size();
+			posición = 0;
+			while (posición < tamañoArchivo) {
+				tamañoVentana = Math.min(TAMAÑO_VENTANA, tamañoArchivo - posición);
+				ventana = canal.map(MapMode.READ_ONLY, posición, tamañoVentana);
+
+				if (posición + tamañoVentana < tamañoArchivo) { // Quedan más ventanas
+					finÚtil = buscarÚltimoFinLínea(ventana, (int) tamañoVentana) + 1;
+					if (finÚtil == 0) {
+						throw new DatoPartido1X2Exception(String.format("Línea %d: Línea demasiado larga", númLíneas + 1));
+					}
+				} else {
+					finÚtil = (int) tamañoVentana;
+				}
+
+				analizarVentana(ventana, finÚtil, nuevaLista);
+				posición += finÚtil;
+			}
+		} catch (IOException ex) {
+			throw new DatoPartido1X2Exception(
+					String.format("Error de acceso a «%s»: %s", rutaArchivo, ex.getLocalizedMessage()), ex);
+		}
+		return nuevaLista;
+	}
+
+	/**
+	 * Analiza todas las líneas completas de una ventana y añade los partidos
+	 * obtenidos a la colección.
+	 *
+	 * @param ventana    el búfer proyectado
+	 * @param finÚtil    la posición final, excluida, de la última línea completa
+	 * @param nuevaLista la colección donde se añaden los partidos
+	 * @throws DatoPartido1X2Exception si alguna línea no es válida
+	 */
+	private void analizarVentana(MappedByteBuffer ventana, int finÚtil, ConjuntoQuiniela1X2 nuevaLista)
+			throws DatoPartido1X2Exception {
+		int comienzo, finLínea;
+
+		comienzo = 0;
+		while (comienzo < finÚtil) {
+			finLínea = buscarFinLínea(ventana, comienzo, finÚtil);
+			númLíneas++;
+			analizarLínea(ventana, comienzo, finLínea, nuevaLista);
+			comienzo = finLínea + 1;
+		}
+	}
+
+	/**
+	 * Convierte una línea en partido y lo añade a la colección, descartando el
+	 * retorno de carro final si lo hay. Si la línea no es válida se anota en el
+	 * informe o, en una importación estricta, se interrumpe la carga.
+	 *
+	 * @param ventana    el búfer proyectado
+	 * @param comienzo   la posición inicial de la línea
+	 * @param finLínea   la posición final, excluida, de la línea
+	 * @param nuevaLista la colección donde se añade el partido
+	 * @throws DatoPartido1X2Exception si la línea no es válida en una importación
+	 *                                 estricta, indicando su número de línea
+	 */
+	private void analizarLínea(MappedByteBuffer ventana, int comienzo, int finLínea, ConjuntoQuiniela1X2 nuevaLista)
+			throws DatoPartido1X2Exception {
+		ElementoPartido1X2 elemento;
+		ErrorDatoPartido1X2 error;
+
+		if (finLínea > comienzo && ventana.get(finLínea - 1) == RETORNO) {
+			finLínea--;
+		}
+		elemento = new ElementoPartido1X2();
+		error = ElementoPartido1X2.analizar(ventana, comienzo, finLínea, elemento);
+		if (error == null) {
+			nuevaLista.agregarElemento(elemento);
+			if (informe != null) {
+				informe.anotarCorrecta();
+			}
+		} else if (informe != null) {
+			informe.anotarError(númLíneas, error);
+		} else {
+			throw new DatoPartido1X2Exception(String.format("Línea %d: %s", númLíneas, error.getMensaje()),
+					error.crearExcepción());
+		}
+	}
+
+	/**
+	 * Localiza el final de la línea que comienza en una posición dada.
+	 *
+	 * @param ventana  el búfer proyectado
+	 * @param comienzo la posición inicial de la línea
+	 * @param finÚtil  la posición final, excluida, de la búsqueda
+	 * @return la posición del fin de línea, o <code>finÚtil</code> si no hay
+	 *         ninguno
+	 */
+	private static int buscarFinLínea(MappedByteBuffer ventana, int comienzo, int finÚtil) {
+		int pos = comienzo;
+		while (pos < finÚtil && ventana.get(pos) != FIN_LÍNEA) {
+			pos++;
+		}
+		return pos;
+	}
+
+	/**
+	 * Localiza el último fin de línea de una ventana.
+	 *
+	 * @param ventana el búfer proyectado
+	 * @param tamaño  el tamaño de la ventana
+	 * @return la posición del último fin de línea, o <code>-1</code> si no hay
+	 *         ninguno
+	 */
+	private static int buscarÚltimoFinLínea(MappedByteBuffer ventana, int tamaño) {
+		int pos = tamaño - 1;
+		while (pos >= 0 && ventana.get(pos) != FIN_LÍNEA) {
+			pos--;
+		}
+		return pos;
+	}
+}
@@ -0,0 +1,439 @@
+package jcolonia.daw2024.quiniela;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Acceso a datos: importación en paralelo de partidos desde un archivo de texto
+ * en formato pseudo-CSV (ver {@link ElementoPartido1X2#toStringCSV()}). El
+ * archivo se reparte en tramos ajustados a límites de línea que se analizan de
+ * forma simultánea con un {@link ForkJoinPool}; los resultados se reúnen
+ * después respetando el orden original del archivo.
+ *
+ * <div>Pensado para archivos grandes, en los que el análisis de las líneas
+ * ocupa más tiempo que la propia lectura. Para archivos pequeños es preferible
+ * {@link ImportadorQuiniela1X2}. Por ese mismo motivo la colección resultante
+ * se guarda por columnas (ver {@link AlmacénColumnarQuiniela1X2}).</div>
+ *
+ * @version 1.0 (20261018000)
+ * @author Rodrigo Martínez Delgado &lt;rodrigo.mardel.daw@gmail.com&gt;
+ */
+public class ImportadorParaleloQuiniela1X2 {
+	/**
+	 * Tamaño máximo predeterminado, en bytes, de los tramos que se analizan sin
+	 * subdividir.
+	 */
+	static final int TAMAÑO_TRAMO = 4 * 1024 * 1024;
+
+	/** Tamaño del búfer empleado para localizar los finales de línea. */
+	private static final int TAMAÑO_BÚSQUEDA = 4 * 1024;
+
+	/** Carácter de fin de línea. */
+	private static final byte FIN_LÍNEA = '\n';
+
+	/** Carácter de retorno de carro, descartado al final de cada línea. */
+	private static final char RETORNO = '\r';
+
+	/** Ruta al archivo de datos. */
+	private Path rutaArchivo;
+
+	/** Grupo de hilos donde se realiza el análisis. */
+	private ForkJoinPool grupoHilos;
+
+	/** Tamaño máximo, en bytes, de los tramos que se analizan sin subdividir. */
+	private int tamañoTramo;
+
+	/** Número de líneas analizadas en la última importación. */
+	private long líneasAnalizadas;
+
+	/**
+	 * Almacena la ruta al archivo a importar. El análisis se realiza en el grupo
+	 * de hilos común, {@link ForkJoinPool#commonPool()}.
+	 *
+	 * @param rutaArchivo el nombre o ruta al archivo
+	 */
+	public ImportadorParaleloQuiniela1X2(String rutaArchivo) {
+		this(rutaArchivo, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Almacena la ruta al archivo a importar y el grupo de hilos donde se
+	 * realizará el análisis.
+	 *
+	 * @param rutaArchivo el nombre o ruta al archivo
+	 * @param grupoHilos  el grupo de hilos a emplear
+	 */
+	public ImportadorParaleloQuiniela1X2(String rutaArchivo, ForkJoinPool grupoHilos) {
+		this(rutaArchivo, grupoHilos, TAMAÑO_TRAMO);
+	}
+
+	/**
+	 * Almacena la ruta al archivo a importar, el grupo de hilos donde se
+	 * realizará el análisis y el tamaño de los tramos, que permite repartir
+	 * archivos pequeños en muchos tramos.
+	 *
+	 * @param rutaArchivo el nombre o ruta al archivo
+	 * @param grupoHilos  el grupo de hilos a emplear
+	 * @param tamañoTramo el tamaño máximo, en bytes, de los tramos que se
+	 *                    analizan sin subdividir
+	 */
+	ImportadorParaleloQuiniela1X2(String rutaArchivo, ForkJoinPool grupoHilos, int tamañoTramo) {
+		this.rutaArchivo = Path.of(rutaArchivo);
+		this.grupoHilos = grupoHilos;
+		this.tamañoTramo = tamañoTramo;
+	}
+
+	/**
+	 * Lee el archivo completo y genera una colección nueva con todos los partidos
+	 * contenidos, en el mismo orden que en el archivo. La colección solo se
+	 * entrega si todas las líneas son correctas; en caso contrario se informa de
+	 * la primera línea errónea.
+	 *
+	 * @return la colección con los partidos importados
+	 * @throws DatoPartido1X2Exception si alguna línea no es válida –indicando su
+	 *                                 número de línea– o si se produce algún
+	 *                                 error de acceso al archivo
+	 */
+	public ConjuntoQuiniela1X2 importar() throws DatoPartido1X2Exception {
+		ConjuntoQuiniela1X2 nuevaLista;
+		Tramo resultado;
+		LongAdder contador = new LongAdder();
+
+		try (FileChannel canal = FileChannel.open(rutaArchivo, StandardOpenOption.READ)) {
+			resultado = grupoHilos.invoke(new TareaTramo(canal, 0, canal.size(), tamañoTramo,
+					new AtomicLong(Long.MAX_VALUE), contador));
+		} catch (IOException | UncheckedIOException ex) {
+			throw new DatoPartido1X2Exception(
+					String.format("Error de acceso a «%s»: %s", rutaArchivo, ex.getLocalizedMessage()), ex);
+		} finally {
+			líneasAnalizadas = contador.sum();
+		}
+
+		if (resultado.error != null) {
+			throw new DatoPartido1X2Exception(
+					String.format("Línea %d: %s", resultado.líneaError, resultado.error.getLocalizedMessage()),
+					resultado.error);
+		}
+
+		nuevaLista = new ConjuntoQuiniela1X2(new AlmacénColumnarQuiniela1X2());
+		for (List<ElementoPartido1X2> bloque : resultado.bloques) {
+			for (ElementoPartido1X2 elemento : bloque) {
+				nuevaLista.agregarElemento(elemento);
+			}
+		}
+		return nuevaLista;
+	}
+
+	/**
+	 * Devuelve el número de líneas analizadas en la última importación. Si se
+	 * encontró una línea errónea, los tramos posteriores ya no se analizan, así
+	 * que puede ser menor que el número de líneas del archivo.
+	 *
+	 * @return las líneas analizadas
+	 */
+	long getLíneasAnalizadas() {
+		return líneasAnalizadas;
+	}
+
+	/**
+	 * Resultado del análisis de un tramo del archivo: los partidos obtenidos,
+	 * agrupados en bloques por orden, y el número de líneas recorridas. Si se
+	 * encuentra una línea errónea se conserva la excepción y el número de línea
+	 * relativo al comienzo del tramo.
+	 */
+	private static class Tramo {
+		/** Partidos obtenidos, en bloques ordenados. */
+		private List<List<ElementoPartido1X2>> bloques;
+		/** Número de líneas recorridas. */
+		private long númLíneas;
+		/** Primera incidencia encontrada, o <code>null</code> si no hay ninguna. */
+		private DatoPartido1X2Exception error;
+		/** Número de línea de la incidencia, contando desde el comienzo del tramo. */
+		private long líneaError;
+
+		/**
+		 * Crea un tramo vacío, sin partidos ni líneas.
+		 */
+		private Tramo() {
+			bloques = new ArrayList<List<ElementoPartido1X2>>();
+		}
+
+		/**
+		 * Añade a continuación de este tramo el tramo siguiente. Si este tramo ya
+		 * contiene una incidencia el siguiente se ignora, pues la primera línea
+		 * errónea es la que importa.
+		 *
+		 * @param siguiente el tramo inmediatamente posterior en el archivo
+		 * @return este mismo tramo, ampliado
+		 */
+		private Tramo unir(Tramo siguiente) {
+			if (error == null) {
+				if (siguiente.error != null) {
+					error = siguiente.error;
+					líneaError = númLíneas + siguiente.líneaError;
+				} else {
+					bloques.addAll(siguiente.bloques);
+				}
+				númLíneas += siguiente.númLíneas;
+			}
+			return this;
+		}
+	}
+
+	/**
+	 * Tarea de análisis de un tramo del archivo, delimitado por posiciones en
+	 * bytes que siempre coinciden con comienzos de línea. Los tramos grandes se
+	 * dividen en dos mitades, también ajustadas a límites de línea, que se
+	 * analizan en paralelo.
+	 */
+	private static class TareaTramo extends RecursiveTask<Tramo> {
+		/** Número de serie, asociado a la versión de la clase. */
+		private static final long serialVersionUID = 20261018000L;
+
+		/** Canal de acceso al archivo, compartido por todas las tareas. */
+		private final transient FileChannel canal;
+		/** Posición inicial del tramo. */
+		private final long inicio;
+		/** Posición final, excluida, del tramo. */
+		private final long fin;
+		/** Tamaño máximo de los tramos que se analizan sin subdividir. */
+		private final int tamañoTramo;
+		/**
+		 * Posición en el archivo de la primera línea errónea encontrada hasta el
+		 * momento, para no analizar tramos posteriores innecesariamente.
+		 */
+		private final AtomicLong posiciónError;
+		/** Número de líneas analizadas, compartido por todas las tareas. */
+		private final LongAdder líneasAnalizadas;
+
+		/**
+		 * Define la tarea sobre un tramo concreto.
+		 *
+		 * @param canal            el canal de acceso al archivo
+		 * @param inicio           la posición inicial del tramo
+		 * @param fin              la posición final, excluida, del tramo
+		 * @param tamañoTramo      el tamaño máximo de los tramos sin subdividir
+		 * @param posiciónError    la posición de la primera línea errónea conocida
+		 * @param líneasAnalizadas el contador de líneas analizadas
+		 */
+		private TareaTramo(FileChannel canal, long inicio, long fin, int tamañoTramo, AtomicLong posiciónError,
+				LongAdder líneasAnalizadas) {
+			this.canal = canal;
+			this.inicio = inicio;
+			this.fin = fin;
+			this.tamañoTramo = tamañoTramo;
+			this.posiciónError = posiciónError;
+			this.líneasAnalizadas = líneasAnalizadas;
+		}
+
+		@Override
+		protected Tramo compute() {
+			Tramo resultado;
+			TareaTramo primeraMitad, segundaMitad;
+			long mitad;
+
+			if (inicio >= posiciónError.get()) {
+				resultado = new Tramo(); // Ya hay un error antes, no hace falta seguir
+			} else if (fin - inicio <= tamañoTramo) {
+				resultado = analizar();
+			} else {
+				mitad = buscarComienzoLínea(inicio + (fin - inicio) / 2);
+				if (mitad == fin) { // Sin fin de línea en la segunda mitad
+					mitad = buscarComienzoLíneaAnterior(inicio + (fin - inicio) / 2);
+				}
+				if (mitad == inicio) { // Una sola línea, mayor que cualquier partido
+					return líneaDemasiadoLarga();
+				}
+				primeraMitad = new TareaTramo(canal, inicio, mitad, tamañoTramo, posiciónError, líneasAnalizadas);
+				segundaMitad = new TareaTramo(canal, mitad, fin, tamañoTramo, posiciónError, líneasAnalizadas);
+				segundaMitad.fork();
+				resultado = primeraMitad.compute();
+				resultado.unir(segundaMitad.join());
+			}
+			return resultado;
+		}
+
+		/**
+		 * Anota como errónea la única línea del tramo, que no cabe en ningún
+		 * tramo analizable.
+		 *
+		 * @return el resultado del tramo, con la incidencia en su primera línea
+		 */
+		private Tramo líneaDemasiadoLarga() {
+			Tramo resultado = new Tramo();
+
+			resultado.númLíneas = 1;
+			resultado.error = new DatoPartido1X2Exception("Línea demasiado larga");
+			resultado.líneaError = 1;
+			posiciónError.accumulateAndGet(inicio, Math::min);
+			return resultado;
+		}
+
+		/**
+		 * Localiza el comienzo de la primera línea que empieza a partir de una
+		 * posición dada, sin sobrepasar el final del tramo.
+		 *
+		 * @param posición la posición de referencia
+		 * @return la posición siguiente al primer fin de línea encontrado, o el
+		 *         final del tramo si no hay ninguno
+		 */
+		private long buscarComienzoLínea(long posición) {
+			ByteBuffer búfer = ByteBuffer.allocate(TAMAÑO_BÚSQUEDA);
+			long comienzo = -1;
+			int leídos;
+
+			try {
+				while (comienzo < 0 && posición < fin) {
+					búfer.clear();
+					leídos = canal.read(búfer, posición);
+					if (leídos <= 0) {
+						comienzo = fin;
+					}
+					for (int i = 0; comienzo < 0 && i < leídos; i++) {
+						if (búfer.get(i) == FIN_LÍNEA) {
+							comienzo = posición + i + 1;
+						}
+					}
+					posición += Math.max(leídos, 0);
+				}
+			} catch (IOException ex) {
+				throw new UncheckedIOException(ex);
+			}
+			return (comienzo < 0) ? fin : Math.min(comienzo, fin);
+		}
+
+		/**
+		 * Localiza el comienzo de la última línea que empieza antes de una
+		 * posición dada, sin retroceder más allá del comienzo del tramo.
+		 *
+		 * @param posición la posición de referencia
+		 * @return la posición siguiente al último fin de línea encontrado, o el
+		 *         comienzo del tramo si no hay ninguno
+		 */
+		private long buscarComienzoLíneaAnterior(long posición) {
+			ByteBuffer búfer = ByteBuffer.allocate(TAMAÑO_BÚSQUEDA);
+			long comienzo = -1;
+			long desde;
+			int leídos;
+
+			try {
+				while (comienzo < 0 && posición > inicio) {
+					desde = Math.max(posición - TAMAÑO_BÚSQUEDA, inicio);
+					búfer.clear().limit((int) (posición - desde));
+					leídos = canal.read(búfer, desde);
+					for (int i = leídos - 1; comienzo < 0 && i >= 0; i--) {
+						if (búfer.get(i) == FIN_LÍNEA) {
+							comienzo = desde + i + 1;
+						}
+					}
+					posición = desde;
+				}
+			} catch (IOException ex) {
+				throw new UncheckedIOException(ex);
+			}
+			return (comienzo < 0) ? inicio : comienzo;
+		}
+
+		/**
+		 * Lee el tramo completo y analiza sus líneas una a una.
+		 *
+		 * @return el resultado del análisis
+		 */
+		private Tramo analizar() {
+			Tramo resultado = new Tramo();
+			List<ElementoPartido1X2> bloque;
+			ByteBuffer bytes;
+			CharBuffer texto;
+			int comienzo, finLínea, finTexto;
+
+			bytes = ByteBuffer.allocate((int) (fin - inicio));
+			try {
+				while (bytes.hasRemaining() && canal.read(bytes, inicio + bytes.position()) >= 0) {
+					// Lectura completa del tramo
+				}
+			} catch (IOException ex) {
+				throw new UncheckedIOException(ex);
+			}
+			bytes.flip();
+			texto = StandardCharsets.UTF_8.decode(bytes);
+
+			bloque = new ArrayList<ElementoPartido1X2>();
+			finTexto = texto.length();
+			comienzo = 0;
+			while (comienzo < finTexto && resultado.error == null) {
+				finLínea = buscarFinLínea(texto, comienzo, finTexto);
+				resultado.númLíneas++;
+				analizarLínea(texto, comienzo, finLínea, bloque, resultado);
+				comienzo = finLínea + 1;
+			}
+			resultado.bloques.add(bloque);
+			líneasAnalizadas.add(resultado.númLíneas);
+			return resultado;
+		}
+
+		/**
+		 * Analiza una línea y añade el partido correspondiente al bloque. Si la
+		 * línea no es válida anota la incidencia en el resultado del tramo.
+		 *
+		 * @param texto     el texto que contiene la línea
+		 * @param comienzo  la posición inicial de la línea
+		 * @param finLínea  la posición final, excluida, de la línea
+		 * @param bloque    el bloque donde se añaden los partidos
+		 * @param resultado el resultado del análisis del tramo
+		 */
+		private void analizarLínea(CharSequence texto, int comienzo, int finLínea, List<ElementoPartido1X2> bloque,
+				Tramo resultado) {
+			try {
+				bloque.add(ElementoPartido1X2.of(texto, comienzo, quitarRetorno(texto, comienzo, finLínea)));
+			} catch (DatoPartido1X2Exception ex) {
+				resultado.error = ex;
+				resultado.líneaError = resultado.númLíneas;
+				posiciónError.accumulateAndGet(inicio, Math::min);
+			}
+		}
+
+		/**
+		 * Localiza el final de la línea que comienza en una posición dada.
+		 *
+		 * @param texto    el texto a recorrer
+		 * @param comienzo la posición inicial de la línea
+		 * @param finTexto la posición final, excluida, del texto
+		 * @return la posición del fin de línea, o <code>finTexto</code> si no hay
+		 *         ninguno
+		 */
+		private static int buscarFinLínea(CharSequence texto, int comienzo, int finTexto) {
+			int pos = comienzo;
+			while (pos < finTexto && texto.charAt(pos) != FIN_LÍNEA) {
+				pos++;
+			}
+			return pos;
+		}
+
+		/**
+		 * Descarta el retorno de carro final de una línea, si lo hay.
+		 *
+		 * @param texto    el texto que contiene la línea
+		 * @param comienzo la posición inicial de la línea
+		 * @param finLínea la posición final, excluida, de la línea
+		 * @return la posición final, excluida, sin el retorno de carro
+		 */
+		private static int quitarRetorno(CharSequence texto, int comienzo, int finLínea) {
+			if (finLínea > comienzo && texto.charAt(finLínea - 1) == RETORNO) {
+				finLínea--;
+			}
+			return finLínea;
+		}
+	}
+}
@@ -0,0 +1,138 @@
+package jcolonia.daw2024.quiniela;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Acceso a datos: importación de partidos desde un archivo de texto en formato
+ * pseudo-CSV (ver {@link ElementoPartido1X2#toStringCSV()}). El archivo se lee
+ * por flujo, línea a línea, de modo que cada línea se convierte en partido y
+ * se incorpora a la nueva colección sin llegar a guardar el texto completo en
+ * memoria. Los archivos comprimidos en formato GZIP se reconocen por sus
+ * primeros bytes y se descomprimen por flujo en un hilo aparte (ver
+ * {@link CompresiónQuiniela1X2}).
+ *
+ * @version 1.0 (20261018000)
+ * @author Rodrigo Martínez Delgado &lt;rodrigo.mardel.daw@gmail.com&gt;
+ */
+public class ImportadorQuiniela1X2 {
+	/** Tamaño del búfer de lectura, en caracteres. */
+	private static final int TAMAÑO_BÚFER = 64 * 1024;
+
+	/** Ruta al archivo de datos. */
+	private Path rutaArchivo;
+
+	/**
+	 * Almacena la ruta al archivo a importar.
+	 *
+	 * @param rutaArchivo el nombre o ruta al archivo
+	 */
+	public ImportadorQuiniela1X2(String rutaArchivo) {
+		this.rutaArchivo = Path.of(rutaArchivo);
+	}
+
+	/**
+	 * Lee el archivo completo y genera una colección nueva con todos los partidos
+	 * contenidos. La colección solo se entrega si todas las líneas son correctas,
+	 * así que ante cualquier incidencia el contenido previo del programa puede
+	 * conservarse intacto.
+	 *
+	 * @return la colección con los partidos importados
+	 * @throws DatoPartido1X2Exception si alguna línea no es válida –indicando su
+	 *                                 número de línea– o si se produce algún
+	 *                                 error de acceso al archivo
+	 */
+	public ConjuntoQuiniela1X2 importar() throws DatoPartido1X2Exception {
+		return importar(null);
+	}
+
+	/**
+	 * Lee el archivo completo y genera una colección nueva con todos los partidos
+	 * válidos. Las líneas erróneas no interrumpen la carga: se anotan en el
+	 * informe, con su número de línea y su motivo, y se pasan por alto. Si no se
+	 * facilita informe, la primera línea errónea interrumpe la carga como en
+	 * {@link #importar()}.
+	 *
+	 * @param informe el informe donde anotar las líneas cargadas y las erróneas,
+	 *                o <code>null</code> para una importación estricta
+	 * @return la colección con los partidos importados
+	 * @throws DatoPartido1X2Exception si se produce algún error de acceso al
+	 *                                 archivo o, sin informe, si alguna línea no
+	 *                                 es válida
+	 */
+	public ConjuntoQuiniela1X2 importar(InformeImportaciónQuiniela1X2 informe) throws DatoPartido1X2Exception {
+		ConjuntoQuiniela1X2 nuevaLista;
+
+		nuevaLista = new ConjuntoQuiniela1X2();
+		leer(nuevaLista, informe);
+		return nuevaLista;
+	}
+
+	/**
+	 * Comprueba todas las líneas del archivo sin crear ningún partido: cada
+	 * línea se valida (ver
+	 * {@link ElementoPartido1X2#validarLínea(CharSequence, int, int)}) y se
+	 * anota en el informe. La memoria empleada no depende del tamaño del
+	 * archivo, salvo por las incidencias que guarda el informe.
+	 *
+	 * @param informe el informe donde anotar las líneas correctas y las
+	 *                erróneas
+	 * @throws DatoPartido1X2Exception si se produce algún error de acceso al
+	 *                                 archivo
+	 */
+	public void validar(InformeImportaciónQuiniela1X2 informe) throws DatoPartido1X2Exception {
+		leer(null, informe);
+	}
+
+	/**
+	 * Recorre el archivo línea a línea, analizando cada una.
+	 *
+	 * @param nuevaLista la colección donde incorporar los partidos, o
+	 *                   <code>null</code> para validar solamente
+	 * @param informe    el informe donde anotar las líneas, o
+	 *                   <code>null</code> para una lectura estricta
+	 * @throws DatoPartido1X2Exception si se produce algún error de acceso al
+	 *                                 archivo o, sin informe, si alguna línea
+	 *                                 no es válida
+	 */
+	private void leer(ConjuntoQuiniela1X2 nuevaLista, InformeImportaciónQuiniela1X2 informe)
+			throws DatoPartido1X2Exception {
+		ElementoPartido1X2 nuevoElemento;
+		ErrorDatoPartido1X2 error;
+		String línea;
+		int númLínea = 0;
+
+		try (FileChannel canal = FileChannel.open(rutaArchivo, StandardOpenOption.READ);
+				ReadableByteChannel entrada = CompresiónQuiniela1X2.abrirLectura(canal);
+				BufferedReader lector = new BufferedReader(Channels.newReader(entrada, StandardCharsets.UTF_8),
+						TAMAÑO_BÚFER)) {
+			while ((línea = lector.readLine()) != null) {
+				númLínea++;
+				nuevoElemento = (nuevaLista != null) ? new ElementoPartido1X2() : null;
+				error = ElementoPartido1X2.analizar(línea, 0, línea.length(), nuevoElemento);
+				if (error == null) {
+					if (nuevaLista != null) {
+						nuevaLista.agregarElemento(nuevoElemento);
+					}
+					if (informe != null) {
+						informe.anotarCorrecta();
+					}
+				} else if (informe != null) {
+					informe.anotarError(númLínea, error);
+				} else {
+					throw new DatoPartido1X2Exception(String.format("Línea %d: %s", númLínea, error.getMensaje()),
+							error.crearExcepción());
+				}
+			}
+		} catch (IOException ex) {
+			throw new DatoPartido1X2Exception(
+					String.format("Error de acceso a «%s»: %s", rutaArchivo, ex.getLocalizedMessage()), ex);
+		}
+	}
+}
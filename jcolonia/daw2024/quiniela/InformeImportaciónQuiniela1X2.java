@@ -0,0 +1,166 @@
+package jcolonia.daw2024.quiniela;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Acceso a datos: Informe de una importación tolerante a errores (ver
+ * {@link ImportadorQuiniela1X2#importar(InformeImportaciónQuiniela1X2)}). Las
+ * líneas válidas se cargan y cada línea errónea se anota aquí con su número y
+ * su {@link ErrorDatoPartido1X2 motivo}, en lugar de interrumpir la carga.
+ *
+ * <div>Se cuentan todas las líneas erróneas, pero solo se guarda el detalle de
+ * las primeras {@link #MÁX_INCIDENCIAS}, para que un archivo completamente
+ * equivocado no llene la memoria.</div>
+ *
+ * @version 1.0 (20261018000)
+ * @author Rodrigo Martínez Delgado &lt;rodrigo.mardel.daw@gmail.com&gt;
+ */
+public class InformeImportaciónQuiniela1X2 {
+	/** Número máximo de incidencias detalladas. */
+	public static final int MÁX_INCIDENCIAS = 1000;
+
+	/**
+	 * Línea errónea: número de línea y motivo.
+	 */
+	public static class Incidencia {
+		/** Número de línea, empezando en 1. */
+		private long númLínea;
+
+		/** Motivo del error. */
+		private ErrorDatoPartido1X2 error;
+
+		/**
+		 * Crea una incidencia.
+		 *
+		 * @param númLínea el número de línea
+		 * @param error    el motivo del error
+		 */
+		private Incidencia(long númLínea, ErrorDatoPartido1X2 error) {
+			this.númLínea = númLínea;
+			this.error = error;
+		}
+
+		/**
+		 * Devuelve el número de línea, empezando en 1.
+		 *
+		 * @return el número de línea
+		 */
+		public long getNúmLínea() {
+			return númLínea;
+		}
+
+		/**
+		 * Devuelve el motivo del error.
+		 *
+		 * @return el motivo
+		 */
+		public ErrorDatoPartido1X2 getError() {
+			return error;
+		}
+
+		/**
+		 * Proporciona una representación en texto de la incidencia, con el mismo
+		 * formato que los mensajes de la importación estricta.
+		 *
+		 * @return el texto correspondiente
+		 */
+		@Override
+		public String toString() {
+			return String.format("Línea %d: %s", númLínea, error.getMensaje());
+		}
+	}
+
+	/** Número de líneas cargadas. */
+	private long líneasCorrectas;
+
+	/** Número de líneas erróneas de cada motivo, por ordinal. */
+	private long[] frecuencias = new long[ErrorDatoPartido1X2.values().length];
+
+	/** Detalle de las primeras líneas erróneas. */
+	private List<Incidencia> incidencias = new ArrayList<Incidencia>();
+
+	/**
+	 * Anota una línea cargada.
+	 */
+	void anotarCorrecta() {
+		líneasCorrectas++;
+	}
+
+	/**
+	 * Anota una línea errónea.
+	 *
+	 * @param númLínea el número de línea
+	 * @param error    el motivo del error
+	 */
+	void anotarError(long númLínea, ErrorDatoPartido1X2 error) {
+		frecuencias[error.ordinal()]++;
+		if (incidencias.size() < MÁX_INCIDENCIAS) {
+			incidencias.add(new Incidencia(númLínea, error));
+		}
+	}
+
+	/**
+	 * Devuelve el número de líneas cargadas.
+	 *
+	 * @return las líneas correctas
+	 */
+	public long getLíneasCorrectas() {
+		return líneasCorrectas;
+	}
+
+	/**
+	 * Devuelve el número total de líneas erróneas, aunque no todas tengan su
+	 * detalle.
+	 *
+	 * @return las líneas erróneas
+	 */
+	public long getLíneasErróneas() {
+		long total = 0;
+
+		for (long frecuencia : frecuencias) {
+			total += frecuencia;
+		}
+		return total;
+	}
+
+	/**
+	 * Devuelve el número de líneas erróneas por un motivo dado.
+	 *
+	 * @param error el motivo a consultar
+	 * @return las líneas erróneas por ese motivo
+	 */
+	public long getFrecuencia(ErrorDatoPartido1X2 error) {
+		return frecuencias[error.ordinal()];
+	}
+
+	/**
+	 * Informa si alguna línea ha sido errónea.
+	 *
+	 * @return <code>true</code> si hay errores
+	 */
+	public boolean hayErrores() {
+		return getLíneasErróneas() > 0;
+	}
+
+	/**
+	 * Proporciona el detalle de las primeras líneas erróneas, en orden de
+	 * aparición.
+	 *
+	 * @return la lista de incidencias, no modificable
+	 */
+	public List<Incidencia> getIncidencias() {
+		return Collections.unmodifiableList(incidencias);
+	}
+
+	/**
+	 * Proporciona un resumen del informe: líneas cargadas y erróneas.
+	 *
+	 * @return el texto correspondiente
+	 */
+	@Override
+	public String toString() {
+		return String.format("%d líneas cargadas, %d erróneas", líneasCorrectas, getLíneasErróneas());
+	}
+}
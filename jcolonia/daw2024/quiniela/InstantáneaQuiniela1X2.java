@@ -0,0 +1,250 @@
+package jcolonia.daw2024.quiniela;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Modelo: Vista inmutable de un {@link ConjuntoQuiniela1X2} tal como estaba en
+ * un momento dado (ver {@link ConjuntoQuiniela1X2#tomarInstantánea()}). Las
+ * altas y bajas posteriores no la alteran, de modo que un recorrido largo –un
+ * listado, una exportación– ve siempre la misma lista sin bloquear a quien la
+ * modifica.
+ *
+ * <div>Tomar una instantánea no copia nada: guarda el número de huecos del
+ * almacén y la versión de la colección. Las altas solo añaden huecos, que la
+ * instantánea no recorre, y las bajas no retiran los datos del almacén sino
+ * que los marcan con la versión en que se hicieron (ver
+ * {@link MapaPosicionesQuiniela1X2}). Solo cuando la colección va a compactar
+ * o vaciar el almacén, las instantáneas abiertas copian antes los partidos que
+ * aún necesitan.</div>
+ *
+ * <div>Los partidos se leen por lotes, cada uno con la colección bloqueada
+ * apenas lo que se tarda en copiarlo. Una instantánea se cierra sola al
+ * terminar de recorrerla; si se abandona antes conviene cerrarla para que la
+ * colección no la tenga en cuenta al compactar.</div>
+ *
+ * @version 1.0 (20261018000)
+ * @author Rodrigo Martínez Delgado &lt;rodrigo.mardel.daw@gmail.com&gt;
+ */
+public class InstantáneaQuiniela1X2 implements AutoCloseable {
+	/** Número de partidos leídos en cada bloqueo de la colección. */
+	private static final int TAMAÑO_LOTE = 1024;
+
+	/** Colección de origen, que sirve también de cerrojo. */
+	private ConjuntoQuiniela1X2 conjunto;
+
+	/** Almacén de la colección de origen. */
+	private AlmacénQuiniela1X2 almacén;
+
+	/** Correspondencia de posiciones de la colección de origen. */
+	private MapaPosicionesQuiniela1X2 posiciones;
+
+	/** Primer hueco del almacén incluido en la instantánea. */
+	private int primerHueco;
+
+	/** Hueco siguiente al último incluido en la instantánea. */
+	private int finHueco;
+
+	/** Versión de la colección al tomar la instantánea. */
+	private int versión;
+
+	/** Número de partidos de la instantánea. */
+	private int tamaño;
+
+	/**
+	 * Partidos de cada hueco, desde el primero, con <code>null</code> en los ya
+	 * borrados; es <code>null</code> mientras se leen directamente del almacén.
+	 */
+	private ElementoPartido1X2[] copia;
+
+	/**
+	 * Crea una instantánea de un tramo de huecos. Se llama con la colección
+	 * bloqueada.
+	 *
+	 * @param conjunto    la colección de origen
+	 * @param almacén     su almacén
+	 * @param posiciones  su correspondencia de posiciones
+	 * @param primerHueco el primer hueco incluido
+	 * @param finHueco    el hueco siguiente al último incluido
+	 * @param versión     la versión actual de la colección
+	 * @param tamaño      el número de partidos incluidos
+	 */
+	InstantáneaQuiniela1X2(ConjuntoQuiniela1X2 conjunto, AlmacénQuiniela1X2 almacén,
+			MapaPosicionesQuiniela1X2 posiciones, int primerHueco, int finHueco, int versión, int tamaño) {
+		this.conjunto = conjunto;
+		this.almacén = almacén;
+		this.posiciones = posiciones;
+		this.primerHueco = primerHueco;
+		this.finHueco = finHueco;
+		this.versión = versión;
+		this.tamaño = tamaño;
+	}
+
+	/**
+	 * Devuelve el número de partidos de la instantánea.
+	 *
+	 * @return el número de partidos
+	 */
+	public int size() {
+		return tamaño;
+	}
+
+	/**
+	 * Recorre bajo demanda todos los partidos de la instantánea, en orden. Al
+	 * terminar el recorrido la instantánea se cierra.
+	 *
+	 * @return el flujo de partidos
+	 */
+	public Stream<ElementoPartido1X2> streamElementos() {
+		return StreamSupport
+				.stream(Spliterators.spliterator(new Recorrido(), tamaño,
+						Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE), false)
+				.onClose(this::close);
+	}
+
+	/**
+	 * Recorre bajo demanda las descripciones de todos los partidos, en orden.
+	 *
+	 * @see ElementoPartido1X2#toString()
+	 *
+	 * @return el flujo de textos correspondiente
+	 */
+	public Stream<String> streamListado() {
+		return streamElementos().map(ElementoPartido1X2::toString);
+	}
+
+	/**
+	 * Facilita una lista con las descripciones de todos los partidos.
+	 *
+	 * @see ElementoPartido1X2#toString()
+	 *
+	 * @return la lista de textos correspondiente
+	 */
+	public List<String> generarListado() {
+		List<String> listaTextos;
+		Iterator<ElementoPartido1X2> recorrido;
+
+		listaTextos = new ArrayList<String>(tamaño);
+		recorrido = new Recorrido();
+		while (recorrido.hasNext()) {
+			listaTextos.add(recorrido.next().toString());
+		}
+		return listaTextos;
+	}
+
+	/**
+	 * Facilita una lista con las líneas de todos los partidos aptas para el
+	 * archivo de exportación en formato pseudo CSV.
+	 *
+	 * @see ElementoPartido1X2#toStringCSV()
+	 *
+	 * @return la lista de textos correspondiente
+	 * @throws Partido1X2Exception si los datos de algún partido aún están
+	 *                             incompletos
+	 */
+	public List<String> generarListadoCSV() throws Partido1X2Exception {
+		List<String> listaTextos;
+		Iterator<ElementoPartido1X2> recorrido;
+
+		listaTextos = new ArrayList<String>(tamaño);
+		recorrido = new Recorrido();
+		try {
+			while (recorrido.hasNext()) {
+				listaTextos.add(recorrido.next().toStringCSV());
+			}
+		} finally { // Por si se interrumpe con un partido incompleto
+			close();
+		}
+		return listaTextos;
+	}
+
+	/**
+	 * Cierra la instantánea: la colección deja de tenerla en cuenta. Los
+	 * recorridos ya comenzados pueden continuar.
+	 */
+	@Override
+	public void close() {
+		conjunto.soltarInstantánea(this);
+	}
+
+	/**
+	 * Copia los partidos que aún no se han recorrido, antes de que la colección
+	 * compacte o vacíe el almacén. Se llama con la colección bloqueada.
+	 */
+	void desligar() {
+		ElementoPartido1X2[] nuevaCopia;
+
+		if (copia == null) {
+			nuevaCopia = new ElementoPartido1X2[finHueco - primerHueco];
+			for (int hueco = primerHueco; hueco < finHueco; hueco++) {
+				if (posiciones.estabaOcupado(hueco, versión)) {
+					nuevaCopia[hueco - primerHueco] = almacén.get(hueco);
+				}
+			}
+			copia = nuevaCopia;
+		}
+	}
+
+	/**
+	 * Recorrido por lotes de los huecos de la instantánea.
+	 */
+	private class Recorrido implements Iterator<ElementoPartido1X2> {
+		/** Siguiente hueco a leer. */
+		private int hueco = primerHueco;
+
+		/** Último lote leído. */
+		private ElementoPartido1X2[] lote = new ElementoPartido1X2[Math.min(TAMAÑO_LOTE, Math.max(tamaño, 1))];
+
+		/** Número de partidos del lote. */
+		private int númLote;
+
+		/** Posición en el lote del siguiente partido. */
+		private int siguiente;
+
+		@Override
+		public boolean hasNext() {
+			if (siguiente == númLote && hueco < finHueco) {
+				leerLote();
+			}
+			return siguiente < númLote;
+		}
+
+		@Override
+		public ElementoPartido1X2 next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			return lote[siguiente++];
+		}
+
+		/**
+		 * Lee el siguiente lote de partidos con la colección bloqueada, y cierra
+		 * la instantánea al llegar al final.
+		 */
+		private void leerLote() {
+			númLote = 0;
+			siguiente = 0;
+			synchronized (conjunto) {
+				while (hueco < finHueco && númLote < lote.length) {
+					if (copia != null) {
+						if (copia[hueco - primerHueco] != null) {
+							lote[númLote++] = copia[hueco - primerHueco];
+						}
+					} else if (posiciones.estabaOcupado(hueco, versión)) {
+						lote[númLote++] = almacén.get(hueco);
+					}
+					hueco++;
+				}
+			}
+			if (hueco == finHueco) {
+				close();
+			}
+		}
+	}
+}
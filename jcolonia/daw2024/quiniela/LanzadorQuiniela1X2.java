@@ -11,11 +11,16 @@ package jcolonia.daw2024.quiniela;
 public class LanzadorQuiniela1X2 {
 	/**
 	 * Inicia el programa creando una instancia de la clase y activando el bucle
-	 * principal de opciones. Abre el lector asociado a la entrada estándar.
+	 * principal de opciones. Abre el lector asociado a la entrada estándar. Si se
+	 * reciben argumentos, cursa en su lugar una orden del modo por lotes (ver
+	 * {@link ProcesoPorLotesQuiniela1X2}) y termina con su código de salida.
 	 * 
-	 * @param args no se usa
+	 * @param args la orden del modo por lotes, o ninguno para el modo interactivo
 	 */
 	public static void main(String[] args) {
+		if (args.length > 0) {
+			System.exit(new ProcesoPorLotesQuiniela1X2(System.out, System.err).ejecutar(args));
+		}
 		ControladorQuiniela1X2 control = new ControladorQuiniela1X2();
 		control.buclePrincipal();
 	}
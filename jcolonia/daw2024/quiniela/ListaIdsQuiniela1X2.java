@@ -0,0 +1,95 @@
+package jcolonia.daw2024.quiniela;
+
+import java.util.Arrays;
+
+/**
+ * Modelo: Lista creciente de identificadores de partido para los índices
+ * secundarios de un {@link ConjuntoQuiniela1X2}, con el número de ellos que ya
+ * se han retirado.
+ *
+ * <div>Las bajas no se retiran de inmediato: se cuentan y, cuando los
+ * identificadores retirados llegan a la mitad de la lista, se purgan de una vez
+ * consultando la {@link MapaPosicionesQuiniela1X2 correspondencia de
+ * posiciones}. Quien recorra la lista debe comprobar por tanto si cada
+ * identificador sigue vigente.</div>
+ *
+ * @see ÍndiceEquiposQuiniela1X2
+ * @see ÍndiceEncuentrosQuiniela1X2
+ *
+ * @version 1.0 (20261018000)
+ * @author Rodrigo Martínez Delgado &lt;rodrigo.mardel.daw@gmail.com&gt;
+ */
+class ListaIdsQuiniela1X2 {
+	/** Capacidad inicial de cada lista de identificadores. */
+	private static final int CAPACIDAD_INICIAL = 4;
+
+	/** Identificadores, en orden creciente. */
+	private int[] ids = new int[CAPACIDAD_INICIAL];
+
+	/** Número de identificadores guardados. */
+	private int númIds;
+
+	/** Número de identificadores guardados que ya se han retirado. */
+	private int númRetirados;
+
+	/**
+	 * Añade un identificador, mayor que todos los anteriores.
+	 *
+	 * @param id el identificador a añadir
+	 */
+	void agregar(int id) {
+		if (númIds == ids.length) {
+			ids = Arrays.copyOf(ids, 2 * ids.length);
+		}
+		ids[númIds++] = id;
+	}
+
+	/**
+	 * Anota la baja de uno de los identificadores y purga la lista si ya abundan
+	 * los retirados.
+	 *
+	 * @param posiciones la correspondencia de posiciones, ya actualizada
+	 */
+	void retirar(MapaPosicionesQuiniela1X2 posiciones) {
+		int destino = 0;
+
+		if (2 * ++númRetirados >= númIds) {
+			for (int i = 0; i < númIds; i++) {
+				if (posiciones.getHuecoDeId(ids[i]) >= 0) {
+					ids[destino++] = ids[i];
+				}
+			}
+			númIds = destino;
+			númRetirados = 0;
+		}
+	}
+
+	/**
+	 * Devuelve uno de los identificadores guardados, vigente o no.
+	 *
+	 * @param i el orden del identificador en la lista
+	 * @return el identificador
+	 */
+	int getId(int i) {
+		return ids[i];
+	}
+
+	/**
+	 * Devuelve el número de identificadores guardados, incluidos los retirados
+	 * aún sin purgar.
+	 *
+	 * @return el número de identificadores
+	 */
+	int size() {
+		return númIds;
+	}
+
+	/**
+	 * Informa si todos los identificadores guardados se han retirado.
+	 *
+	 * @return <code>true</code> si ya no queda ninguno vigente
+	 */
+	boolean estáVacía() {
+		return númIds == númRetirados;
+	}
+}
@@ -0,0 +1,326 @@
+package jcolonia.daw2024.quiniela;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Modelo: Correspondencia entre las posiciones visibles de un
+ * {@link ConjuntoQuiniela1X2}, los huecos de su {@link AlmacénQuiniela1X2
+ * almacén} y los identificadores estables de cada partido.
+ *
+ * <div>Las bajas no desplazan los datos del almacén: el hueco queda marcado
+ * como borrado y se descuenta de las posiciones mediante un árbol de Fenwick,
+ * de modo que la baja y la conversión entre posición y hueco cuestan
+ * O(log n). Cuando los huecos borrados llegan a la mitad se compacta el
+ * almacén de una sola vez, con coste amortizado constante por baja.</div>
+ *
+ * <div>Cada partido recibe al incorporarse un identificador correlativo que
+ * conserva aunque cambie su posición o su hueco. Mientras no se compacta, el
+ * identificador coincide con el hueco; después se guarda una tabla ordenada de
+ * identificadores por hueco.</div>
+ *
+ * <div>Cada baja queda sellada con la versión de la colección en que se hizo,
+ * de modo que una {@link InstantáneaQuiniela1X2 instantánea} sigue viendo los
+ * partidos retirados después de tomarla.</div>
+ *
+ * @version 1.0 (20261018000)
+ * @author Rodrigo Martínez Delgado &lt;rodrigo.mardel.daw@gmail.com&gt;
+ */
+class MapaPosicionesQuiniela1X2 {
+	/** Número mínimo de huecos borrados para compactar. */
+	private static final int MÍN_COMPACTACIÓN = 1024;
+
+	/** Capacidad inicial de las tablas. */
+	private static final int CAPACIDAD_INICIAL = 16;
+
+	/** Número de huecos ocupados en el almacén, borrados incluidos. */
+	private int númHuecos;
+
+	/** Huecos borrados pendientes de compactar. */
+	private BitSet borrados;
+
+	/** Número de huecos borrados. */
+	private int númBorrados;
+
+	/**
+	 * Árbol de Fenwick, a partir de la posición 1, con el número de huecos no
+	 * borrados; es <code>null</code> mientras no hay ningún hueco borrado.
+	 */
+	private int[] árbol;
+
+	/**
+	 * Identificador de cada hueco, en orden creciente; es <code>null</code>
+	 * mientras el identificador coincide con el hueco.
+	 */
+	private int[] ids;
+
+	/** Siguiente identificador a asignar. */
+	private int siguienteId;
+
+	/**
+	 * Versión en que se borró cada hueco; es <code>null</code> mientras no hay
+	 * ningún hueco borrado.
+	 */
+	private int[] sellos;
+
+	/**
+	 * Crea una correspondencia vacía.
+	 */
+	MapaPosicionesQuiniela1X2() {
+		vaciar();
+	}
+
+	/**
+	 * Devuelve el número de partidos visibles, sin contar los borrados.
+	 *
+	 * @return el número de partidos
+	 */
+	int size() {
+		return númHuecos - númBorrados;
+	}
+
+	/**
+	 * Devuelve el número de huecos ocupados en el almacén, borrados incluidos.
+	 *
+	 * @return el número de huecos
+	 */
+	int getNúmHuecos() {
+		return númHuecos;
+	}
+
+	/**
+	 * Registra un partido nuevo, incorporado en el hueco siguiente al último.
+	 *
+	 * @return el identificador asignado
+	 */
+	int agregar() {
+		int id = siguienteId++;
+		int índice;
+
+		if (ids != null) {
+			if (númHuecos == ids.length) {
+				ids = Arrays.copyOf(ids, 2 * ids.length);
+			}
+			ids[númHuecos] = id;
+		}
+		if (árbol != null) {
+			índice = númHuecos + 1;
+			if (índice == árbol.length) {
+				árbol = Arrays.copyOf(árbol, 2 * árbol.length);
+			}
+			árbol[índice] = 1 + sumar(índice - 1) - sumar(índice - (índice & -índice));
+		}
+		númHuecos++;
+		return id;
+	}
+
+	/**
+	 * Registra de una vez varios huecos nuevos al final, como si se agregaran uno
+	 * a uno. Mientras no hay huecos borrados ni compactados cuesta O(1).
+	 *
+	 * @param cantidad el número de huecos nuevos
+	 */
+	void agregar(int cantidad) {
+		if (ids == null && árbol == null) {
+			siguienteId += cantidad;
+			númHuecos += cantidad;
+		} else {
+			for (int i = 0; i < cantidad; i++) {
+				agregar();
+			}
+		}
+	}
+
+	/**
+	 * Convierte una posición visible en el hueco correspondiente del almacén.
+	 *
+	 * @param pos la posición visible
+	 * @return el hueco correspondiente
+	 * @throws IndexOutOfBoundsException si la posición no existe
+	 */
+	int getHueco(int pos) {
+		int hueco, resto;
+
+		if (pos < 0 || pos >= size()) {
+			throw new IndexOutOfBoundsException(pos);
+		}
+		if (árbol == null) {
+			hueco = pos;
+		} else { // Búsqueda binaria sobre el árbol
+			hueco = 0;
+			resto = pos + 1;
+			for (int paso = Integer.highestOneBit(númHuecos); paso > 0; paso >>= 1) {
+				if (hueco + paso <= númHuecos && árbol[hueco + paso] < resto) {
+					hueco += paso;
+					resto -= árbol[hueco];
+				}
+			}
+		}
+		return hueco;
+	}
+
+	/**
+	 * Convierte un hueco no borrado del almacén en su posición visible.
+	 *
+	 * @param hueco el hueco a consultar
+	 * @return la posición visible correspondiente
+	 */
+	int getPosición(int hueco) {
+		return (árbol == null) ? hueco : sumar(hueco);
+	}
+
+	/**
+	 * Proporciona el identificador del partido de un hueco.
+	 *
+	 * @param hueco el hueco a consultar
+	 * @return el identificador correspondiente
+	 */
+	int getId(int hueco) {
+		return (ids == null) ? hueco : ids[hueco];
+	}
+
+	/**
+	 * Localiza el hueco de un partido a partir de su identificador.
+	 *
+	 * @param id el identificador a buscar
+	 * @return el hueco correspondiente, o <code>-1</code> si no existe o está
+	 *         borrado
+	 */
+	int getHuecoDeId(int id) {
+		int hueco;
+
+		if (ids == null) {
+			hueco = (id >= 0 && id < númHuecos) ? id : -1;
+		} else {
+			hueco = Math.max(Arrays.binarySearch(ids, 0, númHuecos, id), -1);
+		}
+		if (hueco >= 0 && borrados.get(hueco)) {
+			hueco = -1;
+		}
+		return hueco;
+	}
+
+	/**
+	 * Indica si un hueco está borrado.
+	 *
+	 * @param hueco el hueco a consultar
+	 * @return <code>true</code> si está borrado
+	 */
+	boolean estáBorrado(int hueco) {
+		return borrados.get(hueco);
+	}
+
+	/**
+	 * Indica si un hueco contenía un partido en una versión dada: no está
+	 * borrado o se borró en una versión posterior.
+	 *
+	 * @param hueco   el hueco a consultar
+	 * @param versión la versión de referencia
+	 * @return <code>true</code> si el hueco estaba ocupado en esa versión
+	 */
+	boolean estabaOcupado(int hueco, int versión) {
+		return !borrados.get(hueco) || sellos[hueco] > versión;
+	}
+
+	/**
+	 * Marca un hueco no borrado como borrado.
+	 *
+	 * @param hueco   el hueco a borrar
+	 * @param versión la versión de la colección tras la baja, mayor que la de
+	 *                cualquier instantánea anterior
+	 */
+	void borrar(int hueco, int versión) {
+		if (árbol == null) {
+			crearÁrbol();
+		}
+		if (sellos == null) {
+			sellos = new int[Math.max(CAPACIDAD_INICIAL, númHuecos)];
+		} else if (sellos.length < númHuecos) {
+			sellos = Arrays.copyOf(sellos, Math.max(2 * sellos.length, númHuecos));
+		}
+		sellos[hueco] = versión;
+		borrados.set(hueco);
+		númBorrados++;
+		for (int i = hueco + 1; i <= númHuecos; i += i & -i) {
+			árbol[i]--;
+		}
+	}
+
+	/**
+	 * Indica si conviene compactar el almacén: hay suficientes huecos borrados y
+	 * suponen al menos la mitad del total.
+	 *
+	 * @return <code>true</code> si conviene compactar
+	 */
+	boolean requiereCompactación() {
+		return númBorrados >= MÍN_COMPACTACIÓN && 2 * númBorrados >= númHuecos;
+	}
+
+	/**
+	 * Proporciona los huecos borrados, para compactar el almacén.
+	 *
+	 * @return el conjunto de huecos borrados
+	 */
+	BitSet getBorrados() {
+		return borrados;
+	}
+
+	/**
+	 * Actualiza la correspondencia después de compactar el almacén: desaparecen
+	 * los huecos borrados y los demás se desplazan conservando el orden y los
+	 * identificadores.
+	 */
+	void compactar() {
+		int[] nuevosIds;
+		int destino = 0;
+
+		nuevosIds = new int[Math.max(CAPACIDAD_INICIAL, size())];
+		for (int hueco = borrados.nextClearBit(0); hueco < númHuecos; hueco = borrados.nextClearBit(hueco + 1)) {
+			nuevosIds[destino++] = getId(hueco);
+		}
+		ids = nuevosIds;
+		númHuecos = destino;
+		borrados.clear();
+		númBorrados = 0;
+		árbol = null;
+		sellos = null;
+	}
+
+	/**
+	 * Elimina todos los huecos y reinicia los identificadores.
+	 */
+	void vaciar() {
+		númHuecos = 0;
+		borrados = new BitSet();
+		númBorrados = 0;
+		árbol = null;
+		ids = null;
+		siguienteId = 0;
+		sellos = null;
+	}
+
+	/**
+	 * Crea el árbol de Fenwick con todos los huecos actuales sin borrar.
+	 */
+	private void crearÁrbol() {
+		árbol = new int[Math.max(CAPACIDAD_INICIAL, númHuecos + 1)];
+		for (int i = 1; i <= númHuecos; i++) {
+			árbol[i] = i & -i; // Cada nodo abarca tantos huecos como su bit más bajo
+		}
+	}
+
+	/**
+	 * Calcula el número de huecos sin borrar entre los primeros huecos del
+	 * almacén.
+	 *
+	 * @param n el número de huecos iniciales a considerar
+	 * @return el número de huecos sin borrar entre ellos
+	 */
+	private int sumar(int n) {
+		int suma = 0;
+		for (int i = n; i > 0; i -= i & -i) {
+			suma += árbol[i];
+		}
+		return suma;
+	}
+}
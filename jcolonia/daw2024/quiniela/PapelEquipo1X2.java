@@ -0,0 +1,19 @@
+package jcolonia.daw2024.quiniela;
+
+/**
+ * Enumeración con los papeles que puede tener un equipo en las búsquedas de
+ * partidos por equipo.
+ * 
+ * @see ConjuntoQuiniela1X2#buscarEquipo(String, PapelEquipo1X2)
+ * 
+ * @version 1.0 (20261018000)
+ * @author Rodrigo Martínez Delgado &lt;rodrigo.mardel.daw@gmail.com&gt;
+ */
+public enum PapelEquipo1X2 {
+	/** Partidos jugados como equipo local. */
+	LOCAL,
+	/** Partidos jugados como equipo visitante. */
+	VISITANTE,
+	/** Partidos jugados como local o como visitante. */
+	AMBOS;
+}
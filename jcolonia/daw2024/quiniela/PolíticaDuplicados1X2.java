@@ -0,0 +1,21 @@
+package jcolonia.daw2024.quiniela;
+
+/**
+ * Enumeración con las formas de tratar los partidos repetidos al fusionar datos
+ * nuevos con una colección existente. Un partido se considera repetido si ya
+ * hay otro con el mismo equipo local y el mismo visitante.
+ *
+ * @see ConjuntoQuiniela1X2#fusionarElemento(ElementoPartido1X2,
+ *      PolíticaDuplicados1X2)
+ *
+ * @version 1.0 (20261018000)
+ * @author Rodrigo Martínez Delgado &lt;rodrigo.mardel.daw@gmail.com&gt;
+ */
+public enum PolíticaDuplicados1X2 {
+	/** Se descarta el partido nuevo y se conserva el existente. */
+	OMITIR,
+	/** Se retiran los partidos existentes y se incorpora el nuevo al final. */
+	REEMPLAZAR,
+	/** Se incorpora el partido nuevo y se conservan también los existentes. */
+	CONSERVAR;
+}
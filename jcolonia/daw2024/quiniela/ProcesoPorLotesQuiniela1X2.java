@@ -0,0 +1,496 @@
+package jcolonia.daw2024.quiniela;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Controlador: Modo por lotes de la aplicación, sin menús ni preguntas, para
+ * tareas automáticas. Cada ejecución cursa una orden recibida como argumentos
+ * de la línea de órdenes sobre la misma colección guardada que el modo
+ * interactivo (ver {@link DiarioQuiniela1X2}), o sobre archivos sueltos:
+ * <ul>
+ * <li><code>importar ARCHIVO [--tolerante]</code>: reemplaza la colección por
+ * la del archivo.</li>
+ * <li><code>fusionar ARCHIVO [--politica=omitir|reemplazar|conservar]
+ * [--tolerante]</code>: incorpora a la colección los partidos del archivo (ver
+ * {@link PolíticaDuplicados1X2}).</li>
+ * <li><code>exportar ARCHIVO [--gzip]</code>: vuelca la colección a un archivo,
+ * comprimido o no.</li>
+ * <li><code>clasificacion</code>: muestra la clasificación, una fila por
+ * equipo con columnas separadas por tabuladores.</li>
+ * <li><code>estadisticas</code>: muestra el reparto de resultados.</li>
+ * <li><code>validar ARCHIVO</code>: comprueba un archivo sin cargarlo.</li>
+ * <li><code>generar ARCHIVO LÍNEAS [--semilla=N] [--equipos=N]
+ * [--errores=TASA]</code>: crea un archivo de datos sintéticos (ver
+ * {@link GeneradorDatosQuiniela1X2}).</li>
+ * </ul>
+ * La opción <code>--base=RUTA</code> indica otro archivo base para la
+ * colección guardada.
+ *
+ * <div>La salida estándar recibe solo datos: el resumen de cada orden, en
+ * líneas <code>clave=valor</code>, o bien el listado pedido –la clasificación
+ * o la ayuda–, sin mezclarlo con nada más; el resumen de estas órdenes va
+ * entonces a la salida de error. Los avisos y el detalle de las líneas
+ * erróneas van siempre a la salida de error. El resultado se indica con el
+ * código de salida (ver {@link #SALIDA_CORRECTA} y siguientes).</div>
+ *
+ * @see LanzadorQuiniela1X2#main(String[])
+ *
+ * @version 1.0 (20261018000)
+ * @author Rodrigo Martínez Delgado &lt;rodrigo.mardel.daw@gmail.com&gt;
+ */
+public class ProcesoPorLotesQuiniela1X2 {
+	/** Código de salida: orden cursada sin incidencias. */
+	public static final int SALIDA_CORRECTA = 0;
+
+	/**
+	 * Código de salida: datos erróneos; la orden se ha interrumpido o, en modo
+	 * tolerante, se han pasado por alto líneas. También ante cualquier otro
+	 * fallo inesperado.
+	 */
+	public static final int SALIDA_DATOS_ERRÓNEOS = 1;
+
+	/** Código de salida: orden u opciones incorrectas. */
+	public static final int SALIDA_USO_INCORRECTO = 2;
+
+	/** Código de salida: error de acceso a algún archivo. */
+	public static final int SALIDA_ERROR_ACCESO = 3;
+
+	/** Opciones admitidas, sin el prefijo «--». */
+	private static final Set<String> OPCIONES = Set.of("base", "tolerante", "politica", "gzip", "semilla",
+			"equipos", "errores");
+
+	/**
+	 * Órdenes que escriben un listado en la salida de datos, y su resumen en la
+	 * salida de error.
+	 */
+	private static final Set<String> LISTADOS = Set.of("clasificacion", "clasificación", "ayuda");
+
+	/** Texto de ayuda con la sintaxis de las órdenes. */
+	private static final String TXT_USO = String.join(System.lineSeparator(),
+			"Uso: LanzadorQuiniela1X2 ORDEN [ARGUMENTOS] [--base=RUTA]",
+			"  importar ARCHIVO [--tolerante]",
+			"  fusionar ARCHIVO [--politica=omitir|reemplazar|conservar] [--tolerante]",
+			"  exportar ARCHIVO [--gzip]",
+			"  clasificacion",
+			"  estadisticas",
+			"  validar ARCHIVO",
+			"  generar ARCHIVO LÍNEAS [--semilla=N] [--equipos=N] [--errores=TASA]");
+
+	/** Salida de datos. */
+	private PrintWriter salida;
+
+	/** Salida de avisos y errores. */
+	private PrintWriter errores;
+
+	/** Salida del resumen de la orden en curso: la de datos o la de errores. */
+	private PrintWriter resumen;
+
+	/** Argumentos de la orden, sin las opciones. */
+	private List<String> argumentos;
+
+	/** Opciones de la orden, por nombre; las que no llevan valor, vacías. */
+	private Map<String, String> opciones;
+
+	/**
+	 * Prepara el modo por lotes sobre las salidas indicadas, que se escriben en
+	 * UTF-8 y por búfer, de modo que los listados largos no se ralentizan.
+	 *
+	 * @param salida  la salida de datos, normalmente la salida estándar
+	 * @param errores la salida de avisos y errores, normalmente la salida de
+	 *                error estándar
+	 */
+	public ProcesoPorLotesQuiniela1X2(OutputStream salida, OutputStream errores) {
+		this.salida = new PrintWriter(new BufferedWriter(new OutputStreamWriter(salida, StandardCharsets.UTF_8)));
+		this.errores = new PrintWriter(new OutputStreamWriter(errores, StandardCharsets.UTF_8), true);
+	}
+
+	/**
+	 * Cursa una orden completa. Cualquier fallo, también los no comprobados, se
+	 * traduce en uno de los códigos de salida documentados.
+	 *
+	 * @param args la orden, sus argumentos y sus opciones
+	 * @return el código de salida
+	 */
+	public int ejecutar(String... args) {
+		String orden;
+		int códigoSalida;
+		long comienzo;
+
+		comienzo = System.nanoTime();
+		resumen = salida;
+		try {
+			separarOpciones(args);
+			if (argumentos.isEmpty()) {
+				throw new IllegalArgumentException("Falta la orden");
+			}
+			orden = argumentos.remove(0);
+			if (LISTADOS.contains(orden)) {
+				resumen = errores;
+			}
+			resumir("orden", orden);
+			switch (orden) {
+			case "importar":
+				códigoSalida = importar();
+				break;
+			case "fusionar":
+				códigoSalida = fusionar();
+				break;
+			case "exportar":
+				códigoSalida = exportar();
+				break;
+			case "clasificacion":
+			case "clasificación":
+				códigoSalida = clasificación();
+				break;
+			case "estadisticas":
+			case "estadísticas":
+				códigoSalida = estadísticas();
+				break;
+			case "validar":
+				códigoSalida = validar();
+				break;
+			case "generar":
+				códigoSalida = generar();
+				break;
+			case "ayuda":
+				salida.println(TXT_USO);
+				códigoSalida = SALIDA_CORRECTA;
+				break;
+			default:
+				throw new IllegalArgumentException(String.format("Orden desconocida «%s»", orden));
+			}
+		} catch (IllegalArgumentException ex) {
+			informarError(ex.getLocalizedMessage());
+			errores.println(TXT_USO);
+			códigoSalida = SALIDA_USO_INCORRECTO;
+		} catch (Partido1X2Exception ex) {
+			informarError(ex.getLocalizedMessage());
+			códigoSalida = SALIDA_DATOS_ERRÓNEOS;
+		} catch (DatoPartido1X2Exception ex) {
+			informarError(ex.getLocalizedMessage());
+			códigoSalida = (ex.getCause() instanceof IOException) ? SALIDA_ERROR_ACCESO : SALIDA_DATOS_ERRÓNEOS;
+		} catch (IOException | UncheckedIOException ex) {
+			informarError(ex.getLocalizedMessage());
+			códigoSalida = SALIDA_ERROR_ACCESO;
+		} catch (RuntimeException ex) { // Como un archivo base cambiado tras indexarlo
+			informarError((ex.getLocalizedMessage() != null) ? ex.getLocalizedMessage() : ex.toString());
+			códigoSalida = SALIDA_DATOS_ERRÓNEOS;
+		}
+		resumir("codigo_salida", códigoSalida);
+		resumir("milisegundos", (System.nanoTime() - comienzo) / 1_000_000);
+		salida.flush();
+		return códigoSalida;
+	}
+
+	/**
+	 * Reemplaza la colección guardada por la de un archivo, sin cargar la
+	 * anterior, que puede estar incluso dañada.
+	 *
+	 * @return el código de salida
+	 * @throws DatoPartido1X2Exception si el archivo no se puede leer
+	 * @throws IOException             si se produce algún error de escritura
+	 * @throws Partido1X2Exception     si algún partido está incompleto
+	 */
+	private int importar() throws DatoPartido1X2Exception, IOException, Partido1X2Exception {
+		InformeImportaciónQuiniela1X2 informe;
+		ConjuntoQuiniela1X2 nuevaLista;
+		DiarioQuiniela1X2 diario;
+
+		exigirArgumentos(1);
+		informe = opciones.containsKey("tolerante") ? new InformeImportaciónQuiniela1X2() : null;
+		nuevaLista = ControladorQuiniela1X2.leerArchivo(argumentos.get(0), informe);
+		diario = abrirDiario();
+		try {
+			diario.reemplazar(nuevaLista); // Sin cargar la colección anterior
+		} finally {
+			diario.cerrar();
+		}
+		return resumirInforme(informe, nuevaLista.size());
+	}
+
+	/**
+	 * Incorpora a la colección guardada los partidos de un archivo.
+	 *
+	 * @return el código de salida
+	 * @throws DatoPartido1X2Exception si el archivo o la colección guardada no
+	 *                                 se pueden leer
+	 * @throws IOException             si se produce algún error de escritura
+	 * @throws Partido1X2Exception     si algún partido está incompleto
+	 */
+	private int fusionar() throws DatoPartido1X2Exception, IOException, Partido1X2Exception {
+		InformeImportaciónQuiniela1X2 informe;
+		PolíticaDuplicados1X2 política;
+		ConjuntoQuiniela1X2 conjunto, nuevaLista;
+		DiarioQuiniela1X2 diario;
+		DiarioQuiniela1X2.Lote lote;
+		long repetidos;
+
+		exigirArgumentos(1);
+		política = leerPolítica();
+		informe = opciones.containsKey("tolerante") ? new InformeImportaciónQuiniela1X2() : null;
+		nuevaLista = ControladorQuiniela1X2.leerArchivo(argumentos.get(0), informe);
+		diario = abrirDiario();
+		try {
+			conjunto = diario.recuperar();
+			lote = diario.iniciarLote();
+			repetidos = conjunto.fusionar(nuevaLista, política, lote);
+			lote.confirmar();
+			if (diario.requiereCompactación()) {
+				diario.compactar(conjunto);
+			}
+		} finally {
+			diario.cerrar();
+		}
+		resumir("lineas_repetidas", repetidos);
+		return resumirInforme(informe, conjunto.size());
+	}
+
+	/**
+	 * Vuelca la colección guardada a un archivo.
+	 *
+	 * @return el código de salida
+	 * @throws DatoPartido1X2Exception si la colección guardada no se puede leer
+	 * @throws IOException             si se produce algún error de acceso
+	 * @throws Partido1X2Exception     si algún partido está incompleto
+	 */
+	private int exportar() throws DatoPartido1X2Exception, IOException, Partido1X2Exception {
+		ConjuntoQuiniela1X2 conjunto;
+		long númPartidos;
+
+		exigirArgumentos(1);
+		conjunto = recuperar();
+		númPartidos = new ExportadorQuiniela1X2(argumentos.get(0), opciones.containsKey("gzip")).exportar(conjunto);
+		resumir("partidos", númPartidos);
+		return SALIDA_CORRECTA;
+	}
+
+	/**
+	 * Muestra la clasificación de la colección guardada, con una cabecera y una
+	 * fila por equipo, en columnas separadas por tabuladores.
+	 *
+	 * @return el código de salida
+	 * @throws DatoPartido1X2Exception si la colección guardada no se puede leer
+	 * @throws IOException             si se produce algún error de acceso
+	 */
+	private int clasificación() throws DatoPartido1X2Exception, IOException {
+		List<FilaClasificaciónQuiniela1X2> filas;
+
+		exigirArgumentos(0);
+		filas = recuperar().generarClasificación();
+		resumir("equipos", filas.size());
+		salida.println("equipo\tjugados\tganados\tempatados\tperdidos\tpuntos");
+		for (FilaClasificaciónQuiniela1X2 fila : filas) {
+			salida.printf("%s\t%d\t%d\t%d\t%d\t%d%n", fila.getEquipo(), fila.getJugados(), fila.getGanados(),
+					fila.getEmpatados(), fila.getPerdidos(), fila.getPuntos());
+		}
+		return SALIDA_CORRECTA;
+	}
+
+	/**
+	 * Muestra el reparto de resultados de la colección guardada.
+	 *
+	 * @return el código de salida
+	 * @throws DatoPartido1X2Exception si la colección guardada no se puede leer
+	 * @throws IOException             si se produce algún error de acceso
+	 */
+	private int estadísticas() throws DatoPartido1X2Exception, IOException {
+		EstadísticasQuiniela1X2 estadísticas;
+
+		exigirArgumentos(0);
+		estadísticas = recuperar().calcularEstadísticas();
+		resumir("partidos", estadísticas.getNúmPartidos());
+		resumir("equipos", estadísticas.getEquipos().size());
+		resumir("resultado_1", estadísticas.getFrecuencia(Resultado1X2.Local1));
+		resumir("resultado_x", estadísticas.getFrecuencia(Resultado1X2.EmpateX));
+		resumir("resultado_2", estadísticas.getFrecuencia(Resultado1X2.Visitante2));
+		return SALIDA_CORRECTA;
+	}
+
+	/**
+	 * Comprueba todas las líneas de un archivo, sin cargarlo ni tocar la
+	 * colección guardada (ver
+	 * {@link ImportadorQuiniela1X2#validar(InformeImportaciónQuiniela1X2)}).
+	 *
+	 * @return el código de salida: correcto si todas las líneas son válidas
+	 * @throws DatoPartido1X2Exception si el archivo no se puede leer
+	 */
+	private int validar() throws DatoPartido1X2Exception {
+		InformeImportaciónQuiniela1X2 informe;
+
+		exigirArgumentos(1);
+		informe = new InformeImportaciónQuiniela1X2();
+		new ImportadorQuiniela1X2(argumentos.get(0)).validar(informe);
+		return resumirInforme(informe, informe.getLíneasCorrectas());
+	}
+
+	/**
+	 * Crea un archivo de datos sintéticos.
+	 *
+	 * @return el código de salida
+	 * @throws IOException si se produce algún error de escritura
+	 */
+	private int generar() throws IOException {
+		GeneradorDatosQuiniela1X2 generador;
+		long númLíneas;
+
+		exigirArgumentos(2);
+		númLíneas = Long.parseLong(argumentos.get(1));
+		generador = new GeneradorDatosQuiniela1X2(Long.parseLong(opciones.getOrDefault("semilla", "0")));
+		generador.setNúmLíneas(númLíneas);
+		if (opciones.containsKey("equipos")) {
+			generador.setNúmEquipos(Integer.parseInt(opciones.get("equipos")));
+		}
+		if (opciones.containsKey("errores")) {
+			generador.setTasaErrores(Double.parseDouble(opciones.get("errores")));
+		}
+		generador.generar(argumentos.get(0));
+		resumir("lineas", númLíneas);
+		return SALIDA_CORRECTA;
+	}
+
+	/**
+	 * Separa los argumentos de las opciones, que comienzan por «--» y pueden
+	 * llevar un valor tras «=».
+	 *
+	 * @param args los argumentos recibidos
+	 * @throws IllegalArgumentException si alguna opción no se admite
+	 */
+	private void separarOpciones(String[] args) {
+		String nombre;
+		int igual;
+
+		argumentos = new ArrayList<String>();
+		opciones = new HashMap<String, String>();
+		for (String arg : args) {
+			if (arg.startsWith("--")) {
+				igual = arg.indexOf('=');
+				nombre = (igual < 0) ? arg.substring(2) : arg.substring(2, igual);
+				if (!OPCIONES.contains(nombre)) {
+					throw new IllegalArgumentException(String.format("Opción desconocida «%s»", arg));
+				}
+				opciones.put(nombre, (igual < 0) ? "" : arg.substring(igual + 1));
+			} else {
+				argumentos.add(arg);
+			}
+		}
+	}
+
+	/**
+	 * Interpreta la opción <code>--politica</code>; si falta, se omiten los
+	 * partidos repetidos.
+	 *
+	 * @return la política correspondiente
+	 * @throws IllegalArgumentException si el valor no corresponde a ninguna
+	 */
+	private PolíticaDuplicados1X2 leerPolítica() {
+		String valor;
+
+		valor = opciones.getOrDefault("politica", "omitir");
+		for (PolíticaDuplicados1X2 política : PolíticaDuplicados1X2.values()) {
+			if (política.name().equalsIgnoreCase(valor)) {
+				return política;
+			}
+		}
+		throw new IllegalArgumentException(String.format("Política desconocida «%s»", valor));
+	}
+
+	/**
+	 * Comprueba el número de argumentos de la orden.
+	 *
+	 * @param número el número de argumentos esperado
+	 * @throws IllegalArgumentException si no coincide
+	 */
+	private void exigirArgumentos(int número) {
+		if (argumentos.size() != número) {
+			throw new IllegalArgumentException(
+					String.format("Se esperaban %d argumentos y hay %d", número, argumentos.size()));
+		}
+	}
+
+	/**
+	 * Crea el diario de la colección guardada.
+	 *
+	 * @return el diario, aún sin recuperar
+	 */
+	private DiarioQuiniela1X2 abrirDiario() {
+		return new DiarioQuiniela1X2(opciones.getOrDefault("base", ControladorQuiniela1X2.NOMBRE_ARCHIVO_BASE));
+	}
+
+	/**
+	 * Recupera la colección guardada para consultarla. Los partidos no cambian,
+	 * pero los archivos guardados sí pueden hacerlo (ver
+	 * {@link DiarioQuiniela1X2#recuperar()}): se crea el diario si falta, se
+	 * recorta una última línea incompleta, se termina una compactación
+	 * interrumpida y se crea el índice del archivo base si falta o no está
+	 * vigente.
+	 *
+	 * @return la colección guardada
+	 * @throws DatoPartido1X2Exception si la colección no se puede leer
+	 * @throws IOException             si se produce algún error al cerrar el
+	 *                                 diario
+	 */
+	private ConjuntoQuiniela1X2 recuperar() throws DatoPartido1X2Exception, IOException {
+		DiarioQuiniela1X2 diario;
+
+		diario = abrirDiario();
+		try {
+			return diario.recuperar();
+		} finally {
+			diario.cerrar();
+		}
+	}
+
+	/**
+	 * Añade al resumen las cifras de una lectura y detalla las líneas erróneas
+	 * en la salida de error.
+	 *
+	 * @param informe     el informe de la lectura, o <code>null</code> si fue
+	 *                    estricta
+	 * @param númPartidos el número de partidos resultante
+	 * @return el código de salida: datos erróneos si se pasó por alto alguna
+	 *         línea
+	 */
+	private int resumirInforme(InformeImportaciónQuiniela1X2 informe, long númPartidos) {
+		resumir("partidos", númPartidos);
+		if (informe == null) {
+			return SALIDA_CORRECTA;
+		}
+		resumir("lineas_correctas", informe.getLíneasCorrectas());
+		resumir("lineas_erroneas", informe.getLíneasErróneas());
+		for (InformeImportaciónQuiniela1X2.Incidencia incidencia : informe.getIncidencias()) {
+			errores.println(incidencia);
+		}
+		return informe.hayErrores() ? SALIDA_DATOS_ERRÓNEOS : SALIDA_CORRECTA;
+	}
+
+	/**
+	 * Añade una línea <code>clave=valor</code> al resumen, en la salida de datos
+	 * o, para los listados, en la de errores.
+	 *
+	 * @param clave la clave
+	 * @param valor el valor
+	 */
+	private void resumir(String clave, Object valor) {
+		resumen.printf("%s=%s%n", clave, valor);
+	}
+
+	/**
+	 * Informa de un error en la salida de error.
+	 *
+	 * @param mensaje el mensaje del error
+	 */
+	private void informarError(String mensaje) {
+		errores.printf("error=%s%n", mensaje);
+	}
+}
@@ -8,22 +8,66 @@ package jcolonia.daw2024.quiniela;
  */
 public enum Resultado1X2 {
 	/** Opción de resultado tipo 1-X-2: victoria del equipo local «1». */
-	Local1("1"),
+	Local1("1", 1),
 	/** Opción de resultado tipo 1-X-2: victoria del equipo visitante «2». */
-	Visitante2("2"),
+	Visitante2("2", 2),
 	/** Opción de resultado tipo 1-X-2: empate «X». */
-	EmpateX("X");
+	EmpateX("X", 3);
 
 	/** Carácter que representa el resultado: 1-X-2. */
 	private String descripción;
 
 	/**
-	 * Almacena el carácter asociado a cada resultado posible.
+	 * Código numérico de dos bits que representa el resultado en los formatos
+	 * compactos. El código 0 queda reservado para «sin resultado».
+	 */
+	private int código;
+
+	/**
+	 * Almacena el carácter y el código asociados a cada resultado posible.
 	 * 
 	 * @param descripción el texto con el carácter correspondiente
+	 * @param código      el código numérico correspondiente, entre 1 y 3
 	 */
-	Resultado1X2(String descripción) {
+	Resultado1X2(String descripción, int código) {
 		this.descripción = descripción;
+		this.código = código;
+	}
+
+	/**
+	 * Devuelve el código numérico de dos bits del resultado, entre 1 y 3.
+	 * 
+	 * @return el código correspondiente
+	 */
+	public int getCódigo() {
+		return código;
+	}
+
+	/**
+	 * Localiza el resultado asociado a un código numérico.
+	 * 
+	 * @param código el código a consultar
+	 * @return el resultado correspondiente, o <code>null</code> si el código no
+	 *         corresponde a ningún resultado
+	 * @see #getCódigo()
+	 */
+	public static Resultado1X2 deCódigo(int código) {
+		Resultado1X2 resultado;
+		switch (código) {
+		case 1:
+			resultado = Local1;
+			break;
+		case 2:
+			resultado = Visitante2;
+			break;
+		case 3:
+			resultado = EmpateX;
+			break;
+		default:
+			resultado = null;
+			break;
+		}
+		return resultado;
 	}
 
 	/**
@@ -0,0 +1,261 @@
+package jcolonia.daw2024.quiniela;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Modelo: Pruebas de conformidad de las implementaciones de
+ * {@link AlmacénQuiniela1X2}: la misma secuencia de altas, bajas por posición,
+ * por partido y por identificador, compactación y vaciado deja en todas ellas
+ * el mismo listado y los mismos identificadores, comprobados contra una lista
+ * de referencia tras cada paso.
+ *
+ * @version 1.0 (20261018000)
+ * @author Rodrigo Martínez Delgado &lt;rodrigo.mardel.daw@gmail.com&gt;
+ */
+class TestAlmacenesQuiniela1X2 {
+	/** Número de partidos de la colección inicial. */
+	private static final int NÚM_INICIALES = 2000;
+
+	/** Número de altas posteriores a la creación. */
+	private static final int NÚM_ALTAS = 1000;
+
+	/**
+	 * Almacenes que localizan los partidos por sus datos, y no por el propio
+	 * objeto (ver {@link AlmacénQuiniela1X2#posiciónDe(ElementoPartido1X2, int)}).
+	 */
+	private static final Set<String> POR_VALOR = Set.of("Columnar", "Directo");
+
+	/** Carpeta temporal para el archivo del almacén perezoso. */
+	@TempDir
+	Path carpeta;
+
+	/** Partidos esperados, en orden. */
+	private List<String> esperados;
+
+	/** Identificadores esperados, en el mismo orden. */
+	private List<Integer> idsEsperados;
+
+	/** Siguiente identificador esperado. */
+	private int siguienteId;
+
+	/**
+	 * Método de prueba sobre {@link AlmacénQuiniela1X2}: altas, bajas por
+	 * posición, por partido y por identificador hasta forzar una compactación
+	 * (ver {@link MapaPosicionesQuiniela1X2#requiereCompactación()}), altas
+	 * posteriores y vaciado. Tras cada paso, el listado y los identificadores
+	 * coinciden con los de referencia.
+	 *
+	 * @param tipo el nombre del almacén a probar
+	 * @throws IOException             no esperada
+	 * @throws DatoPartido1X2Exception no esperada
+	 */
+	@ParameterizedTest(name = "{0}")
+	@ValueSource(strings = { "Vector", "Columnar", "Directo", "Concurrente", "Perezoso" })
+	@DisplayName("Secuencia de operaciones")
+	public void testSecuencia(String tipo) throws IOException, DatoPartido1X2Exception {
+		ConjuntoQuiniela1X2 conjunto;
+		int pos;
+
+		esperados = new ArrayList<String>();
+		idsEsperados = new ArrayList<Integer>();
+		siguienteId = 0;
+		conjunto = crearConjunto(tipo, NÚM_INICIALES);
+		for (int i = 0; i < NÚM_INICIALES; i++) {
+			anotarAlta(i);
+		}
+		comprobar(conjunto, "Colección inicial");
+
+		for (int i = NÚM_INICIALES; i < NÚM_INICIALES + NÚM_ALTAS; i++) {
+			assertEquals(siguienteId, conjunto.agregarElemento(crearPartido(i)), "Identificador del alta " + i);
+			anotarAlta(i);
+		}
+		comprobar(conjunto, "Altas");
+
+		for (int i = 0; i < 600; i++) {
+			conjunto.eliminarElemento(2 * i);
+			anotarBaja(2 * i);
+		}
+		comprobar(conjunto, "Bajas por posición");
+
+		for (int i = 0; i < 500; i++) {
+			pos = esperados.size() / 2;
+			conjunto.eliminarElemento(conjunto.getElemento(pos));
+			anotarBaja(pos);
+		}
+		comprobar(conjunto, "Bajas por partido");
+
+		for (int i = 0; i < 500; i++) { // Suman 1600 bajas de 3000 huecos: compacta
+			assertTrue(conjunto.eliminarPorId(idsEsperados.get(0)), "Baja por identificador " + i);
+			anotarBaja(0);
+		}
+		comprobar(conjunto, "Compactación");
+
+		for (int i = 0; i < 200; i++) {
+			assertEquals(siguienteId, conjunto.agregarElemento(crearPartido(10_000 + i)),
+					"Identificador tras compactar");
+			anotarAlta(10_000 + i);
+		}
+		comprobar(conjunto, "Altas tras compactar");
+
+		conjunto.vaciar();
+		esperados.clear();
+		idsEsperados.clear();
+		siguienteId = 0;
+		comprobar(conjunto, "Vaciado");
+		for (int i = 0; i < 10; i++) {
+			assertEquals(siguienteId, conjunto.agregarElemento(crearPartido(i)), "Identificador tras vaciar");
+			anotarAlta(i);
+		}
+		comprobar(conjunto, "Altas tras vaciar");
+	}
+
+	/**
+	 * Método de prueba sobre
+	 * {@link ConjuntoQuiniela1X2#eliminarElemento(ElementoPartido1X2)}: los
+	 * almacenes columnar y directo retiran el primer partido con los mismos
+	 * datos, aunque sea otro objeto; los demás solo retiran ese mismo objeto.
+	 *
+	 * @param tipo el nombre del almacén a probar
+	 * @throws IOException             no esperada
+	 * @throws DatoPartido1X2Exception no esperada
+	 */
+	@ParameterizedTest(name = "{0}")
+	@ValueSource(strings = { "Vector", "Columnar", "Directo", "Concurrente", "Perezoso" })
+	@DisplayName("Baja de una copia del partido")
+	public void testBajaPorValor(String tipo) throws IOException, DatoPartido1X2Exception {
+		ConjuntoQuiniela1X2 conjunto = crearConjunto(tipo, 3);
+
+		conjunto.agregarElemento(crearPartido(1));
+		conjunto.eliminarElemento(crearPartido(1));
+
+		if (POR_VALOR.contains(tipo)) {
+			assertEquals(List.of(líneaPartido(0), líneaPartido(2), líneaPartido(1)), conjunto.generarListadoCSV(),
+					"Retirado el primero igual");
+			assertEquals(2, conjunto.getId(1), "Identificador del segundo");
+			assertEquals(3, conjunto.getId(2), "Identificador de la copia");
+		} else {
+			assertEquals(4, conjunto.size(), "Copia no encontrada");
+		}
+	}
+
+	/**
+	 * Crea una colección con un almacén dado y los primeros partidos de prueba.
+	 * El almacén perezoso los lee de un archivo; los demás los reciben como
+	 * altas.
+	 *
+	 * @param tipo     el nombre del almacén
+	 * @param cantidad el número de partidos iniciales
+	 * @return la colección
+	 * @throws IOException             si se produce algún error al escribir el
+	 *                                 archivo
+	 * @throws DatoPartido1X2Exception si se produce algún error al abrirlo
+	 */
+	private ConjuntoQuiniela1X2 crearConjunto(String tipo, int cantidad) throws IOException, DatoPartido1X2Exception {
+		ConjuntoQuiniela1X2 conjunto;
+		Path archivo;
+
+		if (tipo.equals("Perezoso")) {
+			archivo = carpeta.resolve("quiniela.txt");
+			try (BufferedWriter salida = Files.newBufferedWriter(archivo, StandardCharsets.UTF_8)) {
+				for (int i = 0; i < cantidad; i++) {
+					salida.write(líneaPartido(i));
+					salida.newLine();
+				}
+			}
+			conjunto = new ConjuntoQuiniela1X2(new AlmacénPerezosoQuiniela1X2(archivo.toString()));
+		} else {
+			conjunto = new ConjuntoQuiniela1X2(switch (tipo) {
+			case "Vector" -> new AlmacénVectorQuiniela1X2();
+			case "Columnar" -> new AlmacénColumnarQuiniela1X2();
+			case "Directo" -> new AlmacénDirectoQuiniela1X2();
+			case "Concurrente" -> new AlmacénConcurrenteQuiniela1X2();
+			default -> throw new IllegalArgumentException(tipo);
+			});
+			for (int i = 0; i < cantidad; i++) {
+				conjunto.agregarElemento(crearPartido(i));
+			}
+		}
+		return conjunto;
+	}
+
+	/**
+	 * Anota en la referencia el alta de un partido de prueba.
+	 *
+	 * @param número el número del partido
+	 */
+	private void anotarAlta(int número) {
+		esperados.add(líneaPartido(número));
+		idsEsperados.add(siguienteId++);
+	}
+
+	/**
+	 * Anota en la referencia la baja de una posición.
+	 *
+	 * @param pos la posición retirada
+	 */
+	private void anotarBaja(int pos) {
+		esperados.remove(pos);
+		idsEsperados.remove(pos);
+	}
+
+	/**
+	 * Comprueba que la colección coincide con la referencia: mismo listado, mismo
+	 * identificador en cada posición y misma posición para cada identificador.
+	 *
+	 * @param conjunto la colección
+	 * @param paso     el nombre del paso, para los mensajes
+	 * @throws Partido1X2Exception no esperada
+	 */
+	private void comprobar(ConjuntoQuiniela1X2 conjunto, String paso) throws Partido1X2Exception {
+		List<Integer> ids = new ArrayList<Integer>();
+
+		assertEquals(esperados.size(), conjunto.size(), paso + ": tamaño");
+		assertEquals(esperados, conjunto.generarListadoCSV(), paso + ": listado");
+		for (int pos = 0; pos < conjunto.size(); pos++) {
+			ids.add(conjunto.getId(pos));
+		}
+		assertEquals(idsEsperados, ids, paso + ": identificadores");
+		for (int pos = 0; pos < idsEsperados.size(); pos += 97) {
+			assertEquals(pos, conjunto.getPosición(idsEsperados.get(pos)), paso + ": posición del id");
+		}
+	}
+
+	/**
+	 * Compone la línea pseudo-CSV de un partido de prueba; todas son distintas.
+	 *
+	 * @param número el número del partido
+	 * @return la línea
+	 */
+	private static String líneaPartido(int número) {
+		return String.format("LOCAL %d#VISITANTE %d#%c", número, número, "1X2".charAt(número % 3));
+	}
+
+	/**
+	 * Crea un partido de prueba (ver {@link #líneaPartido(int)}).
+	 *
+	 * @param número el número del partido
+	 * @return el partido
+	 */
+	private static ElementoPartido1X2 crearPartido(int número) {
+		try {
+			return ElementoPartido1X2.of(líneaPartido(número));
+		} catch (DatoPartido1X2Exception ex) { // No debe ocurrir
+			throw new IllegalStateException(ex);
+		}
+	}
+}
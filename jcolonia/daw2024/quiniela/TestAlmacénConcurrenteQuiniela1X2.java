@@ -0,0 +1,205 @@
+package jcolonia.daw2024.quiniela;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Modelo: Pruebas sobre {@link AlmacénConcurrenteQuiniela1X2} a través de
+ * {@link ConjuntoQuiniela1X2}: varios hilos dan altas sin bloqueo mientras otro
+ * hilo lista la colección, retira partidos y, con ello, fuerza compactaciones
+ * del almacén.
+ *
+ * @version 1.0 (20261018000)
+ * @author Rodrigo Martínez Delgado &lt;rodrigo.mardel.daw@gmail.com&gt;
+ */
+class TestAlmacénConcurrenteQuiniela1X2 {
+	/** Número de hilos que dan altas. */
+	private static final int NÚM_HILOS = 4;
+
+	/** Número de altas de cada hilo. */
+	private static final int ALTAS_POR_HILO = 5000;
+
+	/**
+	 * Número de bajas, la mitad de las altas; bastan para forzar varias
+	 * compactaciones (ver {@link MapaPosicionesQuiniela1X2#requiereCompactación()}).
+	 */
+	private static final int NÚM_BAJAS = NÚM_HILOS * ALTAS_POR_HILO / 2;
+
+	/** Número de bajas entre dos comprobaciones del listado. */
+	private static final int BAJAS_POR_LISTADO = 500;
+
+	/** Tiempo máximo de espera por cada hilo, en milisegundos. */
+	private static final long ESPERA_MÁXIMA = 60_000;
+
+	/**
+	 * Método de prueba sobre
+	 * {@link AlmacénConcurrenteQuiniela1X2#agregarNumerado(ElementoPartido1X2)}:
+	 * con altas simultáneas desde {@value #NÚM_HILOS} hilos y
+	 * {@value #NÚM_BAJAS} bajas desde otro, que además comprueba el listado y el
+	 * almacén cada {@value #BAJAS_POR_LISTADO} bajas, los identificadores son
+	 * únicos, el tamaño final es exacto, ningún partido se pierde ni se repite,
+	 * cada hilo conserva el orden de sus altas y nunca se lee un hueco a medio
+	 * publicar.
+	 *
+	 * @throws InterruptedException no esperada
+	 * @throws Partido1X2Exception  no esperada
+	 */
+	@Test
+	@DisplayName("Altas simultáneas con bajas y compactaciones")
+	public void testAltasSimultáneas() throws InterruptedException, Partido1X2Exception {
+		AlmacénConcurrenteQuiniela1X2 almacén = new AlmacénConcurrenteQuiniela1X2();
+		ConjuntoQuiniela1X2 conjunto = new ConjuntoQuiniela1X2(almacén);
+		int[][] ids = new int[NÚM_HILOS][ALTAS_POR_HILO];
+		Set<String> retirados = new HashSet<String>();
+		AtomicReference<Throwable> fallo = new AtomicReference<Throwable>();
+		List<Thread> escritores = new ArrayList<Thread>();
+		Thread lector;
+		Set<Integer> idsDistintos;
+		List<String> listado;
+		int total = NÚM_HILOS * ALTAS_POR_HILO;
+		int pos;
+
+		for (int h = 0; h < NÚM_HILOS; h++) {
+			int hilo = h;
+			escritores.add(new Thread(() -> {
+				for (int i = 0; i < ALTAS_POR_HILO; i++) {
+					ids[hilo][i] = conjunto.agregarElemento(crearPartido(hilo, i));
+				}
+			}, "Altas " + h));
+		}
+		lector = new Thread(() -> {
+			int bajas = 0;
+			try {
+				while (bajas < NÚM_BAJAS) {
+					synchronized (conjunto) {
+						if (conjunto.size() > 0) {
+							retirados.add(conjunto.getElemento(0).toStringCSV());
+							conjunto.eliminarElemento(0);
+							bajas++;
+						}
+					}
+					if (bajas % BAJAS_POR_LISTADO == 0) {
+						comprobarListado(conjunto.generarListadoCSV());
+						comprobarAlmacén(conjunto, almacén);
+					} else {
+						Thread.yield();
+					}
+				}
+			} catch (Throwable ex) {
+				fallo.compareAndSet(null, ex);
+			}
+		}, "Bajas");
+
+		lector.start();
+		escritores.forEach(Thread::start);
+		for (Thread escritor : escritores) {
+			escritor.join(ESPERA_MÁXIMA);
+			assertFalse(escritor.isAlive(), "Altas terminadas: " + escritor.getName());
+		}
+		lector.join(ESPERA_MÁXIMA);
+		assertFalse(lector.isAlive(), "Bajas terminadas");
+		assertNull(fallo.get(), () -> "Error durante el listado: " + fallo.get());
+
+		idsDistintos = new HashSet<Integer>();
+		for (int[] idsHilo : ids) {
+			for (int id : idsHilo) {
+				idsDistintos.add(id);
+			}
+		}
+		assertEquals(total, idsDistintos.size(), "Identificadores únicos");
+		assertEquals(NÚM_BAJAS, retirados.size(), "Bajas");
+
+		assertEquals(total - retirados.size(), conjunto.size(), "Tamaño final");
+		listado = conjunto.generarListadoCSV();
+		comprobarListado(listado);
+		comprobarAlmacén(conjunto, almacén);
+		assertEquals(total - retirados.size(), new HashSet<String>(listado).size(), "Sin partidos repetidos");
+
+		for (int h = 0; h < NÚM_HILOS; h++) {
+			for (int i = 0; i < ALTAS_POR_HILO; i++) {
+				String esperado = crearPartido(h, i).toStringCSV();
+
+				pos = conjunto.getPosición(ids[h][i]);
+				if (retirados.contains(esperado)) {
+					assertEquals(-1, pos, "Partido retirado: " + esperado);
+				} else {
+					assertTrue(pos >= 0, "Partido conservado: " + esperado);
+					assertEquals(esperado, conjunto.getElemento(pos).toStringCSV(), "Partido del identificador");
+				}
+			}
+		}
+	}
+
+	/**
+	 * Comprueba que un listado solo contiene partidos completos, sin repetir, y
+	 * que los de cada hilo aparecen en el orden en que se dieron de alta.
+	 *
+	 * @param listado el listado en formato pseudo-CSV
+	 */
+	private static void comprobarListado(List<String> listado) {
+		int[] último = new int[NÚM_HILOS];
+		Set<String> vistos = new HashSet<String>();
+		String[] campos;
+		int hilo, número;
+
+		Arrays.fill(último, -1);
+		for (String línea : listado) {
+			assertNotNull(línea, "Línea completa");
+			assertTrue(vistos.add(línea), "Línea repetida: " + línea);
+			campos = línea.split("[ #]");
+			hilo = Integer.parseInt(campos[0].substring(1));
+			número = Integer.parseInt(campos[1].substring(1));
+			assertTrue(número > último[hilo], "Orden de las altas del hilo " + hilo + ": " + línea);
+			último[hilo] = número;
+		}
+	}
+
+	/**
+	 * Comprueba, con la colección bloqueada, que todos los huecos visibles del
+	 * almacén contienen un partido completo.
+	 *
+	 * @param conjunto la colección
+	 * @param almacén  su almacén
+	 */
+	private static void comprobarAlmacén(ConjuntoQuiniela1X2 conjunto, AlmacénConcurrenteQuiniela1X2 almacén) {
+		ElementoPartido1X2 elemento;
+
+		synchronized (conjunto) {
+			for (int hueco = 0; hueco < almacén.size(); hueco++) {
+				elemento = almacén.get(hueco);
+				assertNotNull(elemento, "Hueco publicado " + hueco);
+				assertTrue(elemento.estáCerrada(), "Partido completo en el hueco " + hueco);
+			}
+		}
+	}
+
+	/**
+	 * Crea el partido de un hilo con un número de orden dado; todos son
+	 * distintos.
+	 *
+	 * @param hilo   el número del hilo
+	 * @param número el número de orden dentro del hilo
+	 * @return el partido
+	 */
+	private static ElementoPartido1X2 crearPartido(int hilo, int número) {
+		try {
+			return ElementoPartido1X2.of(String.format("H%d P%05d", hilo, número), "VISITANTE",
+					"1X2".substring(número % 3, número % 3 + 1));
+		} catch (DatoPartido1X2Exception ex) { // No debe ocurrir
+			throw new IllegalStateException(ex);
+		}
+	}
+}
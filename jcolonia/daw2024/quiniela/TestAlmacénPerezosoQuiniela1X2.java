@@ -0,0 +1,270 @@
+package jcolonia.daw2024.quiniela;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.BitSet;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Modelo: Pruebas sobre {@link AlmacénPerezosoQuiniela1X2} y su
+ * {@link ÍndiceDesplazamientosQuiniela1X2}: creación y reutilización del
+ * índice, líneas erróneas, finales de línea CRLF, lecturas en torno al límite
+ * de las ventanas proyectadas, compactación y cambios del archivo después de
+ * indexarlo.
+ *
+ * @version 1.0 (20261018000)
+ * @author Rodrigo Martínez Delgado &lt;rodrigo.mardel.daw@gmail.com&gt;
+ */
+class TestAlmacénPerezosoQuiniela1X2 {
+	/**
+	 * Número de líneas de cada ventana proyectada, igual que
+	 * <code>AlmacénPerezosoQuiniela1X2.LÍNEAS_POR_VENTANA</code>.
+	 */
+	private static final int LÍNEAS_POR_VENTANA = 1 << 20;
+
+	/** Carpeta temporal para los archivos de prueba. */
+	@TempDir
+	Path carpeta;
+
+	/**
+	 * Método de prueba sobre
+	 * {@link ÍndiceDesplazamientosQuiniela1X2#abrir(Path)}: el índice se crea la
+	 * primera vez, se reutiliza mientras el archivo no cambia y se vuelve a
+	 * crear si cambia su tamaño o su fecha de modificación.
+	 *
+	 * @throws IOException             no esperada
+	 * @throws DatoPartido1X2Exception no esperada
+	 */
+	@Test
+	@DisplayName("Índice vigente y caducado")
+	public void testÍndiceCaducado() throws IOException, DatoPartido1X2Exception {
+		Path archivo = crearArchivo(100, "\n");
+		Path rutaÍndice = Path.of(archivo + ÍndiceDesplazamientosQuiniela1X2.EXTENSIÓN);
+		FileTime creación;
+
+		assertEquals(100, ÍndiceDesplazamientosQuiniela1X2.abrir(archivo).getNúmLíneas(), "Índice creado");
+		creación = FileTime.fromMillis(0);
+		Files.setLastModifiedTime(rutaÍndice, creación);
+		assertEquals(100, ÍndiceDesplazamientosQuiniela1X2.abrir(archivo).getNúmLíneas(), "Índice reutilizado");
+		assertEquals(creación, Files.getLastModifiedTime(rutaÍndice), "Índice sin reescribir");
+
+		Files.writeString(archivo, líneaPartido(100) + "\n", StandardOpenOption.APPEND);
+		assertEquals(101, new AlmacénPerezosoQuiniela1X2(archivo.toString()).size(), "Tamaño cambiado");
+
+		// Mismo tamaño, otro contenido y otra fecha
+		Files.writeString(archivo, Files.readString(archivo).replace("#1\n", "#X\n"));
+		Files.setLastModifiedTime(archivo,
+				FileTime.fromMillis(Files.getLastModifiedTime(archivo).toMillis() + 10_000));
+		assertEquals(líneaPartido(0).replace("#1", "#X"),
+				new AlmacénPerezosoQuiniela1X2(archivo.toString()).get(0).toStringCSV(), "Fecha cambiada");
+	}
+
+	/**
+	 * Método de prueba sobre
+	 * {@link AlmacénPerezosoQuiniela1X2#AlmacénPerezosoQuiniela1X2(String)}: al
+	 * crear el índice, una línea errónea se notifica con su número de línea y no
+	 * queda ningún índice, ni definitivo ni temporal.
+	 *
+	 * @throws IOException no esperada
+	 */
+	@Test
+	@DisplayName("Línea errónea al indexar")
+	public void testLíneaErrónea() throws IOException {
+		Path archivo = carpeta.resolve("quiniela.txt");
+		DatoPartido1X2Exception ex;
+
+		Files.writeString(archivo, líneaPartido(0) + "\n" + líneaPartido(1) + "\nLOC#VISITANTE 2#1\n"
+				+ líneaPartido(3) + "\n");
+		ex = assertThrows(DatoPartido1X2Exception.class, () -> new AlmacénPerezosoQuiniela1X2(archivo.toString()),
+				"Línea errónea");
+		assertEquals("Línea 3: " + ErrorDatoPartido1X2.NOMBRE_CORTO.getMensaje(), ex.getMessage(), "Mensaje");
+		try (Stream<Path> contenido = Files.list(carpeta)) {
+			assertEquals(1, contenido.count(), "Sin índice");
+		}
+	}
+
+	/**
+	 * Método de prueba sobre {@link AlmacénPerezosoQuiniela1X2#get(int)}: con
+	 * finales de línea CRLF, y la última línea sin terminar, los partidos se
+	 * leen sin el retorno de carro.
+	 *
+	 * @throws IOException             no esperada
+	 * @throws DatoPartido1X2Exception no esperada
+	 */
+	@Test
+	@DisplayName("Finales de línea CRLF")
+	public void testCRLF() throws IOException, DatoPartido1X2Exception {
+		Path archivo = crearArchivo(50, "\r\n");
+		AlmacénPerezosoQuiniela1X2 almacén;
+
+		Files.writeString(archivo, líneaPartido(50), StandardOpenOption.APPEND);
+		almacén = new AlmacénPerezosoQuiniela1X2(archivo.toString());
+		assertEquals(51, almacén.size(), "Número de partidos");
+		for (int pos = 0; pos < almacén.size(); pos++) {
+			assertEquals(líneaPartido(pos), almacén.get(pos).toStringCSV(), "Partido " + pos);
+		}
+	}
+
+	/**
+	 * Método de prueba sobre {@link AlmacénPerezosoQuiniela1X2#get(int)}: con más
+	 * de {@value #LÍNEAS_POR_VENTANA} líneas, los partidos a ambos lados del
+	 * límite de la primera ventana, y el último, se leen correctamente, en
+	 * cualquier orden.
+	 *
+	 * @throws IOException             no esperada
+	 * @throws DatoPartido1X2Exception no esperada
+	 */
+	@Test
+	@DisplayName("Límite entre ventanas")
+	public void testLímiteVentanas() throws IOException, DatoPartido1X2Exception {
+		int total = LÍNEAS_POR_VENTANA + 10;
+		Path archivo = crearArchivo(total, "\n");
+		AlmacénPerezosoQuiniela1X2 almacén;
+
+		almacén = new AlmacénPerezosoQuiniela1X2(archivo.toString());
+		assertEquals(total, almacén.size(), "Número de partidos");
+		for (int pos : new int[] { total - 1, LÍNEAS_POR_VENTANA, LÍNEAS_POR_VENTANA - 1, 0,
+				LÍNEAS_POR_VENTANA + 1 }) {
+			assertEquals(líneaPartido(pos), almacén.get(pos).toStringCSV(), "Partido " + pos);
+		}
+		assertSame(almacén.get(LÍNEAS_POR_VENTANA), almacén.get(LÍNEAS_POR_VENTANA), "Mismo objeto");
+	}
+
+	/**
+	 * Método de prueba sobre {@link AlmacénPerezosoQuiniela1X2#compactar(BitSet)}:
+	 * tras compactar, el almacén ya no lee el archivo, de modo que los partidos
+	 * restantes –también los no consultados antes– siguen intactos aunque el
+	 * archivo cambie.
+	 *
+	 * @throws IOException             no esperada
+	 * @throws DatoPartido1X2Exception no esperada
+	 */
+	@Test
+	@DisplayName("Compactación")
+	public void testCompactación() throws IOException, DatoPartido1X2Exception {
+		Path archivo = crearArchivo(100, "\n");
+		AlmacénPerezosoQuiniela1X2 almacén;
+		BitSet borrados = new BitSet();
+
+		almacén = new AlmacénPerezosoQuiniela1X2(archivo.toString());
+		almacén.agregar(crearPartido(100));
+		borrados.set(0, 50);
+		almacén.compactar(borrados);
+		estropear(archivo);
+
+		assertEquals(51, almacén.size(), "Número de partidos");
+		for (int pos = 0; pos < almacén.size(); pos++) {
+			assertEquals(líneaPartido(50 + pos), almacén.get(pos).toStringCSV(), "Partido " + pos);
+		}
+		assertEquals(50, almacén.posiciónDe(almacén.get(50), 0), "Partido añadido");
+	}
+
+	/**
+	 * Método de prueba sobre {@link AlmacénPerezosoQuiniela1X2#get(int)}: si el
+	 * archivo cambia después de indexarlo, un partido aún no analizado produce
+	 * {@link IllegalStateException}, mientras que los ya analizados se
+	 * conservan.
+	 *
+	 * @throws IOException             no esperada
+	 * @throws DatoPartido1X2Exception no esperada
+	 */
+	@Test
+	@DisplayName("Archivo cambiado tras indexar")
+	public void testArchivoCambiado() throws IOException, DatoPartido1X2Exception {
+		Path archivo = crearArchivo(100, "\n");
+		AlmacénPerezosoQuiniela1X2 almacén;
+		IllegalStateException ex;
+
+		almacén = new AlmacénPerezosoQuiniela1X2(archivo.toString());
+		assertEquals(líneaPartido(0), almacén.get(0).toStringCSV(), "Partido leído antes");
+		estropear(archivo);
+
+		ex = assertThrows(IllegalStateException.class, () -> almacén.get(1), "Partido leído después");
+		assertTrue(ex.getMessage().contains("línea 2"), "Número de línea: " + ex.getMessage());
+		assertEquals(líneaPartido(0), almacén.get(0).toStringCSV(), "Partido ya analizado");
+		assertFalse(Files.readString(archivo).contains("#"), "Archivo estropeado");
+	}
+
+	/**
+	 * Escribe un archivo de partidos de prueba.
+	 *
+	 * @param cantidad el número de partidos
+	 * @param finLínea el final de cada línea
+	 * @return la ruta al archivo
+	 * @throws IOException si se produce algún error de escritura
+	 */
+	private Path crearArchivo(int cantidad, String finLínea) throws IOException {
+		Path archivo = carpeta.resolve("quiniela.txt");
+
+		try (BufferedWriter salida = Files.newBufferedWriter(archivo, StandardCharsets.UTF_8)) {
+			for (int i = 0; i < cantidad; i++) {
+				salida.write(líneaPartido(i));
+				salida.write(finLínea);
+			}
+		}
+		return archivo;
+	}
+
+	/**
+	 * Sustituye en el propio archivo, sin cambiar su tamaño, los separadores de
+	 * campo por espacios, de modo que ninguna línea es válida. No se trunca el
+	 * archivo, que puede estar proyectado en memoria.
+	 *
+	 * @param archivo la ruta al archivo
+	 * @throws IOException si se produce algún error de acceso
+	 */
+	private static void estropear(Path archivo) throws IOException {
+		byte[] contenido = Files.readAllBytes(archivo);
+
+		for (int i = 0; i < contenido.length; i++) {
+			if (contenido[i] == '#') {
+				contenido[i] = ' ';
+			}
+		}
+		try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.WRITE)) {
+			canal.write(ByteBuffer.wrap(contenido), 0);
+		}
+	}
+
+	/**
+	 * Compone la línea pseudo-CSV de un partido de prueba; todas son distintas y
+	 * ocupan lo mismo.
+	 *
+	 * @param número el número del partido
+	 * @return la línea
+	 */
+	private static String líneaPartido(int número) {
+		return String.format("L%07d#V%07d#%c", número, número, "1X2".charAt(número % 3));
+	}
+
+	/**
+	 * Crea un partido de prueba (ver {@link #líneaPartido(int)}).
+	 *
+	 * @param número el número del partido
+	 * @return el partido
+	 */
+	private static ElementoPartido1X2 crearPartido(int número) {
+		try {
+			return ElementoPartido1X2.of(líneaPartido(número));
+		} catch (DatoPartido1X2Exception ex) { // No debe ocurrir
+			throw new IllegalStateException(ex);
+		}
+	}
+}
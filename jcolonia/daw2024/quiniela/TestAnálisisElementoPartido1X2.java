@@ -0,0 +1,163 @@
+package jcolonia.daw2024.quiniela;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Modelo: Pruebas sobre el análisis sin excepciones de {@link ElementoPartido1X2}
+ * –<code>analizar</code> y <code>validarLínea</code>, sobre texto y sobre bytes
+ * UTF-8–, que debe coincidir caso por caso con la construcción mediante
+ * {@link ElementoPartido1X2#of(String)} y sus variantes.
+ *
+ * @version 1.0 (20261018000)
+ * @author Rodrigo Martínez Delgado &lt;rodrigo.mardel.daw@gmail.com&gt;
+ */
+class TestAnálisisElementoPartido1X2 {
+	/** Una línea errónea de ejemplo para cada {@link ErrorDatoPartido1X2}. */
+	private static final Map<ErrorDatoPartido1X2, String> CASOS = new EnumMap<>(ErrorDatoPartido1X2.class);
+
+	static {
+		CASOS.put(ErrorDatoPartido1X2.DATO_VACÍO, "#EQUIPO B#1");
+		CASOS.put(ErrorDatoPartido1X2.NOMBRE_CORTO, "EQUIPO A#ÉQUI#X");
+		CASOS.put(ErrorDatoPartido1X2.NOMBRE_LARGO, "ATLÉTICO DE MADRID SAD#EQUIPO B#2");
+		CASOS.put(ErrorDatoPartido1X2.EQUIPO_REPETIDO, "Cádiz CF#CÁDIZ cf#1");
+		CASOS.put(ErrorDatoPartido1X2.RESULTADO_NO_VÁLIDO, "EQUIPO A#EQUIPO B#3");
+		CASOS.put(ErrorDatoPartido1X2.LÍNEA_MAL_FORMADA, "EQUIPO A#EQUIPO B");
+	}
+
+	/**
+	 * Método de prueba sobre {@link ElementoPartido1X2#analizar(CharSequence, int,
+	 * int, ElementoPartido1X2)}: para cada motivo de error, el análisis sobre
+	 * texto devuelve el mismo motivo por el que {@link ElementoPartido1X2#of(String)}
+	 * lanza su excepción, con el mismo tipo y mensaje, y deja intacto el partido
+	 * de destino.
+	 */
+	@Test
+	@DisplayName("Análisis de texto frente a of(String)")
+	public void testAnalizarTexto() {
+		ElementoPartido1X2 destino;
+		DatoPartido1X2Exception ex;
+
+		assertEquals(Set.of(ErrorDatoPartido1X2.values()), CASOS.keySet(), "Todos los motivos tienen ejemplo");
+		for (Map.Entry<ErrorDatoPartido1X2, String> caso : CASOS.entrySet()) {
+			String línea = caso.getValue();
+
+			destino = new ElementoPartido1X2();
+			assertEquals(caso.getKey(), ElementoPartido1X2.analizar(línea, 0, línea.length(), destino), línea);
+			assertFalse(destino.estáCerrada(), "Destino intacto: " + línea);
+			assertEquals(caso.getKey(), ElementoPartido1X2.validarLínea(línea, 0, línea.length()), línea);
+
+			ex = assertThrows(DatoPartido1X2Exception.class, () -> ElementoPartido1X2.of(línea), línea);
+			assertEquals(caso.getKey().getMensaje(), ex.getMessage(), "Mensaje: " + línea);
+			assertEquals(caso.getKey().crearExcepción().getClass(), ex.getClass(), "Tipo: " + línea);
+		}
+	}
+
+	/**
+	 * Método de prueba sobre {@link ElementoPartido1X2#analizar(ByteBuffer, int,
+	 * int, ElementoPartido1X2)}: para cada motivo de error, el análisis sobre
+	 * bytes UTF-8 –con nombres acentuados, que ocupan más bytes que caracteres–
+	 * coincide con el análisis sobre texto y con
+	 * {@link ElementoPartido1X2#of(ByteBuffer, int, int)}. La línea se sitúa en
+	 * mitad del búfer.
+	 */
+	@Test
+	@DisplayName("Análisis de bytes frente a of(ByteBuffer)")
+	public void testAnalizarBytes() {
+		ElementoPartido1X2 destino;
+		DatoPartido1X2Exception ex;
+
+		for (Map.Entry<ErrorDatoPartido1X2, String> caso : CASOS.entrySet()) {
+			String línea = caso.getValue();
+			ByteBuffer bytes;
+			int fin;
+
+			bytes = ByteBuffer
+					.wrap(("OTRO A#OTRO B#1\n" + línea + "\nOTRO C#OTRO D#X").getBytes(StandardCharsets.UTF_8));
+			fin = 16 + línea.getBytes(StandardCharsets.UTF_8).length;
+
+			destino = new ElementoPartido1X2();
+			assertEquals(caso.getKey(), ElementoPartido1X2.analizar(bytes, 16, fin, destino), línea);
+			assertFalse(destino.estáCerrada(), "Destino intacto: " + línea);
+			assertEquals(caso.getKey(), ElementoPartido1X2.validarLínea(bytes, 16, fin), línea);
+
+			ex = assertThrows(DatoPartido1X2Exception.class, () -> ElementoPartido1X2.of(bytes, 16, fin), línea);
+			assertEquals(caso.getKey().getMensaje(), ex.getMessage(), "Mensaje: " + línea);
+			assertEquals(caso.getKey().crearExcepción().getClass(), ex.getClass(), "Tipo: " + línea);
+		}
+	}
+
+	/**
+	 * Método de prueba sobre
+	 * {@link ElementoPartido1X2#of(String, String, String)}: los motivos que se
+	 * refieren a un campo dan el mismo mensaje al cargar los datos por separado
+	 * que al analizar la línea completa, y lo mismo ocurre con
+	 * {@link ElementoPartido1X2#validarNombre(String)} y
+	 * {@link ElementoPartido1X2#validarResultado(String)}.
+	 */
+	@Test
+	@DisplayName("Análisis de línea frente a of(String, String, String)")
+	public void testAnalizarCampos() {
+		DatoPartido1X2Exception ex;
+
+		for (Map.Entry<ErrorDatoPartido1X2, String> caso : CASOS.entrySet()) {
+			if (caso.getKey() != ErrorDatoPartido1X2.LÍNEA_MAL_FORMADA) {
+				String[] campos = caso.getValue().split("#", -1);
+
+				ex = assertThrows(DatoPartido1X2Exception.class,
+						() -> ElementoPartido1X2.of(campos[0], campos[1], campos[2]), caso.getValue());
+				assertEquals(caso.getKey().getMensaje(), ex.getMessage(), "Mensaje: " + caso.getValue());
+			}
+		}
+
+		assertEquals(ErrorDatoPartido1X2.DATO_VACÍO, ElementoPartido1X2.validarNombre(""), "Nombre vacío");
+		assertEquals(ErrorDatoPartido1X2.NOMBRE_CORTO, ElementoPartido1X2.validarNombre("ÉQUI"), "Nombre corto");
+		assertEquals(ErrorDatoPartido1X2.NOMBRE_LARGO, ElementoPartido1X2.validarNombre("ATLÉTICO DE MADRID SAD"),
+				"Nombre largo");
+		assertNull(ElementoPartido1X2.validarNombre("ÁÁÁÁÁÁÁÁÁÁÁÁÁÁÁÁÁÁÁÁ"), "Nombre de 20 caracteres");
+		assertEquals(ErrorDatoPartido1X2.DATO_VACÍO, ElementoPartido1X2.validarResultado(""), "Resultado vacío");
+		assertEquals(ErrorDatoPartido1X2.RESULTADO_NO_VÁLIDO, ElementoPartido1X2.validarResultado("3"),
+				"Resultado no válido");
+		assertNull(ElementoPartido1X2.validarResultado("X"), "Resultado X");
+	}
+
+	/**
+	 * Método de prueba sobre {@link ElementoPartido1X2#analizar(ByteBuffer, int,
+	 * int, ElementoPartido1X2)}: una línea válida con nombres acentuados en el
+	 * límite de longitud completa el partido de destino igual que
+	 * {@link ElementoPartido1X2#of(String)}.
+	 *
+	 * @throws DatoPartido1X2Exception no esperada
+	 */
+	@Test
+	@DisplayName("Análisis de una línea válida")
+	public void testAnalizarVálida() throws DatoPartido1X2Exception {
+		String línea = "ÁÁÁÁÁÁÁÁÁÁÁÁÁÁÁÁÁÁÁÁ#Cádiz CF#x";
+		byte[] bytes = línea.getBytes(StandardCharsets.UTF_8);
+		ElementoPartido1X2 esperado, destino;
+
+		esperado = ElementoPartido1X2.of(línea);
+
+		destino = new ElementoPartido1X2();
+		assertNull(ElementoPartido1X2.analizar(línea, 0, línea.length(), destino), "Texto");
+		assertTrue(destino.estáCerrada(), "Destino completo (texto)");
+		assertEquals(esperado.toStringCSV(), destino.toStringCSV(), "Datos (texto)");
+
+		destino = new ElementoPartido1X2();
+		assertNull(ElementoPartido1X2.analizar(ByteBuffer.wrap(bytes), 0, bytes.length, destino), "Bytes");
+		assertTrue(destino.estáCerrada(), "Destino completo (bytes)");
+		assertEquals(esperado.toStringCSV(), destino.toStringCSV(), "Datos (bytes)");
+	}
+}
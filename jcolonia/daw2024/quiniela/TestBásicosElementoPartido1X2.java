@@ -350,4 +350,64 @@ class TestBásicosElementoPartido1X2 {
 		assertNotNull(descripciónExcepción, "Texto excepción nulo");
 		assertNotEquals(0, descripciónExcepción.length(), "Texto excepción vacío");
 	}
+
+	/**
+	 * Método de prueba sobre {@link ElementoPartido1X2#of(String)}: crea partidos
+	 * a partir de líneas pseudo-CSV correctas, con y sin campos extra al final, y
+	 * comprueba que los equipos –en mayúsculas– y el resultado son correctos.
+	 * 
+	 * @throws DatoPartido1X2Exception no esperada
+	 */
+	@Test
+	@DisplayName("Factoría desde línea CSV")
+	public void testFactoríaLíneaCSV() throws DatoPartido1X2Exception {
+		ElementoPartido1X2 partido;
+
+		partido = ElementoPartido1X2.of("Equipo a#EQUIPO B#x");
+		assertEquals("EQUIPO A", partido.getEquipoLocal(), "Equipo local");
+		assertEquals("EQUIPO B", partido.getEquipoVisitante(), "Equipo visitante");
+		assertEquals(Resultado1X2.EmpateX, partido.getResultado(), "Resultado X");
+
+		partido = ElementoPartido1X2.of("EQUIPO A#EQUIPO B#2#extra#");
+		assertEquals(Resultado1X2.Visitante2, partido.getResultado(), "Resultado 2 con campos extra");
+	}
+
+	/**
+	 * Método de prueba sobre {@link ElementoPartido1X2#of(CharSequence, int, int)}:
+	 * analiza una línea situada dentro de un texto mayor sin tener en cuenta lo
+	 * que haya fuera del tramo indicado.
+	 * 
+	 * @throws DatoPartido1X2Exception no esperada
+	 */
+	@Test
+	@DisplayName("Factoría desde tramo de texto")
+	public void testFactoríaTramo() throws DatoPartido1X2Exception {
+		ElementoPartido1X2 partido;
+		StringBuilder texto = new StringBuilder("xx#EQUIPO A#EQUIPO B#1\nresto");
+
+		partido = ElementoPartido1X2.of(texto, 3, texto.indexOf("\n"));
+		assertEquals("EQUIPO A#EQUIPO B#1", partido.toStringCSV(), "Línea CSV");
+	}
+
+	/**
+	 * Método de prueba sobre {@link ElementoPartido1X2#of(String)}: las líneas
+	 * con menos de tres campos –sin contar los campos vacíos del final– producen
+	 * una excepción {@link DatoPartido1X2Exception}; los campos vacíos intermedios
+	 * o los nombres repetidos también.
+	 */
+	@Test
+	@DisplayName("Excepción por línea CSV no válida")
+	public void testFactoríaLíneaCSVNoVálida() {
+		assertThrows(DatoPartido1X2Exception.class, () -> ElementoPartido1X2.of(""), "Línea vacía");
+		assertThrows(DatoPartido1X2Exception.class, () -> ElementoPartido1X2.of("EQUIPO A#EQUIPO B"),
+				"Faltan campos");
+		assertThrows(DatoPartido1X2Exception.class, () -> ElementoPartido1X2.of("EQUIPO A#EQUIPO B##"),
+				"Resultado vacío al final");
+		assertThrows(DatoPartido1X2Exception.class, () -> ElementoPartido1X2.of("EQUIPO A##1"),
+				"Visitante vacío");
+		assertThrows(DatoPartido1X2Exception.class, () -> ElementoPartido1X2.of("EQUIPO A#equipo a#1"),
+				"Equipo repetido");
+		assertThrows(DatoPartido1X2Exception.class, () -> ElementoPartido1X2.of("EQUIPO A#EQUIPO B#12"),
+				"Resultado largo");
+	}
 }
@@ -0,0 +1,252 @@
+package jcolonia.daw2024.quiniela;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Acceso a datos: Pruebas sobre {@link CompresiónQuiniela1X2}: viaje completo
+ * de exportación e importación comprimidas, reconocimiento de los archivos
+ * comprimidos por su contenido y no por su nombre, y errores de compresión y
+ * descompresión, que deben notificarse sin dejar esperando a ninguno de los
+ * hilos. La colección de prueba ocupa varios bloques de compresión.
+ *
+ * @version 1.0 (20261018000)
+ * @author Rodrigo Martínez Delgado &lt;rodrigo.mardel.daw@gmail.com&gt;
+ */
+class TestCompresiónQuiniela1X2 {
+	/** Número de partidos de la colección de prueba. */
+	private static final int NÚM_PARTIDOS = 20_000;
+
+	/** Tiempo máximo de espera por cada hilo, en milisegundos. */
+	private static final long ESPERA_MÁXIMA = 10_000;
+
+	/** Carpeta temporal para los archivos de prueba. */
+	@TempDir
+	Path carpeta;
+
+	/**
+	 * Método de prueba sobre
+	 * {@link ExportadorQuiniela1X2#ExportadorQuiniela1X2(String, boolean)} e
+	 * {@link ImportadorQuiniela1X2#importar()}: la colección exportada con
+	 * compresión ocupa menos que sin ella y se recupera igual, también a través
+	 * de {@link ControladorQuiniela1X2#leerArchivo(String, InformeImportaciónQuiniela1X2)}.
+	 *
+	 * @throws IOException             no esperada
+	 * @throws DatoPartido1X2Exception no esperada
+	 */
+	@Test
+	@DisplayName("Exportación e importación comprimidas")
+	public void testViajeCompleto() throws IOException, DatoPartido1X2Exception {
+		ConjuntoQuiniela1X2 conjunto = crearConjunto();
+		Path comprimido = carpeta.resolve("quiniela.txt.gz");
+		Path texto = carpeta.resolve("quiniela.txt");
+		List<String> original = conjunto.generarListadoCSV();
+
+		assertEquals(NÚM_PARTIDOS, new ExportadorQuiniela1X2(comprimido.toString(), true).exportar(conjunto),
+				"Partidos exportados");
+		new ExportadorQuiniela1X2(texto.toString()).exportar(conjunto);
+		assertTrue(Files.size(comprimido) < Files.size(texto) / 4, "Tamaño comprimido");
+
+		assertEquals(original, new ImportadorQuiniela1X2(comprimido.toString()).importar().generarListadoCSV(),
+				"Importación");
+		assertEquals(original, ControladorQuiniela1X2.leerArchivo(comprimido.toString(), null).generarListadoCSV(),
+				"Lectura desde el controlador");
+		esperarHilos();
+	}
+
+	/**
+	 * Método de prueba sobre {@link CompresiónQuiniela1X2#estáComprimido(String)}:
+	 * la compresión se reconoce por los primeros bytes, sea cual sea el nombre,
+	 * y un archivo vacío o de un solo byte no se toma por comprimido.
+	 *
+	 * @throws IOException             no esperada
+	 * @throws DatoPartido1X2Exception no esperada
+	 */
+	@Test
+	@DisplayName("Reconocimiento por contenido")
+	public void testReconocimiento() throws IOException, DatoPartido1X2Exception {
+		ConjuntoQuiniela1X2 conjunto = crearConjunto();
+		Path comprimido = carpeta.resolve("datos.txt");
+		Path texto = carpeta.resolve("datos.gz");
+		Path vacío = carpeta.resolve("vacío.gz");
+
+		new ExportadorQuiniela1X2(comprimido.toString(), true).exportar(conjunto);
+		new ExportadorQuiniela1X2(texto.toString()).exportar(conjunto);
+		Files.write(vacío, new byte[] { (byte) 0x1f });
+
+		assertTrue(CompresiónQuiniela1X2.estáComprimido(comprimido.toString()), "Comprimido con nombre de texto");
+		assertFalse(CompresiónQuiniela1X2.estáComprimido(texto.toString()), "Texto con nombre de comprimido");
+		assertFalse(CompresiónQuiniela1X2.estáComprimido(vacío.toString()), "Un solo byte");
+		assertEquals(conjunto.generarListadoCSV(),
+				new ImportadorQuiniela1X2(comprimido.toString()).importar().generarListadoCSV(), "Comprimido");
+		assertEquals(conjunto.generarListadoCSV(),
+				new ImportadorQuiniela1X2(texto.toString()).importar().generarListadoCSV(), "Texto");
+		esperarHilos();
+	}
+
+	/**
+	 * Método de prueba sobre {@link ImportadorQuiniela1X2#importar()}: un archivo
+	 * comprimido truncado o con datos alterados produce
+	 * {@link DatoPartido1X2Exception}, también en la importación tolerante, y el
+	 * hilo descompresor termina.
+	 *
+	 * @throws IOException             no esperada
+	 * @throws DatoPartido1X2Exception no esperada
+	 */
+	@Test
+	@DisplayName("Archivo comprimido dañado")
+	public void testArchivoDañado() throws IOException, DatoPartido1X2Exception {
+		Path comprimido = carpeta.resolve("quiniela.txt.gz");
+		Path truncado = carpeta.resolve("truncado.txt");
+		Path alterado = carpeta.resolve("alterado.txt");
+		byte[] bytes;
+
+		new ExportadorQuiniela1X2(comprimido.toString(), true).exportar(crearConjunto());
+		bytes = Files.readAllBytes(comprimido);
+		Files.write(truncado, Arrays.copyOf(bytes, bytes.length / 2));
+		for (int i = bytes.length / 3; i < bytes.length / 3 + 64; i++) {
+			bytes[i] ^= 0x5a;
+		}
+		Files.write(alterado, bytes);
+
+		for (Path archivo : List.of(truncado, alterado)) {
+			assertThrows(DatoPartido1X2Exception.class, () -> new ImportadorQuiniela1X2(archivo.toString()).importar(),
+					"Importación estricta: " + archivo.getFileName());
+			assertThrows(DatoPartido1X2Exception.class,
+					() -> new ImportadorQuiniela1X2(archivo.toString()).importar(new InformeImportaciónQuiniela1X2()),
+					"Importación tolerante: " + archivo.getFileName());
+		}
+		esperarHilos();
+	}
+
+	/**
+	 * Método de prueba sobre {@link ImportadorQuiniela1X2#importar()}: si la
+	 * lectura estricta se detiene en una de las primeras líneas de un archivo
+	 * comprimido grande, con el hilo descompresor aún por delante y esperando a
+	 * entregar bloques, este termina al cerrar el canal.
+	 *
+	 * @throws IOException no esperada
+	 */
+	@Test
+	@DisplayName("Lectura interrumpida")
+	public void testLecturaInterrumpida() throws IOException {
+		Path comprimido = carpeta.resolve("quiniela.txt");
+		DatoPartido1X2Exception ex;
+
+		try (BufferedWriter salida = new BufferedWriter(new OutputStreamWriter(
+				new GZIPOutputStream(Files.newOutputStream(comprimido)), StandardCharsets.UTF_8))) {
+			salida.write("EQUIPO A#EQUIPO B#1\nEQUIPO A#EQUIPO B#3\n");
+			for (int i = 0; i < 5 * NÚM_PARTIDOS; i++) {
+				salida.write(String.format("LOCAL %d#VISITANTE %d#1%n", i, i));
+			}
+		}
+
+		ex = assertThrows(DatoPartido1X2Exception.class,
+				() -> new ImportadorQuiniela1X2(comprimido.toString()).importar(), "Línea errónea");
+		assertEquals("Línea 2: " + ErrorDatoPartido1X2.RESULTADO_NO_VÁLIDO.getMensaje(), ex.getMessage(),
+				"Número de línea");
+		esperarHilos();
+	}
+
+	/**
+	 * Método de prueba sobre {@link CompresiónQuiniela1X2#abrirEscritura(WritableByteChannel)}:
+	 * si el canal de destino falla, quien escribe recibe el error en una
+	 * escritura posterior o al cerrar, sin quedar esperando, y el hilo compresor
+	 * termina al cerrar el canal.
+	 *
+	 * @throws IOException no esperada
+	 */
+	@Test
+	@DisplayName("Fallo de escritura comprimida")
+	public void testFalloEscritura() throws IOException {
+		WritableByteChannel salida;
+		IOException ex;
+
+		salida = CompresiónQuiniela1X2.abrirEscritura(new WritableByteChannel() {
+			@Override
+			public int write(ByteBuffer origen) throws IOException {
+				throw new IOException("Disco lleno");
+			}
+
+			@Override
+			public boolean isOpen() {
+				return true;
+			}
+
+			@Override
+			public void close() {
+				// Nada que cerrar
+			}
+		});
+		ex = assertThrows(IOException.class, () -> {
+			byte[] datos = new byte[1024 * 1024];
+			new Random(0).nextBytes(datos); // Incompresibles: llegan pronto al destino
+			try { // Como en ExportadorQuiniela1X2: se cierra siempre
+				for (int i = 0; i < 64; i++) {
+					salida.write(ByteBuffer.wrap(datos));
+				}
+			} finally {
+				salida.close();
+			}
+		}, "Error de escritura");
+		assertEquals("Disco lleno", ex.getMessage(), "Error original");
+		esperarHilos();
+	}
+
+	/**
+	 * Crea una colección con {@value #NÚM_PARTIDOS} partidos distintos.
+	 *
+	 * @return la colección
+	 */
+	private static ConjuntoQuiniela1X2 crearConjunto() {
+		ConjuntoQuiniela1X2 conjunto = new ConjuntoQuiniela1X2();
+
+		for (int i = 0; i < NÚM_PARTIDOS; i++) {
+			try {
+				conjunto.agregarElemento(ElementoPartido1X2.of(String.format("LOCAL %d", i),
+						String.format("VISITANTE %d", i), "1X2".substring(i % 3, i % 3 + 1)));
+			} catch (DatoPartido1X2Exception ex) { // No debe ocurrir
+				throw new IllegalStateException(ex);
+			}
+		}
+		return conjunto;
+	}
+
+	/**
+	 * Espera a que terminen todos los hilos de compresión y descompresión, y
+	 * comprueba que ninguno sigue vivo.
+	 *
+	 * @throws IllegalStateException si se interrumpe la espera
+	 */
+	private static void esperarHilos() {
+		for (Thread hilo : Thread.getAllStackTraces().keySet()) {
+			if (hilo.getName().equals("Compresión") || hilo.getName().equals("Descompresión")) {
+				try {
+					hilo.join(ESPERA_MÁXIMA);
+				} catch (InterruptedException ex) {
+					throw new IllegalStateException(ex);
+				}
+				assertFalse(hilo.isAlive(), "Hilo terminado: " + hilo.getName());
+			}
+		}
+	}
+}
@@ -0,0 +1,376 @@
+package jcolonia.daw2024.quiniela;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Acceso a datos: Pruebas de recuperación sobre {@link DiarioQuiniela1X2}. Los
+ * archivos base, diarios y restos de compactaciones interrumpidas se escriben
+ * a mano en una carpeta temporal, tal como quedarían en disco.
+ *
+ * @version 1.0 (20261018000)
+ * @author Rodrigo Martínez Delgado &lt;rodrigo.mardel.daw@gmail.com&gt;
+ */
+class TestDiarioQuiniela1X2 {
+	/** Archivo base anterior a la compactación. */
+	private static final String BASE_ANTERIOR = "EQUIPO A#EQUIPO B#1\nEQUIPO C#EQUIPO D#X\n";
+
+	/** Archivo base ya compactado, con el diario retirado incluido. */
+	private static final String BASE_NUEVA = "EQUIPO A#EQUIPO B#1\nEQUIPO C#EQUIPO D#X\nEQUIPO E#EQUIPO F#2\n";
+
+	/** Diario retirado durante la compactación. */
+	private static final String DIARIO_RETIRADO = "A#EQUIPO E#EQUIPO F#2\n";
+
+	/** Diario posterior a la compactación. */
+	private static final String DIARIO_ACTUAL = "B#0\nA#EQUIPO G#EQUIPO H#X\n";
+
+	/** Carpeta temporal para los archivos de prueba. */
+	@TempDir
+	Path carpeta;
+
+	/**
+	 * Método de prueba sobre {@link DiarioQuiniela1X2#recuperar()}: las altas y
+	 * bajas del diario se aplican en orden sobre el archivo base, y los cambios
+	 * siguientes se añaden al mismo diario.
+	 *
+	 * @throws Exception no esperada
+	 */
+	@Test
+	@DisplayName("Altas y bajas del diario")
+	public void testAplicarDiario() throws Exception {
+		Path base = carpeta.resolve("quiniela.txt");
+		DiarioQuiniela1X2 diario;
+		ConjuntoQuiniela1X2 conjunto;
+
+		escribir(base, BASE_NUEVA);
+		escribir(base, ".diario", DIARIO_ACTUAL);
+
+		diario = new DiarioQuiniela1X2(base.toString());
+		conjunto = diario.recuperar();
+		assertEquals(List.of("EQUIPO C#EQUIPO D#X", "EQUIPO E#EQUIPO F#2", "EQUIPO G#EQUIPO H#X"), contenido(conjunto),
+				"Diario aplicado");
+
+		diario.registrarBaja(1);
+		diario.cerrar();
+		assertEquals(DIARIO_ACTUAL + "B#1\n", leer(base, ".diario"), "Cambio añadido al diario");
+		assertEquals(List.of("EQUIPO C#EQUIPO D#X", "EQUIPO G#EQUIPO H#X"),
+				contenido(new DiarioQuiniela1X2(base.toString()).recuperar()), "Cambio recuperado");
+	}
+
+	/**
+	 * Método de prueba sobre {@link DiarioQuiniela1X2#recuperar()}: una última
+	 * línea sin fin de línea –un cambio a medio escribir– se descarta y se
+	 * recorta del diario.
+	 *
+	 * @throws Exception no esperada
+	 */
+	@Test
+	@DisplayName("Última línea a medio escribir")
+	public void testLíneaIncompleta() throws Exception {
+		Path base = carpeta.resolve("quiniela.txt");
+		DiarioQuiniela1X2 diario;
+
+		escribir(base, BASE_ANTERIOR);
+		escribir(base, ".diario", DIARIO_RETIRADO + "A#EQUIPO G#EQU");
+
+		diario = new DiarioQuiniela1X2(base.toString());
+		assertEquals(List.of("EQUIPO A#EQUIPO B#1", "EQUIPO C#EQUIPO D#X", "EQUIPO E#EQUIPO F#2"),
+				contenido(diario.recuperar()), "Línea incompleta descartada");
+		diario.cerrar();
+		assertEquals(DIARIO_RETIRADO, leer(base, ".diario"), "Línea incompleta recortada");
+	}
+
+	/**
+	 * Método de prueba sobre {@link DiarioQuiniela1X2#recuperar()}: compactación
+	 * interrumpida con el nuevo archivo base escrito pero sin colocar y el
+	 * diario ya retirado. Vale el archivo base anterior con el diario retirado y
+	 * el actual, en ese orden, y todo se reúne en un nuevo archivo base.
+	 *
+	 * @throws Exception no esperada
+	 */
+	@Test
+	@DisplayName("Compactación sin colocar, diario retirado")
+	public void testTemporalYRetirado() throws Exception {
+		Path base = carpeta.resolve("quiniela.txt");
+		DiarioQuiniela1X2 diario;
+		List<String> esperado;
+
+		escribir(base, BASE_ANTERIOR);
+		escribir(base, ".tmp", BASE_NUEVA);
+		escribir(base, ".compactando", DIARIO_RETIRADO);
+		escribir(base, ".diario", DIARIO_ACTUAL);
+		esperado = List.of("EQUIPO C#EQUIPO D#X", "EQUIPO E#EQUIPO F#2", "EQUIPO G#EQUIPO H#X");
+
+		diario = new DiarioQuiniela1X2(base.toString());
+		assertEquals(esperado, contenido(diario.recuperar()), "Diarios aplicados sobre la base anterior");
+		diario.cerrar();
+
+		assertFalse(existe(base, ".tmp"), "Base sin colocar descartada");
+		assertFalse(existe(base, ".compactando"), "Diario retirado reunido");
+		assertEquals("", leer(base, ".diario"), "Diario tras compactar");
+		assertEquals(esperado, contenido(new DiarioQuiniela1X2(base.toString()).recuperar()), "Base compactada");
+	}
+
+	/**
+	 * Método de prueba sobre {@link DiarioQuiniela1X2#recuperar()}: compactación
+	 * interrumpida con el nuevo archivo base escrito pero sin colocar, antes de
+	 * retirar el diario. Vale el archivo base anterior con su diario.
+	 *
+	 * @throws Exception no esperada
+	 */
+	@Test
+	@DisplayName("Compactación sin colocar, diario sin retirar")
+	public void testTemporalSinRetirar() throws Exception {
+		Path base = carpeta.resolve("quiniela.txt");
+		DiarioQuiniela1X2 diario;
+
+		escribir(base, BASE_ANTERIOR);
+		escribir(base, ".tmp", BASE_NUEVA);
+		escribir(base, ".diario", DIARIO_RETIRADO);
+
+		diario = new DiarioQuiniela1X2(base.toString());
+		assertEquals(List.of("EQUIPO A#EQUIPO B#1", "EQUIPO C#EQUIPO D#X", "EQUIPO E#EQUIPO F#2"),
+				contenido(diario.recuperar()), "Diario aplicado sobre la base anterior");
+		diario.cerrar();
+
+		assertFalse(existe(base, ".tmp"), "Base sin colocar descartada");
+		assertEquals(BASE_ANTERIOR, leer(base, ""), "Base anterior intacta");
+		assertEquals(DIARIO_RETIRADO, leer(base, ".diario"), "Diario intacto");
+	}
+
+	/**
+	 * Método de prueba sobre {@link DiarioQuiniela1X2#recuperar()}: compactación
+	 * interrumpida con el nuevo archivo base ya colocado. El diario retirado ya
+	 * está incluido en él, así que se descarta sin aplicarlo.
+	 *
+	 * @throws Exception no esperada
+	 */
+	@Test
+	@DisplayName("Compactación colocada, diario retirado pendiente de borrar")
+	public void testRetiradoSinTemporal() throws Exception {
+		Path base = carpeta.resolve("quiniela.txt");
+		DiarioQuiniela1X2 diario;
+
+		escribir(base, BASE_NUEVA);
+		escribir(base, ".compactando", DIARIO_RETIRADO);
+		escribir(base, ".diario", DIARIO_ACTUAL);
+
+		diario = new DiarioQuiniela1X2(base.toString());
+		assertEquals(List.of("EQUIPO C#EQUIPO D#X", "EQUIPO E#EQUIPO F#2", "EQUIPO G#EQUIPO H#X"),
+				contenido(diario.recuperar()), "Diario retirado sin aplicar");
+		diario.cerrar();
+
+		assertFalse(existe(base, ".compactando"), "Diario retirado descartado");
+		assertEquals(BASE_NUEVA, leer(base, ""), "Base nueva intacta");
+		assertEquals(DIARIO_ACTUAL, leer(base, ".diario"), "Diario intacto");
+	}
+
+	/**
+	 * Método de prueba sobre {@link DiarioQuiniela1X2#recuperar()}: una baja
+	 * fuera de rango o un cambio desconocido se rechazan indicando la línea del
+	 * diario.
+	 *
+	 * @throws IOException no esperada
+	 */
+	@Test
+	@DisplayName("Diario dañado")
+	public void testDiarioDañado() throws IOException {
+		Path base = carpeta.resolve("quiniela.txt");
+		DatoPartido1X2Exception ex;
+
+		escribir(base, BASE_ANTERIOR);
+		escribir(base, ".diario", "B#1\nB#1\n");
+		ex = assertThrows(DatoPartido1X2Exception.class, () -> new DiarioQuiniela1X2(base.toString()).recuperar(),
+				"Baja fuera de rango");
+		assertEquals("Diario, línea 2: Baja no válida", ex.getLocalizedMessage(), "Descripción");
+
+		escribir(base, ".diario", DIARIO_RETIRADO + "C#0\n");
+		ex = assertThrows(DatoPartido1X2Exception.class, () -> new DiarioQuiniela1X2(base.toString()).recuperar(),
+				"Cambio desconocido");
+		assertEquals("Diario, línea 2: Cambio desconocido", ex.getLocalizedMessage(), "Descripción");
+	}
+
+	/**
+	 * Método de prueba sobre {@link DiarioQuiniela1X2#compactar(ConjuntoQuiniela1X2)}:
+	 * si la compactación con una colección nueva falla al exportarla –aquí por un
+	 * partido incompleto–, el archivo base y el diario anteriores siguen valiendo,
+	 * sin restos del archivo temporal, y una baja anotada después se recupera
+	 * sobre la colección anterior.
+	 *
+	 * @throws Exception no esperada
+	 */
+	@Test
+	@DisplayName("Compactación fallida y baja posterior")
+	public void testCompactaciónFallida() throws Exception {
+		Path base = carpeta.resolve("quiniela.txt");
+		DiarioQuiniela1X2 diario;
+		ConjuntoQuiniela1X2 nuevaLista;
+
+		escribir(base, BASE_ANTERIOR);
+		escribir(base, ".diario", DIARIO_RETIRADO);
+
+		diario = new DiarioQuiniela1X2(base.toString());
+		diario.recuperar();
+		nuevaLista = new ConjuntoQuiniela1X2();
+		nuevaLista.agregarElemento(ElementoPartido1X2.of("EQUIPO X#EQUIPO Y#1"));
+		nuevaLista.agregarElemento(new ElementoPartido1X2()); // Incompleto
+		assertThrows(Partido1X2Exception.class, () -> diario.compactar(nuevaLista), "Compactación fallida");
+
+		assertEquals(BASE_ANTERIOR, leer(base, ""), "Base anterior intacta");
+		assertEquals(DIARIO_RETIRADO, leer(base, ".diario"), "Diario intacto");
+		try (Stream<Path> archivos = Files.list(carpeta)) {
+			assertEquals(List.of(),
+					archivos.filter(ruta -> ruta.toString().endsWith(".tmp")).collect(Collectors.toList()),
+					"Sin archivos temporales");
+		}
+
+		diario.registrarBaja(0);
+		diario.cerrar();
+		assertEquals(List.of("EQUIPO C#EQUIPO D#X", "EQUIPO E#EQUIPO F#2"),
+				contenido(new DiarioQuiniela1X2(base.toString()).recuperar()), "Baja sobre la colección anterior");
+	}
+
+	/**
+	 * Método de prueba sobre {@link DiarioQuiniela1X2#compactar(ConjuntoQuiniela1X2)}:
+	 * un hilo fusiona jornadas anotándolas en lotes –con la colección bloqueada
+	 * mientras anota cada cambio– mientras otro compacta una y otra vez. Ninguno
+	 * se queda bloqueado, y al final la recuperación reconstruye exactamente la
+	 * colección en memoria.
+	 *
+	 * @throws Exception no esperada
+	 */
+	@Test
+	@DisplayName("Compactaciones durante fusiones anotadas")
+	public void testCompactaciónDuranteFusión() throws Exception {
+		Path base = carpeta.resolve("quiniela.txt");
+		DiarioQuiniela1X2 diario;
+		ConjuntoQuiniela1X2 conjunto;
+		AtomicBoolean terminado = new AtomicBoolean();
+		AtomicReference<Exception> fallo = new AtomicReference<Exception>();
+		Thread fusionador, compactador;
+
+		diario = new DiarioQuiniela1X2(base.toString());
+		conjunto = diario.recuperar();
+
+		fusionador = new Thread(() -> {
+			try {
+				for (int jornada = 0; jornada < 40; jornada++) {
+					ConjuntoQuiniela1X2 otra = new ConjuntoQuiniela1X2();
+					DiarioQuiniela1X2.Lote lote = diario.iniciarLote();
+
+					for (int i = 0; i < 200; i++) {
+						int n = (jornada * 150 + i) % 1000; // Con encuentros repetidos
+						otra.agregarElemento(ElementoPartido1X2.of(String.format("LOCAL %d", n),
+								String.format("VISITANTE %d", n), "1X2".substring(jornada % 3, jornada % 3 + 1)));
+					}
+					conjunto.fusionar(otra, PolíticaDuplicados1X2.REEMPLAZAR, lote);
+					lote.confirmar();
+				}
+			} catch (Exception ex) {
+				fallo.set(ex);
+			} finally {
+				terminado.set(true);
+			}
+		});
+		compactador = new Thread(() -> {
+			try {
+				while (!terminado.get()) {
+					diario.compactar(conjunto);
+				}
+			} catch (Exception ex) {
+				fallo.set(ex);
+			}
+		});
+		fusionador.start();
+		compactador.start();
+		fusionador.join(60_000);
+		compactador.join(60_000);
+		assertFalse(fusionador.isAlive() || compactador.isAlive(), "Hilos bloqueados");
+		if (fallo.get() != null) {
+			throw fallo.get();
+		}
+
+		diario.cerrar();
+		assertEquals(contenido(conjunto), contenido(new DiarioQuiniela1X2(base.toString()).recuperar()),
+				"Colección recuperada");
+	}
+
+	/**
+	 * Proporciona las líneas pseudo-CSV de todos los partidos de una colección.
+	 *
+	 * @param conjunto la colección
+	 * @return las líneas, en orden
+	 * @throws Partido1X2Exception no esperada
+	 */
+	private static List<String> contenido(ConjuntoQuiniela1X2 conjunto) throws Partido1X2Exception {
+		List<String> líneas = new ArrayList<String>();
+
+		for (int i = 0; i < conjunto.size(); i++) {
+			líneas.add(conjunto.getElemento(i).toStringCSV());
+		}
+		return líneas;
+	}
+
+	/**
+	 * Escribe el archivo base.
+	 *
+	 * @param base      la ruta al archivo base
+	 * @param contenido el texto completo
+	 * @throws IOException si se produce algún error de escritura
+	 */
+	private static void escribir(Path base, String contenido) throws IOException {
+		escribir(base, "", contenido);
+	}
+
+	/**
+	 * Escribe uno de los archivos que acompañan al archivo base.
+	 *
+	 * @param base      la ruta al archivo base
+	 * @param extensión la extensión añadida a la ruta
+	 * @param contenido el texto completo
+	 * @throws IOException si se produce algún error de escritura
+	 */
+	private static void escribir(Path base, String extensión, String contenido) throws IOException {
+		Files.writeString(Path.of(base + extensión), contenido, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Lee uno de los archivos que acompañan al archivo base, o el propio archivo
+	 * base con la extensión vacía.
+	 *
+	 * @param base      la ruta al archivo base
+	 * @param extensión la extensión añadida a la ruta
+	 * @return el texto completo
+	 * @throws IOException si se produce algún error de lectura
+	 */
+	private static String leer(Path base, String extensión) throws IOException {
+		return Files.readString(Path.of(base + extensión), StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Comprueba si existe uno de los archivos que acompañan al archivo base.
+	 *
+	 * @param base      la ruta al archivo base
+	 * @param extensión la extensión añadida a la ruta
+	 * @return <code>true</code> si existe
+	 */
+	private static boolean existe(Path base, String extensión) {
+		return Files.exists(Path.of(base + extensión));
+	}
+}
@@ -0,0 +1,183 @@
+package jcolonia.daw2024.quiniela;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Acceso a datos: Pruebas sobre {@link ExportadorQuiniela1X2}: una exportación
+ * fallida conserva el archivo anterior y no deja el temporal, y una
+ * exportación en segundo plano vuelca exactamente los partidos presentes al
+ * empezar, aunque la colección cambie mientras tanto.
+ *
+ * @version 1.0 (20261018000)
+ * @author Rodrigo Martínez Delgado &lt;rodrigo.mardel.daw@gmail.com&gt;
+ */
+class TestExportadorQuiniela1X2 {
+	/**
+	 * Número de partidos de la colección de prueba; más que los escritos entre
+	 * dos avisos de avance.
+	 */
+	private static final int NÚM_PARTIDOS = 150_000;
+
+	/** Tiempo máximo de espera, en segundos. */
+	private static final long ESPERA_MÁXIMA = 30;
+
+	/** Carpeta temporal para los archivos de prueba. */
+	@TempDir
+	Path carpeta;
+
+	/**
+	 * Método de prueba sobre {@link ExportadorQuiniela1X2#exportar(ConjuntoQuiniela1X2)}:
+	 * un partido incompleto tras varios bloques ya escritos produce
+	 * {@link Partido1X2Exception}, con y sin compresión; el archivo anterior
+	 * sigue intacto y no queda ningún archivo temporal.
+	 *
+	 * @throws IOException             no esperada
+	 * @throws DatoPartido1X2Exception no esperada
+	 */
+	@Test
+	@DisplayName("Exportación fallida")
+	public void testExportaciónFallida() throws IOException, DatoPartido1X2Exception {
+		Path archivo = carpeta.resolve("quiniela.txt");
+		ConjuntoQuiniela1X2 incompleto = crearConjunto();
+		byte[] original;
+
+		new ExportadorQuiniela1X2(archivo.toString()).exportar(crearConjunto(100));
+		original = Files.readAllBytes(archivo);
+		incompleto.agregarElemento(new ElementoPartido1X2());
+		incompleto.agregarElemento(crearPartido(NÚM_PARTIDOS));
+
+		for (boolean comprimir : new boolean[] { false, true }) {
+			assertThrows(Partido1X2Exception.class,
+					() -> new ExportadorQuiniela1X2(archivo.toString(), comprimir).exportar(incompleto),
+					"Partido incompleto, comprimir: " + comprimir);
+			assertArrayEquals(original, Files.readAllBytes(archivo),
+					"Archivo anterior intacto, comprimir: " + comprimir);
+			try (Stream<Path> contenido = Files.list(carpeta)) {
+				assertEquals(List.of(archivo), contenido.toList(), "Sin archivo temporal, comprimir: " + comprimir);
+			}
+		}
+	}
+
+	/**
+	 * Método de prueba sobre
+	 * {@link ExportadorQuiniela1X2#exportarEnSegundoPlano(ConjuntoQuiniela1X2, ExportadorQuiniela1X2.Seguimiento)}:
+	 * la colección cambia nada más lanzarla y, mientras está detenida en su
+	 * primer aviso de avance, recibe altas y bajas suficientes para compactar su
+	 * almacén; el archivo contiene exactamente los partidos presentes al
+	 * lanzarla, en orden.
+	 *
+	 * @throws IOException             no esperada
+	 * @throws DatoPartido1X2Exception no esperada
+	 * @throws InterruptedException    no esperada
+	 */
+	@Test
+	@DisplayName("Exportación en segundo plano")
+	public void testSegundoPlano() throws IOException, DatoPartido1X2Exception, InterruptedException {
+		Path archivo = carpeta.resolve("quiniela.txt");
+		ConjuntoQuiniela1X2 conjunto = crearConjunto();
+		List<String> esperados = conjunto.generarListadoCSV();
+		CountDownLatch enAvance = new CountDownLatch(1);
+		CountDownLatch cambiado = new CountDownLatch(1);
+		long[] exportados = { -1 };
+		Exception[] error = { null };
+		Thread hilo;
+
+		hilo = new ExportadorQuiniela1X2(archivo.toString()).exportarEnSegundoPlano(conjunto,
+				new ExportadorQuiniela1X2.Seguimiento() {
+					@Override
+					public void avance(long escritos, long total) {
+						enAvance.countDown();
+						try {
+							cambiado.await(ESPERA_MÁXIMA, TimeUnit.SECONDS);
+						} catch (InterruptedException ex) {
+							Thread.currentThread().interrupt();
+						}
+					}
+
+					@Override
+					public void fin(long total) {
+						exportados[0] = total;
+					}
+
+					@Override
+					public void error(Exception causa) {
+						error[0] = causa;
+					}
+				});
+		conjunto.eliminarElemento(0); // Cambios antes de que el hilo empiece a leer
+		conjunto.agregarElemento(crearPartido(2 * NÚM_PARTIDOS));
+
+		assertTrue(enAvance.await(ESPERA_MÁXIMA, TimeUnit.SECONDS), "Primer aviso de avance");
+		for (int i = 0; i < 2 * NÚM_PARTIDOS / 3; i++) { // Bajas de sobra para compactar
+			conjunto.eliminarElemento(0);
+		}
+		for (int i = 0; i < 1000; i++) {
+			conjunto.agregarElemento(crearPartido(NÚM_PARTIDOS + i));
+		}
+		conjunto.eliminarElemento(conjunto.getElemento(conjunto.size() - 1));
+		cambiado.countDown();
+		hilo.join(TimeUnit.SECONDS.toMillis(ESPERA_MÁXIMA));
+
+		assertFalse(hilo.isAlive(), "Exportación terminada");
+		assertNull(error[0], "Sin errores");
+		assertEquals(NÚM_PARTIDOS, exportados[0], "Partidos exportados");
+		assertEquals(esperados, Files.readAllLines(archivo), "Contenido de la instantánea");
+		assertEquals(NÚM_PARTIDOS / 3 + 999, conjunto.size(), "Colección cambiada");
+	}
+
+	/**
+	 * Crea una colección con {@value #NÚM_PARTIDOS} partidos de prueba.
+	 *
+	 * @return la colección
+	 */
+	private static ConjuntoQuiniela1X2 crearConjunto() {
+		return crearConjunto(NÚM_PARTIDOS);
+	}
+
+	/**
+	 * Crea una colección con los primeros partidos de prueba.
+	 *
+	 * @param cantidad el número de partidos
+	 * @return la colección
+	 */
+	private static ConjuntoQuiniela1X2 crearConjunto(int cantidad) {
+		ConjuntoQuiniela1X2 conjunto = new ConjuntoQuiniela1X2();
+
+		for (int i = 0; i < cantidad; i++) {
+			conjunto.agregarElemento(crearPartido(i));
+		}
+		return conjunto;
+	}
+
+	/**
+	 * Crea un partido de prueba; todos son distintos.
+	 *
+	 * @param número el número del partido
+	 * @return el partido
+	 */
+	private static ElementoPartido1X2 crearPartido(int número) {
+		try {
+			return ElementoPartido1X2.of(String.format("LOCAL %d#VISITANTE %d#%c", número, número,
+					"1X2".charAt(número % 3)));
+		} catch (DatoPartido1X2Exception ex) { // No debe ocurrir
+			throw new IllegalStateException(ex);
+		}
+	}
+}
@@ -0,0 +1,183 @@
+package jcolonia.daw2024.quiniela;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Acceso a datos: Pruebas sobre {@link FormatoBinarioQuiniela1X2}: viaje
+ * completo de exportación e importación, comprobaciones de la cabecera antes
+ * de reservar memoria y sustitución atómica del archivo exportado.
+ *
+ * @version 1.0 (20261018000)
+ * @author Rodrigo Martínez Delgado &lt;rodrigo.mardel.daw@gmail.com&gt;
+ */
+class TestFormatoBinarioQuiniela1X2 {
+	/** Número de partidos de la colección de prueba. */
+	private static final int NÚM_PARTIDOS = 3000;
+
+	/** Número de equipos distintos de la colección de prueba. */
+	private static final int NÚM_EQUIPOS = 300;
+
+	/** Posición del número de equipos en la cabecera. */
+	private static final int POS_NÚM_EQUIPOS = 6;
+
+	/** Posición del número de partidos en la cabecera. */
+	private static final int POS_NÚM_PARTIDOS = 10;
+
+	/** Mensaje de una cabecera no válida. */
+	private static final String TXT_CABECERA = "Cabecera de archivo binario no válida";
+
+	/** Carpeta temporal para los archivos de prueba. */
+	@TempDir
+	Path carpeta;
+
+	/**
+	 * Método de prueba sobre {@link FormatoBinarioQuiniela1X2#exportar(ConjuntoQuiniela1X2)}
+	 * y {@link FormatoBinarioQuiniela1X2#importar()}: una colección con nombres
+	 * acentuados y una vacía se recuperan igual, en orden.
+	 *
+	 * @throws IOException             no esperada
+	 * @throws DatoPartido1X2Exception no esperada
+	 */
+	@Test
+	@DisplayName("Exportación e importación")
+	public void testViajeCompleto() throws IOException, DatoPartido1X2Exception {
+		ConjuntoQuiniela1X2 conjunto = crearConjunto();
+		FormatoBinarioQuiniela1X2 formato = new FormatoBinarioQuiniela1X2(carpeta.resolve("q.q1x2").toString());
+
+		formato.exportar(conjunto);
+		assertEquals(conjunto.generarListadoCSV(), formato.importar().generarListadoCSV(), "Colección recuperada");
+
+		formato.exportar(new ConjuntoQuiniela1X2());
+		assertEquals(0, formato.importar().size(), "Colección vacía");
+	}
+
+	/**
+	 * Método de prueba sobre {@link FormatoBinarioQuiniela1X2#importar()}: una
+	 * cabecera con cifras negativas, con más equipos de los que caben en los
+	 * partidos o con más datos de los que contiene el archivo se rechaza, igual
+	 * que una marca o una versión desconocidas y un archivo truncado.
+	 *
+	 * @throws IOException         no esperada
+	 * @throws Partido1X2Exception no esperada
+	 */
+	@Test
+	@DisplayName("Cabecera no válida")
+	public void testCabecera() throws IOException, Partido1X2Exception {
+		Path archivo = carpeta.resolve("q.q1x2");
+		byte[] original;
+
+		new FormatoBinarioQuiniela1X2(archivo.toString()).exportar(crearConjunto());
+		original = Files.readAllBytes(archivo);
+
+		comprobarRechazo(archivo, original, b -> b.putInt(POS_NÚM_PARTIDOS, -1), TXT_CABECERA, "Partidos negativos");
+		comprobarRechazo(archivo, original, b -> b.putInt(POS_NÚM_EQUIPOS, -1).put(5, (byte) 1), TXT_CABECERA,
+				"Equipos negativos");
+		comprobarRechazo(archivo, original, b -> b.putInt(POS_NÚM_PARTIDOS, Integer.MAX_VALUE), TXT_CABECERA,
+				"Más partidos que el archivo");
+		comprobarRechazo(archivo, original, b -> b.putInt(POS_NÚM_EQUIPOS, 4000).put(5, (byte) 12), TXT_CABECERA,
+				"Más equipos que el archivo");
+		comprobarRechazo(archivo, original, b -> b.putInt(POS_NÚM_PARTIDOS, 10), TXT_CABECERA,
+				"Más equipos que partidos");
+		comprobarRechazo(archivo, original, b -> b.put(5, (byte) 1), TXT_CABECERA, "Bits por equipo");
+		comprobarRechazo(archivo, original, b -> b.put(0, (byte) 'X'), "Archivo binario no reconocido", "Marca");
+		comprobarRechazo(archivo, original, b -> b.put(4, (byte) 2), "Versión de archivo binario no admitida",
+				"Versión");
+
+		Files.write(archivo, Arrays.copyOf(original, POS_NÚM_PARTIDOS));
+		assertEquals("Archivo binario incompleto", assertThrows(DatoPartido1X2Exception.class,
+				() -> new FormatoBinarioQuiniela1X2(archivo.toString()).importar(), "Truncado").getMessage(),
+				"Cabecera truncada");
+	}
+
+	/**
+	 * Método de prueba sobre {@link FormatoBinarioQuiniela1X2#exportar(ConjuntoQuiniela1X2)}:
+	 * si la exportación falla –por un partido incompleto o al colocar el
+	 * archivo–, el archivo anterior sigue intacto y no queda ningún archivo
+	 * temporal.
+	 *
+	 * @throws IOException         no esperada
+	 * @throws Partido1X2Exception no esperada
+	 */
+	@Test
+	@DisplayName("Exportación fallida")
+	public void testExportaciónFallida() throws IOException, Partido1X2Exception {
+		Path archivo = carpeta.resolve("q.q1x2");
+		Path carpetaDestino = carpeta.resolve("destino.q1x2");
+		ConjuntoQuiniela1X2 incompleto = crearConjunto();
+		byte[] original;
+
+		new FormatoBinarioQuiniela1X2(archivo.toString()).exportar(crearConjunto());
+		original = Files.readAllBytes(archivo);
+		incompleto.agregarElemento(new ElementoPartido1X2());
+		assertThrows(Partido1X2Exception.class,
+				() -> new FormatoBinarioQuiniela1X2(archivo.toString()).exportar(incompleto), "Partido incompleto");
+		assertArrayEquals(original, Files.readAllBytes(archivo), "Archivo anterior intacto");
+
+		Files.createDirectories(carpetaDestino.resolve("ocupada"));
+		assertThrows(IOException.class,
+				() -> new FormatoBinarioQuiniela1X2(carpetaDestino.toString()).exportar(crearConjunto()),
+				"Destino no sustituible");
+		try (Stream<Path> contenido = Files.list(carpeta)) {
+			assertEquals(List.of(carpetaDestino, archivo), contenido.sorted().toList(), "Sin archivos temporales");
+		}
+	}
+
+	/**
+	 * Comprueba que un archivo con la cabecera modificada se rechaza con el
+	 * mensaje esperado.
+	 *
+	 * @param archivo     la ruta al archivo
+	 * @param original    el contenido correcto del archivo
+	 * @param alteración  la modificación a aplicar sobre una copia del contenido
+	 * @param mensaje     el mensaje de error esperado
+	 * @param descripción la descripción del caso
+	 * @throws IOException si se produce algún error de escritura
+	 */
+	private static void comprobarRechazo(Path archivo, byte[] original, Consumer<ByteBuffer> alteración,
+			String mensaje, String descripción) throws IOException {
+		ByteBuffer contenido = ByteBuffer.wrap(original.clone());
+		DatoPartido1X2Exception ex;
+
+		alteración.accept(contenido);
+		Files.write(archivo, contenido.array());
+		ex = assertThrows(DatoPartido1X2Exception.class,
+				() -> new FormatoBinarioQuiniela1X2(archivo.toString()).importar(), descripción);
+		assertEquals(mensaje, ex.getMessage(), descripción);
+	}
+
+	/**
+	 * Crea una colección de {@value #NÚM_PARTIDOS} partidos entre
+	 * {@value #NÚM_EQUIPOS} equipos con nombres acentuados.
+	 *
+	 * @return la colección
+	 */
+	private static ConjuntoQuiniela1X2 crearConjunto() {
+		ConjuntoQuiniela1X2 conjunto = new ConjuntoQuiniela1X2();
+
+		for (int i = 0; i < NÚM_PARTIDOS; i++) {
+			try {
+				conjunto.agregarElemento(ElementoPartido1X2.of(String.format("Cádiz %d", i % NÚM_EQUIPOS),
+						String.format("Málaga %d", (i / NÚM_EQUIPOS) % NÚM_EQUIPOS),
+						"1X2".substring(i % 3, i % 3 + 1)));
+			} catch (DatoPartido1X2Exception ex) { // No debe ocurrir
+				throw new IllegalStateException(ex);
+			}
+		}
+		return conjunto;
+	}
+}
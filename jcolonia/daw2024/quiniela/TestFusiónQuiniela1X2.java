@@ -0,0 +1,165 @@
+package jcolonia.daw2024.quiniela;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Modelo: Pruebas sobre la fusión de colecciones
+ * ({@link ConjuntoQuiniela1X2#fusionar(ConjuntoQuiniela1X2,
+ * PolíticaDuplicados1X2, ConjuntoQuiniela1X2.RegistroCambios)}):
+ * tratamiento de los encuentros repetidos con cada
+ * {@link PolíticaDuplicados1X2} y cambios notificados al registro, que
+ * aplicados en orden sobre una copia de la colección original deben dejarla
+ * igual que la fusionada.
+ *
+ * @version 1.0 (20261018000)
+ * @author Rodrigo Martínez Delgado &lt;rodrigo.mardel.daw@gmail.com&gt;
+ */
+class TestFusiónQuiniela1X2 {
+	/** Partidos de la colección original. */
+	private static final List<String> ORIGINALES = List.of("EQUIPO A#EQUIPO B#1", "EQUIPO C#EQUIPO D#X",
+			"EQUIPO A#EQUIPO C#2", "EQUIPO C#EQUIPO D#1", "EQUIPO E#EQUIPO F#2");
+
+	/**
+	 * Partidos a fusionar: dos encuentros ya presentes –uno de ellos dos veces
+	 * en el original–, uno nuevo que se repite dentro de los propios datos
+	 * nuevos y el inverso de un encuentro existente, que es otro encuentro.
+	 */
+	private static final List<String> NUEVOS = List.of("EQUIPO C#EQUIPO D#2", "EQUIPO G#EQUIPO H#1",
+			"EQUIPO A#EQUIPO B#X", "EQUIPO G#EQUIPO H#2", "EQUIPO B#EQUIPO A#1");
+
+	/**
+	 * Método de prueba sobre {@link PolíticaDuplicados1X2#OMITIR}: los
+	 * encuentros repetidos, también dentro de los datos nuevos, no se
+	 * incorporan y no se notifica ninguna baja.
+	 *
+	 * @throws Partido1X2Exception no esperada
+	 */
+	@Test
+	@DisplayName("Omitir repetidos")
+	public void testOmitir() throws Partido1X2Exception {
+		comprobarFusión(PolíticaDuplicados1X2.OMITIR, 3,
+				List.of("EQUIPO A#EQUIPO B#1", "EQUIPO C#EQUIPO D#X", "EQUIPO A#EQUIPO C#2", "EQUIPO C#EQUIPO D#1",
+						"EQUIPO E#EQUIPO F#2", "EQUIPO G#EQUIPO H#1", "EQUIPO B#EQUIPO A#1"),
+				List.of());
+	}
+
+	/**
+	 * Método de prueba sobre {@link PolíticaDuplicados1X2#REEMPLAZAR}: cada
+	 * encuentro repetido retira todas sus apariciones anteriores, notificando
+	 * la posición que ocupaba cada una en el momento de la baja, y se incorpora
+	 * al final.
+	 *
+	 * @throws Partido1X2Exception no esperada
+	 */
+	@Test
+	@DisplayName("Reemplazar repetidos")
+	public void testReemplazar() throws Partido1X2Exception {
+		comprobarFusión(PolíticaDuplicados1X2.REEMPLAZAR, 3,
+				List.of("EQUIPO A#EQUIPO C#2", "EQUIPO E#EQUIPO F#2", "EQUIPO C#EQUIPO D#2", "EQUIPO A#EQUIPO B#X",
+						"EQUIPO G#EQUIPO H#2", "EQUIPO B#EQUIPO A#1"),
+				List.of(1, 2, 0, 3));
+	}
+
+	/**
+	 * Método de prueba sobre {@link PolíticaDuplicados1X2#CONSERVAR}: todos los
+	 * partidos se incorporan, aunque se cuentan los repetidos, y no se notifica
+	 * ninguna baja.
+	 *
+	 * @throws Partido1X2Exception no esperada
+	 */
+	@Test
+	@DisplayName("Conservar repetidos")
+	public void testConservar() throws Partido1X2Exception {
+		List<String> todos = new ArrayList<String>(ORIGINALES);
+
+		todos.addAll(NUEVOS);
+		comprobarFusión(PolíticaDuplicados1X2.CONSERVAR, 3, todos, List.of());
+	}
+
+	/**
+	 * Método de prueba sobre
+	 * {@link ConjuntoQuiniela1X2#fusionarElemento(ElementoPartido1X2, PolíticaDuplicados1X2)}:
+	 * un partido sin equipos no es repetido de nada y siempre se incorpora,
+	 * aunque haya otro igual.
+	 *
+	 * @throws Partido1X2Exception no esperada
+	 */
+	@Test
+	@DisplayName("Partido incompleto")
+	public void testIncompleto() throws Partido1X2Exception {
+		ConjuntoQuiniela1X2 conjunto = crearConjunto(ORIGINALES);
+
+		for (PolíticaDuplicados1X2 política : PolíticaDuplicados1X2.values()) {
+			assertFalse(conjunto.fusionarElemento(new ElementoPartido1X2(), política),
+					"Sin repetición: " + política);
+		}
+		assertEquals(ORIGINALES.size() + PolíticaDuplicados1X2.values().length, conjunto.size(),
+				"Todos incorporados");
+	}
+
+	/**
+	 * Fusiona {@link #NUEVOS} con {@link #ORIGINALES} y comprueba el número de
+	 * repetidos, el resultado, las posiciones de las bajas notificadas y que,
+	 * aplicando los cambios notificados sobre una copia de los originales, se
+	 * obtiene el mismo resultado.
+	 *
+	 * @param política       la política de la fusión
+	 * @param repetidos      el número de repetidos esperado
+	 * @param esperados      los partidos esperados tras la fusión, en orden
+	 * @param bajasEsperadas las posiciones de las bajas notificadas, en orden
+	 * @throws Partido1X2Exception no esperada
+	 */
+	private static void comprobarFusión(PolíticaDuplicados1X2 política, long repetidos, List<String> esperados,
+			List<Integer> bajasEsperadas) throws Partido1X2Exception {
+		ConjuntoQuiniela1X2 conjunto = crearConjunto(ORIGINALES);
+		List<String> réplica = new ArrayList<String>(ORIGINALES);
+		List<Integer> bajas = new ArrayList<Integer>();
+
+		assertEquals(repetidos, conjunto.fusionar(crearConjunto(NUEVOS), política,
+				new ConjuntoQuiniela1X2.RegistroCambios() {
+					@Override
+					public void alta(ElementoPartido1X2 nuevo) {
+						try {
+							réplica.add(nuevo.toStringCSV());
+						} catch (Partido1X2Exception ex) { // No debe ocurrir
+							throw new IllegalStateException(ex);
+						}
+					}
+
+					@Override
+					public void baja(int pos) {
+						bajas.add(pos);
+						réplica.remove(pos);
+					}
+				}), "Repetidos: " + política);
+		assertEquals(esperados, conjunto.generarListadoCSV(), "Resultado: " + política);
+		assertEquals(bajasEsperadas, bajas, "Posiciones de las bajas: " + política);
+		assertEquals(esperados, réplica, "Cambios notificados: " + política);
+	}
+
+	/**
+	 * Crea una colección con los partidos indicados.
+	 *
+	 * @param líneas las líneas pseudo-CSV de los partidos
+	 * @return la colección
+	 */
+	private static ConjuntoQuiniela1X2 crearConjunto(List<String> líneas) {
+		ConjuntoQuiniela1X2 conjunto = new ConjuntoQuiniela1X2();
+
+		for (String línea : líneas) {
+			try {
+				conjunto.agregarElemento(ElementoPartido1X2.of(línea));
+			} catch (DatoPartido1X2Exception ex) { // No debe ocurrir
+				throw new IllegalStateException(ex);
+			}
+		}
+		return conjunto;
+	}
+}
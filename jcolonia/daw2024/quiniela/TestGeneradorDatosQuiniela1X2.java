@@ -0,0 +1,161 @@
+package jcolonia.daw2024.quiniela;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Acceso a datos: Pruebas sobre {@link GeneradorDatosQuiniela1X2}: las líneas
+ * correctas siempre son válidas para {@link ElementoPartido1X2#of(String)} y
+ * las erróneas nunca, el archivo es idéntico byte a byte para una misma
+ * semilla sea cual sea el número de hilos, y no se admiten más equipos que
+ * nombres distintos posibles.
+ *
+ * @version 1.0 (20261018000)
+ * @author Rodrigo Martínez Delgado &lt;rodrigo.mardel.daw@gmail.com&gt;
+ */
+class TestGeneradorDatosQuiniela1X2 {
+	/** Número de líneas de los archivos de prueba. */
+	private static final int NÚM_LÍNEAS = 20_000;
+
+	/** Número de líneas del archivo de varios bloques. */
+	private static final int NÚM_LÍNEAS_BLOQUES = 200_000;
+
+	/** Número de letras distintas de los nombres generados. */
+	private static final int NÚM_LETRAS = 26;
+
+	/** Carpeta temporal para los archivos de prueba. */
+	@TempDir
+	Path carpeta;
+
+	/**
+	 * Método de prueba sobre {@link GeneradorDatosQuiniela1X2#generar(String)}:
+	 * sin errores, todas las líneas son válidas y emplean como mucho el número
+	 * de equipos indicado; solo con errores, ninguna lo es. Se prueban nombres
+	 * de longitud mínima, máxima y variada, para cubrir todas las variantes de
+	 * línea errónea.
+	 *
+	 * @throws IOException no esperada
+	 */
+	@Test
+	@DisplayName("Líneas correctas y erróneas")
+	public void testLíneas() throws IOException {
+		Path archivo = carpeta.resolve("generado.txt");
+		double[][] repartos = { { 1 }, { 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 1 }, {} };
+		GeneradorDatosQuiniela1X2 generador;
+		Set<String> equipos;
+		ElementoPartido1X2 partido;
+
+		for (double[] pesos : repartos) {
+			generador = new GeneradorDatosQuiniela1X2(pesos.length);
+			generador.setNúmLíneas(NÚM_LÍNEAS);
+			generador.setNúmEquipos(50);
+			generador.setPesosLongitudes(pesos);
+
+			generador.generar(archivo.toString());
+			equipos = new HashSet<String>();
+			for (String línea : Files.readAllLines(archivo)) {
+				try {
+					partido = ElementoPartido1X2.of(línea);
+					equipos.add(partido.getEquipoLocal());
+					equipos.add(partido.getEquipoVisitante());
+				} catch (DatoPartido1X2Exception ex) {
+					throw new AssertionError("Línea correcta rechazada: " + línea, ex);
+				}
+			}
+			assertTrue(equipos.size() <= 50, "Equipos distintos: " + equipos.size());
+
+			generador.setTasaErrores(1);
+			generador.generar(archivo.toString());
+			for (String línea : Files.readAllLines(archivo)) {
+				assertThrows(DatoPartido1X2Exception.class, () -> ElementoPartido1X2.of(línea),
+						"Línea errónea aceptada: " + línea);
+			}
+		}
+	}
+
+	/**
+	 * Método de prueba sobre {@link GeneradorDatosQuiniela1X2#generar(String)}:
+	 * con una misma semilla y configuración, un archivo de varios bloques es
+	 * idéntico byte a byte con uno, dos o cuatro hilos y con el grupo común; con
+	 * otra semilla, no.
+	 *
+	 * @throws IOException no esperada
+	 */
+	@Test
+	@DisplayName("Mismo archivo con cualquier número de hilos")
+	public void testSemilla() throws IOException {
+		byte[] referencia = generar(42, ForkJoinPool.commonPool());
+		ForkJoinPool grupoHilos;
+
+		for (int hilos : new int[] { 1, 2, 4 }) {
+			grupoHilos = new ForkJoinPool(hilos);
+			try {
+				assertArrayEquals(referencia, generar(42, grupoHilos), "Hilos: " + hilos);
+			} finally {
+				grupoHilos.shutdown();
+			}
+		}
+		assertFalse(Arrays.equals(referencia, generar(43, ForkJoinPool.commonPool())), "Otra semilla");
+	}
+
+	/**
+	 * Método de prueba sobre {@link GeneradorDatosQuiniela1X2#setNúmEquipos(int)}
+	 * y {@link GeneradorDatosQuiniela1X2#setPesosLongitudes(double...)}: no se
+	 * admiten más equipos que nombres distintos con las longitudes empleadas,
+	 * sea cual sea el orden de la configuración, y se admite justo ese número.
+	 */
+	@Test
+	@DisplayName("Más equipos que nombres posibles")
+	public void testEquiposImposibles() {
+		int nombresCortos = (int) Math.pow(NÚM_LETRAS, GeneradorDatosQuiniela1X2.LONGITUD_MÍNIMA);
+		GeneradorDatosQuiniela1X2 generador = new GeneradorDatosQuiniela1X2(0);
+
+		generador.setPesosLongitudes(1);
+		assertThrows(IllegalArgumentException.class, () -> generador.setNúmEquipos(nombresCortos + 1),
+				"Solo nombres cortos");
+		generador.setNúmEquipos(nombresCortos);
+
+		generador.setPesosLongitudes(1, 1);
+		generador.setNúmEquipos(nombresCortos + 1);
+		assertThrows(IllegalArgumentException.class, () -> generador.setPesosLongitudes(1),
+				"Longitudes restringidas después");
+		assertThrows(IllegalArgumentException.class, () -> generador.setPesosLongitudes(1, 0),
+				"Longitud sin peso");
+		generador.setPesosLongitudes(0, 0, 1);
+		generador.setNúmEquipos(Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Genera un archivo de {@value #NÚM_LÍNEAS_BLOQUES} líneas, con errores, y
+	 * devuelve su contenido.
+	 *
+	 * @param semilla    la semilla
+	 * @param grupoHilos el grupo de hilos a emplear
+	 * @return el contenido del archivo
+	 * @throws IOException si se produce algún error de acceso
+	 */
+	private byte[] generar(long semilla, ForkJoinPool grupoHilos) throws IOException {
+		Path archivo = carpeta.resolve("generado.txt");
+		GeneradorDatosQuiniela1X2 generador = new GeneradorDatosQuiniela1X2(semilla, grupoHilos);
+
+		generador.setNúmLíneas(NÚM_LÍNEAS_BLOQUES);
+		generador.setNúmEquipos(1000);
+		generador.setTasaErrores(0.1);
+		generador.generar(archivo.toString());
+		return Files.readAllBytes(archivo);
+	}
+}
@@ -0,0 +1,245 @@
+package jcolonia.daw2024.quiniela;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Acceso a datos: Pruebas sobre {@link ImportadorParaleloQuiniela1X2} con
+ * archivos mayores que un tramo, que se reparten entre varias tareas. Salvo
+ * en las pruebas de líneas demasiado largas, los tramos son de
+ * {@value #TAMAÑO_TRAMO} bytes, para repartir en muchos tramos archivos
+ * pequeños.
+ *
+ * @version 1.0 (20261018000)
+ * @author Rodrigo Martínez Delgado &lt;rodrigo.mardel.daw@gmail.com&gt;
+ */
+class TestImportadorParaleloQuiniela1X2 {
+	/** Tamaño de las líneas sin fin, mayor que varios tramos. */
+	private static final int TAMAÑO_LÍNEA_LARGA = 20 * 1024 * 1024;
+
+	/** Tamaño de los tramos de prueba, en bytes. */
+	private static final int TAMAÑO_TRAMO = 1024;
+
+	/** Número de líneas de los archivos de prueba; ocupan más de cien tramos. */
+	private static final int NÚM_LÍNEAS = 5000;
+
+	/** Número de hilos del grupo de prueba. */
+	private static final int NÚM_HILOS = 4;
+
+	/** Carpeta temporal para los archivos de prueba. */
+	@TempDir
+	Path carpeta;
+
+	/**
+	 * Método de prueba sobre {@link ImportadorParaleloQuiniela1X2#importar()}:
+	 * un archivo grande formado por una sola línea sin fin de línea se rechaza
+	 * con {@link DatoPartido1X2Exception}, sin subdividir indefinidamente.
+	 *
+	 * @throws IOException no esperada
+	 */
+	@Test
+	@DisplayName("Línea única demasiado larga")
+	public void testLíneaÚnicaDemasiadoLarga() throws IOException {
+		Path archivo;
+		DatoPartido1X2Exception ex;
+
+		archivo = carpeta.resolve("larga.txt");
+		try (BufferedWriter salida = Files.newBufferedWriter(archivo, StandardCharsets.UTF_8)) {
+			escribirLíneaLarga(salida);
+		}
+
+		ex = assertThrows(DatoPartido1X2Exception.class,
+				() -> new ImportadorParaleloQuiniela1X2(archivo.toString()).importar(), "Línea sin fin");
+		assertEquals("Línea 1: Línea demasiado larga", ex.getLocalizedMessage(), "Descripción");
+	}
+
+	/**
+	 * Método de prueba sobre {@link ImportadorParaleloQuiniela1X2#importar()}:
+	 * tras varias líneas correctas, una línea final demasiado larga se rechaza
+	 * indicando su número de línea.
+	 *
+	 * @throws IOException no esperada
+	 */
+	@Test
+	@DisplayName("Línea final demasiado larga")
+	public void testLíneaFinalDemasiadoLarga() throws IOException {
+		Path archivo;
+		DatoPartido1X2Exception ex;
+
+		archivo = carpeta.resolve("final.txt");
+		try (BufferedWriter salida = Files.newBufferedWriter(archivo, StandardCharsets.UTF_8)) {
+			for (int i = 0; i < 1000; i++) {
+				salida.write("EQUIPO A#EQUIPO B#X\n");
+			}
+			escribirLíneaLarga(salida);
+		}
+
+		ex = assertThrows(DatoPartido1X2Exception.class,
+				() -> new ImportadorParaleloQuiniela1X2(archivo.toString()).importar(), "Línea sin fin");
+		assertEquals("Línea 1001: Línea demasiado larga", ex.getLocalizedMessage(), "Descripción");
+	}
+
+	/**
+	 * Método de prueba sobre {@link ImportadorParaleloQuiniela1X2#importar()}:
+	 * con el archivo repartido en muchos tramos, analizados por varios hilos, los
+	 * partidos se reúnen en el orden del archivo, también con finales de línea
+	 * CRLF.
+	 *
+	 * @throws IOException             no esperada
+	 * @throws DatoPartido1X2Exception no esperada
+	 */
+	@Test
+	@DisplayName("Orden del archivo")
+	public void testOrden() throws IOException, DatoPartido1X2Exception {
+		List<String> líneas = crearLíneas();
+		ForkJoinPool grupoHilos = new ForkJoinPool(NÚM_HILOS);
+
+		try {
+			for (String finLínea : new String[] { "\n", "\r\n" }) {
+				assertEquals(líneas, importar(escribir(líneas, finLínea), grupoHilos).generarListadoCSV(),
+						"Partidos en orden");
+			}
+		} finally {
+			grupoHilos.shutdown();
+		}
+	}
+
+	/**
+	 * Método de prueba sobre {@link ImportadorParaleloQuiniela1X2#importar()}:
+	 * con varias líneas erróneas en tramos distintos se informa de la primera,
+	 * con su número de línea contado desde el comienzo del archivo y no desde el
+	 * de su tramo.
+	 *
+	 * @throws IOException no esperada
+	 */
+	@Test
+	@DisplayName("Número de línea absoluto")
+	public void testLíneaErrónea() throws IOException {
+		ForkJoinPool grupoHilos = new ForkJoinPool(NÚM_HILOS);
+		List<String> líneas;
+		DatoPartido1X2Exception ex;
+
+		try {
+			for (int númLínea : new int[] { 1, 2345, NÚM_LÍNEAS }) {
+				líneas = crearLíneas();
+				líneas.set(númLínea - 1, "EQUIPO A#EQUIPO B#3");
+				if (númLínea < NÚM_LÍNEAS) { // Otro error, en un tramo posterior
+					líneas.set(NÚM_LÍNEAS - 1, "EQUIPO A");
+				}
+				Path archivo = escribir(líneas, "\n");
+				ex = assertThrows(DatoPartido1X2Exception.class, () -> importar(archivo, grupoHilos),
+						"Línea errónea " + númLínea);
+				assertEquals(String.format("Línea %d: %s", númLínea,
+						ErrorDatoPartido1X2.RESULTADO_NO_VÁLIDO.getMensaje()), ex.getLocalizedMessage(),
+						"Descripción");
+			}
+		} finally {
+			grupoHilos.shutdown();
+		}
+	}
+
+	/**
+	 * Método de prueba sobre {@link ImportadorParaleloQuiniela1X2#importar()}:
+	 * con un solo hilo, los tramos se analizan en orden, así que tras una línea
+	 * errónea en el primer tramo ya no se analiza ninguno de los siguientes.
+	 *
+	 * @throws IOException no esperada
+	 */
+	@Test
+	@DisplayName("Tramos posteriores sin analizar")
+	public void testTramosPosteriores() throws IOException {
+		ForkJoinPool grupoHilos = new ForkJoinPool(1);
+		List<String> líneas = crearLíneas();
+		ImportadorParaleloQuiniela1X2 importador;
+
+		líneas.set(9, "EQUIPO A#EQUIPO B#3");
+		importador = new ImportadorParaleloQuiniela1X2(escribir(líneas, "\n").toString(), grupoHilos,
+				TAMAÑO_TRAMO);
+		try {
+			assertThrows(DatoPartido1X2Exception.class, () -> importador.importar(), "Línea errónea");
+		} finally {
+			grupoHilos.shutdown();
+		}
+		assertTrue(importador.getLíneasAnalizadas() >= 10, "Líneas analizadas: " + importador.getLíneasAnalizadas());
+		assertTrue(importador.getLíneasAnalizadas() <= TAMAÑO_TRAMO / líneas.get(0).length(),
+				"Solo el primer tramo: " + importador.getLíneasAnalizadas());
+	}
+
+	/**
+	 * Importa un archivo con tramos de {@value #TAMAÑO_TRAMO} bytes.
+	 *
+	 * @param archivo    la ruta al archivo
+	 * @param grupoHilos el grupo de hilos a emplear
+	 * @return la colección importada
+	 * @throws DatoPartido1X2Exception si alguna línea no es válida
+	 */
+	private static ConjuntoQuiniela1X2 importar(Path archivo, ForkJoinPool grupoHilos)
+			throws DatoPartido1X2Exception {
+		return new ImportadorParaleloQuiniela1X2(archivo.toString(), grupoHilos, TAMAÑO_TRAMO).importar();
+	}
+
+	/**
+	 * Compone {@value #NÚM_LÍNEAS} líneas pseudo-CSV distintas.
+	 *
+	 * @return las líneas, en una lista modificable
+	 */
+	private static List<String> crearLíneas() {
+		List<String> líneas = new ArrayList<String>(NÚM_LÍNEAS);
+
+		for (int i = 0; i < NÚM_LÍNEAS; i++) {
+			líneas.add(String.format("LOCAL %d#VISITANTE %d#%c", i, i, "1X2".charAt(i % 3)));
+		}
+		return líneas;
+	}
+
+	/**
+	 * Escribe unas líneas en un archivo de la carpeta temporal.
+	 *
+	 * @param líneas   las líneas
+	 * @param finLínea el final de cada línea
+	 * @return la ruta al archivo
+	 * @throws IOException si se produce algún error de escritura
+	 */
+	private Path escribir(List<String> líneas, String finLínea) throws IOException {
+		Path archivo = carpeta.resolve("quiniela.txt");
+
+		try (BufferedWriter salida = Files.newBufferedWriter(archivo, StandardCharsets.UTF_8)) {
+			for (String línea : líneas) {
+				salida.write(línea);
+				salida.write(finLínea);
+			}
+		}
+		return archivo;
+	}
+
+	/**
+	 * Escribe una línea de {@value #TAMAÑO_LÍNEA_LARGA} caracteres sin fin de
+	 * línea.
+	 *
+	 * @param salida el destino
+	 * @throws IOException si se produce algún error de escritura
+	 */
+	private static void escribirLíneaLarga(BufferedWriter salida) throws IOException {
+		char[] bloque = new char[1024];
+
+		Arrays.fill(bloque, 'A');
+		for (int i = 0; i < TAMAÑO_LÍNEA_LARGA / bloque.length; i++) {
+			salida.write(bloque);
+		}
+	}
+}
@@ -0,0 +1,168 @@
+package jcolonia.daw2024.quiniela;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Acceso a datos: Pruebas sobre la importación tolerante de
+ * {@link ImportadorQuiniela1X2} y su {@link InformeImportaciónQuiniela1X2}. El
+ * archivo de prueba alterna líneas correctas y erróneas, con más líneas
+ * erróneas que {@link InformeImportaciónQuiniela1X2#MÁX_INCIDENCIAS}.
+ *
+ * @version 1.0 (20261018000)
+ * @author Rodrigo Martínez Delgado &lt;rodrigo.mardel.daw@gmail.com&gt;
+ */
+class TestInformeImportaciónQuiniela1X2 {
+	/** Número total de líneas del archivo de prueba; la mitad son erróneas. */
+	private static final int NÚM_LÍNEAS = 3000;
+
+	/** Carpeta temporal para los archivos de prueba. */
+	@TempDir
+	Path carpeta;
+
+	/**
+	 * Método de prueba sobre
+	 * {@link ImportadorQuiniela1X2#importar(InformeImportaciónQuiniela1X2)}: se
+	 * cargan las líneas correctas, en orden, y el informe cuenta todas las
+	 * erróneas por motivo, aunque solo detalla las primeras
+	 * {@link InformeImportaciónQuiniela1X2#MÁX_INCIDENCIAS}, con su número de
+	 * línea.
+	 *
+	 * @throws IOException             no esperada
+	 * @throws DatoPartido1X2Exception no esperada
+	 */
+	@Test
+	@DisplayName("Importación tolerante")
+	public void testImportaciónTolerante() throws IOException, DatoPartido1X2Exception {
+		Path archivo = crearArchivo();
+		InformeImportaciónQuiniela1X2 informe;
+		ConjuntoQuiniela1X2 lista;
+
+		informe = new InformeImportaciónQuiniela1X2();
+		lista = new ImportadorQuiniela1X2(archivo.toString()).importar(informe);
+
+		assertEquals(NÚM_LÍNEAS / 2, lista.size(), "Partidos cargados");
+		for (int pos = 0; pos < lista.size(); pos++) {
+			assertEquals(líneaCorrecta(2 * pos + 1), lista.getElemento(pos).toStringCSV(), "Partido " + pos);
+		}
+		comprobarInforme(informe);
+	}
+
+	/**
+	 * Método de prueba sobre
+	 * {@link ImportadorQuiniela1X2#validar(InformeImportaciónQuiniela1X2)}: la
+	 * validación sin carga deja el mismo informe que la importación tolerante.
+	 *
+	 * @throws IOException             no esperada
+	 * @throws DatoPartido1X2Exception no esperada
+	 */
+	@Test
+	@DisplayName("Validación sin carga")
+	public void testValidación() throws IOException, DatoPartido1X2Exception {
+		InformeImportaciónQuiniela1X2 informe = new InformeImportaciónQuiniela1X2();
+
+		new ImportadorQuiniela1X2(crearArchivo().toString()).validar(informe);
+		comprobarInforme(informe);
+	}
+
+	/**
+	 * Método de prueba sobre {@link ImportadorQuiniela1X2#importar()}: la
+	 * importación estricta se detiene en la primera línea errónea.
+	 *
+	 * @throws IOException no esperada
+	 */
+	@Test
+	@DisplayName("Importación estricta")
+	public void testImportaciónEstricta() throws IOException {
+		Path archivo = crearArchivo();
+		DatoPartido1X2Exception ex;
+
+		ex = assertThrows(DatoPartido1X2Exception.class,
+				() -> new ImportadorQuiniela1X2(archivo.toString()).importar(), "Primera línea errónea");
+		assertEquals("Línea 2: " + ErrorDatoPartido1X2.LÍNEA_MAL_FORMADA.getMensaje(), ex.getLocalizedMessage(),
+				"Descripción");
+	}
+
+	/**
+	 * Comprueba el informe del archivo de prueba.
+	 *
+	 * @param informe el informe
+	 */
+	private static void comprobarInforme(InformeImportaciónQuiniela1X2 informe) {
+		List<InformeImportaciónQuiniela1X2.Incidencia> incidencias;
+		InformeImportaciónQuiniela1X2.Incidencia incidencia;
+
+		assertTrue(informe.hayErrores(), "Con errores");
+		assertEquals(NÚM_LÍNEAS / 2, informe.getLíneasCorrectas(), "Líneas correctas");
+		assertEquals(NÚM_LÍNEAS / 2, informe.getLíneasErróneas(), "Líneas erróneas");
+		assertEquals(NÚM_LÍNEAS / 4, informe.getFrecuencia(ErrorDatoPartido1X2.LÍNEA_MAL_FORMADA), "Mal formadas");
+		assertEquals(NÚM_LÍNEAS / 4, informe.getFrecuencia(ErrorDatoPartido1X2.RESULTADO_NO_VÁLIDO),
+				"Resultados no válidos");
+		assertEquals(0, informe.getFrecuencia(ErrorDatoPartido1X2.NOMBRE_CORTO), "Nombres cortos");
+
+		incidencias = informe.getIncidencias();
+		assertEquals(InformeImportaciónQuiniela1X2.MÁX_INCIDENCIAS, incidencias.size(), "Incidencias detalladas");
+		for (int i = 0; i < incidencias.size(); i++) {
+			incidencia = incidencias.get(i);
+			assertEquals(2L * (i + 1), incidencia.getNúmLínea(), "Línea de la incidencia " + i);
+			assertEquals(errorEsperado(2 * (i + 1)), incidencia.getError(), "Motivo de la incidencia " + i);
+		}
+	}
+
+	/**
+	 * Escribe el archivo de prueba: las líneas impares son correctas y las pares,
+	 * erróneas, alternando una línea mal formada y un resultado no válido.
+	 *
+	 * @return la ruta al archivo
+	 * @throws IOException si se produce algún error de escritura
+	 */
+	private Path crearArchivo() throws IOException {
+		Path archivo = carpeta.resolve("quiniela.txt");
+
+		try (BufferedWriter salida = Files.newBufferedWriter(archivo, StandardCharsets.UTF_8)) {
+			for (int númLínea = 1; númLínea <= NÚM_LÍNEAS; númLínea++) {
+				if (númLínea % 2 == 1) {
+					salida.write(líneaCorrecta(númLínea));
+				} else if (errorEsperado(númLínea) == ErrorDatoPartido1X2.LÍNEA_MAL_FORMADA) {
+					salida.write("LOCAL " + númLínea);
+				} else {
+					salida.write(String.format("LOCAL %d#VISITANTE %d#3", númLínea, númLínea));
+				}
+				salida.newLine();
+			}
+		}
+		return archivo;
+	}
+
+	/**
+	 * Compone la línea correcta de un número de línea impar.
+	 *
+	 * @param númLínea el número de línea
+	 * @return la línea pseudo-CSV
+	 */
+	private static String líneaCorrecta(int númLínea) {
+		return String.format("LOCAL %d#VISITANTE %d#%c", númLínea, númLínea, "1X2".charAt(númLínea % 3));
+	}
+
+	/**
+	 * Indica el motivo de error de un número de línea par.
+	 *
+	 * @param númLínea el número de línea
+	 * @return el motivo de error
+	 */
+	private static ErrorDatoPartido1X2 errorEsperado(int númLínea) {
+		return (númLínea % 4 == 2) ? ErrorDatoPartido1X2.LÍNEA_MAL_FORMADA : ErrorDatoPartido1X2.RESULTADO_NO_VÁLIDO;
+	}
+}
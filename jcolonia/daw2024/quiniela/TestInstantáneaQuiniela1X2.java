@@ -0,0 +1,182 @@
+package jcolonia.daw2024.quiniela;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Modelo: Pruebas sobre {@link InstantáneaQuiniela1X2}: una instantánea sigue
+ * viendo exactamente los partidos del momento en que se tomó, aunque después
+ * la colección los retire, compacte o vacíe el almacén. Las colecciones tienen
+ * varios miles de partidos, de modo que se recorren en varios lotes y las bajas
+ * bastan para forzar una compactación.
+ *
+ * @version 1.0 (20261018000)
+ * @author Rodrigo Martínez Delgado &lt;rodrigo.mardel.daw@gmail.com&gt;
+ */
+class TestInstantáneaQuiniela1X2 {
+	/** Número de partidos de la colección inicial. */
+	private static final int NÚM_PARTIDOS = 3000;
+
+	/**
+	 * Número de bajas; más de la mitad de los huecos, lo que fuerza una
+	 * compactación (ver {@link MapaPosicionesQuiniela1X2#requiereCompactación()}).
+	 */
+	private static final int NÚM_BAJAS = 2000;
+
+	/**
+	 * Método de prueba sobre {@link InstantáneaQuiniela1X2}: sin compactación,
+	 * las bajas y altas posteriores no alteran la instantánea, que lee sus
+	 * partidos por lotes directamente del almacén.
+	 *
+	 * @throws Partido1X2Exception no esperada
+	 */
+	@Test
+	@DisplayName("Bajas sin compactación")
+	public void testBajasSinCompactación() throws Partido1X2Exception {
+		ConjuntoQuiniela1X2 conjunto = crearConjunto();
+		List<String> original = conjunto.generarListadoCSV();
+		InstantáneaQuiniela1X2 instantánea;
+
+		instantánea = conjunto.tomarInstantánea();
+		for (int i = 0; i < 100; i++) {
+			conjunto.eliminarElemento(i * 7);
+		}
+		agregarPartidos(conjunto, NÚM_PARTIDOS, 50);
+
+		assertEquals(NÚM_PARTIDOS, instantánea.size(), "Tamaño");
+		assertEquals(original, instantánea.generarListadoCSV(), "Partidos de la instantánea");
+	}
+
+	/**
+	 * Método de prueba sobre {@link InstantáneaQuiniela1X2#desligar()}: una
+	 * instantánea sin recorrer copia sus partidos cuando las bajas fuerzan una
+	 * compactación, y después los devuelve todos, en orden.
+	 *
+	 * @throws Partido1X2Exception no esperada
+	 */
+	@Test
+	@DisplayName("Bajas con compactación")
+	public void testBajasConCompactación() throws Partido1X2Exception {
+		ConjuntoQuiniela1X2 conjunto = crearConjunto();
+		List<String> original = conjunto.generarListadoCSV();
+		InstantáneaQuiniela1X2 instantánea;
+
+		instantánea = conjunto.tomarInstantánea();
+		eliminarPartidos(conjunto);
+		agregarPartidos(conjunto, NÚM_PARTIDOS, 50);
+
+		assertEquals(original, instantánea.generarListadoCSV(), "Partidos de la instantánea");
+		assertEquals(original.subList(NÚM_BAJAS, NÚM_PARTIDOS), conjunto.generarListadoCSV().subList(0,
+				NÚM_PARTIDOS - NÚM_BAJAS), "Colección compactada");
+	}
+
+	/**
+	 * Método de prueba sobre {@link InstantáneaQuiniela1X2#streamElementos()}:
+	 * un recorrido a medias –con varios lotes ya leídos– continúa con los
+	 * partidos originales aunque entre tanto una compactación desligue la
+	 * instantánea.
+	 *
+	 * @throws Partido1X2Exception no esperada
+	 */
+	@Test
+	@DisplayName("Compactación a mitad de recorrido")
+	public void testCompactaciónDuranteRecorrido() throws Partido1X2Exception {
+		ConjuntoQuiniela1X2 conjunto = crearConjunto();
+		List<String> original = conjunto.generarListadoCSV();
+		List<String> leídos = new ArrayList<String>();
+		Iterator<ElementoPartido1X2> recorrido;
+
+		recorrido = conjunto.tomarInstantánea().streamElementos().iterator();
+		for (int i = 0; i < 1500; i++) {
+			leídos.add(recorrido.next().toStringCSV());
+		}
+		eliminarPartidos(conjunto);
+		while (recorrido.hasNext()) {
+			leídos.add(recorrido.next().toStringCSV());
+		}
+
+		assertEquals(original, leídos, "Partidos recorridos");
+	}
+
+	/**
+	 * Método de prueba sobre {@link InstantáneaQuiniela1X2}: al
+	 * {@link ConjuntoQuiniela1X2#vaciar() vaciar} la colección y llenarla con
+	 * otros partidos, las instantáneas anteriores siguen viendo los originales,
+	 * también desde una posición intermedia.
+	 *
+	 * @throws Partido1X2Exception no esperada
+	 */
+	@Test
+	@DisplayName("Colección vaciada")
+	public void testVaciar() throws Partido1X2Exception {
+		ConjuntoQuiniela1X2 conjunto = crearConjunto();
+		List<String> original = conjunto.generarListadoCSV();
+		InstantáneaQuiniela1X2 instantánea;
+		List<String> desdeMitad;
+		Iterator<ElementoPartido1X2> recorrido;
+
+		instantánea = conjunto.tomarInstantánea();
+		recorrido = conjunto.streamElementos(NÚM_PARTIDOS / 2).iterator();
+		assertTrue(recorrido.hasNext(), "Primer lote leído");
+
+		conjunto.vaciar();
+		agregarPartidos(conjunto, NÚM_PARTIDOS, NÚM_PARTIDOS);
+
+		assertEquals(original, instantánea.generarListadoCSV(), "Partidos de la instantánea");
+		desdeMitad = new ArrayList<String>();
+		while (recorrido.hasNext()) {
+			desdeMitad.add(recorrido.next().toStringCSV());
+		}
+		assertEquals(original.subList(NÚM_PARTIDOS / 2, NÚM_PARTIDOS), desdeMitad, "Recorrido desde la mitad");
+		assertEquals(NÚM_PARTIDOS, conjunto.size(), "Colección llenada de nuevo");
+	}
+
+	/**
+	 * Crea una colección con {@value #NÚM_PARTIDOS} partidos distintos.
+	 *
+	 * @return la colección
+	 */
+	private static ConjuntoQuiniela1X2 crearConjunto() {
+		ConjuntoQuiniela1X2 conjunto = new ConjuntoQuiniela1X2();
+
+		agregarPartidos(conjunto, 0, NÚM_PARTIDOS);
+		return conjunto;
+	}
+
+	/**
+	 * Añade partidos distintos, numerados de forma consecutiva.
+	 *
+	 * @param conjunto la colección
+	 * @param primero  el número del primer partido
+	 * @param cantidad el número de partidos
+	 */
+	private static void agregarPartidos(ConjuntoQuiniela1X2 conjunto, int primero, int cantidad) {
+		for (int i = primero; i < primero + cantidad; i++) {
+			try {
+				conjunto.agregarElemento(ElementoPartido1X2.of(String.format("LOCAL %d", i),
+						String.format("VISITANTE %d", i), "1X2".substring(i % 3, i % 3 + 1)));
+			} catch (DatoPartido1X2Exception ex) { // No debe ocurrir
+				throw new IllegalStateException(ex);
+			}
+		}
+	}
+
+	/**
+	 * Retira los {@value #NÚM_BAJAS} primeros partidos, lo que fuerza una
+	 * compactación.
+	 *
+	 * @param conjunto la colección
+	 */
+	private static void eliminarPartidos(ConjuntoQuiniela1X2 conjunto) {
+		for (int i = 0; i < NÚM_BAJAS; i++) {
+			conjunto.eliminarElemento(0);
+		}
+	}
+}
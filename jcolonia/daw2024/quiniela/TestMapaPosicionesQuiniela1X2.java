@@ -0,0 +1,174 @@
+package jcolonia.daw2024.quiniela;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Modelo: Pruebas aleatorias sobre {@link MapaPosicionesQuiniela1X2} –marcas de
+ * borrado, árbol de Fenwick, identificadores estables y compactación– frente a
+ * una {@link ArrayList} de referencia. Tras cada alta o baja se comprueban
+ * todas las posiciones. La semilla es fija, así que cada ejecución repite la
+ * misma secuencia.
+ *
+ * @version 1.0 (20261018000)
+ * @author Rodrigo Martínez Delgado &lt;rodrigo.mardel.daw@gmail.com&gt;
+ */
+class TestMapaPosicionesQuiniela1X2 {
+	/** Semilla de las secuencias aleatorias. */
+	private static final long SEMILLA = 20261018L;
+
+	/** Número de operaciones de cada secuencia. */
+	private static final int NÚM_OPERACIONES = 12_000;
+
+	/**
+	 * Método de prueba sobre {@link MapaPosicionesQuiniela1X2}: una secuencia
+	 * aleatoria de altas, altas en bloque y bajas, con compactaciones cuando la
+	 * correspondencia las pide. Tras cada paso, cada posición visible lleva al
+	 * hueco y al identificador que indica la referencia, y de vuelta.
+	 */
+	@Test
+	@DisplayName("Altas, bajas y compactación frente a una lista")
+	public void testSecuenciaAleatoria() {
+		MapaPosicionesQuiniela1X2 mapa;
+		List<Integer> referencia; // Identificador de cada posición visible
+		List<Integer> almacén; // Identificador de cada hueco, borrados incluidos
+		List<Integer> retirados;
+		Random azar;
+		int cantidad, pos, siguienteId = 0, versión = 0, compactaciones = 0;
+
+		mapa = new MapaPosicionesQuiniela1X2();
+		referencia = new ArrayList<Integer>();
+		almacén = new ArrayList<Integer>();
+		retirados = new ArrayList<Integer>();
+		azar = new Random(SEMILLA);
+
+		for (int paso = 0; paso < NÚM_OPERACIONES; paso++) {
+			if (referencia.isEmpty() || azar.nextInt(100) < 45) { // Alta
+				if (azar.nextInt(20) == 0) {
+					cantidad = 1 + azar.nextInt(8);
+					for (int i = 0; i < cantidad; i++) {
+						referencia.add(siguienteId);
+						almacén.add(siguienteId++);
+					}
+					mapa.agregar(cantidad);
+				} else {
+					assertEquals(siguienteId, mapa.agregar(), "Identificador nuevo");
+					referencia.add(siguienteId);
+					almacén.add(siguienteId++);
+				}
+			} else { // Baja
+				pos = azar.nextInt(referencia.size());
+				mapa.borrar(mapa.getHueco(pos), ++versión);
+				retirados.add(referencia.remove(pos));
+				if (mapa.requiereCompactación()) {
+					compactar(almacén, mapa.getBorrados());
+					mapa.compactar();
+					compactaciones++;
+				}
+			}
+			comprobar(mapa, referencia, almacén, retirados);
+		}
+		assertTrue(compactaciones > 0, "Sin compactaciones");
+	}
+
+	/**
+	 * Método de prueba sobre {@link ConjuntoQuiniela1X2}: la misma secuencia
+	 * aleatoria sobre una colección completa. Tras cada paso se comprueban el
+	 * elemento y el identificador de cada posición, y la posición de cada
+	 * identificador.
+	 *
+	 * @throws DatoPartido1X2Exception no esperada
+	 */
+	@Test
+	@DisplayName("Colección frente a una lista")
+	public void testColecciónAleatoria() throws DatoPartido1X2Exception {
+		ConjuntoQuiniela1X2 conjunto;
+		List<ElementoPartido1X2> referencia;
+		List<Integer> ids, retirados;
+		ElementoPartido1X2 nuevo;
+		Random azar;
+		int pos;
+
+		conjunto = new ConjuntoQuiniela1X2();
+		referencia = new ArrayList<ElementoPartido1X2>();
+		ids = new ArrayList<Integer>();
+		retirados = new ArrayList<Integer>();
+		azar = new Random(SEMILLA);
+
+		for (int paso = 0; paso < NÚM_OPERACIONES / 2; paso++) {
+			if (referencia.isEmpty() || azar.nextInt(100) < 45) {
+				nuevo = ElementoPartido1X2.of(String.format("LOCAL %d", paso), String.format("VISITANTE %d", paso),
+						"1X2".substring(paso % 3, paso % 3 + 1));
+				ids.add(conjunto.agregarElemento(nuevo));
+				referencia.add(nuevo);
+			} else {
+				pos = azar.nextInt(referencia.size());
+				conjunto.eliminarElemento(pos);
+				referencia.remove(pos);
+				retirados.add(ids.remove(pos));
+			}
+
+			assertEquals(referencia.size(), conjunto.size(), "Tamaño");
+			for (int i = 0; i < referencia.size(); i++) {
+				assertTrue(referencia.get(i) == conjunto.getElemento(i), "Elemento de la posición " + i);
+				assertEquals(ids.get(i), conjunto.getId(i), "Identificador de la posición " + i);
+				assertEquals(i, conjunto.getPosición(ids.get(i)), "Posición del identificador " + ids.get(i));
+			}
+			for (int id : retirados) {
+				assertEquals(-1, conjunto.getPosición(id), "Posición del retirado " + id);
+			}
+		}
+	}
+
+	/**
+	 * Comprueba la correspondencia completa frente a la referencia.
+	 *
+	 * @param mapa       la correspondencia
+	 * @param referencia el identificador de cada posición visible
+	 * @param almacén    el identificador de cada hueco
+	 * @param retirados  los identificadores ya borrados
+	 */
+	private static void comprobar(MapaPosicionesQuiniela1X2 mapa, List<Integer> referencia, List<Integer> almacén,
+			List<Integer> retirados) {
+		int hueco;
+
+		assertEquals(referencia.size(), mapa.size(), "Tamaño");
+		assertEquals(almacén.size(), mapa.getNúmHuecos(), "Número de huecos");
+		for (int pos = 0; pos < referencia.size(); pos++) {
+			hueco = mapa.getHueco(pos);
+			assertFalse(mapa.estáBorrado(hueco), "Hueco borrado en la posición " + pos);
+			assertEquals(almacén.get(hueco), mapa.getId(hueco), "Hueco de la posición " + pos);
+			assertEquals(referencia.get(pos), mapa.getId(hueco), "Identificador de la posición " + pos);
+			assertEquals(pos, mapa.getPosición(hueco), "Posición del hueco " + hueco);
+			assertEquals(hueco, mapa.getHuecoDeId(referencia.get(pos)), "Hueco del identificador");
+		}
+		for (int id : retirados) {
+			assertEquals(-1, mapa.getHuecoDeId(id), "Hueco del retirado " + id);
+		}
+	}
+
+	/**
+	 * Compacta el almacén simulado igual que un {@link AlmacénQuiniela1X2}.
+	 *
+	 * @param almacén  el identificador de cada hueco
+	 * @param borrados los huecos borrados
+	 */
+	private static void compactar(List<Integer> almacén, BitSet borrados) {
+		List<Integer> restantes = new ArrayList<Integer>();
+
+		for (int hueco = borrados.nextClearBit(0); hueco < almacén.size(); hueco = borrados.nextClearBit(hueco + 1)) {
+			restantes.add(almacén.get(hueco));
+		}
+		almacén.clear();
+		almacén.addAll(restantes);
+	}
+}
@@ -0,0 +1,255 @@
+package jcolonia.daw2024.quiniela;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Controlador: Pruebas sobre {@link ProcesoPorLotesQuiniela1X2}: códigos de
+ * salida, claves del resumen y separación entre la salida de datos y la de
+ * errores. Cada orden se cursa sobre una colección guardada en una carpeta
+ * temporal (opción <code>--base</code>), con salidas en memoria.
+ *
+ * @version 1.0 (20261018000)
+ * @author Rodrigo Martínez Delgado &lt;rodrigo.mardel.daw@gmail.com&gt;
+ */
+class TestProcesoPorLotesQuiniela1X2 {
+	/** Carpeta temporal para la colección guardada y los archivos de prueba. */
+	@TempDir
+	Path carpeta;
+
+	/** Salida de datos de la última orden. */
+	private ByteArrayOutputStream salida;
+
+	/** Salida de errores de la última orden. */
+	private ByteArrayOutputStream errores;
+
+	/** Opción con el archivo base de la colección guardada. */
+	private String base;
+
+	/**
+	 * Prepara la ruta al archivo base dentro de la carpeta temporal.
+	 */
+	@BeforeEach
+	public void prepararBase() {
+		base = "--base=" + carpeta.resolve("quiniela.txt");
+	}
+
+	/**
+	 * Método de prueba sobre {@link ProcesoPorLotesQuiniela1X2#ejecutar(String...)}:
+	 * una importación, una fusión y una exportación correctas terminan con
+	 * {@link ProcesoPorLotesQuiniela1X2#SALIDA_CORRECTA} y resumen sus cifras en
+	 * la salida de datos, sin nada en la de errores.
+	 *
+	 * @throws IOException no esperada
+	 */
+	@Test
+	@DisplayName("Órdenes correctas")
+	public void testCorrectas() throws IOException {
+		Path archivo = escribir("datos.txt", "EQUIPO A#EQUIPO B#1", "EQUIPO C#EQUIPO D#X");
+		Path otro = escribir("otros.txt", "EQUIPO A#EQUIPO B#2", "EQUIPO E#EQUIPO F#2");
+		Path exportado = carpeta.resolve("exportado.txt");
+		Map<String, String> resumen;
+
+		assertEquals(ProcesoPorLotesQuiniela1X2.SALIDA_CORRECTA, ejecutar("importar", archivo.toString(), base),
+				"Importar");
+		resumen = leerResumen(salida);
+		assertEquals("importar", resumen.get("orden"), "Orden");
+		assertEquals("2", resumen.get("partidos"), "Partidos importados");
+		assertEquals("0", resumen.get("codigo_salida"), "Código en el resumen");
+		assertTrue(resumen.containsKey("milisegundos"), "Duración");
+		assertEquals("", texto(errores), "Sin errores");
+
+		assertEquals(ProcesoPorLotesQuiniela1X2.SALIDA_CORRECTA,
+				ejecutar("fusionar", otro.toString(), "--politica=reemplazar", base), "Fusionar");
+		resumen = leerResumen(salida);
+		assertEquals("1", resumen.get("lineas_repetidas"), "Repetidos");
+		assertEquals("3", resumen.get("partidos"), "Partidos tras fusionar");
+
+		assertEquals(ProcesoPorLotesQuiniela1X2.SALIDA_CORRECTA,
+				ejecutar("exportar", exportado.toString(), base), "Exportar");
+		assertEquals("3", leerResumen(salida).get("partidos"), "Partidos exportados");
+		assertEquals(List.of("EQUIPO C#EQUIPO D#X", "EQUIPO A#EQUIPO B#2", "EQUIPO E#EQUIPO F#2"),
+				Files.readAllLines(exportado), "Archivo exportado");
+
+		assertEquals(ProcesoPorLotesQuiniela1X2.SALIDA_CORRECTA, ejecutar("estadisticas", base), "Estadísticas");
+		resumen = leerResumen(salida);
+		assertEquals("3", resumen.get("partidos"), "Partidos");
+		assertEquals("6", resumen.get("equipos"), "Equipos");
+		assertEquals("0", resumen.get("resultado_1"), "Victorias locales");
+		assertEquals("1", resumen.get("resultado_x"), "Empates");
+		assertEquals("2", resumen.get("resultado_2"), "Victorias visitantes");
+	}
+
+	/**
+	 * Método de prueba sobre {@link ProcesoPorLotesQuiniela1X2#ejecutar(String...)}:
+	 * la clasificación deja en la salida de datos solo la tabla, con su cabecera
+	 * y una fila por equipo, y su resumen va a la salida de errores.
+	 *
+	 * @throws IOException no esperada
+	 */
+	@Test
+	@DisplayName("Clasificación sin resumen en la tabla")
+	public void testClasificación() throws IOException {
+		Path archivo = escribir("datos.txt", "EQUIPO A#EQUIPO B#1", "EQUIPO B#EQUIPO A#X");
+		List<String> tabla;
+		Map<String, String> resumen;
+
+		ejecutar("importar", archivo.toString(), base);
+		assertEquals(ProcesoPorLotesQuiniela1X2.SALIDA_CORRECTA, ejecutar("clasificacion", base), "Clasificación");
+
+		tabla = texto(salida).lines().toList();
+		assertEquals(3, tabla.size(), "Cabecera y dos equipos: " + tabla);
+		assertEquals("equipo\tjugados\tganados\tempatados\tperdidos\tpuntos", tabla.get(0), "Cabecera");
+		for (String fila : tabla) {
+			assertEquals(6, fila.split("\t").length, "Columnas: " + fila);
+			assertFalse(fila.contains("="), "Sin resumen en la tabla: " + fila);
+		}
+		resumen = leerResumen(errores);
+		assertEquals("clasificacion", resumen.get("orden"), "Orden");
+		assertEquals("2", resumen.get("equipos"), "Equipos");
+		assertEquals("0", resumen.get("codigo_salida"), "Código en el resumen");
+	}
+
+	/**
+	 * Método de prueba sobre {@link ProcesoPorLotesQuiniela1X2#ejecutar(String...)}:
+	 * una línea errónea termina con
+	 * {@link ProcesoPorLotesQuiniela1X2#SALIDA_DATOS_ERRÓNEOS}, tanto si
+	 * interrumpe la importación estricta como si la tolerante la pasa por alto,
+	 * y la validación la detalla en la salida de errores.
+	 *
+	 * @throws IOException no esperada
+	 */
+	@Test
+	@DisplayName("Datos erróneos")
+	public void testDatosErróneos() throws IOException {
+		Path archivo = escribir("datos.txt", "EQUIPO A#EQUIPO B#1", "EQUIPO C#EQUIPO D#3", "EQUIPO E#EQUIPO F#2");
+		Map<String, String> resumen;
+
+		assertEquals(ProcesoPorLotesQuiniela1X2.SALIDA_DATOS_ERRÓNEOS,
+				ejecutar("importar", archivo.toString(), base), "Importación estricta");
+		assertTrue(texto(errores).startsWith("error="), "Error notificado: " + texto(errores));
+		assertEquals("1", leerResumen(salida).get("codigo_salida"), "Código en el resumen");
+
+		assertEquals(ProcesoPorLotesQuiniela1X2.SALIDA_DATOS_ERRÓNEOS,
+				ejecutar("importar", archivo.toString(), "--tolerante", base), "Importación tolerante");
+		resumen = leerResumen(salida);
+		assertEquals("2", resumen.get("partidos"), "Partidos cargados");
+		assertEquals("2", resumen.get("lineas_correctas"), "Líneas correctas");
+		assertEquals("1", resumen.get("lineas_erroneas"), "Líneas erróneas");
+
+		assertEquals(ProcesoPorLotesQuiniela1X2.SALIDA_DATOS_ERRÓNEOS, ejecutar("validar", archivo.toString()),
+				"Validación");
+		assertTrue(texto(errores).contains("Línea 2: "), "Línea detallada: " + texto(errores));
+	}
+
+	/**
+	 * Método de prueba sobre {@link ProcesoPorLotesQuiniela1X2#ejecutar(String...)}:
+	 * una orden desconocida, un número de argumentos incorrecto o una opción o
+	 * política desconocidas terminan con
+	 * {@link ProcesoPorLotesQuiniela1X2#SALIDA_USO_INCORRECTO} y muestran la
+	 * ayuda en la salida de errores.
+	 */
+	@Test
+	@DisplayName("Uso incorrecto")
+	public void testUsoIncorrecto() {
+		String[][] casos = { {}, { "borrar", base }, { "importar", base }, { "clasificacion", "--rapido", base },
+				{ "fusionar", "datos.txt", "--politica=sumar", base } };
+
+		for (String[] caso : casos) {
+			assertEquals(ProcesoPorLotesQuiniela1X2.SALIDA_USO_INCORRECTO, ejecutar(caso), String.join(" ", caso));
+			assertTrue(texto(errores).contains("Uso:"), "Ayuda: " + String.join(" ", caso));
+			assertEquals("2", leerResumen(salida).get("codigo_salida"),
+					"Código en el resumen: " + String.join(" ", caso));
+		}
+	}
+
+	/**
+	 * Método de prueba sobre {@link ProcesoPorLotesQuiniela1X2#ejecutar(String...)}:
+	 * un archivo inexistente o un destino inaccesible terminan con
+	 * {@link ProcesoPorLotesQuiniela1X2#SALIDA_ERROR_ACCESO}.
+	 *
+	 * @throws IOException no esperada
+	 */
+	@Test
+	@DisplayName("Error de acceso")
+	public void testErrorAcceso() throws IOException {
+		Path archivo = escribir("datos.txt", "EQUIPO A#EQUIPO B#1");
+
+		assertEquals(ProcesoPorLotesQuiniela1X2.SALIDA_ERROR_ACCESO,
+				ejecutar("importar", carpeta.resolve("falta.txt").toString(), base), "Archivo inexistente");
+		assertEquals("3", leerResumen(salida).get("codigo_salida"), "Código en el resumen");
+
+		ejecutar("importar", archivo.toString(), base);
+		assertEquals(ProcesoPorLotesQuiniela1X2.SALIDA_ERROR_ACCESO,
+				ejecutar("exportar", carpeta.resolve("falta").resolve("exportado.txt").toString(), base),
+				"Carpeta de destino inexistente");
+	}
+
+	/**
+	 * Cursa una orden con salidas nuevas en memoria.
+	 *
+	 * @param args la orden, sus argumentos y sus opciones
+	 * @return el código de salida
+	 */
+	private int ejecutar(String... args) {
+		salida = new ByteArrayOutputStream();
+		errores = new ByteArrayOutputStream();
+		return new ProcesoPorLotesQuiniela1X2(salida, errores).ejecutar(args);
+	}
+
+	/**
+	 * Reúne las líneas <code>clave=valor</code> de una salida.
+	 *
+	 * @param flujo la salida
+	 * @return los valores, por clave
+	 */
+	private static Map<String, String> leerResumen(ByteArrayOutputStream flujo) {
+		Map<String, String> resumen = new HashMap<String, String>();
+		int igual;
+
+		for (String línea : texto(flujo).lines().toList()) {
+			igual = línea.indexOf('=');
+			if (igual > 0) {
+				resumen.put(línea.substring(0, igual), línea.substring(igual + 1));
+			}
+		}
+		return resumen;
+	}
+
+	/**
+	 * Decodifica el contenido de una salida.
+	 *
+	 * @param flujo la salida
+	 * @return el texto escrito
+	 */
+	private static String texto(ByteArrayOutputStream flujo) {
+		return flujo.toString(StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Escribe un archivo de datos en la carpeta temporal.
+	 *
+	 * @param nombre el nombre del archivo
+	 * @param líneas sus líneas
+	 * @return la ruta al archivo
+	 * @throws IOException si se produce algún error de escritura
+	 */
+	private Path escribir(String nombre, String... líneas) throws IOException {
+		return Files.write(carpeta.resolve(nombre), List.of(líneas));
+	}
+}
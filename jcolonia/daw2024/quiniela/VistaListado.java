@@ -2,7 +2,11 @@ package jcolonia.daw2024.quiniela;
 
 import static java.lang.System.out;
 
+import java.util.Iterator;
 import java.util.List;
+import java.util.Scanner;
+import java.util.function.IntFunction;
+import java.util.stream.Stream;
 
 /**
  * Vista para listar los elementos de los datos introducidos.
@@ -11,6 +15,8 @@ import java.util.List;
  * @author Rodrigo Martínez Delgado &lt;rodrigo.mardel.daw@gmail.com&gt;
  */
 public class VistaListado extends VistaGeneral {
+	/** Número de filas de cada página del listado paginado. */
+	public static final int FILAS_POR_PÁGINA = 20;
 
 	/**
 	 * Almacena el nombre o título.
@@ -31,4 +37,94 @@ public class VistaListado extends VistaGeneral {
 			out.printf("%d. %s %n", i + 1, generarListado.get(i));
 		}		
 	}
+
+	/**
+	 * Muestra un listado por páginas de {@link #FILAS_POR_PÁGINA} filas, con
+	 * navegación: «Intro» para la siguiente, «a» para la anterior, un número para
+	 * saltar a esa página y «f» para terminar. Solo se generan las filas de la
+	 * página visible, y cada página se compone completa antes de enviarla a la
+	 * salida de una sola vez.
+	 * 
+	 * @param númFilas el número total de filas del listado
+	 * @param desde    proveedor de los textos del listado a partir de una
+	 *                 posición, empezando en 0
+	 */
+	public void mostrarPaginado(int númFilas, IntFunction<Stream<String>> desde) {
+		Scanner in = getScEntrada();
+		StringBuilder texto;
+		int númPáginas, página = 0;
+		boolean salir = false;
+
+		númPáginas = Math.max(1, (númFilas + FILAS_POR_PÁGINA - 1) / FILAS_POR_PÁGINA);
+		texto = new StringBuilder();
+		do {
+			texto.setLength(0);
+			componerPágina(texto, página * FILAS_POR_PÁGINA, desde);
+			out.print(texto);
+			out.flush();
+
+			if (númPáginas == 1) {
+				preguntaSeguir();
+				salir = true;
+			} else {
+				out.printf("%nPágina %d de %d · «Intro» %s, «a» anterior, nº de página, «f» fin: ", página + 1,
+						númPáginas, página + 1 < númPáginas ? "siguiente" : "fin");
+				página = elegirPágina(in.nextLine().strip(), página, númPáginas);
+				salir = página < 0;
+			}
+		} while (!salir);
+	}
+
+	/**
+	 * Compone el texto de una página del listado, con las filas numeradas. El
+	 * flujo se cierra al terminar la página, aunque no se haya recorrido entero,
+	 * para que la colección no siga reservando el resto del listado.
+	 * 
+	 * @param texto   el texto donde se compone la página
+	 * @param primera la posición de la primera fila, empezando en 0
+	 * @param desde   proveedor de los textos del listado a partir de una posición
+	 */
+	private void componerPágina(StringBuilder texto, int primera, IntFunction<Stream<String>> desde) {
+		Iterator<String> recorrido;
+
+		try (Stream<String> filas = desde.apply(primera)) {
+			recorrido = filas.limit(FILAS_POR_PÁGINA).iterator();
+			for (int i = primera; recorrido.hasNext(); i++) {
+				texto.append(i + 1).append(". ").append(recorrido.next()).append(" ").append(System.lineSeparator());
+			}
+		}
+	}
+
+	/**
+	 * Interpreta la respuesta del usuario en la navegación por páginas.
+	 * 
+	 * @param respuesta  el texto introducido
+	 * @param página     la página actual, empezando en 0
+	 * @param númPáginas el número total de páginas
+	 * @return la página a mostrar a continuación, o <code>-1</code> para terminar
+	 */
+	private int elegirPágina(String respuesta, int página, int númPáginas) {
+		int siguiente;
+
+		switch (respuesta) {
+		case "":
+			siguiente = (página + 1 < númPáginas) ? página + 1 : -1;
+			break;
+		case "a", "A":
+			siguiente = Math.max(página - 1, 0);
+			break;
+		case "f", "F":
+			siguiente = -1;
+			break;
+		default:
+			try {
+				siguiente = Math.min(Math.max(Integer.parseInt(respuesta), 1), númPáginas) - 1;
+			} catch (NumberFormatException e) {
+				System.err.println("*** Opción de navegación no válida ***");
+				siguiente = página;
+			}
+			break;
+		}
+		return siguiente;
+	}
 }
@@ -0,0 +1,335 @@
+package jcolonia.daw2024.quiniela;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Acceso a datos: índice de desplazamientos de un archivo de texto en formato
+ * pseudo-CSV (ver {@link ElementoPartido1X2#toStringCSV()}): la posición, en
+ * bytes, donde comienza cada línea. Se guarda junto al archivo, con la misma
+ * ruta y la extensión {@value #EXTENSIÓN} añadida, y se abre proyectado en
+ * memoria, de modo que abrirlo cuesta lo mismo sea cual sea el tamaño del
+ * archivo.
+ *
+ * <div>El índice anota el tamaño y la fecha de modificación del archivo
+ * indexado; si no coinciden, o si falta, se crea de nuevo recorriendo el
+ * archivo una vez. Al crearlo se comprueban todas las líneas, así que un
+ * índice vigente garantiza que el archivo es válido.</div>
+ *
+ * <div>Formato: cuatro enteros <code>long</code> de cabecera –marca, tamaño y
+ * fecha del archivo, número de líneas– seguidos de la posición inicial de cada
+ * línea y del tamaño del archivo como final de la última.</div>
+ *
+ * @see AlmacénPerezosoQuiniela1X2
+ *
+ * @version 1.0 (20261018000)
+ * @author Rodrigo Martínez Delgado &lt;rodrigo.mardel.daw@gmail.com&gt;
+ */
+class ÍndiceDesplazamientosQuiniela1X2 {
+	/** Extensión del índice, añadida a la ruta del archivo indexado. */
+	static final String EXTENSIÓN = ".idx";
+
+	/** Marca inicial del índice: «Q1X2IDX» y la versión del formato. */
+	private static final long MARCA = 0x5131583249445801L;
+
+	/** Número de enteros <code>long</code> de la cabecera. */
+	private static final int TAMAÑO_CABECERA = 4;
+
+	/** Tamaño máximo, en bytes, de cada ventana recorrida al crear el índice. */
+	private static final int TAMAÑO_VENTANA = 256 * 1024 * 1024;
+
+	/** Tamaño del búfer de escritura, en bytes. */
+	private static final int TAMAÑO_BÚFER = 64 * 1024;
+
+	/** Carácter de fin de línea. */
+	private static final byte FIN_LÍNEA = '\n';
+
+	/** Carácter de retorno de carro, descartado al final de cada línea. */
+	private static final byte RETORNO = '\r';
+
+	/** Posiciones de comienzo de cada línea, más el final de la última. */
+	private LongBuffer desplazamientos;
+
+	/** Número de líneas indexadas. */
+	private int númLíneas;
+
+	/**
+	 * Crea un índice sobre las posiciones ya proyectadas.
+	 *
+	 * @param desplazamientos las posiciones de comienzo de las líneas
+	 * @param númLíneas       el número de líneas
+	 */
+	private ÍndiceDesplazamientosQuiniela1X2(LongBuffer desplazamientos, int númLíneas) {
+		this.desplazamientos = desplazamientos;
+		this.númLíneas = númLíneas;
+	}
+
+	/**
+	 * Abre el índice de un archivo, creándolo antes si falta o no corresponde al
+	 * archivo actual.
+	 *
+	 * @param rutaArchivo la ruta al archivo indexado
+	 * @return el índice
+	 * @throws IOException             si se produce algún error de acceso
+	 * @throws DatoPartido1X2Exception si hay que crear el índice y alguna línea
+	 *                                 del archivo no es válida
+	 */
+	static ÍndiceDesplazamientosQuiniela1X2 abrir(Path rutaArchivo) throws IOException, DatoPartido1X2Exception {
+		ÍndiceDesplazamientosQuiniela1X2 índice;
+
+		índice = abrirVigente(rutaArchivo);
+		if (índice == null) {
+			crear(rutaArchivo);
+			índice = abrirVigente(rutaArchivo);
+			if (índice == null) { // El archivo ha cambiado mientras se indexaba
+				throw new IOException(String.format("«%s» ha cambiado durante la indexación", rutaArchivo));
+			}
+		}
+		return índice;
+	}
+
+	/**
+	 * Crea, o vuelve a crear, el índice de un archivo, comprobando todas sus
+	 * líneas. El índice se escribe con otro nombre y se coloca en su sitio de
+	 * forma atómica.
+	 *
+	 * @param rutaArchivo la ruta al archivo a indexar
+	 * @throws IOException             si se produce algún error de acceso
+	 * @throws DatoPartido1X2Exception si alguna línea no es válida
+	 */
+	static void crear(Path rutaArchivo) throws IOException, DatoPartido1X2Exception {
+		Path rutaÍndice, rutaTemporal;
+		ByteBuffer búfer;
+		MappedByteBuffer ventana;
+		long tamañoArchivo, fecha, posición, tamañoVentana, líneas = 0;
+		int finÚtil;
+		boolean colocado = false;
+
+		rutaÍndice = getRutaÍndice(rutaArchivo);
+		rutaTemporal = Path.of(rutaÍndice + ".tmp");
+		búfer = ByteBuffer.allocate(TAMAÑO_BÚFER);
+		try {
+			try (FileChannel archivo = FileChannel.open(rutaArchivo, StandardOpenOption.READ);
+					FileChannel salida = FileChannel.open(rutaTemporal, StandardOpenOption.CREATE,
+							StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+				fecha = Files.getLastModifiedTime(rutaArchivo).toMillis();
+				tamañoArchivo = archivo.size();
+				salida.position(TAMAÑO_CABECERA * Long.BYTES); // La cabecera, al final
+				posición = 0;
+				while (posición < tamañoArchivo) {
+					tamañoVentana = Math.min(TAMAÑO_VENTANA, tamañoArchivo - posición);
+					ventana = archivo.map(MapMode.READ_ONLY, posición, tamañoVentana);
+					if (posición + tamañoVentana < tamañoArchivo) { // Quedan más ventanas
+						finÚtil = buscarÚltimoFinLínea(ventana, (int) tamañoVentana) + 1;
+						if (finÚtil == 0) {
+							throw new DatoPartido1X2Exception(
+									String.format("Línea %d: Línea demasiado larga", líneas + 1));
+						}
+					} else {
+						finÚtil = (int) tamañoVentana;
+					}
+					líneas = indexarVentana(ventana, finÚtil, posición, líneas, salida, búfer);
+					posición += finÚtil;
+				}
+				añadir(salida, búfer, tamañoArchivo); // Final de la última línea
+				vaciar(salida, búfer);
+
+				búfer.putLong(MARCA).putLong(tamañoArchivo).putLong(fecha).putLong(líneas);
+				búfer.flip();
+				while (búfer.hasRemaining()) {
+					salida.write(búfer, búfer.position());
+				}
+				salida.force(true);
+			}
+			Files.move(rutaTemporal, rutaÍndice, StandardCopyOption.ATOMIC_MOVE,
+					StandardCopyOption.REPLACE_EXISTING);
+			colocado = true;
+		} finally {
+			if (!colocado) {
+				Files.deleteIfExists(rutaTemporal);
+			}
+		}
+	}
+
+	/**
+	 * Elimina el índice de un archivo, si existe.
+	 *
+	 * @param rutaArchivo la ruta al archivo indexado
+	 * @throws IOException si se produce algún error de acceso
+	 */
+	static void borrar(Path rutaArchivo) throws IOException {
+		Files.deleteIfExists(getRutaÍndice(rutaArchivo));
+	}
+
+	/**
+	 * Devuelve el número de líneas indexadas.
+	 *
+	 * @return el número de líneas
+	 */
+	int getNúmLíneas() {
+		return númLíneas;
+	}
+
+	/**
+	 * Devuelve la posición en el archivo donde comienza una línea.
+	 *
+	 * @param línea el número de línea, desde 0; se admite
+	 *              {@link #getNúmLíneas()} para el final del archivo
+	 * @return la posición correspondiente
+	 */
+	long getComienzo(int línea) {
+		return desplazamientos.get(línea);
+	}
+
+	/**
+	 * Abre el índice de un archivo si existe y corresponde al archivo actual.
+	 *
+	 * @param rutaArchivo la ruta al archivo indexado
+	 * @return el índice, o <code>null</code> si falta o no está vigente
+	 * @throws IOException si se produce algún error de acceso
+	 */
+	private static ÍndiceDesplazamientosQuiniela1X2 abrirVigente(Path rutaArchivo) throws IOException {
+		Path rutaÍndice;
+		ByteBuffer cabecera;
+		long líneas;
+
+		rutaÍndice = getRutaÍndice(rutaArchivo);
+		if (!Files.exists(rutaÍndice)) {
+			return null;
+		}
+		try (FileChannel canal = FileChannel.open(rutaÍndice, StandardOpenOption.READ)) {
+			cabecera = ByteBuffer.allocate(TAMAÑO_CABECERA * Long.BYTES);
+			canal.read(cabecera, 0);
+			cabecera.flip();
+			if (cabecera.remaining() < cabecera.capacity() || cabecera.getLong(0) != MARCA
+					|| cabecera.getLong(Long.BYTES) != Files.size(rutaArchivo)
+					|| cabecera.getLong(2 * Long.BYTES) != Files.getLastModifiedTime(rutaArchivo).toMillis()) {
+				return null;
+			}
+			líneas = cabecera.getLong(3 * Long.BYTES);
+			if (líneas >= Integer.MAX_VALUE || canal.size() != (TAMAÑO_CABECERA + líneas + 1) * Long.BYTES) {
+				return null;
+			}
+			return new ÍndiceDesplazamientosQuiniela1X2(canal
+					.map(MapMode.READ_ONLY, TAMAÑO_CABECERA * Long.BYTES, (líneas + 1) * Long.BYTES)
+					.asLongBuffer(), (int) líneas);
+		}
+	}
+
+	/**
+	 * Comprueba todas las líneas completas de una ventana y anota dónde comienza
+	 * cada una.
+	 *
+	 * @param ventana  el búfer proyectado
+	 * @param finÚtil  la posición final, excluida, de la última línea completa
+	 * @param posición la posición de la ventana en el archivo
+	 * @param líneas   el número de líneas anteriores a la ventana
+	 * @param salida   el canal de escritura del índice
+	 * @param búfer    el búfer de escritura
+	 * @return el número de líneas hasta el final de la ventana
+	 * @throws IOException             si se produce algún error de escritura
+	 * @throws DatoPartido1X2Exception si alguna línea no es válida
+	 */
+	private static long indexarVentana(MappedByteBuffer ventana, int finÚtil, long posición, long líneas,
+			FileChannel salida, ByteBuffer búfer) throws IOException, DatoPartido1X2Exception {
+		ErrorDatoPartido1X2 error;
+		int comienzo, finLínea, finDatos;
+
+		comienzo = 0;
+		while (comienzo < finÚtil) {
+			finLínea = buscarFinLínea(ventana, comienzo, finÚtil);
+			líneas++;
+			finDatos = (finLínea > comienzo && ventana.get(finLínea - 1) == RETORNO) ? finLínea - 1 : finLínea;
+			error = ElementoPartido1X2.validarLínea(ventana, comienzo, finDatos);
+			if (error != null) {
+				throw new DatoPartido1X2Exception(String.format("Línea %d: %s", líneas, error.getMensaje()),
+						error.crearExcepción());
+			}
+			añadir(salida, búfer, posición + comienzo);
+			comienzo = finLínea + 1;
+		}
+		return líneas;
+	}
+
+	/**
+	 * Añade una posición al índice, escribiendo el búfer si está lleno.
+	 *
+	 * @param salida        el canal de escritura del índice
+	 * @param búfer         el búfer de escritura
+	 * @param desplazamiento la posición a añadir
+	 * @throws IOException si se produce algún error de escritura
+	 */
+	private static void añadir(FileChannel salida, ByteBuffer búfer, long desplazamiento) throws IOException {
+		if (búfer.remaining() < Long.BYTES) {
+			vaciar(salida, búfer);
+		}
+		búfer.putLong(desplazamiento);
+	}
+
+	/**
+	 * Escribe en el canal todo el contenido del búfer y lo deja listo para
+	 * seguir llenándolo.
+	 *
+	 * @param salida el canal de escritura
+	 * @param búfer  el búfer con los datos
+	 * @throws IOException si se produce algún error de escritura
+	 */
+	private static void vaciar(FileChannel salida, ByteBuffer búfer) throws IOException {
+		búfer.flip();
+		while (búfer.hasRemaining()) {
+			salida.write(búfer);
+		}
+		búfer.clear();
+	}
+
+	/**
+	 * Compone la ruta al índice de un archivo.
+	 *
+	 * @param rutaArchivo la ruta al archivo indexado
+	 * @return la ruta al índice
+	 */
+	private static Path getRutaÍndice(Path rutaArchivo) {
+		return Path.of(rutaArchivo + EXTENSIÓN);
+	}
+
+	/**
+	 * Localiza el final de la línea que comienza en una posición dada.
+	 *
+	 * @param ventana  el búfer proyectado
+	 * @param comienzo la posición inicial de la línea
+	 * @param finÚtil  la posición final, excluida, de la búsqueda
+	 * @return la posición del fin de línea, o <code>finÚtil</code> si no hay
+	 *         ninguno
+	 */
+	private static int buscarFinLínea(MappedByteBuffer ventana, int comienzo, int finÚtil) {
+		int pos = comienzo;
+		while (pos < finÚtil && ventana.get(pos) != FIN_LÍNEA) {
+			pos++;
+		}
+		return pos;
+	}
+
+	/**
+	 * Localiza el último fin de línea de una ventana.
+	 *
+	 * @param ventana el búfer proyectado
+	 * @param tamaño  el tamaño de la ventana
+	 * @return la posición del último fin de línea, o <code>-1</code> si no hay
+	 *         ninguno
+	 */
+	private static int buscarÚltimoFinLínea(MappedByteBuffer ventana, int tamaño) {
+		int pos = tamaño - 1;
+		while (pos >= 0 && ventana.get(pos) != FIN_LÍNEA) {
+			pos--;
+		}
+		return pos;
+	}
+}
@@ -0,0 +1,124 @@
+package jcolonia.daw2024.quiniela;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Modelo: Índice secundario de los partidos de un {@link ConjuntoQuiniela1X2}
+ * por encuentro, es decir, por la pareja de equipo local y visitante. Permite
+ * detectar los partidos repetidos al fusionar datos nuevos con coste
+ * proporcional a los partidos nuevos y no al total de la colección.
+ *
+ * <div>Las bajas no se retiran de inmediato (ver {@link ListaIdsQuiniela1X2});
+ * un encuentro desaparece del índice cuando se retiran todos sus partidos. Los
+ * partidos aún incompletos no se indexan.</div>
+ *
+ * @see ConjuntoQuiniela1X2#fusionarElemento(ElementoPartido1X2,
+ *      PolíticaDuplicados1X2)
+ *
+ * @version 1.0 (20261018000)
+ * @author Rodrigo Martínez Delgado &lt;rodrigo.mardel.daw@gmail.com&gt;
+ */
+class ÍndiceEncuentrosQuiniela1X2 {
+	/**
+	 * Separador entre los dos equipos en la clave de cada encuentro. Es un fin de
+	 * línea, que no puede formar parte de un nombre leído línea a línea.
+	 */
+	private static final char SEPARADOR_CLAVE = '\n';
+
+	/** Partidos de cada encuentro, por clave. */
+	private Map<String, ListaIdsQuiniela1X2> encuentros;
+
+	/** Correspondencia de posiciones de la colección. */
+	private MapaPosicionesQuiniela1X2 posiciones;
+
+	/**
+	 * Crea un índice vacío.
+	 *
+	 * @param posiciones la correspondencia de posiciones de la colección
+	 */
+	ÍndiceEncuentrosQuiniela1X2(MapaPosicionesQuiniela1X2 posiciones) {
+		this.posiciones = posiciones;
+		vaciar();
+	}
+
+	/**
+	 * Registra un partido recién incorporado.
+	 *
+	 * @param elemento el partido
+	 * @param id       su identificador
+	 */
+	void agregar(ElementoPartido1X2 elemento, int id) {
+		if (elemento.estáCerrada()) {
+			encuentros.computeIfAbsent(getClave(elemento), clave -> new ListaIdsQuiniela1X2()).agregar(id);
+		}
+	}
+
+	/**
+	 * Anota la baja de un partido, una vez actualizada la correspondencia de
+	 * posiciones.
+	 *
+	 * @param elemento el partido retirado
+	 */
+	void retirar(ElementoPartido1X2 elemento) {
+		String clave;
+		ListaIdsQuiniela1X2 lista;
+
+		if (elemento.estáCerrada()) {
+			clave = getClave(elemento);
+			lista = encuentros.get(clave);
+			lista.retirar(posiciones);
+			if (lista.estáVacía()) {
+				encuentros.remove(clave);
+			}
+		}
+	}
+
+	/**
+	 * Busca los identificadores de los partidos del mismo encuentro que uno
+	 * dado.
+	 *
+	 * @param elemento el partido de referencia, cerrado
+	 * @return los identificadores encontrados, en orden creciente; vacío si no
+	 *         hay ninguno
+	 */
+	int[] buscar(ElementoPartido1X2 elemento) {
+		ListaIdsQuiniela1X2 lista;
+		int[] ids;
+		int k = 0;
+
+		lista = encuentros.get(getClave(elemento));
+		if (lista == null) {
+			return new int[0];
+		}
+		ids = new int[lista.size()];
+		for (int i = 0; i < lista.size(); i++) {
+			if (posiciones.getHuecoDeId(lista.getId(i)) >= 0) {
+				ids[k++] = lista.getId(i);
+			}
+		}
+		return Arrays.copyOf(ids, k);
+	}
+
+	/**
+	 * Elimina todos los partidos del índice.
+	 */
+	void vaciar() {
+		encuentros = new HashMap<String, ListaIdsQuiniela1X2>();
+	}
+
+	/**
+	 * Compone la clave del encuentro de un partido cerrado.
+	 *
+	 * @param elemento el partido
+	 * @return la clave correspondiente
+	 */
+	private static String getClave(ElementoPartido1X2 elemento) {
+		try {
+			return elemento.getEquipoLocal() + SEPARADOR_CLAVE + elemento.getEquipoVisitante();
+		} catch (Partido1X2Exception ex) { // No debe ocurrir, ya está cerrado
+			throw new IllegalStateException(ex);
+		}
+	}
+}
@@ -0,0 +1,140 @@
+package jcolonia.daw2024.quiniela;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Modelo: Índice secundario de los partidos de un {@link ConjuntoQuiniela1X2}
+ * por equipo. Para cada nombre de equipo, en mayúsculas, guarda los
+ * identificadores de sus partidos como local y como visitante en orden de
+ * alta, de modo que una búsqueda cuesta en proporción al número de partidos
+ * encontrados.
+ *
+ * <div>Las bajas no se retiran de inmediato (ver
+ * {@link ListaIdsQuiniela1X2}). Los partidos aún incompletos no se
+ * indexan.</div>
+ *
+ * @version 1.0 (20261018000)
+ * @author Rodrigo Martínez Delgado &lt;rodrigo.mardel.daw@gmail.com&gt;
+ */
+class ÍndiceEquiposQuiniela1X2 {
+	/** Partidos de cada equipo como local, por nombre en mayúsculas. */
+	private Map<String, ListaIdsQuiniela1X2> locales;
+
+	/** Partidos de cada equipo como visitante, por nombre en mayúsculas. */
+	private Map<String, ListaIdsQuiniela1X2> visitantes;
+
+	/** Correspondencia de posiciones de la colección. */
+	private MapaPosicionesQuiniela1X2 posiciones;
+
+	/**
+	 * Crea un índice vacío.
+	 *
+	 * @param posiciones la correspondencia de posiciones de la colección
+	 */
+	ÍndiceEquiposQuiniela1X2(MapaPosicionesQuiniela1X2 posiciones) {
+		this.posiciones = posiciones;
+		vaciar();
+	}
+
+	/**
+	 * Registra un partido recién incorporado.
+	 *
+	 * @param elemento el partido
+	 * @param id       su identificador
+	 */
+	void agregar(ElementoPartido1X2 elemento, int id) {
+		if (elemento.estáCerrada()) {
+			try {
+				getLista(locales, elemento.getEquipoLocal()).agregar(id);
+				getLista(visitantes, elemento.getEquipoVisitante()).agregar(id);
+			} catch (Partido1X2Exception ex) { // No debe ocurrir, ya está cerrado
+				throw new IllegalStateException(ex);
+			}
+		}
+	}
+
+	/**
+	 * Anota la baja de un partido, una vez actualizada la correspondencia de
+	 * posiciones.
+	 *
+	 * @param elemento el partido retirado
+	 */
+	void retirar(ElementoPartido1X2 elemento) {
+		if (elemento.estáCerrada()) {
+			try {
+				locales.get(elemento.getEquipoLocal().toUpperCase()).retirar(posiciones);
+				visitantes.get(elemento.getEquipoVisitante().toUpperCase()).retirar(posiciones);
+			} catch (Partido1X2Exception ex) { // No debe ocurrir, ya está cerrado
+				throw new IllegalStateException(ex);
+			}
+		}
+	}
+
+	/**
+	 * Busca las posiciones actuales de los partidos de un equipo.
+	 *
+	 * @param equipo el nombre del equipo, sin distinguir mayúsculas
+	 * @param papel  el papel del equipo en los partidos buscados
+	 * @return las posiciones de los partidos, en orden creciente
+	 */
+	int[] buscar(String equipo, PapelEquipo1X2 papel) {
+		String clave = equipo.toUpperCase();
+		ListaIdsQuiniela1X2 comoLocal, comoVisitante;
+		int[] resultado;
+		int númLocal, númVisitante, i = 0, j = 0, k = 0;
+
+		comoLocal = (papel == PapelEquipo1X2.VISITANTE) ? null : locales.get(clave);
+		comoVisitante = (papel == PapelEquipo1X2.LOCAL) ? null : visitantes.get(clave);
+		númLocal = (comoLocal == null) ? 0 : comoLocal.size();
+		númVisitante = (comoVisitante == null) ? 0 : comoVisitante.size();
+
+		resultado = new int[númLocal + númVisitante];
+		while (i < númLocal || j < númVisitante) { // Mezcla ordenada de ambas listas
+			if (j == númVisitante || (i < númLocal && comoLocal.getId(i) < comoVisitante.getId(j))) {
+				k = anotarPosición(resultado, k, comoLocal.getId(i++));
+			} else {
+				k = anotarPosición(resultado, k, comoVisitante.getId(j++));
+			}
+		}
+		return Arrays.copyOf(resultado, k);
+	}
+
+	/**
+	 * Elimina todos los partidos del índice.
+	 */
+	void vaciar() {
+		locales = new HashMap<String, ListaIdsQuiniela1X2>();
+		visitantes = new HashMap<String, ListaIdsQuiniela1X2>();
+	}
+
+	/**
+	 * Añade al resultado de una búsqueda la posición de un partido, si no se ha
+	 * retirado.
+	 *
+	 * @param resultado las posiciones encontradas
+	 * @param k         el número de posiciones encontradas
+	 * @param id        el identificador del partido
+	 * @return el nuevo número de posiciones encontradas
+	 */
+	private int anotarPosición(int[] resultado, int k, int id) {
+		int hueco = posiciones.getHuecoDeId(id);
+
+		if (hueco >= 0) {
+			resultado[k++] = posiciones.getPosición(hueco);
+		}
+		return k;
+	}
+
+	/**
+	 * Localiza la lista de un equipo, creándola si aún no existe.
+	 *
+	 * @param tabla  la tabla de listas a consultar
+	 * @param equipo el nombre del equipo
+	 * @return la lista correspondiente
+	 */
+	private static ListaIdsQuiniela1X2 getLista(Map<String, ListaIdsQuiniela1X2> tabla, String equipo) {
+		return tabla.computeIfAbsent(equipo.toUpperCase(), clave -> new ListaIdsQuiniela1X2());
+	}
+}